@@ -0,0 +1,39 @@
+package com.oceanview.bench;
+
+import com.oceanview.util.BCrypt;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// one login check per work factor, choose BCRYPT_COST from these
+// aim for a check that stays well under the login latency budget with every core busy
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BCryptBenchmark {
+
+    @Param({"10", "11", "12", "13"})
+    public int cost;
+
+    private String password;
+    private String hash;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        password = "Ocean#View2026";
+        hash = BCrypt.hashpw(password, BCrypt.gensalt(cost));
+    }
+
+    @Benchmark
+    public boolean checkpw() {
+        return BCrypt.checkpw(password, hash);
+    }
+
+    @Benchmark
+    public String hashpw() {
+        return BCrypt.hashpw(password, BCrypt.gensalt(cost));
+    }
+}
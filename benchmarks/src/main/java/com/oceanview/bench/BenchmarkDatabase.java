@@ -0,0 +1,55 @@
+package com.oceanview.bench;
+
+import com.oceanview.testsupport.EmbeddedDatabase;
+import com.oceanview.testsupport.SyntheticDataGenerator;
+import com.oceanview.util.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public final class BenchmarkDatabase {
+
+    // file backed copy of the test harness database, seeded once per volume and reused by later forks
+
+    private BenchmarkDatabase() {
+    }
+
+    // points DatabaseConnection at a database holding exactly this many reservations
+    public static void start(int reservations) {
+        EmbeddedDatabase.start(EmbeddedDatabase.fileUrl("./target/benchdb/ov-" + reservations));
+
+        try (Connection conn = EmbeddedDatabase.connect()) {
+            if (countReservations(conn) != reservations) seed(conn, reservations);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to prepare benchmark database", e);
+        }
+    }
+
+    public static void stop() {
+        DatabaseConnection.shutdown();
+    }
+
+    private static int countReservations(Connection conn) throws SQLException {
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM reservations")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private static void seed(Connection conn, int reservations) throws SQLException {
+        long started = System.currentTimeMillis();
+
+        EmbeddedDatabase.truncateAll(conn);
+
+        // stays never share a room night, so the hotel grows with the volume
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(SyntheticDataGenerator.DEFAULT_SEED)
+                .guests(Math.max(100, reservations / 4))
+                .reservations(reservations);
+        generator.rooms(Math.max(120, generator.minRooms())).generate(conn);
+
+        System.out.println("# Seeded " + reservations + " reservations in "
+                + (System.currentTimeMillis() - started) + " ms");
+    }
+}
@@ -0,0 +1,84 @@
+package com.oceanview.bench;
+
+import com.oceanview.model.User;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+public final class FakeHttp {
+
+    // just enough servlet api to drive doGet in process
+    // unknown calls return null / 0 / false
+
+    private FakeHttp() {
+    }
+
+    public static HttpServletRequest staffRequest(Map<String, String> params, Map<String, String> headers) {
+        User staff = new User();
+        staff.setUserId(1);
+        staff.setUsername("bench");
+        staff.setRole("ADMIN");
+
+        HttpSession session = proxy(HttpSession.class, (name, args) ->
+                "getAttribute".equals(name) && "user".equals(args[0]) ? staff : null);
+
+        return proxy(HttpServletRequest.class, (name, args) -> {
+            switch (name) {
+                case "getSession":   return session;
+                case "getParameter": return params.get((String) args[0]);
+                case "getHeader":    return headers.get((String) args[0]);
+                default:             return null;
+            }
+        });
+    }
+
+    public static HttpServletResponse response(CountingOutputStream body) {
+        PrintWriter writer = new PrintWriter(new OutputStreamWriter(body, StandardCharsets.UTF_8));
+        return proxy(HttpServletResponse.class, (name, args) -> {
+            switch (name) {
+                case "getOutputStream": return body;
+                case "getWriter":       return writer;
+                default:                return null;
+            }
+        });
+    }
+
+    // discards bytes, keeps the count so the work cannot be optimised away
+    public static final class CountingOutputStream extends ServletOutputStream {
+        private long bytes;
+
+        @Override public void write(int b) { bytes++; }
+        @Override public void write(byte[] b, int off, int len) { bytes += len; }
+        @Override public boolean isReady() { return true; }
+        @Override public void setWriteListener(WriteListener listener) { }
+
+        public long bytes() { return bytes; }
+        public void reset() { bytes = 0; }
+    }
+
+    private interface Handler {
+        Object invoke(String method, Object[] args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (p, m, args) -> {
+            Object v = handler.invoke(m.getName(), args == null ? new Object[0] : args);
+            if (v != null) return v;
+
+            Class<?> rt = m.getReturnType();
+            if (rt == boolean.class) return false;
+            if (rt == int.class) return 0;
+            if (rt == long.class) return 0L;
+            return null;
+        });
+    }
+}
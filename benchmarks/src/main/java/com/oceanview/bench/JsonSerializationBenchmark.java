@@ -0,0 +1,87 @@
+package com.oceanview.bench;
+
+import com.oceanview.model.Reservation;
+import com.oceanview.web.json.JsonWriter;
+import com.oceanview.web.json.ReservationJson;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// servlet json builders without the database
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"100", "10000"})
+    public int rows;
+
+    private List<Reservation> list;
+    private CountingWriter sink;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        list = new ArrayList<>(rows);
+        LocalDate day = LocalDate.of(2026, 1, 1);
+        for (int i = 1; i <= rows; i++) {
+            Reservation r = new Reservation();
+            r.setReservationId(i);
+            r.setReservationNumber("RES-20260101-" + i);
+            r.setGuestId(i % 500);
+            r.setRoomId(i % 120);
+            r.setCheckInDate(Date.valueOf(day.plusDays(i % 365)));
+            r.setCheckOutDate(Date.valueOf(day.plusDays(i % 365 + 3)));
+            r.setStatus("CONFIRMED");
+            r.setNights(3);
+            r.setTotalAmount(396.0);
+            r.setAmountPaid(i % 2 == 0 ? 396.0 : 0);
+            r.setPaymentStatus(i % 2 == 0 ? "PAID" : "UNPAID");
+            r.setGuestName("Guest \"" + i + "\" Perera");
+            r.setGuestEmail("guest" + i + "@example.com");
+            r.setGuestContactNumber("0771234567");
+            r.setRoomNumber("10" + i % 10);
+            r.setRoomType("Ocean View");
+            list.add(r);
+        }
+        sink = new CountingWriter();
+    }
+
+    @Benchmark
+    public long reservationList() throws IOException {
+        sink.count = 0;
+        try (JsonWriter w = new JsonWriter(sink)) {
+            w.beginObject().name("success").value(true).name("reservations");
+            w.array(list, ReservationJson.SUMMARY);
+            w.endObject();
+        }
+        return sink.count;
+    }
+
+    @Benchmark
+    public long calendarEvents() throws IOException {
+        sink.count = 0;
+        try (JsonWriter w = new JsonWriter(sink)) {
+            w.beginObject().name("success").value(true).name("events");
+            w.array(list, ReservationJson.CALENDAR_EVENT);
+            w.endObject();
+        }
+        return sink.count;
+    }
+
+    static final class CountingWriter extends Writer {
+        long count;
+
+        @Override public void write(char[] cbuf, int off, int len) { count += len; }
+        @Override public void flush() { }
+        @Override public void close() { }
+    }
+}
@@ -0,0 +1,59 @@
+package com.oceanview.bench;
+
+import com.oceanview.dao.ReservationDAO;
+import com.oceanview.dao.impl.ReservationDAOImpl;
+import com.oceanview.model.Reservation;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// row mapping cost, map() via findBetween/findAll and mapBasic() via findByRoom
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReservationDaoBenchmark {
+
+    @Param({"10000"})
+    public int reservations;
+
+    private ReservationDAO dao;
+    private Date monthStart;
+    private Date monthEnd;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkDatabase.start(reservations);
+        dao = new ReservationDAOImpl();
+
+        LocalDate today = LocalDate.now();
+        monthStart = Date.valueOf(today.minusDays(15));
+        monthEnd = Date.valueOf(today.plusDays(15));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkDatabase.stop();
+    }
+
+    @Benchmark
+    public List<Reservation> findBetweenMonth() {
+        return dao.findBetween(monthStart, monthEnd);
+    }
+
+    @Benchmark
+    public List<Reservation> findByRoom() {
+        return dao.findByRoom(7);
+    }
+
+    // the unpaged /api/reservations list, grows with the table
+    @Benchmark
+    public List<Reservation> findAll() {
+        return dao.findAll();
+    }
+}
@@ -0,0 +1,59 @@
+package com.oceanview.bench;
+
+import com.oceanview.cache.RoomAvailabilityIndex;
+import com.oceanview.service.ReservationRollupService;
+import com.oceanview.service.ReservationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// availability grid and dashboard, each @Param combination runs in its own fork
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReservationServiceBenchmark {
+
+    @Param({"10000"})
+    public int reservations;
+
+    // false measures the single sql query path used before the index is warm
+    @Param({"false", "true"})
+    public boolean availabilityIndex;
+
+    private ReservationService service;
+    private Date checkIn;
+    private Date checkOut;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkDatabase.start(reservations);
+        service = new ReservationService();
+
+        if (availabilityIndex) RoomAvailabilityIndex.getInstance().ensureLoaded();
+        ReservationRollupService.getInstance().rebuildAll();
+
+        LocalDate today = LocalDate.now();
+        checkIn = Date.valueOf(today.plusDays(3));
+        checkOut = Date.valueOf(today.plusDays(6));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkDatabase.stop();
+    }
+
+    @Benchmark
+    public String listRoomsWithAvailabilityJson() {
+        return service.listRoomsWithAvailabilityJson(checkIn, checkOut);
+    }
+
+    @Benchmark
+    public String getDashboardStatsJson() {
+        return service.getDashboardStatsJson(30);
+    }
+}
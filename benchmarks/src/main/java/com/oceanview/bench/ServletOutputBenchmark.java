@@ -0,0 +1,85 @@
+package com.oceanview.bench;
+
+import com.oceanview.web.servlet.InvoiceServlet;
+import com.oceanview.web.servlet.ReportsExportServlet;
+import org.openjdk.jmh.annotations.*;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// csv export and pdf invoice through the real doGet
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServletOutputBenchmark {
+
+    @Param({"10000"})
+    public int reservations;
+
+    private HttpServlet export;
+    private HttpServlet invoice;
+    private Method doGet;
+
+    private HttpServletRequest exportYear;
+    private HttpServletRequest exportYearGzip;
+    private HttpServletRequest invoiceRequest;
+
+    private final FakeHttp.CountingOutputStream body = new FakeHttp.CountingOutputStream();
+    private HttpServletResponse response;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        BenchmarkDatabase.start(reservations);
+
+        export = new ReportsExportServlet();
+        export.init();
+        invoice = new InvoiceServlet();
+        invoice.init();
+
+        // doGet is protected
+        doGet = HttpServlet.class.getDeclaredMethod("doGet", HttpServletRequest.class, HttpServletResponse.class);
+        doGet.setAccessible(true);
+
+        LocalDate today = LocalDate.now();
+        Map<String, String> range = Map.of("from", today.minusYears(1).toString(), "to", today.toString());
+        exportYear = FakeHttp.staffRequest(range, Map.of());
+        exportYearGzip = FakeHttp.staffRequest(range, Map.of("Accept-Encoding", "gzip"));
+        invoiceRequest = FakeHttp.staffRequest(Map.of("reservationId", String.valueOf(reservations / 2)), Map.of());
+
+        response = FakeHttp.response(body);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkDatabase.stop();
+    }
+
+    @Benchmark
+    public long csvExportYear() throws Exception {
+        return run(export, exportYear);
+    }
+
+    @Benchmark
+    public long csvExportYearGzip() throws Exception {
+        return run(export, exportYearGzip);
+    }
+
+    @Benchmark
+    public long invoicePdf() throws Exception {
+        return run(invoice, invoiceRequest);
+    }
+
+    private long run(HttpServlet servlet, HttpServletRequest req) throws Exception {
+        body.reset();
+        doGet.invoke(servlet, req, response);
+        return body.bytes();
+    }
+}
@@ -0,0 +1,189 @@
+package com.oceanview.cache;
+
+import com.oceanview.dao.ReservationDAO;
+import com.oceanview.dao.impl.ReservationDAOImpl;
+import com.oceanview.model.Reservation;
+import com.oceanview.web.json.JsonWriter;
+import com.oceanview.web.json.ReservationJson;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+public class CalendarCache {
+
+    // calendar events bucketed by month, each event kept as its encoded json
+    // a view is assembled from the buckets it spans, a stay crossing months sits in each of them
+    // reservation changes drop only the months they touch; guest and room edits change event
+    // text in unknown months and drop everything
+    // invalidation only sees this node's writes, so a month is also reloaded once it is
+    // older than TTL_SECONDS, which bounds how stale another node's bookings can look
+
+    private static final CalendarCache INSTANCE = new CalendarCache(new ReservationDAOImpl(),
+            r -> JsonWriter.toJson(r, ReservationJson.CALENDAR_EVENT));
+
+    // months kept, those furthest from today go first
+    private static final int MAX_BUCKETS = 48;
+
+    // wider views are read straight from the database
+    private static final int MAX_VIEW_MONTHS = 14;
+
+    private static final long TTL_SECONDS = 60;
+
+    public static CalendarCache getInstance() {
+        return INSTANCE;
+    }
+
+    // one stay [start, end) in epoch days and its encoded event
+    private static final class Event {
+        final int reservationId;
+        final long start;
+        final long end;
+        final String json;
+
+        Event(int reservationId, long start, long end, String json) {
+            this.reservationId = reservationId;
+            this.start = start;
+            this.end = end;
+            this.json = json;
+        }
+    }
+
+    // stays overlapping one month, ordered by check-in like findBetween
+    private static final class Bucket {
+        final List<Event> events;
+        final Set<Integer> ids;
+        final long loadedAt = System.nanoTime();
+
+        Bucket(List<Event> events) {
+            this.events = events;
+            Set<Integer> s = new HashSet<>();
+            for (Event e : events) s.add(e.reservationId);
+            this.ids = s;
+        }
+    }
+
+    private final ReservationDAO dao;
+    private final Function<Reservation, String> encoder;
+    private final ConcurrentHashMap<YearMonth, Bucket> buckets = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+
+    // bumped before every invalidation, a load that overlaps one is not kept
+    private final AtomicLong epoch = new AtomicLong();
+
+    CalendarCache(ReservationDAO dao, Function<Reservation, String> encoder) {
+        this(dao, encoder, TimeUnit.SECONDS.toMillis(TTL_SECONDS));
+    }
+
+    CalendarCache(ReservationDAO dao, Function<Reservation, String> encoder, long ttlMs) {
+        this.dao = dao;
+        this.encoder = encoder;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+    }
+
+    // READ
+
+    // encoded events of stays overlapping [start, end), ordered by check-in
+    public List<String> events(LocalDate start, LocalDate end) {
+        if (start == null || end == null || !end.isAfter(start)) return Collections.emptyList();
+
+        YearMonth first = YearMonth.from(start);
+        YearMonth last = YearMonth.from(end.minusDays(1));
+
+        long s = start.toEpochDay();
+        long e = end.toEpochDay();
+
+        if (first.plusMonths(MAX_VIEW_MONTHS).isBefore(last)) {
+            List<String> out = new ArrayList<>();
+            for (Event ev : load(Date.valueOf(start), Date.valueOf(end))) out.add(ev.json);
+            return out;
+        }
+
+        // a stay that began in an earlier month was already added from that month's bucket
+        List<String> out = new ArrayList<>();
+        Set<Integer> seen = new HashSet<>();
+        for (YearMonth m = first; !m.isAfter(last); m = m.plusMonths(1)) {
+            for (Event ev : bucket(m).events) {
+                if (ev.start < e && ev.end > s && seen.add(ev.reservationId)) out.add(ev.json);
+            }
+        }
+        return out;
+    }
+
+    private Bucket bucket(YearMonth month) {
+        Bucket b = buckets.get(month);
+        if (b != null && System.nanoTime() - b.loadedAt < ttlNanos) return b;
+
+        long before = epoch.get();
+        b = new Bucket(load(Date.valueOf(month.atDay(1)), Date.valueOf(month.plusMonths(1).atDay(1))));
+
+        buckets.put(month, b);
+        if (epoch.get() != before) {
+            // something changed while loading, serve this once but don't keep it
+            buckets.remove(month, b);
+        } else if (buckets.size() > MAX_BUCKETS) {
+            trim();
+        }
+        return b;
+    }
+
+    private List<Event> load(Date start, Date end) {
+        List<Event> events = new ArrayList<>();
+        for (Reservation r : dao.findBetween(start, end)) {
+            events.add(new Event(r.getReservationId(),
+                    r.getCheckInDate().toLocalDate().toEpochDay(),
+                    r.getCheckOutDate().toLocalDate().toEpochDay(),
+                    encoder.apply(r)));
+        }
+        return events;
+    }
+
+    private void trim() {
+        YearMonth now = YearMonth.now();
+        List<YearMonth> months = new ArrayList<>(buckets.keySet());
+        months.sort(Comparator.comparingLong((YearMonth m) -> Math.abs(monthsBetween(now, m))).reversed());
+        for (int i = 0; i < months.size() - MAX_BUCKETS; i++) buckets.remove(months.get(i));
+    }
+
+    private static long monthsBetween(YearMonth a, YearMonth b) {
+        return (b.getYear() - a.getYear()) * 12L + (b.getMonthValue() - a.getMonthValue());
+    }
+
+    // INVALIDATION
+
+    // every month from check-in through check-out
+    public void invalidate(Date checkIn, Date checkOut) {
+        if (checkIn == null) return;
+
+        epoch.incrementAndGet();
+        YearMonth m = YearMonth.from(checkIn.toLocalDate());
+        YearMonth last = YearMonth.from((checkOut == null ? checkIn : checkOut).toLocalDate());
+        for (; !m.isAfter(last); m = m.plusMonths(1)) buckets.remove(m);
+    }
+
+    // the months this reservation is cached in, wherever its dates used to be
+    public void invalidateReservation(int reservationId) {
+        epoch.incrementAndGet();
+        buckets.values().removeIf(b -> b.ids.contains(reservationId));
+    }
+
+    public void invalidateAll() {
+        epoch.incrementAndGet();
+        buckets.clear();
+    }
+
+    // months held, for tests
+    int bucketCount() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,101 @@
+package com.oceanview.cache;
+
+import com.oceanview.web.ETags;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+public class DashboardStatsCache {
+
+    // dashboard stats json per (day, days) for a few seconds
+    // the first caller computes, everyone arriving meanwhile waits on the same future
+    // invalidate() is called once the daily rollup has taken in a reservation change
+
+    private static final DashboardStatsCache INSTANCE = new DashboardStatsCache(5_000);
+
+    // longer windows are computed on demand and not kept
+    private static final int MAX_CACHED_DAYS = 366;
+
+    public static DashboardStatsCache getInstance() {
+        return INSTANCE;
+    }
+
+    // serialized stats and their etag, a hash of the body so unchanged figures still match
+    public static final class Stats {
+        private final String json;
+        private final String etag;
+
+        Stats(String json) {
+            this.json = json;
+            this.etag = ETags.of(json);
+        }
+
+        public String getJson() { return json; }
+        public String getEtag() { return etag; }
+    }
+
+    private static final class Entry {
+        final CompletableFuture<Stats> future = new CompletableFuture<>();
+        final long generation;
+        volatile long expiresAt = Long.MAX_VALUE;   // set once computed
+
+        Entry(long generation) {
+            this.generation = generation;
+        }
+
+        boolean isFresh(long generation, long now) {
+            return this.generation == generation && now < expiresAt;
+        }
+    }
+
+    private final long ttlMs;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    DashboardStatsCache(long ttlMs) {
+        this.ttlMs = ttlMs;
+    }
+
+    public Stats get(int days, IntFunction<String> loader) {
+        if (days > MAX_CACHED_DAYS) return new Stats(loader.apply(days));
+
+        // today is part of the key so the window moves at midnight
+        LocalDate today = LocalDate.now();
+        String key = today + "/" + days;
+        long gen = generation.get();
+
+        Entry mine = new Entry(gen);
+        Entry current = entries.compute(key, (k, e) ->
+                e != null && e.isFresh(gen, System.currentTimeMillis()) ? e : mine);
+
+        if (current == mine) {
+            if (entries.size() > 2 * MAX_CACHED_DAYS) entries.keySet().removeIf(k -> !k.startsWith(today + "/"));
+            try {
+                mine.future.complete(new Stats(loader.apply(days)));
+                mine.expiresAt = System.currentTimeMillis() + ttlMs;
+            } catch (RuntimeException e) {
+                // the waiters see the failure, the next caller tries again
+                entries.remove(key, mine);
+                mine.future.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        try {
+            return current.future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw e;
+        }
+    }
+
+    // entries computed before this call are not served again
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+}
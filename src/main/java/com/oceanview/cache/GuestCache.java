@@ -0,0 +1,100 @@
+package com.oceanview.cache;
+
+import com.oceanview.model.Guest;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+public class GuestCache {
+
+    // committed guest rows by id, with email as a second key
+    // weighed by their text so a few thousand guests stay within a fixed budget
+    // GuestDAOImpl reads through it and drops a guest on every write, before and after commit
+    // password hashes are never kept here, logins read them from the table
+    // entries also expire after TTL_SECONDS, for edits made on another node
+
+    private static final long TTL_SECONDS = 60;
+
+    private static final GuestCache INSTANCE = new GuestCache(8L * 1024 * 1024, TTL_SECONDS * 1000);
+
+    public static GuestCache getInstance() {
+        return INSTANCE;
+    }
+
+    private final TinyLfuCache<Integer, Guest> guests;
+
+    // follows the main cache through its removal listener
+    private final ConcurrentHashMap<String, Integer> byEmail = new ConcurrentHashMap<>();
+
+    GuestCache(long maxBytes, long ttlMs) {
+        this.guests = new TinyLfuCache<>("guest", maxBytes, (int) Math.min(1 << 16, maxBytes / 256), ttlMs,
+                GuestCache::weigh, (id, g) -> {
+                    if (g.getEmail() != null) byEmail.remove(g.getEmail(), id);
+                });
+    }
+
+    // READ
+
+    public Guest get(int id) {
+        Guest g = guests.get(id);
+        return g == null ? null : copy(g);
+    }
+
+    public Guest getByEmail(String email) {
+        if (email == null) return null;
+        Integer id = byEmail.get(email);
+        if (id == null) return null;
+
+        // the index can briefly point at a guest whose email has since changed
+        Guest g = guests.get(id);
+        return g != null && email.equals(g.getEmail()) ? copy(g) : null;
+    }
+
+    // WRITE
+
+    // read before loading from the database, see put
+    public long generation() {
+        return guests.generation();
+    }
+
+    // kept only if nothing was invalidated while it was loading
+    public void put(Guest g, long generation) {
+        if (g == null) return;
+        Guest c = copy(g);
+        if (guests.putIfUnchanged(c.getGuestId(), c, generation) && c.getEmail() != null) {
+            byEmail.put(c.getEmail(), c.getGuestId());
+        }
+    }
+
+    public void invalidate(int id) {
+        guests.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        guests.invalidateAll();
+    }
+
+    public TinyLfuCache<Integer, Guest> stats() {
+        return guests;
+    }
+
+    // rough heap bytes: object headers plus two bytes a char
+    private static int weigh(Guest g) {
+        return 96 + 2 * (len(g.getFullName()) + len(g.getAddress()) + len(g.getContactNumber())
+                + len(g.getEmail()));
+    }
+
+    private static int len(String s) {
+        return s == null ? 0 : s.length();
+    }
+
+    private static Guest copy(Guest g) {
+        Guest c = new Guest();
+        c.setGuestId(g.getGuestId());
+        c.setUserId(g.getUserId());
+        c.setFullName(g.getFullName());
+        c.setAddress(g.getAddress());
+        c.setContactNumber(g.getContactNumber());
+        c.setEmail(g.getEmail());
+        return c;
+    }
+}
@@ -0,0 +1,110 @@
+package com.oceanview.cache;
+
+import com.oceanview.model.Reservation;
+import com.oceanview.web.ETags;
+import com.oceanview.web.json.JsonWriter;
+import com.oceanview.web.json.ReservationJson;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+public class GuestReservationsCache {
+
+    // the guest portal's reservation list per guest, kept as the response body
+    // the etag is a hash of the body, so it changes only when the guest's list does; a rebuild
+    // after expiry or eviction, or on another node, keeps the tag a browser already holds
+    // reservation and payment changes drop the guest's list once committed, room edits drop all
+    // a list also expires after TTL_SECONDS, for changes committed on another node
+
+    private static final long TTL_SECONDS = 60;
+
+    private static final GuestReservationsCache INSTANCE = new GuestReservationsCache(
+            4L * 1024 * 1024, TTL_SECONDS * 1000, list -> JsonWriter.toJson(list, (w, l) -> w.beginObject()
+                    .name("success").value(true)
+                    .name("reservations").array(l, ReservationJson.GUEST_VIEW)
+                    .endObject()));
+
+    public static GuestReservationsCache getInstance() {
+        return INSTANCE;
+    }
+
+    // one guest's list as served, with the reservation ids it holds
+    public static final class Entry {
+        private final int guestId;
+        private final String json;
+        private final String etag;
+        private final Set<Integer> reservationIds;
+
+        Entry(int guestId, String json, Set<Integer> reservationIds) {
+            this.guestId = guestId;
+            this.json = json;
+            this.etag = ETags.of(json);
+            this.reservationIds = reservationIds;
+        }
+
+        public int getGuestId() { return guestId; }
+        public String getJson() { return json; }
+        public String getEtag() { return etag; }
+    }
+
+    private final Function<List<Reservation>, String> encoder;
+    private final TinyLfuCache<Integer, Entry> lists;
+
+    // reservation id -> guest id, for changes that only know the reservation
+    private final ConcurrentHashMap<Integer, Integer> byReservation = new ConcurrentHashMap<>();
+
+    GuestReservationsCache(long maxBytes, long ttlMs, Function<List<Reservation>, String> encoder) {
+        this.encoder = encoder;
+        this.lists = new TinyLfuCache<>("guest_reservations", maxBytes, (int) Math.min(1 << 16, maxBytes / 512), ttlMs,
+                e -> 64 + 2 * e.json.length(), (guestId, e) -> {
+                    for (Integer id : e.reservationIds) byReservation.remove(id, guestId);
+                });
+    }
+
+    // READ
+
+    // a cached list is returned without calling loader
+    public Entry get(int guestId, IntFunction<List<Reservation>> loader) {
+        Entry e = lists.get(guestId);
+        if (e != null) return e;
+
+        long generation = lists.generation();
+        List<Reservation> list = loader.apply(guestId);
+
+        Set<Integer> ids = new HashSet<>();
+        for (Reservation r : list) ids.add(r.getReservationId());
+
+        e = new Entry(guestId, encoder.apply(list), Collections.unmodifiableSet(ids));
+
+        // a change committed while loading may be missing from it, serve it once but don't keep it
+        if (lists.putIfUnchanged(guestId, e, generation)) {
+            for (Integer id : ids) byReservation.put(id, guestId);
+        }
+        return e;
+    }
+
+    // INVALIDATION
+
+    public void invalidateGuest(int guestId) {
+        if (guestId > 0) lists.invalidate(guestId);
+    }
+
+    // the cached list holding this reservation, for changes that don't know its guest
+    public void invalidateReservation(int reservationId) {
+        Integer guestId = byReservation.get(reservationId);
+        if (guestId != null) lists.invalidate(guestId);
+    }
+
+    public void invalidateAll() {
+        lists.invalidateAll();
+    }
+
+    public TinyLfuCache<Integer, Entry> stats() {
+        return lists;
+    }
+}
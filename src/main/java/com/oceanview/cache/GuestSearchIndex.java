@@ -0,0 +1,352 @@
+package com.oceanview.cache;
+
+import com.oceanview.dao.GuestDAO;
+import com.oceanview.dao.impl.GuestDAOImpl;
+import com.oceanview.model.Guest;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+public class GuestSearchIndex {
+
+    // in-memory trigram index over guest name, email and phone for the typeahead
+    // a query's rarest trigram picks the candidates, each candidate is then checked with a
+    // substring match, so results are the same rows the old LIKE '%q%' query found, ranked
+
+    private static final Logger LOG = Logger.getLogger(GuestSearchIndex.class.getName());
+
+    private static final GuestSearchIndex INSTANCE = new GuestSearchIndex();
+
+    private static final long REBUILD_INTERVAL_MINUTES = 15;
+
+    // digits with the usual phone punctuation, e.g. "+94 77-123 4567"
+    private static final Pattern PHONE_QUERY = Pattern.compile("[0-9+()\\-. ]*[0-9][0-9+()\\-. ]*");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    public static GuestSearchIndex getInstance() {
+        return INSTANCE;
+    }
+
+    // one guest, normalized for matching, plus the fields returned to callers
+    private static final class Entry {
+        final Guest guest;
+        final String name;
+        final String email;
+        final String phone;      // as stored, lower case
+        final String digits;     // phone digits only
+
+        Entry(Guest g) {
+            this.guest = copy(g);
+            this.name = normalize(g.getFullName());
+            this.email = normalize(g.getEmail());
+            this.phone = normalize(g.getContactNumber());
+            this.digits = digitsOf(g.getContactNumber());
+        }
+
+        Set<String> grams() {
+            Set<String> out = new HashSet<>();
+            addGrams(out, name);
+            addGrams(out, email);
+            addGrams(out, phone);
+            addGrams(out, digits);
+            return out;
+        }
+    }
+
+    // entries and postings, swapped whole on a rebuild
+    private static final class Table {
+        final ConcurrentHashMap<Integer, Entry> entries = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<String, Set<Integer>> postings = new ConcurrentHashMap<>();
+
+        void put(Entry e) {
+            Entry old = entries.put(e.guest.getGuestId(), e);
+            if (old != null) unlink(old);
+            for (String g : e.grams()) {
+                postings.computeIfAbsent(g, k -> ConcurrentHashMap.newKeySet()).add(e.guest.getGuestId());
+            }
+        }
+
+        void remove(int guestId) {
+            Entry old = entries.remove(guestId);
+            if (old != null) unlink(old);
+        }
+
+        private void unlink(Entry e) {
+            int id = e.guest.getGuestId();
+            for (String g : e.grams()) {
+                Set<Integer> ids = postings.get(g);
+                if (ids == null) continue;
+                ids.remove(id);
+                if (ids.isEmpty()) postings.remove(g, ids);
+            }
+        }
+    }
+
+    private static final class Hit {
+        final Entry entry;
+        final int score;
+
+        Hit(Entry entry, int score) {
+            this.entry = entry;
+            this.score = score;
+        }
+    }
+
+    // best first, newer guests win ties as the old ORDER BY guest_id DESC did
+    private static final Comparator<Hit> RANK = Comparator.<Hit>comparingInt(h -> h.score)
+            .thenComparingInt(h -> h.entry.guest.getGuestId());
+
+    private final GuestDAO dao;
+
+    private final Object writeLock = new Object();
+    private volatile Table table = new Table();
+
+    // mutation sequence, lets a rebuild keep rows changed while it was reading
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Integer, Long> touched = new HashMap<>();
+
+    private volatile boolean loaded;
+    private ScheduledExecutorService rebuilder;
+
+    GuestSearchIndex() {
+        this(new GuestDAOImpl());
+    }
+
+    GuestSearchIndex(GuestDAO dao) {
+        this.dao = dao;
+    }
+
+    // READ
+
+    // false until the first build finished, callers fall back to sql
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        return table.entries.size();
+    }
+
+    public List<Guest> search(String q, int limit) {
+        String text = normalize(q);
+        if (text.isEmpty() || limit <= 0) return Collections.emptyList();
+
+        String digits = PHONE_QUERY.matcher(q.trim()).matches() ? digitsOf(q) : "";
+
+        Table t = table;
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, RANK);
+
+        for (Entry e : candidates(t, text, digits)) {
+            int score = score(e, text, digits);
+            if (score <= 0) continue;
+
+            top.add(new Hit(e, score));
+            if (top.size() > limit) top.poll();
+        }
+
+        List<Guest> out = new ArrayList<>(top.size());
+        while (!top.isEmpty()) out.add(copy(top.poll().entry.guest));
+        Collections.reverse(out);
+        return out;
+    }
+
+    // WRITE (called by GuestDAOImpl after a successful change)
+
+    public void onSaved(Guest g) {
+        if (g == null || g.getGuestId() <= 0) return;
+
+        Entry e = new Entry(g);
+        synchronized (writeLock) {
+            touched.put(g.getGuestId(), sequence.incrementAndGet());
+            table.put(e);
+        }
+    }
+
+    public void onDeleted(int guestId) {
+        if (guestId <= 0) return;
+
+        synchronized (writeLock) {
+            touched.put(guestId, sequence.incrementAndGet());
+            table.remove(guestId);
+        }
+    }
+
+    // CONSISTENCY
+
+    // full reload, picks up rows written outside this dao (other nodes, manual sql)
+    // drops every guest, searches use the database until the next rebuild(), for a database switch
+    public void clear() {
+        synchronized (writeLock) {
+            table = new Table();
+            touched.clear();
+            loaded = false;
+        }
+    }
+
+    public void rebuild() {
+        long startSeq = sequence.get();
+        rebuild(dao.findAll(), startSeq);
+    }
+
+    // startSeq is taken before the rows were read
+    void rebuild(List<Guest> guests, long startSeq) {
+        Table fresh = new Table();
+        for (Guest g : guests) {
+            if (g.getGuestId() > 0) fresh.put(new Entry(g));
+        }
+
+        synchronized (writeLock) {
+            // changed after the read started, the live table is newer
+            Table live = table;
+            for (Map.Entry<Integer, Long> t : touched.entrySet()) {
+                if (t.getValue() <= startSeq) continue;
+                Entry e = live.entries.get(t.getKey());
+                if (e == null) fresh.remove(t.getKey());
+                else fresh.put(e);
+            }
+            touched.values().removeIf(s -> s <= startSeq);
+
+            table = fresh;
+        }
+
+        loaded = true;
+    }
+
+    // initial build and periodic refresh in the background
+    public synchronized void start() {
+        if (rebuilder != null) return;
+
+        rebuilder = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "oceanview-guest-search");
+            t.setDaemon(true);
+            return t;
+        });
+
+        rebuilder.scheduleWithFixedDelay(() -> {
+            try {
+                long started = System.currentTimeMillis();
+                boolean first = !loaded;
+                rebuild();
+                if (first) {
+                    LOG.info("Guest search index built with " + size() + " guests in "
+                            + (System.currentTimeMillis() - started) + " ms");
+                }
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, "Guest search index rebuild failed", e);
+            }
+        }, 0, REBUILD_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    public synchronized void stop() {
+        if (rebuilder != null) {
+            rebuilder.shutdownNow();
+            rebuilder = null;
+        }
+    }
+
+    // MATCHING
+
+    private static List<Entry> candidates(Table t, String text, String digits) {
+
+        // short queries have no trigram, walk every entry
+        if (text.length() < 3 && digits.length() < 3) return new ArrayList<>(t.entries.values());
+
+        Set<Integer> ids = new HashSet<>();
+        if (text.length() >= 3) ids.addAll(rarest(t, text));
+        if (digits.length() >= 3) ids.addAll(rarest(t, digits));
+
+        List<Entry> out = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            Entry e = t.entries.get(id);
+            if (e != null) out.add(e);
+        }
+        return out;
+    }
+
+    // every match contains all of the query's trigrams, the smallest posting list is enough
+    private static Set<Integer> rarest(Table t, String s) {
+        Set<Integer> best = null;
+        for (int i = 0; i + 3 <= s.length(); i++) {
+            Set<Integer> ids = t.postings.get(s.substring(i, i + 3));
+            if (ids == null) return Collections.emptySet();
+            if (best == null || ids.size() < best.size()) best = ids;
+        }
+        return best;
+    }
+
+    // 0 = no match, higher ranks first
+    private static int score(Entry e, String text, String digits) {
+        int best = 0;
+
+        if (e.name.equals(text)) best = 100;
+        else if (e.name.startsWith(text)) best = 80;
+        else if (e.name.contains(" " + text)) best = 60;
+        else if (e.name.contains(text)) best = 40;
+
+        if (e.email.equals(text)) best = Math.max(best, 90);
+        else if (e.email.startsWith(text)) best = Math.max(best, 70);
+        else if (e.email.contains(text)) best = Math.max(best, 30);
+
+        if (e.phone.contains(text)) best = Math.max(best, e.phone.equals(text) ? 95 : 30);
+
+        if (!digits.isEmpty() && !e.digits.isEmpty()) {
+            if (e.digits.equals(digits)) best = Math.max(best, 95);
+            else if (e.digits.endsWith(digits) || e.digits.startsWith(digits)) best = Math.max(best, 50);
+            else if (e.digits.contains(digits)) best = Math.max(best, 30);
+        }
+
+        return best;
+    }
+
+    // NORMALIZATION
+
+    // lower case without accents, like the accent-insensitive column collation
+    static String normalize(String s) {
+        if (s == null) return "";
+        String n = Normalizer.normalize(s.trim(), Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(n).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    static String digitsOf(String s) {
+        if (s == null) return "";
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= '0' && c <= '9') sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    private static void addGrams(Set<String> out, String s) {
+        for (int i = 0; i + 3 <= s.length(); i++) out.add(s.substring(i, i + 3));
+    }
+
+    // callers get their own objects, the password never leaves the dao through search
+    private static Guest copy(Guest g) {
+        Guest c = new Guest();
+        c.setGuestId(g.getGuestId());
+        c.setUserId(g.getUserId());
+        c.setFullName(g.getFullName());
+        c.setAddress(g.getAddress());
+        c.setContactNumber(g.getContactNumber());
+        c.setEmail(g.getEmail());
+        return c;
+    }
+}
@@ -0,0 +1,194 @@
+package com.oceanview.cache;
+
+import com.oceanview.model.Reservation;
+import com.oceanview.service.InvoiceRenderer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class InvoiceCache {
+
+    // rendered invoice PDFs on disk, one directory per reservation, one file per content hash
+    // the key covers every field the invoice prints plus the payment state, so a stale file
+    // can never be served; invalidate() only clears files that can no longer be asked for
+    // files are never deleted while a response may still be reading them: superseded ones are
+    // retired and removed by a later sweep once RETIRE_GRACE_MS has passed
+
+    private static final Logger LOG = Logger.getLogger(InvoiceCache.class.getName());
+
+    private static final InvoiceCache INSTANCE = new InvoiceCache(defaultDirectory(), new InvoiceRenderer());
+
+    // long enough for tomcat sendfile to open a file the servlet handed it
+    private static final long RETIRE_GRACE_MS = 5 * 60_000;
+
+    public static InvoiceCache getInstance() {
+        return INSTANCE;
+    }
+
+    private final Path root;
+    private final InvoiceRenderer renderer;
+    private final long graceMs;
+
+    // file -> when it was retired; get() and sweep() decide under this map's lock
+    private final Map<Path, Long> retired = new HashMap<>();
+
+    InvoiceCache(Path root, InvoiceRenderer renderer) {
+        this(root, renderer, RETIRE_GRACE_MS);
+    }
+
+    InvoiceCache(Path root, InvoiceRenderer renderer, long graceMs) {
+        this.root = root;
+        this.renderer = renderer;
+        this.graceMs = graceMs;
+    }
+
+    // hex sha-256 of the billing fields, payment state and issue date
+    public String keyFor(Reservation r, LocalDate issueDate) {
+        StringBuilder sb = new StringBuilder(256);
+        field(sb, r.getReservationId());
+        field(sb, r.getReservationNumber());
+        field(sb, r.getGuestName());
+        field(sb, r.getGuestEmail());
+        field(sb, r.getGuestContactNumber());
+        field(sb, r.getRoomType());
+        field(sb, r.getRoomNumber());
+        field(sb, r.getNights());
+        field(sb, r.getRatePerNight());
+        field(sb, r.getSubtotal());
+        field(sb, r.getTax());
+        field(sb, r.getDiscount());
+        field(sb, r.getTotalAmount());
+        field(sb, r.getAmountPaid());
+        field(sb, r.getPaymentStatus());
+        field(sb, issueDate);
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(64);
+            for (byte b : digest) hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // cached file for the key, rendered first if needed
+    public Path get(Reservation r, LocalDate issueDate, String key) throws IOException {
+        Path dir = root.resolve(String.valueOf(r.getReservationId()));
+        Path file = dir.resolve(key + ".pdf");
+        sweep();
+        if (claim(file)) return file;
+
+        Files.createDirectories(dir);
+
+        // concurrent first views each render to their own temp file, the last move wins
+        Path tmp = Files.createTempFile(dir, key, ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                renderer.render(r, issueDate, out);
+            }
+            try {
+                Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+
+        // older versions of this invoice cannot be requested again
+        synchronized (retired) {
+            retired.remove(file);
+        }
+        retire(dir, file);
+        return file;
+    }
+
+    // an existing file about to be handed out, taken back off the retired list
+    private boolean claim(Path file) {
+        synchronized (retired) {
+            if (!Files.isRegularFile(file)) return false;
+            retired.remove(file);
+            return true;
+        }
+    }
+
+    // called after payments or reservation changes
+    public void invalidate(int reservationId) {
+        if (reservationId <= 0) return;
+        try {
+            retire(root.resolve(String.valueOf(reservationId)), null);
+            sweep();
+        } catch (IOException | UncheckedIOException e) {
+            LOG.log(Level.WARNING, "Failed to clear cached invoices for reservation " + reservationId, e);
+        }
+    }
+
+    // every reservation's files, for a database switch
+    public void invalidateAll() {
+        if (!Files.isDirectory(root)) return;
+        try (DirectoryStream<Path> dirs = Files.newDirectoryStream(root)) {
+            for (Path dir : dirs) retire(dir, null);
+            sweep();
+        } catch (IOException | UncheckedIOException e) {
+            LOG.log(Level.WARNING, "Failed to clear cached invoices", e);
+        }
+    }
+
+    private void retire(Path dir, Path keep) throws IOException {
+        if (!Files.isDirectory(dir)) return;
+
+        long now = System.currentTimeMillis();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*.pdf")) {
+            synchronized (retired) {
+                for (Path f : files) {
+                    if (!f.equals(keep)) retired.putIfAbsent(f, now);
+                }
+            }
+        }
+    }
+
+    // deletes files retired more than graceMs ago, unless get() has handed them out again since
+    void sweep() {
+        long cutoff = System.currentTimeMillis() - graceMs;
+        synchronized (retired) {
+            for (Iterator<Map.Entry<Path, Long>> it = retired.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<Path, Long> e = it.next();
+                if (e.getValue() > cutoff) continue;
+                it.remove();
+                try {
+                    Files.deleteIfExists(e.getKey());
+                } catch (IOException ex) {
+                    LOG.log(Level.FINE, "Failed to delete retired invoice " + e.getKey(), ex);
+                }
+            }
+        }
+    }
+
+    private static void field(StringBuilder sb, Object v) {
+        sb.append(v == null ? "" : v).append('\u001f');
+    }
+
+    private static Path defaultDirectory() {
+        String dir = System.getProperty("oceanview.invoice.cacheDir");
+        if (dir == null) dir = System.getenv("INVOICE_CACHE_DIR");
+        if (dir == null) dir = Paths.get(System.getProperty("java.io.tmpdir"), "oceanview-invoices").toString();
+        return Paths.get(dir);
+    }
+}
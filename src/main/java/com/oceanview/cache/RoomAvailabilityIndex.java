@@ -0,0 +1,276 @@
+package com.oceanview.cache;
+
+import com.oceanview.dao.ReservationDAO;
+import com.oceanview.dao.impl.ReservationDAOImpl;
+import com.oceanview.model.Reservation;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class RoomAvailabilityIndex {
+
+    // in-memory per-room index of active stays
+    // each room keeps its stays sorted by check-in with a running max of check-out,
+    // so an overlap test is one binary search
+
+    private static final Logger LOG = Logger.getLogger(RoomAvailabilityIndex.class.getName());
+
+    private static final RoomAvailabilityIndex INSTANCE = new RoomAvailabilityIndex();
+
+    private static final long VERIFY_INTERVAL_MINUTES = 15;
+
+    public static RoomAvailabilityIndex getInstance() {
+        return INSTANCE;
+    }
+
+    // one stay [start, end) in epoch days
+    private static final class Stay {
+        final int reservationId;
+        final int roomId;
+        final long start;
+        final long end;
+
+        Stay(int reservationId, int roomId, long start, long end) {
+            this.reservationId = reservationId;
+            this.roomId = roomId;
+            this.start = start;
+            this.end = end;
+        }
+
+        boolean sameAs(Stay o) {
+            return o != null && roomId == o.roomId && start == o.start && end == o.end;
+        }
+    }
+
+    // immutable per-room snapshot
+    private static final class RoomStays {
+        final long[] starts;
+        final long[] maxEnds;
+
+        RoomStays(List<Stay> stays) {
+            stays.sort(Comparator.comparingLong(s -> s.start));
+            starts = new long[stays.size()];
+            maxEnds = new long[stays.size()];
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < stays.size(); i++) {
+                Stay s = stays.get(i);
+                starts[i] = s.start;
+                max = Math.max(max, s.end);
+                maxEnds[i] = max;
+            }
+        }
+
+        boolean overlaps(long from, long to) {
+            // last stay starting before "to"
+            int idx = Arrays.binarySearch(starts, to);
+            idx = idx >= 0 ? idx : -idx - 1;
+            while (idx > 0 && starts[idx - 1] == to) idx--;
+            idx--;
+            return idx >= 0 && maxEnds[idx] > from;
+        }
+    }
+
+    private final ReservationDAO dao = new ReservationDAOImpl();
+
+    private final Object writeLock = new Object();
+    private final Map<Integer, Stay> byReservation = new HashMap<>();
+    private final Map<Integer, Map<Integer, Stay>> byRoom = new HashMap<>();
+    private final ConcurrentHashMap<Integer, RoomStays> snapshots = new ConcurrentHashMap<>();
+
+    // mutation sequence, lets a reconcile skip rows changed while it was reading
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Integer, Long> touched = new HashMap<>();
+
+    private volatile boolean loaded;
+    private ScheduledExecutorService verifier;
+
+    RoomAvailabilityIndex() {
+    }
+
+    // READ
+
+    long currentSequence() {
+        return sequence.get();
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public void ensureLoaded() {
+        if (loaded) return;
+        synchronized (this) {
+            if (!loaded) reconcile();
+        }
+    }
+
+    public boolean isBooked(int roomId, Date checkIn, Date checkOut) {
+        RoomStays rs = snapshots.get(roomId);
+        if (rs == null) return false;
+        return rs.overlaps(checkIn.toLocalDate().toEpochDay(), checkOut.toLocalDate().toEpochDay());
+    }
+
+    // WRITE (called by ReservationDAOImpl after a successful change)
+
+    public void onSaved(int reservationId, int roomId, Date checkIn, Date checkOut, String status) {
+        if (reservationId <= 0) return;
+
+        synchronized (writeLock) {
+            touched.put(reservationId, sequence.incrementAndGet());
+
+            if (isActive(status) && roomId > 0 && checkIn != null && checkOut != null) {
+                put(new Stay(reservationId, roomId,
+                        checkIn.toLocalDate().toEpochDay(), checkOut.toLocalDate().toEpochDay()));
+            } else {
+                remove(reservationId);
+            }
+        }
+    }
+
+    public void onDeleted(int reservationId) {
+        if (reservationId <= 0) return;
+
+        synchronized (writeLock) {
+            touched.put(reservationId, sequence.incrementAndGet());
+            remove(reservationId);
+        }
+    }
+
+    // drops every stay, the next ensureLoaded() reads them again, for a database switch
+    public void clear() {
+        synchronized (this) {
+            synchronized (writeLock) {
+                byReservation.clear();
+                byRoom.clear();
+                snapshots.clear();
+                touched.clear();
+                loaded = false;
+            }
+        }
+    }
+
+    // CONSISTENCY
+
+    // reload from the database and repair drift, returns number of fixed rows
+    public int reconcile() {
+        long startSeq = sequence.get();
+        return reconcile(dao.findActiveStays(), startSeq);
+    }
+
+    // startSeq is taken before the rows were read
+    int reconcile(List<Reservation> active, long startSeq) {
+
+        Map<Integer, Stay> fromDb = new HashMap<>();
+        for (Reservation r : active) {
+            if (!isActive(r.getStatus()) || r.getCheckInDate() == null || r.getCheckOutDate() == null) continue;
+            fromDb.put(r.getReservationId(), new Stay(r.getReservationId(), r.getRoomId(),
+                    r.getCheckInDate().toLocalDate().toEpochDay(), r.getCheckOutDate().toLocalDate().toEpochDay()));
+        }
+
+        int fixed = 0;
+
+        synchronized (writeLock) {
+            Set<Integer> ids = new HashSet<>(byReservation.keySet());
+            ids.addAll(fromDb.keySet());
+
+            for (Integer id : ids) {
+                // changed after the read started, memory is newer
+                Long t = touched.get(id);
+                if (t != null && t > startSeq) continue;
+
+                Stay mem = byReservation.get(id);
+                Stay db = fromDb.get(id);
+                if (db != null && db.sameAs(mem)) continue;
+
+                if (db == null) remove(id);
+                else put(db);
+                fixed++;
+            }
+
+            touched.values().removeIf(t -> t <= startSeq);
+        }
+
+        if (loaded && fixed > 0) {
+            LOG.warning("Room availability index repaired " + fixed + " stale entries");
+        }
+        loaded = true;
+        return fixed;
+    }
+
+    // background check against the database
+    public synchronized void start() {
+        if (verifier != null) return;
+
+        verifier = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "oceanview-availability-verify");
+            t.setDaemon(true);
+            return t;
+        });
+
+        verifier.scheduleWithFixedDelay(() -> {
+            try {
+                reconcile();
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, "Room availability index check failed", e);
+            }
+        }, 0, VERIFY_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    public synchronized void stop() {
+        if (verifier != null) {
+            verifier.shutdownNow();
+            verifier = null;
+        }
+    }
+
+    // PRIVATE HELPERS (writeLock held)
+
+    private void put(Stay s) {
+        Stay old = byReservation.put(s.reservationId, s);
+        if (old != null && old.roomId != s.roomId) {
+            Map<Integer, Stay> oldRoom = byRoom.get(old.roomId);
+            if (oldRoom != null) oldRoom.remove(s.reservationId);
+            rebuild(old.roomId);
+        }
+        byRoom.computeIfAbsent(s.roomId, k -> new HashMap<>()).put(s.reservationId, s);
+        rebuild(s.roomId);
+    }
+
+    private void remove(int reservationId) {
+        Stay old = byReservation.remove(reservationId);
+        if (old == null) return;
+        Map<Integer, Stay> room = byRoom.get(old.roomId);
+        if (room != null) room.remove(reservationId);
+        rebuild(old.roomId);
+    }
+
+    private void rebuild(int roomId) {
+        Map<Integer, Stay> room = byRoom.get(roomId);
+        if (room == null || room.isEmpty()) {
+            byRoom.remove(roomId);
+            snapshots.remove(roomId);
+            return;
+        }
+        snapshots.put(roomId, new RoomStays(new ArrayList<>(room.values())));
+    }
+
+    private static boolean isActive(String status) {
+        if (status == null) return false;
+        String s = status.trim().toUpperCase();
+        return s.equals("PENDING") || s.equals("CONFIRMED") || s.equals("CHECKED_IN");
+    }
+}
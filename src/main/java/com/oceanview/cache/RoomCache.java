@@ -0,0 +1,90 @@
+package com.oceanview.cache;
+
+import com.oceanview.model.Room;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+public class RoomCache {
+
+    // committed room rows by id, with room number as a second key
+    // the reservation flows look the same handful of rooms up again and again
+    // RoomDAOImpl reads through it and drops a room on every write, before and after commit
+    // entries also expire after TTL_SECONDS, so a rate changed on another node is picked up
+
+    private static final long TTL_SECONDS = 60;
+
+    private static final RoomCache INSTANCE = new RoomCache(1024, TTL_SECONDS * 1000);
+
+    public static RoomCache getInstance() {
+        return INSTANCE;
+    }
+
+    private final TinyLfuCache<Integer, Room> rooms;
+
+    // follows the main cache through its removal listener
+    private final ConcurrentHashMap<String, Integer> byNumber = new ConcurrentHashMap<>();
+
+    RoomCache(int maxRooms, long ttlMs) {
+        this.rooms = new TinyLfuCache<>("room", maxRooms, maxRooms, ttlMs, r -> 1, (id, r) -> {
+            if (r.getRoomNumber() != null) byNumber.remove(r.getRoomNumber(), id);
+        });
+    }
+
+    // READ
+
+    public Room get(int id) {
+        Room r = rooms.get(id);
+        return r == null ? null : copy(r);
+    }
+
+    public Room getByNumber(String roomNumber) {
+        if (roomNumber == null) return null;
+        Integer id = byNumber.get(roomNumber);
+        if (id == null) return null;
+
+        // the index can briefly point at a room whose number has since changed
+        Room r = rooms.get(id);
+        return r != null && roomNumber.equals(r.getRoomNumber()) ? copy(r) : null;
+    }
+
+    // WRITE
+
+    // read before loading from the database, see put
+    public long generation() {
+        return rooms.generation();
+    }
+
+    // kept only if nothing was invalidated while it was loading
+    public void put(Room r, long generation) {
+        if (r == null) return;
+        Room c = copy(r);
+        if (rooms.putIfUnchanged(c.getRoomId(), c, generation) && c.getRoomNumber() != null) {
+            byNumber.put(c.getRoomNumber(), c.getRoomId());
+        }
+    }
+
+    public void invalidate(int id) {
+        rooms.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        rooms.invalidateAll();
+    }
+
+    public TinyLfuCache<Integer, Room> stats() {
+        return rooms;
+    }
+
+    private static Room copy(Room r) {
+        Room c = new Room();
+        c.setRoomId(r.getRoomId());
+        c.setRoomNumber(r.getRoomNumber());
+        c.setRoomType(r.getRoomType());
+        c.setRatePerNight(r.getRatePerNight());
+        c.setMaxGuests(r.getMaxGuests());
+        c.setStatus(r.getStatus());
+        c.setDescription(r.getDescription());
+        c.setImageUrl(r.getImageUrl());
+        return c;
+    }
+}
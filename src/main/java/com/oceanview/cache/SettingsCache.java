@@ -0,0 +1,167 @@
+package com.oceanview.cache;
+
+import com.oceanview.dao.SettingDAO;
+import com.oceanview.dao.impl.SettingDAOImpl;
+import com.oceanview.model.Setting;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class SettingsCache {
+
+    // immutable snapshot of the settings table
+    // readers only dereference the current snapshot, writers swap in a new one
+    // keys are matched ignoring case, as MySQL compares setting_key
+
+    private static final Logger LOG = Logger.getLogger(SettingsCache.class.getName());
+
+    private static final SettingsCache INSTANCE = new SettingsCache(new SettingDAOImpl());
+
+    private static final long REFRESH_INTERVAL_SECONDS = 30;
+
+    public static SettingsCache getInstance() {
+        return INSTANCE;
+    }
+
+    static final class Snapshot {
+        final Map<String, String> raw;
+        final Map<String, String> trimmed;
+        final Map<String, Map<String, String>> byCategory;
+        final String version;
+
+        Snapshot(List<Setting> settings, String version) {
+            Map<String, String> r = new HashMap<>();
+            Map<String, String> t = new HashMap<>();
+            Map<String, Map<String, String>> c = new HashMap<>();
+
+            for (Setting s : settings) {
+                String v = s.getSettingValue();
+                r.put(normalize(s.getSettingKey()), v);
+                t.put(normalize(s.getSettingKey()), v == null ? null : v.trim());
+
+                String cat = s.getSettingCategory() == null ? "" : s.getSettingCategory().toUpperCase();
+                c.computeIfAbsent(cat, k -> new HashMap<>()).put(s.getSettingKey(), v);
+            }
+            c.replaceAll((k, m) -> Collections.unmodifiableMap(m));
+
+            this.raw = Collections.unmodifiableMap(r);
+            this.trimmed = Collections.unmodifiableMap(t);
+            this.byCategory = Collections.unmodifiableMap(c);
+            this.version = version;
+        }
+    }
+
+    private final SettingDAO dao;
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private ScheduledExecutorService refresher;
+
+    SettingsCache(SettingDAO dao) {
+        this.dao = dao;
+    }
+
+    // READ
+
+    Snapshot snapshot() {
+        Snapshot s = current.get();
+        return s != null ? s : loadIfAbsent();
+    }
+
+    public String getRaw(String key) {
+        return snapshot().raw.get(normalize(key));
+    }
+
+    public String getTrimmed(String key) {
+        return snapshot().trimmed.get(normalize(key));
+    }
+
+    public boolean contains(String key) {
+        return snapshot().raw.containsKey(normalize(key));
+    }
+
+    public Map<String, String> getCategory(String category) {
+        Map<String, String> m = snapshot().byCategory.get(category);
+        return m != null ? m : Collections.emptyMap();
+    }
+
+    // WRITE
+
+    // called after a local update has committed, next read sees the new values
+    // a failed reload keeps the old snapshot, the version check of refreshIfChanged() picks it up later
+    public void invalidate() {
+        try {
+            load();
+        } catch (RuntimeException e) {
+            LOG.log(Level.WARNING, "Settings reload failed, serving the previous values", e);
+        }
+    }
+
+    // drops the snapshot, the next read loads it, for a database switch
+    public void clear() {
+        current.set(null);
+    }
+
+    // reload only when the table changed, catches updates from other nodes
+    public boolean refreshIfChanged() {
+        Snapshot s = current.get();
+        if (s == null) return false;
+
+        String version = dao.findVersion();
+        if (version.equals(s.version)) return false;
+
+        load();
+        return true;
+    }
+
+    private synchronized Snapshot loadIfAbsent() {
+        Snapshot s = current.get();
+        return s != null ? s : load();
+    }
+
+    private synchronized Snapshot load() {
+        // version first, a concurrent change then only causes one extra reload
+        String version = dao.findVersion();
+        Snapshot s = new Snapshot(dao.findAll(), version);
+        current.set(s);
+        return s;
+    }
+
+    private static String normalize(String key) {
+        return key == null ? null : key.toLowerCase(Locale.ROOT);
+    }
+
+    // LIFECYCLE
+
+    public synchronized void start() {
+        if (refresher != null) return;
+
+        refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "oceanview-settings-refresh");
+            t.setDaemon(true);
+            return t;
+        });
+
+        refresher.scheduleWithFixedDelay(() -> {
+            try {
+                refreshIfChanged();
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, "Settings refresh failed", e);
+            }
+        }, REFRESH_INTERVAL_SECONDS, REFRESH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public synchronized void stop() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+            refresher = null;
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.oceanview.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.ToIntFunction;
+
+public class TinyLfuCache<K, V> {
+
+    // bounded, weighted cache with W-TinyLFU admission
+    // new entries land in a small LRU window; when it overflows, its oldest entry only gets into
+    // the main space if a frequency sketch says it is wanted more than main's own eviction
+    // candidate, so a run of one-off lookups can't push out the hot set
+    // main is segmented LRU: probation for entries admitted once, protected for those hit again
+    // one lock, the values here are looked up a handful of times per request
+    // with a ttl, an entry older than it is dropped when next read
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private static final class Node<K, V> {
+        final K key;
+        V value;
+        int weight;
+        int segment;
+        long writtenAt;
+
+        Node(K key, V value, int weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    private final String name;
+    private final long maxWeight;
+    private final long windowMax;
+    private final long protectedMax;
+    private final long ttlNanos;
+    private final ToIntFunction<V> weigher;
+    private final BiConsumer<K, V> onRemoval;
+    private final FrequencySketch sketch;
+
+    private final Map<K, Node<K, V>> data = new HashMap<>();
+    private final LinkedHashMap<K, Node<K, V>> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, Node<K, V>> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, Node<K, V>> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long windowWeight;
+    private long probationWeight;
+    private long protectedWeight;
+
+    // bumped by every invalidation, see putIfUnchanged
+    private long generation;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    // expectedEntries sizes the sketch, onRemoval may be null and runs under the cache lock
+    public TinyLfuCache(String name, long maxWeight, int expectedEntries,
+                        ToIntFunction<V> weigher, BiConsumer<K, V> onRemoval) {
+        this(name, maxWeight, expectedEntries, 0, weigher, onRemoval);
+    }
+
+    // ttlMs <= 0 keeps entries until evicted or invalidated
+    public TinyLfuCache(String name, long maxWeight, int expectedEntries, long ttlMs,
+                        ToIntFunction<V> weigher, BiConsumer<K, V> onRemoval) {
+        if (maxWeight <= 0) throw new IllegalArgumentException("maxWeight must be positive");
+
+        this.name = name;
+        this.maxWeight = maxWeight;
+        this.windowMax = Math.max(1, maxWeight / 100);
+        this.protectedMax = (long) ((maxWeight - windowMax) * 0.8);
+        this.weigher = weigher;
+        this.onRemoval = onRemoval;
+        this.sketch = new FrequencySketch(Math.max(16, expectedEntries));
+        this.ttlNanos = ttlMs > 0 ? TimeUnit.MILLISECONDS.toNanos(ttlMs) : 0;
+    }
+
+    // READ
+
+    public synchronized V get(K key) {
+        sketch.increment(key);
+
+        Node<K, V> n = data.get(key);
+        if (n != null && ttlNanos > 0 && System.nanoTime() - n.writtenAt >= ttlNanos) {
+            remove(n);
+            n = null;
+        }
+        if (n == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+
+        switch (n.segment) {
+            case WINDOW:
+                window.get(key);
+                break;
+            case PROBATION:
+                // second hit in main, promote
+                probation.remove(key);
+                probationWeight -= n.weight;
+                n.segment = PROTECTED;
+                protectedSegment.put(key, n);
+                protectedWeight += n.weight;
+                demoteProtected();
+                break;
+            default:
+                protectedSegment.get(key);
+        }
+        return n.value;
+    }
+
+    // WRITE
+
+    public synchronized void put(K key, V value) {
+        Node<K, V> n = data.get(key);
+        int weight = Math.max(1, weigher.applyAsInt(value));
+
+        if (n != null) {
+            V old = n.value;
+            n.value = value;
+            n.writtenAt = System.nanoTime();
+            adjustWeight(n, weight - n.weight);
+            n.weight = weight;
+            if (onRemoval != null && old != value) onRemoval.accept(key, old);
+            evict();
+            return;
+        }
+
+        // too big to ever fit
+        if (weight > maxWeight) return;
+
+        n = new Node<>(key, value, weight);
+        n.segment = WINDOW;
+        n.writtenAt = System.nanoTime();
+        data.put(key, n);
+        window.put(key, n);
+        windowWeight += weight;
+        evict();
+    }
+
+    // generation() read before a load, the loaded value is dropped if anything was invalidated since
+    public synchronized boolean putIfUnchanged(K key, V value, long generation) {
+        if (generation != this.generation) return false;
+        put(key, value);
+        return true;
+    }
+
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public synchronized void invalidate(K key) {
+        generation++;
+        Node<K, V> n = data.get(key);
+        if (n != null) remove(n);
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        for (Node<K, V> n : new ArrayList<>(data.values())) remove(n);
+    }
+
+    // STATS
+
+    public String getName() { return name; }
+    public synchronized long getHitCount() { return hits; }
+    public synchronized long getMissCount() { return misses; }
+    public synchronized long getEvictionCount() { return evictions; }
+    public synchronized int size() { return data.size(); }
+    public synchronized long weight() { return windowWeight + probationWeight + protectedWeight; }
+    public long getMaxWeight() { return maxWeight; }
+
+    // EVICTION
+
+    private void evict() {
+        // the window's oldest entries become candidates for main
+        while (windowWeight > windowMax && !window.isEmpty()) {
+            Node<K, V> candidate = eldest(window);
+            window.remove(candidate.key);
+            windowWeight -= candidate.weight;
+
+            candidate.segment = PROBATION;
+            probation.put(candidate.key, candidate);
+            probationWeight += candidate.weight;
+
+            admit(candidate);
+        }
+
+        // a grown value can still leave us over
+        while (weight() > maxWeight) {
+            Node<K, V> victim = !probation.isEmpty() ? eldest(probation)
+                    : !protectedSegment.isEmpty() ? eldest(protectedSegment) : eldest(window);
+            if (victim == null) break;
+            evictions++;
+            remove(victim);
+        }
+    }
+
+    // main is full: the candidate and main's oldest entry compete on frequency, the loser goes
+    private void admit(Node<K, V> candidate) {
+        while (weight() > maxWeight) {
+            Node<K, V> victim = eldestExcept(probation, candidate);
+            if (victim == null) victim = eldest(protectedSegment);
+            if (victim == null) {
+                evictions++;
+                remove(candidate);
+                return;
+            }
+
+            evictions++;
+            if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+                remove(victim);
+            } else {
+                remove(candidate);
+                return;
+            }
+        }
+    }
+
+    private void demoteProtected() {
+        while (protectedWeight > protectedMax && protectedSegment.size() > 1) {
+            Node<K, V> n = eldest(protectedSegment);
+            protectedSegment.remove(n.key);
+            protectedWeight -= n.weight;
+
+            n.segment = PROBATION;
+            probation.put(n.key, n);
+            probationWeight += n.weight;
+        }
+    }
+
+    private void remove(Node<K, V> n) {
+        data.remove(n.key);
+        switch (n.segment) {
+            case WINDOW:
+                window.remove(n.key);
+                windowWeight -= n.weight;
+                break;
+            case PROBATION:
+                probation.remove(n.key);
+                probationWeight -= n.weight;
+                break;
+            default:
+                protectedSegment.remove(n.key);
+                protectedWeight -= n.weight;
+        }
+        if (onRemoval != null) onRemoval.accept(n.key, n.value);
+    }
+
+    private void adjustWeight(Node<K, V> n, int delta) {
+        switch (n.segment) {
+            case WINDOW: windowWeight += delta; break;
+            case PROBATION: probationWeight += delta; break;
+            default: protectedWeight += delta;
+        }
+    }
+
+    private static <K, V> Node<K, V> eldest(LinkedHashMap<K, Node<K, V>> segment) {
+        Iterator<Node<K, V>> it = segment.values().iterator();
+        return it.hasNext() ? it.next() : null;
+    }
+
+    private static <K, V> Node<K, V> eldestExcept(LinkedHashMap<K, Node<K, V>> segment, Node<K, V> skip) {
+        for (Node<K, V> n : segment.values()) {
+            if (n != skip) return n;
+        }
+        return null;
+    }
+
+    // count-min sketch of recent access frequency, 4 rows of 4-bit style counters capped at 15
+    // all counters are halved every 10 x width increments so old popularity fades
+    static final class FrequencySketch {
+
+        private static final long[] SEEDS = {
+                0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+        };
+
+        private final byte[] table;
+        private final int width;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int expectedEntries) {
+            int w = Integer.highestOneBit(Math.max(16, expectedEntries) - 1) << 1;
+            this.width = w;
+            this.table = new byte[4 * w];
+            this.sampleSize = 10 * w;
+        }
+
+        void increment(Object key) {
+            int h = spread(key.hashCode());
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                int idx = index(h, i);
+                if (table[idx] < 15) {
+                    table[idx]++;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) reset();
+        }
+
+        int frequency(Object key) {
+            int h = spread(key.hashCode());
+            int min = 15;
+            for (int i = 0; i < 4; i++) min = Math.min(min, table[index(h, i)]);
+            return min;
+        }
+
+        private void reset() {
+            for (int i = 0; i < table.length; i++) table[i] >>= 1;
+            additions /= 2;
+        }
+
+        private int index(int h, int row) {
+            long hash = (h + SEEDS[row]) * SEEDS[row];
+            hash += hash >>> 32;
+            return row * width + ((int) hash & (width - 1));
+        }
+
+        private static int spread(int x) {
+            x = ((x >>> 16) ^ x) * 0x45d9f3b;
+            x = ((x >>> 16) ^ x) * 0x45d9f3b;
+            return (x >>> 16) ^ x;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.oceanview.dao;
+
+import com.oceanview.model.EmailOutboxMessage;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+public interface EmailOutboxDAO {
+
+    // abstraction
+
+    long enqueue(String toEmail, String subject, String body, String sealedSecret); // create
+    List<EmailOutboxMessage> findDue(Timestamp now, int limit); // worker poll
+    boolean claim(long outboxId, Timestamp leaseUntil);       // single sender per row
+
+    boolean markSent(long outboxId);                          // done
+    boolean markRetry(long outboxId, int attempts, Timestamp nextAttemptAt, String error); // backoff
+    boolean markFailed(long outboxId, int attempts, String error); // give up
+
+    int releaseExpiredClaims(Timestamp now);                  // crashed sender recovery
+    int countPending();                                       // queue depth
+}
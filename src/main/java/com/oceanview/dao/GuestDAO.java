@@ -23,8 +23,7 @@ public interface GuestDAO {
     boolean delete(int id);             // delete
 
     // security
+    String findPasswordById(int guestId);                       // stored hash, never cached
     boolean updatePassword(int guestId, String password);       
     boolean updatePasswordById(int guestId, String password);   
-
-    Guest findByEmailAndPassword(String email, String password); // login
 }
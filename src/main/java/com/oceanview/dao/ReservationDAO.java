@@ -2,9 +2,12 @@ package com.oceanview.dao;
 
 import com.oceanview.model.Reservation;
 import com.oceanview.model.ReservationDailyCount;
+import com.oceanview.model.ReservationFilter;
+import com.oceanview.model.Room;
 
 import java.sql.Date;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ReservationDAO {
 
@@ -12,11 +15,13 @@ public interface ReservationDAO {
     // abstraction
 
     List<Reservation> findAll();                    // read all
+    List<Reservation> findPage(int afterId, int limit, ReservationFilter filter); // keyset listing, newest first
+    int countMatching(ReservationFilter filter);    // rows findPage would walk
     Reservation findById(int id);                  // read by id
     Reservation findByNumber(String reservationNumber); // business key
 
     int countAllReservations();                    // reporting
-    boolean hasBookingInRange(int roomId, Date checkIn, Date checkOut); // validation
+    List<Room> findRoomsWithAvailability(Date checkIn, Date checkOut); // all rooms, one query
 
     int countOccupiedRoomsToday(Date today);       // dashboard stats
 
@@ -24,8 +29,6 @@ public interface ReservationDAO {
     boolean hasOverlappingReservationExceptSelf(
             int roomId, int reservationId, Date checkIn, Date checkOut); // update validation
 
-    String findLastReservationNumberForDate(String yyyymmddPrefix); // number generation
-
     int create(Reservation reservation);            // create
     boolean updateStatus(int reservationId, String status); // status change
     boolean delete(int reservationId);              // delete
@@ -33,10 +36,14 @@ public interface ReservationDAO {
 
     List<Reservation> findByRoom(int roomId);       // filter by room
     List<Reservation> findBetween(Date start, Date end); // date range
+    int streamForExport(Date start, Date end, Consumer<Reservation> sink); // csv export, null range = all
     List<Reservation> getRecentCheckins();          // dashboard
+    List<Reservation> findLatestStays(int limit);   // checked-in/confirmed by check-in date, upcoming included
     List<Reservation> findByGuestId(int guestId);   // guest history
+    List<Reservation> findActiveStays();            // availability index
 
     int countBetween(Date start, Date end);         // analytics
+    int countGuestsBetween(Date start, Date end);   // distinct guests of findBetween's stays
     double sumRevenueBetween(Date start, Date end); // revenue
 
     List<ReservationDailyCount> countPerDayBetween(
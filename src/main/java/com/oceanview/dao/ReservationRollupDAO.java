@@ -0,0 +1,21 @@
+package com.oceanview.dao;
+
+import com.oceanview.model.ReservationDailyRollup;
+
+import java.sql.Date;
+import java.util.List;
+
+public interface ReservationRollupDAO {
+
+    // abstraction
+
+    void recomputeDay(Date day);                    // rebuild one day from reservations
+    int deleteOutside(Date first, Date last);       // drop days with no reservations left
+    int deleteAll();                                // no reservations at all
+
+    List<ReservationDailyRollup> findDailyTotals(Date start, Date end); // dashboard, summed over room types
+
+    Date findFirstReservationDay();                 // rebuild range
+    Date findLastReservationDay();                  // rebuild range
+    boolean isEmpty();                              // cold start check
+}
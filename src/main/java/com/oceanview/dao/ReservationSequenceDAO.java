@@ -0,0 +1,10 @@
+package com.oceanview.dao;
+
+import java.sql.Date;
+
+public interface ReservationSequenceDAO {
+
+    // abstraction
+
+    int reserveBlock(Date day, int size);           // first number of a reserved block
+}
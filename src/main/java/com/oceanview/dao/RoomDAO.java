@@ -1,6 +1,9 @@
 package com.oceanview.dao;
 
 import com.oceanview.model.Room;
+
+import java.sql.Date;
+import java.util.Collection;
 import java.util.List;
 
 public interface RoomDAO {
@@ -17,5 +20,7 @@ public interface RoomDAO {
     boolean delete(int id);              // delete
 
     double findPriceById(int roomId);    // pricing logic
+    double lockForBooking(int roomId);   // row lock inside a unit of work, returns rate
     boolean updateStatus(int roomId, String status); // update room status
+    int refreshStatuses(Date today, Collection<Integer> roomIds); // booked/available from stays, null = all rooms
 }
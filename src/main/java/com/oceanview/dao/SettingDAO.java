@@ -11,6 +11,7 @@ public interface SettingDAO {
     List<Setting> findAll();                    // read all
     List<Setting> findByCategory(String category); // grouping
     Setting findByKey(String key);              // config lookup
+    String findVersion();                       // change detection
 
     String getValue(String key);                // config read
     String getValue(String key, String defaultValue); // fallback logic
@@ -0,0 +1,211 @@
+package com.oceanview.dao.impl;
+
+import com.oceanview.dao.EmailOutboxDAO;
+import com.oceanview.model.EmailOutboxMessage;
+import com.oceanview.util.DatabaseConnection;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+public class EmailOutboxDAOImpl implements EmailOutboxDAO {
+
+    // dao implementation
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Override
+    public long enqueue(String toEmail, String subject, String body, String sealedSecret) {
+
+        // insert pending message
+        String sql = "INSERT INTO email_outbox (to_email, subject, body, secret, status, attempts, next_attempt_at) " +
+                     "VALUES (?, ?, ?, ?, 'PENDING', 0, ?)";
+
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+            ps.setString(1, toEmail);
+            ps.setString(2, subject == null ? "" : subject);
+            ps.setString(3, body == null ? "" : body);
+            ps.setString(4, sealedSecret);
+            ps.setTimestamp(5, new Timestamp(System.currentTimeMillis()));
+
+            ps.executeUpdate();
+
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                return keys.next() ? keys.getLong(1) : 0;
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to queue email", e);
+        }
+    }
+
+    @Override
+    public List<EmailOutboxMessage> findDue(Timestamp now, int limit) {
+
+        // oldest due first
+        String sql = "SELECT outbox_id, to_email, subject, body, secret, status, attempts, next_attempt_at, " +
+                     "last_error, created_at, sent_at " +
+                     "FROM email_outbox " +
+                     "WHERE status = 'PENDING' AND next_attempt_at <= ? " +
+                     "ORDER BY next_attempt_at, outbox_id " +
+                     "LIMIT ?";
+
+        List<EmailOutboxMessage> list = new ArrayList<>();
+
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setTimestamp(1, now);
+            ps.setInt(2, limit);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) list.add(map(rs));
+            }
+
+            return list;
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to load queued emails", e);
+        }
+    }
+
+    @Override
+    public boolean claim(long outboxId, Timestamp leaseUntil) {
+
+        // only one sender wins the row
+        String sql = "UPDATE email_outbox SET status = 'SENDING', next_attempt_at = ? " +
+                     "WHERE outbox_id = ? AND status = 'PENDING'";
+
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setTimestamp(1, leaseUntil);
+            ps.setLong(2, outboxId);
+            return ps.executeUpdate() > 0;
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to claim queued email", e);
+        }
+    }
+
+    @Override
+    public boolean markSent(long outboxId) {
+
+        // the sealed password and the guest details are not kept after delivery
+        String sql = "UPDATE email_outbox SET status = 'SENT', body = '', secret = NULL, last_error = NULL, sent_at = ? " +
+                     "WHERE outbox_id = ?";
+
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setTimestamp(1, new Timestamp(System.currentTimeMillis()));
+            ps.setLong(2, outboxId);
+            return ps.executeUpdate() > 0;
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to mark email sent", e);
+        }
+    }
+
+    @Override
+    public boolean markRetry(long outboxId, int attempts, Timestamp nextAttemptAt, String error) {
+
+        // back to pending with a later due time
+        String sql = "UPDATE email_outbox SET status = 'PENDING', attempts = ?, next_attempt_at = ?, last_error = ? " +
+                     "WHERE outbox_id = ?";
+
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setInt(1, attempts);
+            ps.setTimestamp(2, nextAttemptAt);
+            ps.setString(3, truncate(error));
+            ps.setLong(4, outboxId);
+            return ps.executeUpdate() > 0;
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to reschedule email", e);
+        }
+    }
+
+    @Override
+    public boolean markFailed(long outboxId, int attempts, String error) {
+
+        // give up, the sealed password and the guest details are not kept either
+        String sql = "UPDATE email_outbox SET status = 'FAILED', body = '', secret = NULL, attempts = ?, last_error = ? " +
+                     "WHERE outbox_id = ?";
+
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setInt(1, attempts);
+            ps.setString(2, truncate(error));
+            ps.setLong(3, outboxId);
+            return ps.executeUpdate() > 0;
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to mark email failed", e);
+        }
+    }
+
+    @Override
+    public int releaseExpiredClaims(Timestamp now) {
+
+        // sender died mid-batch
+        String sql = "UPDATE email_outbox SET status = 'PENDING' WHERE status = 'SENDING' AND next_attempt_at < ?";
+
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setTimestamp(1, now);
+            return ps.executeUpdate();
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to release email claims", e);
+        }
+    }
+
+    @Override
+    public int countPending() {
+
+        // queue depth
+        String sql = "SELECT COUNT(*) FROM email_outbox WHERE status IN ('PENDING','SENDING')";
+
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+
+            return rs.next() ? rs.getInt(1) : 0;
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to count queued emails", e);
+        }
+    }
+
+    private String truncate(String s) {
+        if (s == null) return null;
+        return s.length() <= MAX_ERROR_LENGTH ? s : s.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private EmailOutboxMessage map(ResultSet rs) throws SQLException {
+
+        // result mapping
+        EmailOutboxMessage m = new EmailOutboxMessage();
+
+        m.setOutboxId(rs.getLong("outbox_id"));
+        m.setToEmail(rs.getString("to_email"));
+        m.setSubject(rs.getString("subject"));
+        m.setBody(rs.getString("body"));
+        m.setSecret(rs.getString("secret"));
+        m.setStatus(rs.getString("status"));
+        m.setAttempts(rs.getInt("attempts"));
+        m.setNextAttemptAt(rs.getTimestamp("next_attempt_at"));
+        m.setLastError(rs.getString("last_error"));
+        m.setCreatedAt(rs.getTimestamp("created_at"));
+        m.setSentAt(rs.getTimestamp("sent_at"));
+
+        return m;
+    }
+}
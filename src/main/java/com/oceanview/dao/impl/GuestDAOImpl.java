@@ -1,8 +1,12 @@
 package com.oceanview.dao.impl;
 
+import com.oceanview.cache.CalendarCache;
+import com.oceanview.cache.GuestCache;
+import com.oceanview.cache.GuestSearchIndex;
 import com.oceanview.dao.GuestDAO;
 import com.oceanview.model.Guest;
 import com.oceanview.util.DatabaseConnection;
+import com.oceanview.util.UnitOfWork;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -57,6 +61,12 @@ public class GuestDAOImpl implements GuestDAO {
     @Override
     public Guest findById(int id) {
 
+        // cache first
+        GuestCache cache = GuestCache.getInstance();
+        Guest cached = cache.get(id);
+        if (cached != null) return cached;
+        long generation = cache.generation();
+
         // search by id
         String sql = "SELECT guest_id, user_id, full_name, address, contact_number, email, password " +
                 "FROM guests WHERE guest_id=?";
@@ -67,7 +77,7 @@ public class GuestDAOImpl implements GuestDAO {
             ps.setInt(1, id);
 
             try (ResultSet rs = ps.executeQuery()) {
-                return rs.next() ? map(rs) : null;
+                return remember(rs.next() ? map(rs) : null, generation);
             }
 
         } catch (SQLException e) {
@@ -78,6 +88,12 @@ public class GuestDAOImpl implements GuestDAO {
     @Override
     public Guest findByEmail(String email) {
 
+        // cache first
+        GuestCache cache = GuestCache.getInstance();
+        Guest cached = cache.getByEmail(email);
+        if (cached != null) return cached;
+        long generation = cache.generation();
+
         // search by email
         String sql = "SELECT guest_id, user_id, full_name, address, contact_number, email, password " +
                 "FROM guests WHERE email=?";
@@ -88,7 +104,7 @@ public class GuestDAOImpl implements GuestDAO {
             ps.setString(1, email);
 
             try (ResultSet rs = ps.executeQuery()) {
-                return rs.next() ? map(rs) : null;
+                return remember(rs.next() ? map(rs) : null, generation);
             }
 
         } catch (SQLException e) {
@@ -117,31 +133,13 @@ public class GuestDAOImpl implements GuestDAO {
         }
     }
 
-    @Override
-    public Guest findByEmailAndPassword(String email, String password) {
-
-        // login check
-        String sql = "SELECT guest_id, user_id, full_name, address, contact_number, email, password " +
-                "FROM guests WHERE email=? AND password=? LIMIT 1";
-
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setString(1, email);
-            ps.setString(2, password);
-
-            try (ResultSet rs = ps.executeQuery()) {
-                return rs.next() ? map(rs) : null;
-            }
-
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to login guest", e);
-        }
-    }
-
     @Override
     public List<Guest> search(String q, int limit) {
 
+        // in-memory index once built, sql until then
+        GuestSearchIndex index = GuestSearchIndex.getInstance();
+        if (index.isLoaded()) return index.search(q, Math.max(1, Math.min(limit, 20)));
+
         // search query
         String sql =
                 "SELECT guest_id, user_id, full_name, address, contact_number, email, password " +
@@ -205,6 +203,17 @@ public class GuestDAOImpl implements GuestDAO {
             else ps.setString(7, g.getPassword().trim());
 
             ps.executeUpdate();
+            evict(id);
+
+            Guest saved = new Guest();
+            saved.setGuestId(id);
+            saved.setUserId(g.getUserId());
+            saved.setFullName(g.getFullName());
+            saved.setAddress(g.getAddress() == null ? null : g.getAddress().trim());
+            saved.setContactNumber(g.getContactNumber());
+            saved.setEmail(g.getEmail() == null ? null : g.getEmail().trim());
+            afterSaved(saved);
+
             return id;
 
         } catch (SQLException e) {
@@ -231,13 +240,40 @@ public class GuestDAOImpl implements GuestDAO {
             ps.setString(5, g.getEmail());
             ps.setInt(6, g.getGuestId());
 
-            return ps.executeUpdate() > 0;
+            boolean updated = ps.executeUpdate() > 0;
+            if (updated) {
+                evict(g.getGuestId());
+                afterSaved(g);
+                // calendar events carry the guest's name and phone
+                UnitOfWork.afterCommit(() -> CalendarCache.getInstance().invalidateAll());
+            }
+            return updated;
 
         } catch (SQLException e) {
             throw new RuntimeException("Failed to update guest", e);
         }
     }
 
+    @Override
+    public String findPasswordById(int guestId) {
+
+        // read straight from the table, the guest cache holds no passwords
+        String sql = "SELECT password FROM guests WHERE guest_id=?";
+
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setInt(1, guestId);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to find guest password", e);
+        }
+    }
+
     @Override
     public boolean updatePasswordById(int guestId, String password) {
 
@@ -249,7 +285,10 @@ public class GuestDAOImpl implements GuestDAO {
 
             ps.setString(1, password);
             ps.setInt(2, guestId);
-            return ps.executeUpdate() > 0;
+
+            boolean updated = ps.executeUpdate() > 0;
+            if (updated) evict(guestId);
+            return updated;
 
         } catch (SQLException e) {
             throw new RuntimeException("Failed to update guest password", e);
@@ -268,7 +307,9 @@ public class GuestDAOImpl implements GuestDAO {
             ps.setString(1, password);
             ps.setInt(2, guestId);
 
-            return ps.executeUpdate() > 0;
+            boolean updated = ps.executeUpdate() > 0;
+            if (updated) evict(guestId);
+            return updated;
 
         } catch (SQLException e) {
             throw new RuntimeException("Failed to update guest password", e);
@@ -285,13 +326,51 @@ public class GuestDAOImpl implements GuestDAO {
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
             ps.setInt(1, id);
-            return ps.executeUpdate() > 0;
+
+            boolean deleted = ps.executeUpdate() > 0;
+            if (deleted) {
+                evict(id);
+                UnitOfWork.afterCommit(() -> {
+                    GuestSearchIndex.getInstance().onDeleted(id);
+                    CalendarCache.getInstance().invalidateAll();
+                });
+            }
+            return deleted;
 
         } catch (SQLException e) {
             throw new RuntimeException("Failed to delete guest", e);
         }
     }
 
+    // rows read inside a unit of work may not be committed yet, those are not cached
+    // the password is dropped either way, so a cached and a fresh read look the same
+    private Guest remember(Guest g, long generation) {
+        if (g == null) return null;
+        g.setPassword(null);
+        if (!UnitOfWork.isActive()) GuestCache.getInstance().put(g, generation);
+        return g;
+    }
+
+    // dropped now so this transaction reads its own write, and again once committed in case
+    // another request cached the old row in between
+    private void evict(int guestId) {
+        GuestCache.getInstance().invalidate(guestId);
+        UnitOfWork.afterCommit(() -> GuestCache.getInstance().invalidate(guestId));
+    }
+
+    // search index follows committed changes, fields are copied before the caller can reuse g
+    private void afterSaved(Guest g) {
+        Guest snapshot = new Guest();
+        snapshot.setGuestId(g.getGuestId());
+        snapshot.setUserId(g.getUserId());
+        snapshot.setFullName(g.getFullName());
+        snapshot.setAddress(g.getAddress());
+        snapshot.setContactNumber(g.getContactNumber());
+        snapshot.setEmail(g.getEmail());
+
+        UnitOfWork.afterCommit(() -> GuestSearchIndex.getInstance().onSaved(snapshot));
+    }
+
     private Guest map(ResultSet rs) throws SQLException {
 
         // result mapping
@@ -1,13 +1,23 @@
 package com.oceanview.dao.impl;
 
+import com.oceanview.cache.CalendarCache;
+import com.oceanview.cache.GuestReservationsCache;
+import com.oceanview.cache.InvoiceCache;
+import com.oceanview.cache.RoomAvailabilityIndex;
 import com.oceanview.dao.ReservationDAO;
 import com.oceanview.model.ReservationDailyCount;
+import com.oceanview.model.ReservationFilter;
 import com.oceanview.model.Reservation;
+import com.oceanview.model.Room;
+import com.oceanview.service.ReservationRollupService;
+import com.oceanview.service.RoomStatusReconciler;
 import com.oceanview.util.DatabaseConnection;
+import com.oceanview.util.UnitOfWork;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class ReservationDAOImpl implements ReservationDAO {
 
@@ -45,8 +55,114 @@ public class ReservationDAOImpl implements ReservationDAO {
         }
     }
 
+    @Override
+    public List<Reservation> findPage(int afterId, int limit, ReservationFilter filter) {
+
+        // seek past the last id seen instead of OFFSET, every page costs the same
+        StringBuilder sql = new StringBuilder(
+            "SELECT r.reservation_id, r.reservation_number, r.guest_id, r.room_id, " +
+            "       r.check_in_date, r.check_out_date, r.status, r.notes, r.created_by, " +
+            "       r.nights, r.rate_per_night, r.subtotal, r.tax, r.discount, r.total_amount, " +
+            "       r.amount_paid, r.payment_status, " +
+            "       g.full_name AS guest_name, g.email AS guest_email, g.contact_number AS guest_phone, " +
+            "       rm.room_number AS room_number, rm.room_type AS room_type " +
+            "FROM reservations r " +
+            "LEFT JOIN guests g ON g.guest_id = r.guest_id " +
+            "LEFT JOIN rooms rm ON rm.room_id = r.room_id " +
+            "WHERE 1 = 1 ");
+
+        List<Object> params = new ArrayList<>();
+
+        if (afterId > 0) {
+            sql.append("AND r.reservation_id < ? ");
+            params.add(afterId);
+        }
+        appendFilter(sql, params, filter);
+
+        sql.append("ORDER BY r.reservation_id DESC LIMIT ?");
+        params.add(limit);
+
+        List<Reservation> list = new ArrayList<>();
+
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < params.size(); i++) ps.setObject(i + 1, params.get(i));
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) list.add(map(rs));
+            }
+            return list;
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to load reservation page", e);
+        }
+    }
+
+    @Override
+    public int countMatching(ReservationFilter filter) {
+
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM reservations r WHERE 1 = 1 ");
+        List<Object> params = new ArrayList<>();
+        appendFilter(sql, params, filter);
+
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < params.size(); i++) ps.setObject(i + 1, params.get(i));
+
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to count reservations", e);
+        }
+    }
+
+    private static void appendFilter(StringBuilder sql, List<Object> params, ReservationFilter filter) {
+        if (filter == null) return;
+
+        appendIn(sql, params, "r.status", filter.getStatuses());
+        appendIn(sql, params, "r.payment_status", filter.getPaymentStatuses());
+
+        // stays overlapping the window, either end may be open
+        if (filter.getTo() != null) {
+            sql.append("AND r.check_in_date < ? ");
+            params.add(filter.getTo());
+        }
+        if (filter.getFrom() != null) {
+            sql.append("AND r.check_out_date > ? ");
+            params.add(filter.getFrom());
+        }
+        if (filter.getRoomId() > 0) {
+            sql.append("AND r.room_id = ? ");
+            params.add(filter.getRoomId());
+        }
+    }
+
+    private static void appendIn(StringBuilder sql, List<Object> params, String column, List<String> values) {
+        if (values == null || values.isEmpty()) return;
+
+        sql.append("AND ").append(column).append(" IN (");
+        for (int i = 0; i < values.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+            params.add(values.get(i));
+        }
+        sql.append(") ");
+    }
+
     @Override
     public Reservation findById(int id) {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+            return findById(conn, id);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to find reservation by id", e);
+        }
+    }
+
+    // on a connection the caller already holds, writes read the old row without borrowing a second one
+    private Reservation findById(Connection conn, int id) throws SQLException {
 
         // search by id
         String sql =
@@ -61,17 +177,13 @@ public class ReservationDAOImpl implements ReservationDAO {
             "LEFT JOIN rooms rm ON rm.room_id = r.room_id " +
             "WHERE r.reservation_id=?";
 
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
 
             ps.setInt(1, id);
 
             try (ResultSet rs = ps.executeQuery()) {
                 return rs.next() ? map(rs) : null;
             }
-
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to find reservation by id", e);
         }
     }
 
@@ -202,7 +314,7 @@ public class ReservationDAOImpl implements ReservationDAO {
             try (ResultSet keys = ps.getGeneratedKeys()) {
                 if (keys.next()) {
                     int id = keys.getInt(1);
-                    updateRoomStatus(conn, r.getRoomId());
+                    afterSaved(id, r, null);
                     return id;
                 }
                 return 0;
@@ -227,10 +339,9 @@ public class ReservationDAOImpl implements ReservationDAO {
 
             boolean updated = ps.executeUpdate() > 0;
 
-            // sync room status
             if (updated) {
-                Reservation r = findById(reservationId);
-                if (r != null) updateRoomStatus(conn, r.getRoomId());
+                Reservation r = findById(conn, reservationId);
+                if (r != null) afterSaved(reservationId, r, null);
             }
 
             return updated;
@@ -252,10 +363,8 @@ public class ReservationDAOImpl implements ReservationDAO {
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
-            // old room track
-            int oldRoomId = 0;
-            Reservation old = findById(r.getReservationId());
-            if (old != null) oldRoomId = old.getRoomId();
+            // previous dates and room
+            Reservation old = findById(conn, r.getReservationId());
 
             ps.setInt(1, r.getGuestId());
             ps.setInt(2, r.getRoomId());
@@ -275,13 +384,7 @@ public class ReservationDAOImpl implements ReservationDAO {
 
             boolean updated = ps.executeUpdate() > 0;
 
-            // sync room status
-            if (updated) {
-                updateRoomStatus(conn, r.getRoomId());
-                if (oldRoomId > 0 && oldRoomId != r.getRoomId()) {
-                    updateRoomStatus(conn, oldRoomId);
-                }
-            }
+            if (updated) afterSaved(r.getReservationId(), r, old);
 
             return updated;
 
@@ -306,7 +409,11 @@ public class ReservationDAOImpl implements ReservationDAO {
             ps.setString(2, paymentStatus);
             ps.setInt(3, reservationId);
 
-            return ps.executeUpdate() > 0;
+            boolean updated = ps.executeUpdate() > 0;
+
+            // calendar events show the payment status
+            if (updated) UnitOfWork.afterCommit(() -> CalendarCache.getInstance().invalidateReservation(reservationId));
+            return updated;
 
         } catch (SQLException e) {
             throw new RuntimeException("Failed to update payment status", e);
@@ -322,16 +429,14 @@ public class ReservationDAOImpl implements ReservationDAO {
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
-            // room id keep
-            Reservation r = findById(reservationId);
-            int roomId = (r != null) ? r.getRoomId() : 0;
+            // row before delete, for the in-memory views
+            Reservation r = findById(conn, reservationId);
 
             ps.setInt(1, reservationId);
 
             boolean deleted = ps.executeUpdate() > 0;
 
-            // sync room status
-            if (deleted && roomId > 0) updateRoomStatus(conn, roomId);
+            if (deleted) afterDeleted(reservationId, r);
 
             return deleted;
 
@@ -341,101 +446,110 @@ public class ReservationDAOImpl implements ReservationDAO {
     }
 
     @Override
-    public boolean hasBookingInRange(int roomId, Date checkIn, Date checkOut) {
+    public List<Room> findRoomsWithAvailability(Date checkIn, Date checkOut) {
 
-        // date range check
+        // rooms joined with overlapping stays, status computed per room
+        // uses idx_res_room_status_dates (room_id, status, check_in_date, check_out_date)
         String sql =
-                "SELECT COUNT(*) " +
-                "FROM reservations " +
-                "WHERE room_id=? " +
-                "AND UPPER(status) IN ('PENDING','CONFIRMED','CHECKED_IN') " +
-                "AND check_in_date < ? " +
-                "AND check_out_date > ?";
+                "SELECT r.room_id, r.room_number, r.room_type, r.rate_per_night, r.max_guests, " +
+                "r.description, r.image_url, " +
+                "CASE WHEN r.status = 'MAINTENANCE' THEN 'MAINTENANCE' " +
+                "     WHEN b.room_id IS NOT NULL THEN 'BOOKED' " +
+                "     ELSE 'AVAILABLE' END AS availability " +
+                "FROM rooms r " +
+                "LEFT JOIN (" +
+                "  SELECT room_id, COUNT(*) AS overlaps " +
+                "  FROM reservations " +
+                "  WHERE status IN ('PENDING','CONFIRMED','CHECKED_IN') " +
+                "  AND check_in_date < ? " +
+                "  AND check_out_date > ? " +
+                "  GROUP BY room_id" +
+                ") b ON b.room_id = r.room_id " +
+                "ORDER BY r.room_number";
+
+        List<Room> rooms = new ArrayList<>();
 
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
-            ps.setInt(1, roomId);
-            ps.setDate(2, checkOut);
-            ps.setDate(3, checkIn);
+            ps.setDate(1, checkOut);
+            ps.setDate(2, checkIn);
 
             try (ResultSet rs = ps.executeQuery()) {
-                rs.next();
-                return rs.getInt(1) > 0;
+                while (rs.next()) {
+                    Room room = new Room();
+                    room.setRoomId(rs.getInt("room_id"));
+                    room.setRoomNumber(rs.getString("room_number"));
+                    room.setRoomType(rs.getString("room_type"));
+                    room.setRatePerNight(rs.getDouble("rate_per_night"));
+                    room.setMaxGuests(rs.getInt("max_guests"));
+                    room.setStatus(rs.getString("availability"));
+                    room.setDescription(rs.getString("description"));
+                    room.setImageUrl(rs.getString("image_url"));
+                    rooms.add(room);
+                }
             }
 
+            return rooms;
+
         } catch (SQLException e) {
-            throw new RuntimeException("Failed to check booking in range", e);
+            throw new RuntimeException("Failed to load room availability", e);
         }
     }
 
-    private void updateRoomStatus(Connection conn, int roomId) throws SQLException {
-
-        // room status logic
-        String checkSql =
-            "SELECT COUNT(*) FROM reservations " +
-            "WHERE room_id = ? " +
-            "AND UPPER(status) IN ('PENDING','CONFIRMED','CHECKED_IN') " +
-            "AND check_in_date <= CURDATE() " +
-            "AND check_out_date > CURDATE()";
-
-        try (PreparedStatement ps = conn.prepareStatement(checkSql)) {
-            ps.setInt(1, roomId);
-
-            try (ResultSet rs = ps.executeQuery()) {
-                rs.next();
-                boolean hasActiveBooking = rs.getInt(1) > 0;
-
-                // maintenance skip
-                String currentStatusSql = "SELECT status FROM rooms WHERE room_id = ?";
-                String currentStatus = "AVAILABLE";
-
-                try (PreparedStatement ps2 = conn.prepareStatement(currentStatusSql)) {
-                    ps2.setInt(1, roomId);
-
-                    try (ResultSet rs2 = ps2.executeQuery()) {
-                        if (rs2.next()) currentStatus = rs2.getString(1);
-                    }
-                }
-
-                if ("MAINTENANCE".equalsIgnoreCase(currentStatus)) return;
-
-                // status update
-                String newStatus = hasActiveBooking ? "BOOKED" : "AVAILABLE";
-                String updateSql = "UPDATE rooms SET status = ? WHERE room_id = ?";
-
-                try (PreparedStatement ps3 = conn.prepareStatement(updateSql)) {
-                    ps3.setString(1, newStatus);
-                    ps3.setInt(2, roomId);
-                    ps3.executeUpdate();
-                }
-            }
-        }
+    // in-memory views, the daily rollup, room statuses and cached calendar months, invoices and
+    // guest portal lists, applied once the change is committed
+    // old is the row before an update, its days and room need recomputing too
+    private void afterSaved(int reservationId, Reservation r, Reservation old) {
+        int roomId = r.getRoomId();
+        Date checkIn = r.getCheckInDate();
+        Date checkOut = r.getCheckOutDate();
+        String status = r.getStatus();
+        int guestId = r.getGuestId();
+        int oldRoomId = old != null ? old.getRoomId() : 0;
+        int oldGuestId = old != null ? old.getGuestId() : 0;
+        Date oldCheckIn = old != null ? old.getCheckInDate() : null;
+        Date oldCheckOut = old != null ? old.getCheckOutDate() : null;
+
+        UnitOfWork.afterCommit(() -> {
+            RoomAvailabilityIndex.getInstance().onSaved(reservationId, roomId, checkIn, checkOut, status);
+
+            ReservationRollupService rollup = ReservationRollupService.getInstance();
+            rollup.markDirty(checkIn, checkOut);
+            rollup.markDirty(oldCheckIn, oldCheckOut);
+
+            RoomStatusReconciler rooms = RoomStatusReconciler.getInstance();
+            rooms.markDirty(roomId);
+            rooms.markDirty(oldRoomId);
+
+            CalendarCache calendar = CalendarCache.getInstance();
+            calendar.invalidateReservation(reservationId);
+            calendar.invalidate(checkIn, checkOut);
+
+            InvoiceCache.getInstance().invalidate(reservationId);
+
+            GuestReservationsCache lists = GuestReservationsCache.getInstance();
+            lists.invalidateGuest(guestId);
+            lists.invalidateGuest(oldGuestId);
+            lists.invalidateReservation(reservationId);
+        });
     }
 
-    @Override
-    public String findLastReservationNumberForDate(String yyyymmddPrefix) {
-
-        // number generation
-        String sql =
-            "SELECT reservation_number " +
-            "FROM reservations " +
-            "WHERE reservation_number LIKE ? " +
-            "ORDER BY reservation_number DESC " +
-            "LIMIT 1";
-
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setString(1, yyyymmddPrefix + "%");
-
-            try (ResultSet rs = ps.executeQuery()) {
-                return rs.next() ? rs.getString(1) : null;
-            }
-
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to get last reservation number", e);
-        }
+    private void afterDeleted(int reservationId, Reservation r) {
+        int roomId = r != null ? r.getRoomId() : 0;
+        int guestId = r != null ? r.getGuestId() : 0;
+        Date checkIn = r != null ? r.getCheckInDate() : null;
+        Date checkOut = r != null ? r.getCheckOutDate() : null;
+
+        UnitOfWork.afterCommit(() -> {
+            RoomAvailabilityIndex.getInstance().onDeleted(reservationId);
+            ReservationRollupService.getInstance().markDirty(checkIn, checkOut);
+            RoomStatusReconciler.getInstance().markDirty(roomId);
+            CalendarCache.getInstance().invalidateReservation(reservationId);
+            InvoiceCache.getInstance().invalidate(reservationId);
+            GuestReservationsCache.getInstance().invalidateGuest(guestId);
+            GuestReservationsCache.getInstance().invalidateReservation(reservationId);
+        });
     }
 
     @Override
@@ -503,6 +617,63 @@ public class ReservationDAOImpl implements ReservationDAO {
         }
     }
 
+    @Override
+    public int streamForExport(Date start, Date end, Consumer<Reservation> sink) {
+
+        // rows are pushed to the sink as they arrive, nothing is buffered here
+        boolean ranged = start != null && end != null;
+
+        String sql =
+            "SELECT r.reservation_id, r.reservation_number, r.guest_id, r.room_id, r.check_in_date, r.check_out_date, " +
+            "       r.status, r.notes, r.created_by, r.nights, r.rate_per_night, r.subtotal, r.tax, r.discount, r.total_amount, " +
+            "       r.amount_paid, r.payment_status, " +
+            "       g.full_name AS guest_name, g.email AS guest_email, g.contact_number AS guest_phone, " +
+            "       rm.room_number AS room_number, rm.room_type AS room_type " +
+            "FROM reservations r " +
+            "LEFT JOIN guests g ON g.guest_id = r.guest_id " +
+            "LEFT JOIN rooms rm ON rm.room_id = r.room_id " +
+            (ranged
+                ? "WHERE r.check_in_date < ? AND r.check_out_date > ? " +
+                  "  AND r.status IN ('CONFIRMED','CHECKED_IN','PENDING') " +
+                  "ORDER BY r.check_in_date ASC"
+                : "ORDER BY r.reservation_id DESC");
+
+        int count = 0;
+
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            ps.setFetchSize(streamingFetchSize(conn));
+
+            if (ranged) {
+                ps.setDate(1, end);
+                ps.setDate(2, start);
+            }
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    sink.accept(map(rs));
+                    count++;
+                }
+            }
+
+            return count;
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to export reservations", e);
+        }
+    }
+
+    // mysql only streams row by row with MIN_VALUE, other drivers take a batch size
+    private int streamingFetchSize(Connection conn) throws SQLException {
+        String product = conn.getMetaData().getDatabaseProductName();
+        if (product != null) {
+            String p = product.toLowerCase();
+            if (p.contains("mysql") || p.contains("mariadb")) return Integer.MIN_VALUE;
+        }
+        return 1000;
+    }
+
     private Reservation mapBasic(ResultSet rs) throws SQLException {
 
         // basic mapping
@@ -582,6 +753,44 @@ public class ReservationDAOImpl implements ReservationDAO {
         }
     }
 
+    @Override
+    public List<Reservation> findLatestStays(int limit) {
+
+        // reservation page panel, latest check-in dates first, future stays included
+        String sql =
+            "SELECT r.reservation_id, r.reservation_number, r.guest_id, r.room_id, " +
+            "       r.check_in_date, r.check_out_date, r.status, r.notes, r.created_by, " +
+            "       r.nights, r.rate_per_night, r.subtotal, r.tax, r.discount, r.total_amount, " +
+            "       r.amount_paid, r.payment_status, " +
+            "       COALESCE(g.full_name, '') AS guest_name, " +
+            "       COALESCE(g.email, '') AS guest_email, " +
+            "       COALESCE(g.contact_number, '') AS guest_phone, " +
+            "       COALESCE(rm.room_number, 'N/A') AS room_number, " +
+            "       COALESCE(rm.room_type, 'Unknown') AS room_type " +
+            "FROM reservations r " +
+            "LEFT JOIN guests g ON g.guest_id = r.guest_id " +
+            "LEFT JOIN rooms rm ON rm.room_id = r.room_id " +
+            "WHERE r.status IN ('CHECKED_IN', 'CONFIRMED') " +
+            "ORDER BY r.check_in_date DESC, r.reservation_id DESC " +
+            "LIMIT ?";
+
+        List<Reservation> list = new ArrayList<>();
+
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setInt(1, limit);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) list.add(map(rs));
+            }
+            return list;
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to load latest stays", e);
+        }
+    }
+
     @Override
     public List<Reservation> findByGuestId(int guestId) {
 
@@ -643,6 +852,65 @@ public class ReservationDAOImpl implements ReservationDAO {
         }
     }
 
+    @Override
+    public List<Reservation> findActiveStays() {
+
+        // availability index load
+        String sql =
+                "SELECT reservation_id, room_id, check_in_date, check_out_date, status " +
+                "FROM reservations " +
+                "WHERE UPPER(status) IN ('PENDING','CONFIRMED','CHECKED_IN')";
+
+        List<Reservation> list = new ArrayList<>();
+
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+
+            while (rs.next()) {
+                Reservation r = new Reservation();
+                r.setReservationId(rs.getInt("reservation_id"));
+                r.setRoomId(rs.getInt("room_id"));
+                r.setCheckInDate(rs.getDate("check_in_date"));
+                r.setCheckOutDate(rs.getDate("check_out_date"));
+                r.setStatus(rs.getString("status"));
+                list.add(r);
+            }
+
+            return list;
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to load active stays", e);
+        }
+    }
+
+    @Override
+    public int countGuestsBetween(Date start, Date end) {
+
+        // same stays as findBetween; a guest with several of them counts once, so this can't come from daily sums
+        String sql =
+                "SELECT COUNT(DISTINCT guest_id) " +
+                "FROM reservations " +
+                "WHERE check_in_date < ? AND check_out_date > ? AND guest_id > 0 " +
+                "  AND status IN ('CONFIRMED','CHECKED_IN','PENDING')";
+
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setDate(1, end);
+            ps.setDate(2, start);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) return rs.getInt(1);
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to count guests", e);
+        }
+
+        return 0;
+    }
+
     @Override
     public int countBetween(Date start, Date end) {
 
@@ -0,0 +1,190 @@
+package com.oceanview.dao.impl;
+
+import com.oceanview.dao.ReservationRollupDAO;
+import com.oceanview.model.ReservationDailyRollup;
+import com.oceanview.util.DatabaseConnection;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ReservationRollupDAOImpl implements ReservationRollupDAO {
+
+    // dao implementation
+
+    @Override
+    public void recomputeDay(Date day) {
+
+        String deleteSql = "DELETE FROM reservation_daily_rollup WHERE day = ?";
+
+        // check-in side and in-house side of the day, merged per room type
+        String insertSql =
+            "INSERT INTO reservation_daily_rollup " +
+            "(day, room_type, bookings, revenue, arrivals, active_arrivals, room_nights, active_room_nights) " +
+            "SELECT ?, room_type, SUM(bookings), SUM(revenue), SUM(arrivals), SUM(active_arrivals), " +
+            "       SUM(room_nights), SUM(active_room_nights) " +
+            "FROM (" +
+            "  SELECT COALESCE(rm.room_type, '') AS room_type, " +
+            "         COUNT(*) AS bookings, " +
+            "         SUM(CASE WHEN r.status IN ('CONFIRMED','CHECKED_IN','COMPLETED') THEN r.total_amount ELSE 0 END) AS revenue, " +
+            "         SUM(CASE WHEN r.status IN ('PENDING','CONFIRMED','CHECKED_IN') THEN 1 ELSE 0 END) AS arrivals, " +
+            "         SUM(CASE WHEN r.status IN ('CONFIRMED','CHECKED_IN') THEN 1 ELSE 0 END) AS active_arrivals, " +
+            "         0 AS room_nights, 0 AS active_room_nights " +
+            "  FROM reservations r " +
+            "  LEFT JOIN rooms rm ON rm.room_id = r.room_id " +
+            "  WHERE r.check_in_date = ? " +
+            "  GROUP BY COALESCE(rm.room_type, '') " +
+            "  UNION ALL " +
+            "  SELECT COALESCE(rm.room_type, ''), 0, 0, 0, 0, 0, " +
+            "         COUNT(*), " +
+            "         SUM(CASE WHEN r.status IN ('CONFIRMED','CHECKED_IN') THEN 1 ELSE 0 END) " +
+            "  FROM reservations r " +
+            "  LEFT JOIN rooms rm ON rm.room_id = r.room_id " +
+            "  WHERE r.check_in_date <= ? AND r.check_out_date > ? " +
+            "    AND r.status IN ('PENDING','CONFIRMED','CHECKED_IN') " +
+            "  GROUP BY COALESCE(rm.room_type, '')" +
+            ") x " +
+            "GROUP BY room_type";
+
+        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+
+            conn.setAutoCommit(false);
+            try (PreparedStatement del = conn.prepareStatement(deleteSql);
+                 PreparedStatement ins = conn.prepareStatement(insertSql)) {
+
+                del.setDate(1, day);
+                del.executeUpdate();
+
+                ins.setDate(1, day);
+                ins.setDate(2, day);
+                ins.setDate(3, day);
+                ins.setDate(4, day);
+                ins.executeUpdate();
+
+                conn.commit();
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to recompute daily rollup", e);
+        }
+    }
+
+    @Override
+    public int deleteOutside(Date first, Date last) {
+
+        String sql = "DELETE FROM reservation_daily_rollup WHERE day < ? OR day > ?";
+
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setDate(1, first);
+            ps.setDate(2, last);
+            return ps.executeUpdate();
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to trim daily rollup", e);
+        }
+    }
+
+    @Override
+    public int deleteAll() {
+
+        String sql = "DELETE FROM reservation_daily_rollup";
+
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            return ps.executeUpdate();
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to clear daily rollup", e);
+        }
+    }
+
+    @Override
+    public List<ReservationDailyRollup> findDailyTotals(Date start, Date end) {
+
+        // one row per day, room types summed
+        String sql =
+            "SELECT day, SUM(bookings) AS bookings, SUM(revenue) AS revenue, SUM(arrivals) AS arrivals, " +
+            "       SUM(active_arrivals) AS active_arrivals, " +
+            "       SUM(room_nights) AS room_nights, SUM(active_room_nights) AS active_room_nights " +
+            "FROM reservation_daily_rollup " +
+            "WHERE day >= ? AND day <= ? " +
+            "GROUP BY day " +
+            "ORDER BY day";
+
+        List<ReservationDailyRollup> out = new ArrayList<>();
+
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setDate(1, start);
+            ps.setDate(2, end);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ReservationDailyRollup d = new ReservationDailyRollup();
+                    d.setDay(rs.getDate("day"));
+                    d.setBookings(rs.getInt("bookings"));
+                    d.setRevenue(rs.getDouble("revenue"));
+                    d.setArrivals(rs.getInt("arrivals"));
+                    d.setActiveArrivals(rs.getInt("active_arrivals"));
+                    d.setRoomNights(rs.getInt("room_nights"));
+                    d.setActiveRoomNights(rs.getInt("active_room_nights"));
+                    out.add(d);
+                }
+            }
+
+            return out;
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to load daily rollup", e);
+        }
+    }
+
+    @Override
+    public Date findFirstReservationDay() {
+        return singleDate("SELECT MIN(check_in_date) FROM reservations");
+    }
+
+    @Override
+    public Date findLastReservationDay() {
+        return singleDate("SELECT MAX(check_out_date) FROM reservations");
+    }
+
+    @Override
+    public boolean isEmpty() {
+
+        String sql = "SELECT 1 FROM reservation_daily_rollup LIMIT 1";
+
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+
+            return !rs.next();
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to check daily rollup", e);
+        }
+    }
+
+    private Date singleDate(String sql) {
+
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+
+            return rs.next() ? rs.getDate(1) : null;
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to read reservation date range", e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.oceanview.dao.impl;
+
+import com.oceanview.dao.ReservationSequenceDAO;
+import com.oceanview.util.DatabaseConnection;
+import com.oceanview.util.UnitOfWork;
+
+import java.sql.*;
+import java.text.SimpleDateFormat;
+
+public class ReservationSequenceDAOImpl implements ReservationSequenceDAO {
+
+    // dao implementation
+    // each step is its own unit of work, so a lock conflict (mysql 1213) is retried and
+    // the gap lock a missed UPDATE takes is released before the row is created
+
+    @Override
+    public int reserveBlock(Date day, int size) {
+
+        if (size <= 0) throw new IllegalArgumentException("Block size must be positive");
+
+        Integer first = UnitOfWork.execute(() -> bump(day, size));
+        if (first != null) return first;
+
+        // first allocation for this day, seeded outside any transaction
+        int seed;
+        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+            seed = lastIssuedNumber(conn, day) + 1;
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to reserve reservation numbers", e);
+        }
+
+        // whichever node creates the row, everyone else bumps it in the same statement
+        return UnitOfWork.execute(() -> {
+            String sql = "INSERT INTO reservation_sequences (seq_date, next_value) VALUES (?, ?) "
+                    + "ON DUPLICATE KEY UPDATE next_value = next_value + ?";
+
+            try (Connection conn = DatabaseConnection.getInstance().getConnection();
+                 PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setDate(1, day);
+                ps.setInt(2, seed + size);
+                ps.setInt(3, size);
+                ps.executeUpdate();
+                return readNext(conn, day) - size;
+            }
+        });
+    }
+
+    // bump the counter, the row lock serializes concurrent allocators; null when there is no row yet
+    private Integer bump(Date day, int size) throws SQLException {
+
+        String sql = "UPDATE reservation_sequences SET next_value = next_value + ? WHERE seq_date = ?";
+
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, size);
+            ps.setDate(2, day);
+            if (ps.executeUpdate() == 0) return null;
+            return readNext(conn, day) - size;
+        }
+    }
+
+    private int readNext(Connection conn, Date day) throws SQLException {
+
+        String sql = "SELECT next_value FROM reservation_sequences WHERE seq_date = ?";
+
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setDate(1, day);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) throw new IllegalStateException("Could not reserve reservation numbers");
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    // seed from numbers issued before the sequence row existed
+    private int lastIssuedNumber(Connection conn, Date day) throws SQLException {
+
+        String prefix = "RES-" + new SimpleDateFormat("yyyyMMdd").format(day) + "-";
+        String sql = "SELECT reservation_number FROM reservations WHERE reservation_number LIKE ?";
+
+        int max = 0;
+
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, prefix + "%");
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String tail = rs.getString(1).substring(prefix.length());
+                    try {
+                        max = Math.max(max, Integer.parseInt(tail));
+                    } catch (NumberFormatException ignored) {
+                    }
+                }
+            }
+        }
+
+        return max;
+    }
+}
@@ -1,11 +1,16 @@
 package com.oceanview.dao.impl;
 
+import com.oceanview.cache.CalendarCache;
+import com.oceanview.cache.GuestReservationsCache;
+import com.oceanview.cache.RoomCache;
 import com.oceanview.dao.RoomDAO;
 import com.oceanview.model.Room;
 import com.oceanview.util.DatabaseConnection;
+import com.oceanview.util.UnitOfWork;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 public class RoomDAOImpl implements RoomDAO {
@@ -39,6 +44,12 @@ public class RoomDAOImpl implements RoomDAO {
     @Override
     public Room findById(int id) {
 
+        // cache first
+        RoomCache cache = RoomCache.getInstance();
+        Room cached = cache.get(id);
+        if (cached != null) return cached;
+        long generation = cache.generation();
+
         // search by id
         String sql = "SELECT room_id, room_number, room_type, rate_per_night, max_guests, status, description, image_url " +
                      "FROM rooms WHERE room_id = ?";
@@ -49,7 +60,7 @@ public class RoomDAOImpl implements RoomDAO {
             ps.setInt(1, id);
 
             try (ResultSet rs = ps.executeQuery()) {
-                return rs.next() ? map(rs) : null;
+                return remember(rs.next() ? map(rs) : null, generation);
             }
 
         } catch (SQLException e) {
@@ -60,6 +71,12 @@ public class RoomDAOImpl implements RoomDAO {
     @Override
     public Room findByNumber(String roomNumber) {
 
+        // cache first
+        RoomCache cache = RoomCache.getInstance();
+        Room cached = cache.getByNumber(roomNumber);
+        if (cached != null) return cached;
+        long generation = cache.generation();
+
         // search by number
         String sql = "SELECT room_id, room_number, room_type, rate_per_night, max_guests, status, description, image_url " +
                      "FROM rooms WHERE room_number = ?";
@@ -70,7 +87,7 @@ public class RoomDAOImpl implements RoomDAO {
             ps.setString(1, roomNumber);
 
             try (ResultSet rs = ps.executeQuery()) {
-                return rs.next() ? map(rs) : null;
+                return remember(rs.next() ? map(rs) : null, generation);
             }
 
         } catch (SQLException e) {
@@ -100,7 +117,9 @@ public class RoomDAOImpl implements RoomDAO {
 
             // generated id
             try (ResultSet keys = ps.getGeneratedKeys()) {
-                return keys.next() ? keys.getInt(1) : 0;
+                int id = keys.next() ? keys.getInt(1) : 0;
+                if (id > 0) evict(id);
+                return id;
             }
 
         } catch (SQLException e) {
@@ -127,7 +146,17 @@ public class RoomDAOImpl implements RoomDAO {
             ps.setString(7, room.getImageUrl());
             ps.setInt(8, room.getRoomId());
 
-            return ps.executeUpdate() > 0;
+            boolean updated = ps.executeUpdate() > 0;
+
+            // calendar events and guest portal lists carry the room number
+            if (updated) {
+                evict(room.getRoomId());
+                UnitOfWork.afterCommit(() -> {
+                    CalendarCache.getInstance().invalidateAll();
+                    GuestReservationsCache.getInstance().invalidateAll();
+                });
+            }
+            return updated;
 
         } catch (SQLException e) {
             throw new RuntimeException("Failed to update room", e);
@@ -144,7 +173,16 @@ public class RoomDAOImpl implements RoomDAO {
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
             ps.setInt(1, id);
-            return ps.executeUpdate() > 0;
+
+            boolean deleted = ps.executeUpdate() > 0;
+            if (deleted) {
+                evict(id);
+                UnitOfWork.afterCommit(() -> {
+                    CalendarCache.getInstance().invalidateAll();
+                    GuestReservationsCache.getInstance().invalidateAll();
+                });
+            }
+            return deleted;
 
         } catch (SQLException e) {
             throw new RuntimeException("Failed to delete room", e);
@@ -154,8 +192,16 @@ public class RoomDAOImpl implements RoomDAO {
     @Override
     public double findPriceById(int roomId) {
 
-        // price lookup
-        String sql = "SELECT rate_per_night FROM rooms WHERE room_id=?";
+        // price lookup, the rate comes with the cached row
+        Room room = findById(roomId);
+        return room != null ? room.getRatePerNight() : 0.0;
+    }
+
+    @Override
+    public double lockForBooking(int roomId) {
+
+        // serializes bookings per room until commit
+        String sql = "SELECT rate_per_night FROM rooms WHERE room_id=? FOR UPDATE";
 
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
@@ -167,11 +213,10 @@ public class RoomDAOImpl implements RoomDAO {
             }
 
         } catch (SQLException e) {
-            throw new RuntimeException("Failed to load room price", e);
+            throw new RuntimeException("Failed to lock room", e);
         }
     }
-    
-    
+
     @Override
     public boolean updateStatus(int roomId, String status) {
 
@@ -187,7 +232,9 @@ public class RoomDAOImpl implements RoomDAO {
             ps.setString(1, status.trim().toUpperCase());
             ps.setInt(2, roomId);
 
-            return ps.executeUpdate() > 0;
+            boolean updated = ps.executeUpdate() > 0;
+            if (updated) evict(roomId);
+            return updated;
 
         } catch (Exception e) {
             e.printStackTrace();
@@ -195,6 +242,19 @@ public class RoomDAOImpl implements RoomDAO {
         }
     }
 
+    // rows read inside a unit of work may not be committed yet, those are not cached
+    private Room remember(Room room, long generation) {
+        if (room != null && !UnitOfWork.isActive()) RoomCache.getInstance().put(room, generation);
+        return room;
+    }
+
+    // dropped now so this transaction reads its own write, and again once committed in case
+    // another request cached the old row in between
+    private void evict(int roomId) {
+        RoomCache.getInstance().invalidate(roomId);
+        UnitOfWork.afterCommit(() -> RoomCache.getInstance().invalidate(roomId));
+    }
+
     private Room map(ResultSet rs) throws SQLException {
 
         // result mapping
@@ -211,4 +271,49 @@ public class RoomDAOImpl implements RoomDAO {
 
         return room;
     }
+
+    @Override
+    public int refreshStatuses(Date today, Collection<Integer> roomIds) {
+
+        // one statement for every room, rooms under maintenance are left alone
+        boolean all = roomIds == null;
+        if (!all && roomIds.isEmpty()) return 0;
+
+        StringBuilder sql = new StringBuilder(
+            "UPDATE rooms SET status = CASE WHEN EXISTS (" +
+            "    SELECT 1 FROM reservations r " +
+            "    WHERE r.room_id = rooms.room_id " +
+            "      AND r.status IN ('PENDING','CONFIRMED','CHECKED_IN') " +
+            "      AND r.check_in_date <= ? AND r.check_out_date > ?" +
+            ") THEN 'BOOKED' ELSE 'AVAILABLE' END " +
+            "WHERE status <> 'MAINTENANCE'");
+
+        if (!all) {
+            sql.append(" AND room_id IN (");
+            for (int i = 0; i < roomIds.size(); i++) sql.append(i == 0 ? "?" : ", ?");
+            sql.append(")");
+        }
+
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+
+            ps.setDate(1, today);
+            ps.setDate(2, today);
+
+            int i = 3;
+            if (!all) {
+                for (Integer id : roomIds) ps.setInt(i++, id);
+            }
+
+            int changed = ps.executeUpdate();
+            if (changed > 0) {
+                RoomCache.getInstance().invalidateAll();
+                UnitOfWork.afterCommit(() -> RoomCache.getInstance().invalidateAll());
+            }
+            return changed;
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to refresh room statuses", e);
+        }
+    }
 }
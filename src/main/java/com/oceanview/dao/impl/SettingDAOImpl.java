@@ -80,6 +80,25 @@ public class SettingDAOImpl implements SettingDAO {
         }
     }
 
+    @Override
+    public String findVersion() {
+
+        // row count plus last change, cheap to poll
+        String sql = "SELECT COUNT(*), MAX(updated_at) FROM settings";
+
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+
+            if (!rs.next()) return "0";
+            Timestamp last = rs.getTimestamp(2);
+            return rs.getInt(1) + "@" + (last == null ? 0 : last.getTime());
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to read settings version", e);
+        }
+    }
+
     @Override
     public String getValue(String key) {
 
@@ -0,0 +1,88 @@
+package com.oceanview.model;
+
+import java.sql.Date;
+
+public class ReservationDailyRollup {
+
+    // model class
+    // pre-aggregated dashboard data, one row per day and room type
+    // no guest counts, unique guests over a range is counted from reservations
+
+    private Date day;  // day the row describes
+    private String roomType;
+    private int bookings;  // check-ins on this day, any status
+    private double revenue;  // confirmed revenue of check-ins on this day
+    private int arrivals;  // pending/confirmed/checked-in check-ins
+    private int activeArrivals;  // confirmed/checked-in check-ins
+    private int roomNights;  // stays covering this night
+    private int activeRoomNights;  // confirmed/checked-in stays covering this night
+
+    // default constructor
+    public ReservationDailyRollup() {
+    }
+
+    // getter setter
+    public Date getDay() {
+        return day;
+    }
+
+    public void setDay(Date day) {
+        this.day = day;
+    }
+
+    public String getRoomType() {
+        return roomType;
+    }
+
+    public void setRoomType(String roomType) {
+        this.roomType = roomType;
+    }
+
+    public int getBookings() {
+        return bookings;
+    }
+
+    public void setBookings(int bookings) {
+        this.bookings = bookings;
+    }
+
+    public double getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(double revenue) {
+        this.revenue = revenue;
+    }
+
+    public int getArrivals() {
+        return arrivals;
+    }
+
+    public void setArrivals(int arrivals) {
+        this.arrivals = arrivals;
+    }
+
+    public int getActiveArrivals() {
+        return activeArrivals;
+    }
+
+    public void setActiveArrivals(int activeArrivals) {
+        this.activeArrivals = activeArrivals;
+    }
+
+    public int getRoomNights() {
+        return roomNights;
+    }
+
+    public void setRoomNights(int roomNights) {
+        this.roomNights = roomNights;
+    }
+
+    public int getActiveRoomNights() {
+        return activeRoomNights;
+    }
+
+    public void setActiveRoomNights(int activeRoomNights) {
+        this.activeRoomNights = activeRoomNights;
+    }
+}
@@ -0,0 +1,103 @@
+package com.oceanview.model;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public class ReservationFilter {
+
+    // model class
+    // listing criteria, empty fields match everything
+
+    private List<String> statuses = new ArrayList<>();
+    private List<String> paymentStatuses = new ArrayList<>();
+    private Date from;      // stays ending after this day
+    private Date to;        // stays starting before this day
+    private int roomId;     // 0 = any room
+
+    // default constructor
+    public ReservationFilter() {
+    }
+
+    // from request parameters: status, paymentStatus, from, to, roomId
+    // IllegalArgumentException for a malformed date or room id
+    public static ReservationFilter fromParams(Map<String, String[]> params) {
+        ReservationFilter filter = new ReservationFilter();
+        filter.setStatuses(csv(params.get("status")));
+        filter.setPaymentStatuses(csv(params.get("paymentStatus")));
+
+        String from = first(params, "from");
+        if (from != null) filter.setFrom(Date.valueOf(from));
+        String to = first(params, "to");
+        if (to != null) filter.setTo(Date.valueOf(to));
+        String roomId = first(params, "roomId");
+        if (roomId != null) filter.setRoomId(Integer.parseInt(roomId));
+
+        return filter;
+    }
+
+    // status=CONFIRMED,PENDING or repeated status params
+    private static List<String> csv(String[] values) {
+        List<String> out = new ArrayList<>();
+        if (values == null) return out;
+
+        for (String v : values) {
+            for (String part : v.split(",")) {
+                String t = part.trim();
+                if (!t.isEmpty()) out.add(t.toUpperCase(Locale.ROOT));
+            }
+        }
+        return out;
+    }
+
+    // first value trimmed, null when missing or blank
+    private static String first(Map<String, String[]> params, String name) {
+        String[] values = params.get(name);
+        if (values == null || values.length == 0 || values[0] == null) return null;
+        String v = values[0].trim();
+        return v.isEmpty() ? null : v;
+    }
+
+    // getter setter
+    public List<String> getStatuses() {
+        return statuses;
+    }
+
+    public void setStatuses(List<String> statuses) {
+        this.statuses = statuses == null ? new ArrayList<>() : statuses;
+    }
+
+    public List<String> getPaymentStatuses() {
+        return paymentStatuses;
+    }
+
+    public void setPaymentStatuses(List<String> paymentStatuses) {
+        this.paymentStatuses = paymentStatuses == null ? new ArrayList<>() : paymentStatuses;
+    }
+
+    public Date getFrom() {
+        return from;
+    }
+
+    public void setFrom(Date from) {
+        this.from = from;
+    }
+
+    public Date getTo() {
+        return to;
+    }
+
+    public void setTo(Date to) {
+        this.to = to;
+    }
+
+    public int getRoomId() {
+        return roomId;
+    }
+
+    public void setRoomId(int roomId) {
+        this.roomId = roomId;
+    }
+}
@@ -0,0 +1,31 @@
+package com.oceanview.model;
+
+import java.util.List;
+
+public class ReservationPage {
+
+    // model class
+    // one slice of the reservation listing
+
+    private List<Reservation> reservations;
+    private String nextCursor;      // null on the last page
+
+    // parameter constructor
+    public ReservationPage(List<Reservation> reservations, String nextCursor) {
+        this.reservations = reservations;
+        this.nextCursor = nextCursor;
+    }
+
+    // getter setter
+    public List<Reservation> getReservations() {
+        return reservations;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
@@ -4,13 +4,17 @@ import com.oceanview.dao.UserDAO;
 import com.oceanview.dao.impl.UserDAOImpl;
 import com.oceanview.model.User;
 import com.oceanview.util.PasswordUtil;
+import com.oceanview.util.PasswordVerifier;
 
 public class AuthService {
 
     // dao object
     private final UserDAO userDAO = new UserDAOImpl();
 
-    // login user
+    // bcrypt runs on its own pool
+    private final PasswordVerifier verifier = PasswordVerifier.getInstance();
+
+    // login user, IllegalStateException when too many logins are being checked at once
     public User login(String username, String password) {
 
         if (username == null || password == null) return null;
@@ -24,11 +28,18 @@ public class AuthService {
 
         if (!"ACTIVE".equalsIgnoreCase(user.getStatus())) return null;
 
-        boolean ok = PasswordUtil.verifyPassword(password, user.getPasswordHash());
+        boolean ok = verifier.verify(password, user.getPasswordHash());
+        if (!ok) return null;
+
+        // move the hash to the configured cost, up or down
+        if (PasswordUtil.needsRehash(user.getPasswordHash())) {
+            int userId = user.getUserId();
+            verifier.rehash(password, hash -> userDAO.updatePassword(userId, hash));
+        }
 
-        return ok ? user : null;
+        return user;
     }
 
-   
+
 
 }
@@ -0,0 +1,274 @@
+package com.oceanview.service;
+
+import com.oceanview.dao.EmailOutboxDAO;
+import com.oceanview.dao.impl.EmailOutboxDAOImpl;
+import com.oceanview.model.EmailOutboxMessage;
+import com.oceanview.util.EmailUtil;
+import com.oceanview.util.LatencyHistogram;
+import com.oceanview.util.SecretBox;
+import com.oceanview.util.UnitOfWork;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class EmailOutboxService {
+
+    // persistent email queue
+    // callers only insert a row, a single background worker drains it over one smtp connection per batch
+    // a temporary password never sits in the table in plaintext: the body holds SECRET where it
+    // goes, the password is stored sealed and put in only when the message is sent
+
+    private static final Logger LOG = Logger.getLogger(EmailOutboxService.class.getName());
+
+    private static final EmailOutboxService INSTANCE = new EmailOutboxService(new EmailOutboxDAOImpl(),
+            EmailOutboxService::openSmtp, SecretBox.fromSetting("oceanview.outbox.key", "OUTBOX_KEY"));
+
+    // placeholder for the secret in a queued body
+    public static final String SECRET = "{{secret}}";
+
+    // sealed under another key, e.g. queued before a restart without OUTBOX_KEY
+    private static final String SECRET_UNAVAILABLE = "(not available, please ask the front desk to set a new one)";
+
+    private static final int BATCH_SIZE = 20;
+    private static final int MAX_ATTEMPTS = 8;
+    private static final long POLL_INTERVAL_MS = 5_000;
+    private static final long BASE_BACKOFF_MS = 30_000;
+    private static final long MAX_BACKOFF_MS = 60 * 60_000;
+    private static final long CLAIM_LEASE_MS = 5 * 60_000;
+
+    public static EmailOutboxService getInstance() {
+        return INSTANCE;
+    }
+
+    // smtp connection used for one batch
+    public interface MailTransport extends AutoCloseable {
+        void send(String toEmail, String subject, String body) throws Exception;
+
+        @Override
+        void close();
+    }
+
+    public interface TransportFactory {
+        MailTransport open() throws Exception;
+    }
+
+    private final EmailOutboxDAO dao;
+    private final TransportFactory transports;
+    private final SecretBox secrets;
+
+    // metrics
+    private final LatencyHistogram sendLatency = new LatencyHistogram();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final AtomicLong lastDrainAt = new AtomicLong();
+
+    private ScheduledExecutorService poller;
+    private ExecutorService worker;
+
+    EmailOutboxService(EmailOutboxDAO dao, TransportFactory transports, SecretBox secrets) {
+        this.dao = dao;
+        this.transports = transports;
+        this.secrets = secrets;
+    }
+
+    // queue a message, joins the caller's unit of work if one is open
+    public long enqueue(String toEmail, String subject, String body) {
+        return enqueue(toEmail, subject, body, null);
+    }
+
+    // secret replaces SECRET in body at send time, only its sealed form is stored
+    public long enqueue(String toEmail, String subject, String body, String secret) {
+        if (toEmail == null || toEmail.trim().isEmpty()) return 0;
+
+        String sealed = secret == null ? null : secrets.seal(secret);
+        long id = dao.enqueue(toEmail.trim(), subject, body, sealed);
+        queueDepth.incrementAndGet();
+
+        UnitOfWork.afterCommit(this::wakeUp);
+        return id;
+    }
+
+    // LIFECYCLE
+
+    public synchronized void start() {
+        if (poller != null) return;
+
+        // one drain at a time, extra wake-ups collapse into the pending one
+        worker = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(1),
+                r -> daemon(r, "oceanview-email-outbox"),
+                new ThreadPoolExecutor.DiscardPolicy());
+
+        poller = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "oceanview-email-poll"));
+        poller.scheduleWithFixedDelay(this::wakeUp, 0, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (poller != null) {
+            poller.shutdownNow();
+            poller = null;
+        }
+        if (worker != null) {
+            worker.shutdown();
+            try {
+                worker.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            worker.shutdownNow();
+            worker = null;
+        }
+    }
+
+    private void wakeUp() {
+        ExecutorService w = worker;
+        if (w == null || w.isShutdown()) return;
+        w.execute(() -> {
+            try {
+                drain();
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, "Email outbox drain failed", e);
+            }
+        });
+    }
+
+    // WORKER
+
+    // send everything currently due, returns number of messages handled
+    int drain() {
+        long now = System.currentTimeMillis();
+        lastDrainAt.set(now);
+
+        dao.releaseExpiredClaims(new Timestamp(now));
+
+        int handled = 0;
+        List<EmailOutboxMessage> batch;
+
+        while (!(batch = dao.findDue(new Timestamp(System.currentTimeMillis()), BATCH_SIZE)).isEmpty()) {
+            handled += sendBatch(batch);
+            if (batch.size() < BATCH_SIZE || Thread.currentThread().isInterrupted()) break;
+        }
+
+        queueDepth.set(dao.countPending());
+        return handled;
+    }
+
+    private int sendBatch(List<EmailOutboxMessage> batch) {
+        MailTransport transport = null;
+        int handled = 0;
+
+        try {
+            for (EmailOutboxMessage m : batch) {
+                Timestamp lease = new Timestamp(System.currentTimeMillis() + CLAIM_LEASE_MS);
+                if (!dao.claim(m.getOutboxId(), lease)) continue;
+
+                long start = System.nanoTime();
+                try {
+                    if (transport == null) transport = transports.open();
+                    transport.send(m.getToEmail(), m.getSubject(), bodyOf(m));
+
+                    sendLatency.recordNanos(System.nanoTime() - start);
+                    dao.markSent(m.getOutboxId());
+                    sent.increment();
+
+                } catch (Exception e) {
+                    sendLatency.recordNanos(System.nanoTime() - start);
+                    reschedule(m, e);
+
+                    // drop a broken connection, next message reconnects
+                    if (transport != null) {
+                        transport.close();
+                        transport = null;
+                    }
+                }
+                handled++;
+            }
+        } finally {
+            if (transport != null) transport.close();
+        }
+
+        return handled;
+    }
+
+    private String bodyOf(EmailOutboxMessage m) {
+        String body = m.getBody() == null ? "" : m.getBody();
+        if (m.getSecret() == null) return body;
+
+        String secret;
+        try {
+            secret = secrets.open(m.getSecret());
+        } catch (IllegalStateException e) {
+            LOG.log(Level.WARNING, "Email " + m.getOutboxId() + " secret can't be opened, sending without it", e);
+            secret = SECRET_UNAVAILABLE;
+        }
+        return body.replace(SECRET, secret);
+    }
+
+    private void reschedule(EmailOutboxMessage m, Exception e) {
+        int attempts = m.getAttempts() + 1;
+        String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+
+        if (attempts >= MAX_ATTEMPTS) {
+            dao.markFailed(m.getOutboxId(), attempts, error);
+            failed.increment();
+            LOG.log(Level.WARNING, "Email " + m.getOutboxId() + " to " + m.getToEmail()
+                    + " failed after " + attempts + " attempts", e);
+            return;
+        }
+
+        long delay = backoffMillis(attempts);
+        dao.markRetry(m.getOutboxId(), attempts, new Timestamp(System.currentTimeMillis() + delay), error);
+        retried.increment();
+        LOG.log(Level.FINE, "Email " + m.getOutboxId() + " retry in " + delay + "ms", e);
+    }
+
+    // 30s, 1m, 2m ... capped at 1h, with jitter
+    static long backoffMillis(int attempts) {
+        long delay = BASE_BACKOFF_MS << Math.min(attempts - 1, 20);
+        delay = Math.min(delay, MAX_BACKOFF_MS);
+        return delay + (long) (Math.random() * delay * 0.2);
+    }
+
+    private static MailTransport openSmtp() throws Exception {
+        EmailUtil.SmtpSession smtp = EmailUtil.open();
+        return new MailTransport() {
+            @Override
+            public void send(String toEmail, String subject, String body) throws Exception {
+                smtp.send(toEmail, subject, body);
+            }
+
+            @Override
+            public void close() {
+                smtp.close();
+            }
+        };
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread t = new Thread(r, name);
+        t.setDaemon(true);
+        return t;
+    }
+
+    // METRICS
+
+    public int getQueueDepth() { return queueDepth.get(); }
+    public LatencyHistogram getSendLatency() { return sendLatency; }
+    public long getSentCount() { return sent.sum(); }
+    public long getRetryCount() { return retried.sum(); }
+    public long getFailedCount() { return failed.sum(); }
+    public long getLastDrainAt() { return lastDrainAt.get(); }
+}
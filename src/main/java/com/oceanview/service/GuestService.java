@@ -3,13 +3,21 @@ package com.oceanview.service;
 import com.oceanview.dao.GuestDAO;
 import com.oceanview.dao.impl.GuestDAOImpl;
 import com.oceanview.model.Guest;
+import com.oceanview.util.PasswordUtil;
+import com.oceanview.util.PasswordVerifier;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.List;
+import java.util.function.Supplier;
 
 public class GuestService {
 
     private final GuestDAO dao = new GuestDAOImpl();
 
+    // login checks run on the verifier pool, password writes hash on its hash pool
+    private final PasswordVerifier verifier = PasswordVerifier.getInstance();
+
     // list guests
     public List<Guest> listGuests() {
         return dao.findAll();
@@ -72,7 +80,7 @@ public class GuestService {
         g.setEmail(email != null && !email.trim().isEmpty() ? email.trim() : null);
 
         String pw = (password == null || password.trim().isEmpty()) ? "123456" : password.trim();
-        g.setPassword(pw);
+        g.setPassword(verifier.hash(pw));
 
         return dao.create(g);
     }
@@ -105,7 +113,12 @@ public class GuestService {
         if (password == null || password.trim().isEmpty())
             throw new IllegalArgumentException("Password required");
 
-        boolean ok = dao.updatePassword(guestId, password.trim());
+        storePasswordHash(guestId, verifier.hash(password.trim()));
+    }
+
+    // booking path, the hash was made before its transaction opened
+    void storePasswordHash(int guestId, String hash) {
+        boolean ok = dao.updatePassword(guestId, hash);
         if (!ok) throw new RuntimeException("Failed to update guest password");
     }
 
@@ -124,6 +137,18 @@ public class GuestService {
     public int ensureGuestWithPassword(String fullName, String email,
                                        String contactNumber, String password) {
 
+        String pw = (password == null || password.trim().isEmpty()) ? "123456" : password.trim();
+        return ensureGuest(fullName, email, contactNumber, () -> verifier.hash(pw));
+    }
+
+    // booking path, the hash was made before its transaction opened
+    int ensureGuestWithPasswordHash(String fullName, String email, String contactNumber, String hash) {
+        return ensureGuest(fullName, email, contactNumber, () -> hash);
+    }
+
+    // hash is only asked for when a password gets written
+    private int ensureGuest(String fullName, String email, String contactNumber, Supplier<String> hash) {
+
         if (fullName == null || fullName.trim().isEmpty())
             throw new IllegalArgumentException("Guest name required");
         if (contactNumber == null || contactNumber.trim().isEmpty())
@@ -137,11 +162,10 @@ public class GuestService {
             g = dao.findByEmail(em);
         }
 
-        String pw = (password == null || password.trim().isEmpty()) ? "123456" : password.trim();
-
         if (g != null) {
-            if (g.getPassword() == null || g.getPassword().trim().isEmpty()) {
-                dao.updatePasswordById(g.getGuestId(), pw);
+            String stored = dao.findPasswordById(g.getGuestId());
+            if (stored == null || stored.trim().isEmpty()) {
+                dao.updatePasswordById(g.getGuestId(), hash.get());
             }
             return g.getGuestId();
         }
@@ -152,14 +176,16 @@ public class GuestService {
         ng.setAddress(null);
         ng.setContactNumber(phone);
         ng.setEmail((em != null && !em.isEmpty()) ? em : null);
-        ng.setPassword(pw);
+        ng.setPassword(hash.get());
 
         int id = dao.create(ng);
         if (id <= 0) throw new IllegalStateException("Guest creation failed");
         return id;
     }
 
-    // guest login
+    // guest login: one lookup on the email index, then the stored password is read and checked
+    // rows from before hashing still hold plaintext; they are compared in constant time and
+    // rehashed on their first successful login
     public Guest loginGuest(String email, String password) {
 
         if (email == null || email.trim().isEmpty())
@@ -167,6 +193,36 @@ public class GuestService {
         if (password == null || password.trim().isEmpty())
             throw new IllegalArgumentException("Password required");
 
-        return dao.findByEmailAndPassword(email.trim(), password.trim());
+        String pw = password.trim();
+        Guest g = dao.findByEmail(email.trim());
+        String stored = g == null ? null : dao.findPasswordById(g.getGuestId());
+
+        boolean ok;
+        if (stored == null || stored.isEmpty()) {
+            // same bcrypt work as a real check, so timing doesn't tell which emails exist
+            verifier.verify(pw, DummyHash.VALUE);
+            ok = false;
+        } else if (PasswordUtil.isHashed(stored)) {
+            ok = verifier.verify(pw, stored);
+            if (ok && PasswordUtil.needsRehash(stored)) rehash(g.getGuestId(), pw);
+        } else {
+            ok = MessageDigest.isEqual(stored.getBytes(StandardCharsets.UTF_8), pw.getBytes(StandardCharsets.UTF_8));
+            if (ok) rehash(g.getGuestId(), pw);
+        }
+
+        if (!ok) return null;
+
+        // the session copy doesn't need it
+        g.setPassword(null);
+        return g;
+    }
+
+    private void rehash(int guestId, String password) {
+        verifier.rehash(password, hash -> dao.updatePasswordById(guestId, hash));
+    }
+
+    // made on first use at the configured cost
+    private static final class DummyHash {
+        static final String VALUE = PasswordUtil.hashPassword("oceanview-no-such-guest");
     }
 }
@@ -0,0 +1,302 @@
+package com.oceanview.service;
+
+import com.oceanview.cache.InvoiceCache;
+import com.oceanview.dao.ReservationDAO;
+import com.oceanview.dao.impl.ReservationDAOImpl;
+import com.oceanview.model.Reservation;
+import com.oceanview.model.ReservationFilter;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+public class InvoiceBatchService {
+
+    // month-end invoice packs: every reservation matching a filter, rendered into one ZIP
+    // one job runs at a time; its invoices render on a pool sized to the cores, through the
+    // invoice cache so already rendered ones are reused, and at most WINDOW_PER_WORKER per
+    // worker are in flight so heap stays flat however many reservations match
+    // entries are written in listing order as their renders finish
+
+    private static final Logger LOG = Logger.getLogger(InvoiceBatchService.class.getName());
+
+    private static final InvoiceBatchService INSTANCE = new InvoiceBatchService(
+            new ReservationDAOImpl(), InvoiceCache.getInstance(), Runtime.getRuntime().availableProcessors());
+
+    private static final int PAGE_SIZE = 200;
+    private static final int WINDOW_PER_WORKER = 2;
+    private static final int MAX_PENDING_JOBS = 4;
+    private static final long FINISHED_TTL_MS = 60 * 60_000;
+
+    public static final String QUEUED = "QUEUED";
+    public static final String RUNNING = "RUNNING";
+    public static final String DONE = "DONE";
+    public static final String FAILED = "FAILED";
+    public static final String CANCELLED = "CANCELLED";
+
+    public static InvoiceBatchService getInstance() {
+        return INSTANCE;
+    }
+
+    public static final class Job {
+        private final String id = UUID.randomUUID().toString();
+        private final ReservationFilter filter;
+        private final int createdBy;
+        private final long createdAt = System.currentTimeMillis();
+
+        private volatile String status = QUEUED;
+        private volatile String message;
+        private volatile int total = -1;
+        private final AtomicInteger rendered = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private volatile Path file;
+        private volatile long finishedAt;
+        private volatile boolean cancelled;
+
+        Job(ReservationFilter filter, int createdBy) {
+            this.filter = filter;
+            this.createdBy = createdBy;
+        }
+
+        public String getId() { return id; }
+        public int getCreatedBy() { return createdBy; }
+        public long getCreatedAt() { return createdAt; }
+        public String getStatus() { return status; }
+        public String getMessage() { return message; }
+        public int getTotal() { return total; }         // -1 until counted
+        public int getRendered() { return rendered.get(); }
+        public int getFailed() { return failed.get(); }
+        public Path getFile() { return file; }
+
+        public boolean isFinished() {
+            String s = status;
+            return DONE.equals(s) || FAILED.equals(s) || CANCELLED.equals(s);
+        }
+
+        private void finish(String status, String message) {
+            this.message = message;
+            this.finishedAt = System.currentTimeMillis();
+            this.status = status;
+        }
+    }
+
+    // a reservation and its render, kept in listing order
+    private static final class Pending {
+        final Reservation reservation;
+        final Future<Path> render;
+
+        Pending(Reservation reservation, Future<Path> render) {
+            this.reservation = reservation;
+            this.render = render;
+        }
+    }
+
+    private final ReservationDAO dao;
+    private final InvoiceCache cache;
+    private final int workers;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    private ExecutorService coordinator;
+    private ExecutorService renderers;
+
+    InvoiceBatchService(ReservationDAO dao, InvoiceCache cache, int workers) {
+        this.dao = dao;
+        this.cache = cache;
+        this.workers = Math.max(1, workers);
+    }
+
+    public synchronized void start() {
+        if (coordinator != null) return;
+
+        coordinator = Executors.newSingleThreadExecutor(r -> daemon(r, "oceanview-invoice-batch"));
+
+        AtomicInteger n = new AtomicInteger();
+        renderers = Executors.newFixedThreadPool(workers,
+                r -> daemon(r, "oceanview-invoice-render-" + n.incrementAndGet()));
+    }
+
+    public synchronized void stop() {
+        for (Job job : jobs.values()) job.cancelled = true;
+
+        if (coordinator != null) {
+            coordinator.shutdownNow();
+            renderers.shutdownNow();
+            try {
+                coordinator.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            coordinator = null;
+            renderers = null;
+        }
+
+        for (Job job : jobs.values()) deleteFile(job);
+        jobs.clear();
+    }
+
+    // JOBS
+
+    public synchronized Job submit(ReservationFilter filter, int createdBy) {
+        if (coordinator == null) throw new IllegalStateException("Invoice batches are not available");
+
+        expireFinished();
+
+        long pending = jobs.values().stream().filter(j -> !j.isFinished()).count();
+        if (pending >= MAX_PENDING_JOBS) {
+            throw new IllegalStateException("Too many invoice batches in progress, try again later");
+        }
+
+        Job job = new Job(filter == null ? new ReservationFilter() : filter, createdBy);
+        jobs.put(job.getId(), job);
+        coordinator.execute(() -> run(job));
+        return job;
+    }
+
+    public Job getJob(String id) {
+        expireFinished();
+        return id == null ? null : jobs.get(id);
+    }
+
+    public boolean cancel(String id) {
+        Job job = getJob(id);
+        if (job == null) return false;
+
+        job.cancelled = true;
+        if (job.isFinished()) {
+            jobs.remove(id);
+            deleteFile(job);
+        }
+        return true;
+    }
+
+    // WORKER
+
+    void run(Job job) {
+        if (job.cancelled) {
+            job.finish(CANCELLED, null);
+            return;
+        }
+
+        job.status = RUNNING;
+        LocalDate issueDate = LocalDate.now();
+        Path zip = null;
+        ArrayDeque<Pending> window = new ArrayDeque<>();
+
+        try {
+            job.total = dao.countMatching(job.filter);
+            zip = Files.createTempFile("oceanview-invoices-", ".zip");
+
+            try (ZipOutputStream out = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(zip)))) {
+                // the pdfs are already flate compressed, don't spend cores recompressing them
+                out.setLevel(Deflater.BEST_SPEED);
+
+                int afterId = 0;
+                List<Reservation> page;
+                do {
+                    page = dao.findPage(afterId, PAGE_SIZE, job.filter);
+
+                    for (Reservation r : page) {
+                        if (job.cancelled) break;
+                        if (window.size() >= workers * WINDOW_PER_WORKER) write(out, window.poll(), job, issueDate);
+                        window.add(new Pending(r, renderers.submit(() -> cache.get(r, issueDate, cache.keyFor(r, issueDate)))));
+                    }
+
+                    if (!page.isEmpty()) afterId = page.get(page.size() - 1).getReservationId();
+                } while (page.size() == PAGE_SIZE && !job.cancelled);
+
+                while (!window.isEmpty() && !job.cancelled) write(out, window.poll(), job, issueDate);
+            }
+
+            if (job.cancelled) {
+                Files.deleteIfExists(zip);
+                job.finish(CANCELLED, null);
+                return;
+            }
+
+            job.file = zip;
+            job.finish(DONE, job.getFailed() > 0 ? job.getFailed() + " invoices could not be rendered" : null);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            deleteQuietly(zip);
+            job.finish(CANCELLED, null);
+        } catch (IOException | RuntimeException e) {
+            LOG.log(Level.WARNING, "Invoice batch " + job.getId() + " failed", e);
+            deleteQuietly(zip);
+            job.finish(FAILED, "Invoice batch failed");
+        } finally {
+            for (Pending p : window) p.render.cancel(true);
+        }
+    }
+
+    private void write(ZipOutputStream out, Pending p, Job job, LocalDate issueDate)
+            throws IOException, InterruptedException {
+
+        Reservation r = p.reservation;
+        Path pdf;
+        try {
+            pdf = p.render.get();
+        } catch (ExecutionException e) {
+            LOG.log(Level.WARNING, "Failed to render invoice for reservation " + r.getReservationId(), e.getCause());
+            job.failed.incrementAndGet();
+            return;
+        }
+
+        out.putNextEntry(new ZipEntry("INV-" + r.getReservationNumber() + ".pdf"));
+        try {
+            Files.copy(pdf, out);
+        } catch (NoSuchFileException e) {
+            // a payment replaced the cached file since it was rendered
+            Files.copy(cache.get(r, issueDate, cache.keyFor(r, issueDate)), out);
+        }
+        out.closeEntry();
+        job.rendered.incrementAndGet();
+    }
+
+    private void expireFinished() {
+        long cutoff = System.currentTimeMillis() - FINISHED_TTL_MS;
+        jobs.values().removeIf(j -> {
+            boolean expired = j.isFinished() && j.finishedAt < cutoff;
+            if (expired) deleteFile(j);
+            return expired;
+        });
+    }
+
+    private static void deleteFile(Job job) {
+        deleteQuietly(job.file);
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) return;
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Failed to delete " + file, e);
+        }
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread t = new Thread(r, name);
+        t.setDaemon(true);
+        return t;
+    }
+}
@@ -0,0 +1,143 @@
+package com.oceanview.service;
+
+import com.oceanview.model.Reservation;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.text.DecimalFormat;
+import java.time.LocalDate;
+
+public class InvoiceRenderer {
+
+    // A4 invoice for one reservation
+    // standard 14 fonts are not embedded, so one instance of each serves every document
+
+    private static final PDFont REGULAR = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+    private static final PDFont BOLD = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
+
+    private static final Color PRIMARY = new Color(2, 119, 189);
+    private static final Color TABLE_HEADER = new Color(240, 245, 250);
+    private static final Color RULE = new Color(200, 200, 200);
+    private static final Color MUTED = new Color(100, 100, 100);
+
+    private static final float MARGIN = 50;
+
+    public void render(Reservation r, LocalDate issueDate, OutputStream out) throws IOException {
+
+        // DecimalFormat is not thread safe
+        DecimalFormat df = new DecimalFormat("#,##0.00");
+
+        try (PDDocument doc = new PDDocument()) {
+            PDPage page = new PDPage(PDRectangle.A4);
+            doc.addPage(page);
+            float width = page.getMediaBox().getWidth();
+            float height = page.getMediaBox().getHeight();
+
+            try (PDPageContentStream cs = new PDPageContentStream(doc, page)) {
+
+                // 1. HEADER BANNER (Dark Blue Gradient look)
+                cs.setNonStrokingColor(PRIMARY);
+                cs.addRect(0, height - 200, width, 200);
+                cs.fill();
+
+                // 2. HEADER TEXT
+                cs.setNonStrokingColor(Color.WHITE);
+                writeText(cs, MARGIN, height - 80, BOLD, 36, "INVOICE");
+
+                writeText(cs, MARGIN, height - 120, BOLD, 14, "OceanView Resort");
+                writeText(cs, MARGIN, height - 135, REGULAR, 10, "Galle, Sri Lanka");
+                writeText(cs, MARGIN, height - 150, REGULAR, 10, "info@oceanview.com");
+
+                // Header Labels (Right Side)
+                float rightAlign = width - 200;
+                writeText(cs, rightAlign, height - 120, BOLD, 10, "Invoice No:");
+                writeText(cs, rightAlign + 80, height - 120, REGULAR, 10, ": INV-" + r.getReservationNumber());
+
+                writeText(cs, rightAlign, height - 135, BOLD, 10, "Issue Date:");
+                writeText(cs, rightAlign + 80, height - 135, REGULAR, 10, ": " + issueDate);
+
+                // 3. BILLED TO SECTION
+                float y = height - 250;
+                cs.setNonStrokingColor(Color.BLACK);
+                writeText(cs, MARGIN, y, BOLD, 11, "Billed To");
+                writeText(cs, MARGIN, y - 15, REGULAR, 10, safe(r.getGuestName()));
+                writeText(cs, MARGIN, y - 30, REGULAR, 10, safe(r.getGuestEmail()));
+                writeText(cs, MARGIN, y - 45, REGULAR, 10, safe(r.getGuestContactNumber()));
+
+                // 4. TABLE HEADER
+                y -= 80;
+                cs.setNonStrokingColor(TABLE_HEADER);
+                cs.addRect(MARGIN, y - 5, width - (2 * MARGIN), 20);
+                cs.fill();
+
+                cs.setNonStrokingColor(PRIMARY);
+                writeText(cs, MARGIN + 10, y, BOLD, 10, "Description");
+                writeText(cs, MARGIN + 250, y, BOLD, 10, "Qty (Nights)");
+                writeText(cs, MARGIN + 350, y, BOLD, 10, "Unit Price");
+                writeText(cs, width - MARGIN - 50, y, BOLD, 10, "Total");
+
+                // 5. TABLE CONTENT
+                y -= 30;
+                cs.setNonStrokingColor(Color.BLACK);
+                writeText(cs, MARGIN + 10, y, BOLD, 10, safe(r.getRoomType()));
+                writeText(cs, MARGIN + 10, y - 12, REGULAR, 9, "Room No: " + safe(r.getRoomNumber()));
+
+                writeText(cs, MARGIN + 250, y, REGULAR, 10, String.valueOf(r.getNights()));
+                writeText(cs, MARGIN + 350, y, REGULAR, 10, "$ " + df.format(r.getRatePerNight()));
+                writeText(cs, width - MARGIN - 60, y, REGULAR, 10, "$ " + df.format(r.getSubtotal()));
+
+                // Decorative Line
+                cs.setStrokingColor(RULE);
+                cs.moveTo(MARGIN, y - 25);
+                cs.lineTo(width - MARGIN, y - 25);
+                cs.stroke();
+
+                // 6. TOTALS SECTION (Right Aligned)
+                y -= 60;
+                float summaryX = width - 200;
+                writeSummaryRow(cs, summaryX, y, "Sub Total", "$ " + df.format(r.getSubtotal()));
+                writeSummaryRow(cs, summaryX, y - 15, "Tax (10%)", "$ " + df.format(r.getTax()));
+                writeSummaryRow(cs, summaryX, y - 30, "Discount", "-$ " + df.format(r.getDiscount()));
+
+                // 7. GRAND TOTAL BOX
+                y -= 60;
+                cs.setNonStrokingColor(PRIMARY);
+                cs.addRect(summaryX - 20, y - 10, 170, 25);
+                cs.fill();
+
+                cs.setNonStrokingColor(Color.WHITE);
+                writeText(cs, summaryX - 10, y, BOLD, 12, "Grand Total");
+                writeText(cs, width - MARGIN - 60, y, BOLD, 12, "$ " + df.format(r.getTotalAmount()));
+
+                // FOOTER
+                writeText(cs, MARGIN, 100, BOLD, 12, "Thank you for your Business");
+                writeText(cs, MARGIN, 85, REGULAR, 9, "Payment Terms: Cash/Card/Bank Transfer accepted.");
+            }
+            doc.save(out);
+        }
+    }
+
+    private void writeText(PDPageContentStream cs, float x, float y, PDFont font, int size, String text) throws IOException {
+        cs.beginText();
+        cs.setFont(font, size);
+        cs.newLineAtOffset(x, y);
+        cs.showText(text);
+        cs.endText();
+    }
+
+    private void writeSummaryRow(PDPageContentStream cs, float x, float y, String label, String value) throws IOException {
+        cs.setNonStrokingColor(MUTED);
+        writeText(cs, x, y, REGULAR, 10, label);
+        writeText(cs, x + 100, y, REGULAR, 10, value);
+    }
+
+    private String safe(String s) { return s == null ? "-" : s; }
+}
@@ -0,0 +1,75 @@
+package com.oceanview.service;
+
+import com.oceanview.dao.ReservationSequenceDAO;
+import com.oceanview.dao.impl.ReservationSequenceDAOImpl;
+
+import java.sql.Date;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ReservationNumberAllocator {
+
+    // hands out RES-yyyyMMdd-NNN numbers per check-in date
+    // numbers are reserved from reservation_sequences in blocks and issued from memory,
+    // unused numbers of a block are skipped after a restart
+
+    private static final ReservationNumberAllocator INSTANCE =
+            new ReservationNumberAllocator(new ReservationSequenceDAOImpl(), 20);
+
+    public static ReservationNumberAllocator getInstance() {
+        return INSTANCE;
+    }
+
+    // reserved range [next, end)
+    private static final class Block {
+        final AtomicInteger next;
+        final int end;
+
+        Block(int first, int size) {
+            this.next = new AtomicInteger(first);
+            this.end = first + size;
+        }
+    }
+
+    private final ReservationSequenceDAO dao;
+    private final int blockSize;
+    private final ConcurrentHashMap<LocalDate, Block> blocks = new ConcurrentHashMap<>();
+
+    ReservationNumberAllocator(ReservationSequenceDAO dao, int blockSize) {
+        this.dao = dao;
+        this.blockSize = blockSize;
+    }
+
+    public String next(Date checkIn) {
+        if (checkIn == null) throw new IllegalArgumentException("Check-in required");
+
+        int n = nextValue(checkIn);
+        return "RES-" + new SimpleDateFormat("yyyyMMdd").format(checkIn) + "-" + String.format("%03d", n);
+    }
+
+    int nextValue(Date checkIn) {
+        LocalDate day = checkIn.toLocalDate();
+
+        while (true) {
+            Block b = blocks.get(day);
+            if (b != null) {
+                int n = b.next.getAndIncrement();
+                if (n < b.end) return n;
+            }
+
+            // reserved outside the map so no bin lock is held across the database call;
+            // if another thread installed a block first, this one still issues a number and
+            // the rest of it is skipped, like a block left over at restart
+            Block fresh = new Block(dao.reserveBlock(checkIn, blockSize), blockSize);
+            boolean installed = b == null ? blocks.putIfAbsent(day, fresh) == null : blocks.replace(day, b, fresh);
+            if (!installed) return fresh.next.getAndIncrement();
+        }
+    }
+
+    // drops the reserved blocks, their unused numbers are skipped as after a restart
+    public void clear() {
+        blocks.clear();
+    }
+}
@@ -1,12 +1,15 @@
 // ReservationPaymentService.java
 package com.oceanview.service;
 
+import com.oceanview.cache.GuestReservationsCache;
+import com.oceanview.cache.InvoiceCache;
 import com.oceanview.dao.ReservationDAO;
 import com.oceanview.dao.ReservationPaymentDAO;
 import com.oceanview.dao.impl.ReservationDAOImpl;
 import com.oceanview.dao.impl.ReservationPaymentDAOImpl;
 import com.oceanview.model.Reservation;
 import com.oceanview.model.ReservationPayment;
+import com.oceanview.util.UnitOfWork;
 
 import java.sql.Timestamp;
 import java.util.List;
@@ -52,6 +55,7 @@ public class ReservationPaymentService {
         String paymentStatus = calculatePaymentStatus(newPaidAmount, totalAmount);
 
         reservationDao.updatePaymentStatus(reservationId, newPaidAmount, paymentStatus);
+        afterPaymentChanged(reservationId, reservation.getGuestId());
 
         return paymentId;
     }
@@ -76,6 +80,7 @@ public class ReservationPaymentService {
 
             String paymentStatus = calculatePaymentStatus(newPaidAmount, reservation.getTotalAmount());
             reservationDao.updatePaymentStatus(reservationId, newPaidAmount, paymentStatus);
+            afterPaymentChanged(reservationId, reservation.getGuestId());
         }
 
         return true;
@@ -98,4 +103,12 @@ public class ReservationPaymentService {
 
         return Math.round(v * 100.0) / 100.0;
     }
+
+    // invoice and the guest's portal list show the paid amount
+    private void afterPaymentChanged(int reservationId, int guestId) {
+        UnitOfWork.afterCommit(() -> {
+            InvoiceCache.getInstance().invalidate(reservationId);
+            GuestReservationsCache.getInstance().invalidateGuest(guestId);
+        });
+    }
 }
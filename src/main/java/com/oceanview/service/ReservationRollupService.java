@@ -0,0 +1,201 @@
+package com.oceanview.service;
+
+import com.oceanview.cache.DashboardStatsCache;
+import com.oceanview.dao.ReservationRollupDAO;
+import com.oceanview.dao.impl.ReservationRollupDAOImpl;
+import com.oceanview.model.ReservationDailyRollup;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class ReservationRollupService {
+
+    // keeps reservation_daily_rollup in step with reservations
+    // mutations mark their days dirty, a background thread recomputes those days shortly after,
+    // and a nightly job rebuilds a trailing window to pick up room type edits and missed changes;
+    // older days only change through markDirty, a full rebuild runs on a cold start
+    // memoized dashboard stats are dropped whenever the rollup changes
+    // unique guests is the one dashboard figure not kept here, see ReservationDAO.countGuestsBetween
+
+    private static final Logger LOG = Logger.getLogger(ReservationRollupService.class.getName());
+
+    private static final ReservationRollupService INSTANCE =
+            new ReservationRollupService(new ReservationRollupDAOImpl());
+
+    private static final long FLUSH_DELAY_MS = 500;
+    private static final long RETRY_DELAY_MS = 30_000;
+    private static final int NIGHTLY_REBUILD_HOUR = 3;
+    private static final int NIGHTLY_WINDOW_DAYS = 90;
+
+    public static ReservationRollupService getInstance() {
+        return INSTANCE;
+    }
+
+    private final ReservationRollupDAO dao;
+    private final ConcurrentSkipListSet<LocalDate> dirty = new ConcurrentSkipListSet<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private ScheduledExecutorService worker;
+
+    ReservationRollupService(ReservationRollupDAO dao) {
+        this.dao = dao;
+    }
+
+    // READ
+
+    public List<ReservationDailyRollup> dailyTotals(Date start, Date end) {
+        return dao.findDailyTotals(start, end);
+    }
+
+    // WRITE
+
+    // every day a stay touches, check-in through check-out
+    public void markDirty(Date checkIn, Date checkOut) {
+        if (checkIn == null) return;
+
+        LocalDate from = checkIn.toLocalDate();
+        LocalDate to = checkOut == null ? from : checkOut.toLocalDate();
+        for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) dirty.add(d);
+
+        scheduleFlush();
+    }
+
+    private void scheduleFlush() {
+        scheduleFlush(FLUSH_DELAY_MS);
+    }
+
+    private void scheduleFlush(long delayMs) {
+        ScheduledExecutorService w = worker;
+        if (w == null) return;
+        if (flushScheduled.compareAndSet(false, true)) {
+            w.schedule(this::flushSafely, delayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flushSafely() {
+        flushScheduled.set(false);
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            LOG.log(Level.WARNING, "Daily rollup update failed, retrying later", e);
+            scheduleFlush(RETRY_DELAY_MS);
+        }
+    }
+
+    // recompute all dirty days, returns number of days written
+    int flush() {
+        int done = 0;
+        LocalDate d;
+        try {
+            while ((d = dirty.pollFirst()) != null) {
+                try {
+                    dao.recomputeDay(Date.valueOf(d));
+                    done++;
+                } catch (RuntimeException e) {
+                    // keep it for the next pass
+                    dirty.add(d);
+                    throw e;
+                }
+            }
+        } finally {
+            if (done > 0) DashboardStatsCache.getInstance().invalidate();
+        }
+        return done;
+    }
+
+    // full rebuild over the whole reservation history
+    public int rebuildAll() {
+        return rebuild(null);
+    }
+
+    // days from windowDays ago through the last booked day, plus the trim of emptied days
+    public int rebuildRecent(int windowDays) {
+        return rebuild(LocalDate.now().minusDays(windowDays));
+    }
+
+    private int rebuild(LocalDate since) {
+        Date first = dao.findFirstReservationDay();
+        Date last = dao.findLastReservationDay();
+
+        if (first == null || last == null) {
+            dao.deleteAll();
+            DashboardStatsCache.getInstance().invalidate();
+            return 0;
+        }
+
+        LocalDate from = first.toLocalDate();
+        if (since != null && since.isAfter(from)) from = since;
+
+        int days = 0;
+        for (LocalDate d = from; !d.isAfter(last.toLocalDate()); d = d.plusDays(1)) {
+            dao.recomputeDay(Date.valueOf(d));
+            days++;
+        }
+        dao.deleteOutside(first, last);
+        DashboardStatsCache.getInstance().invalidate();
+
+        LOG.info("Daily rollup rebuilt for " + days + " days");
+        return days;
+    }
+
+    // LIFECYCLE
+
+    public synchronized void start() {
+        if (worker != null) return;
+
+        worker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "oceanview-rollup");
+            t.setDaemon(true);
+            return t;
+        });
+
+        // first deploy after the migration starts from an empty table
+        worker.execute(() -> {
+            try {
+                if (dao.isEmpty()) rebuildAll();
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, "Initial daily rollup build failed", e);
+            }
+        });
+
+        worker.scheduleAtFixedRate(() -> {
+            try {
+                rebuildRecent(NIGHTLY_WINDOW_DAYS);
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, "Nightly daily rollup rebuild failed", e);
+            }
+        }, millisUntilNextRebuild(), TimeUnit.DAYS.toMillis(1), TimeUnit.MILLISECONDS);
+
+        if (!dirty.isEmpty()) scheduleFlush();
+    }
+
+    public synchronized void stop() {
+        if (worker != null) {
+            worker.shutdownNow();
+            worker = null;
+        }
+    }
+
+    private static long millisUntilNextRebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime next = now.toLocalDate().atTime(NIGHTLY_REBUILD_HOUR, 0);
+        if (!next.isAfter(now)) next = next.plusDays(1);
+        return Duration.between(now, next).toMillis();
+    }
+
+    // days still waiting, for tests and metrics
+    List<LocalDate> pendingDays() {
+        return new ArrayList<>(dirty);
+    }
+}
@@ -1,5 +1,6 @@
 package com.oceanview.service;
 
+import com.oceanview.cache.RoomAvailabilityIndex;
 import com.oceanview.dao.ReservationDAO;
 import com.oceanview.dao.ReservationPaymentDAO;
 import com.oceanview.dao.RoomDAO;
@@ -7,18 +8,23 @@ import com.oceanview.dao.impl.ReservationDAOImpl;
 import com.oceanview.dao.impl.ReservationPaymentDAOImpl;
 import com.oceanview.dao.impl.RoomDAOImpl;
 import com.oceanview.model.Reservation;
-import com.oceanview.model.ReservationDailyCount;
+import com.oceanview.model.ReservationDailyRollup;
+import com.oceanview.model.ReservationFilter;
+import com.oceanview.model.ReservationPage;
 import com.oceanview.model.ReservationPayment;
 import com.oceanview.model.Room;
-import com.oceanview.util.EmailUtil;
+import com.oceanview.util.PasswordVerifier;
+import com.oceanview.util.UnitOfWork;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.Date;
-import java.text.SimpleDateFormat;
 import java.time.LocalDate;
+import java.util.Base64;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.security.SecureRandom;
 
 public class ReservationService {
@@ -30,6 +36,10 @@ public class ReservationService {
 
     private static final double DEFAULT_TAX_RATE = 0.0;
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    private static final String CURSOR_PREFIX = "r1:";
+
     // READ
   
 
@@ -37,6 +47,38 @@ public class ReservationService {
         return dao.findAll();
     }
 
+    // newest first, cursor is null for the first page
+    public ReservationPage listReservationsPage(String cursor, int limit, ReservationFilter filter) {
+        int size = limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        int afterId = decodeCursor(cursor);
+
+        // one extra row tells whether another page exists
+        List<Reservation> rows = dao.findPage(afterId, size + 1, filter);
+        if (rows.size() <= size) return new ReservationPage(rows, null);
+
+        List<Reservation> page = rows.subList(0, size);
+        return new ReservationPage(page, encodeCursor(page.get(size - 1).getReservationId()));
+    }
+
+    // opaque to clients, only the last id seen is carried
+    static String encodeCursor(int lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + lastId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static int decodeCursor(String cursor) {
+        if (cursor == null || cursor.trim().isEmpty()) return 0;
+        try {
+            String s = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.US_ASCII);
+            if (!s.startsWith(CURSOR_PREFIX)) throw new IllegalArgumentException("Invalid cursor");
+            int id = Integer.parseInt(s.substring(CURSOR_PREFIX.length()));
+            if (id <= 0) throw new IllegalArgumentException("Invalid cursor");
+            return id;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
     public Reservation getById(int id) {
         return dao.findById(id);
     }
@@ -56,10 +98,22 @@ public class ReservationService {
         return dao.findBetween(start, end);
     }
 
+    // export rows one at a time, null range = all reservations
+    public int streamReservations(Date start, Date end, Consumer<Reservation> sink) {
+        if ((start == null) != (end == null)) throw new IllegalArgumentException("Start/end required");
+        if (sink == null) throw new IllegalArgumentException("Sink required");
+        return dao.streamForExport(start, end, sink);
+    }
+
     public List<Reservation> getRecentCheckins() {
         return dao.getRecentCheckins();
     }
 
+    // checked-in and confirmed stays, latest check-in first
+    public List<Reservation> getLatestStays(int limit) {
+        return dao.findLatestStays(Math.max(1, Math.min(limit, 50)));
+    }
+
     public List<Reservation> listReservationsByGuest(int guestId) {
         if (guestId <= 0) throw new IllegalArgumentException("Invalid guestId");
         return dao.findByGuestId(guestId);
@@ -84,13 +138,7 @@ public class ReservationService {
             }
         }
 
-        boolean ok = dao.delete(id);
-
-        if (ok) {
-            syncRoomStatusAfterChange(existing.getRoomId());
-        }
-
-        return ok;
+        return dao.delete(id);
     }
 
   
@@ -103,7 +151,13 @@ public class ReservationService {
         if (checkOut.compareTo(checkIn) <= 0)
             throw new IllegalArgumentException("Check-out must be after check-in");
 
-        List<Room> rooms = dao.findAll() != null ? roomDao.findAll() : List.of();
+        // warm index answers in memory, otherwise one set-based query
+        RoomAvailabilityIndex index = RoomAvailabilityIndex.getInstance();
+        boolean useIndex = index.isLoaded();
+        List<Room> rooms = useIndex
+                ? roomDao.findAll()
+                : dao.findRoomsWithAvailability(checkIn, checkOut);
+        if (rooms == null) rooms = List.of();
 
         StringBuilder sb = new StringBuilder("{\"success\":true,\"rooms\":[");
         for (int i = 0; i < rooms.size(); i++) {
@@ -114,7 +168,9 @@ public class ReservationService {
 
             boolean booked = false;
             if (!maintenance) {
-                booked = dao.hasBookingInRange(r.getRoomId(), checkIn, checkOut);
+                booked = useIndex
+                        ? index.isBooked(r.getRoomId(), checkIn, checkOut)
+                        : "BOOKED".equals(baseStatus);
             }
 
             String computed = maintenance ? "MAINTENANCE" : (booked ? "BOOKED" : "AVAILABLE");
@@ -177,17 +233,81 @@ public class ReservationService {
                 ? generateTempPassword(8)
                 : guestPassword.trim();
 
-        // GUEST RESOLUTION 
+        String number = ReservationNumberAllocator.getInstance().next(checkIn);
+
+        // hashed before the room lock is taken, bcrypt takes a few hundred ms;
+        // on the hash pool rather than the login pool, so a login burst can't fail bookings
+        final String pwHash = PasswordVerifier.getInstance().hash(pw);
+
+        final int requestedGuestId = guestId;
+        final String bookingStatus = status;
+        final double taxPct = taxRateVal;
+        final double discountAmt = discountVal;
+
+        // guest upsert, room lock, overlap check and insert share one transaction
+        Reservation r = UnitOfWork.execute(() -> {
+
+            int resolvedGuestId = resolveBookingGuest(requestedGuestId, guestName, email, guestContactNumber, pwHash);
+
+            // concurrent bookings for this room wait here until commit
+            double rate = roomDao.lockForBooking(roomId);
+            if (rate <= 0) throw new IllegalArgumentException("Room price not found");
+
+            // overlap check
+            boolean overlap = dao.hasOverlappingReservation(roomId, checkIn, checkOut);
+            if (overlap) throw new IllegalArgumentException("Selected dates overlap with an existing reservation.");
+
+            int nights = calcNights(checkIn, checkOut);
+
+            // pricing calc
+            double subtotal = round2(nights * rate);
+            double tax      = round2(subtotal * (taxPct / 100.0));
+            double total    = round2(subtotal + tax - discountAmt);
+            if (total < 0) total = 0;
+
+            Reservation res = new Reservation();
+            res.setReservationNumber(number);
+            res.setGuestId(resolvedGuestId);
+            res.setRoomId(roomId);
+            res.setCheckInDate(checkIn);
+            res.setCheckOutDate(checkOut);
+            res.setStatus(bookingStatus);
+            res.setNotes(notes);
+            res.setCreatedBy(createdBy);
+            res.setNights(nights);
+            res.setRatePerNight(rate);
+            res.setSubtotal(subtotal);
+            res.setTax(tax);
+            res.setDiscount(discountAmt);
+            res.setTotalAmount(total);
+
+            // insert also syncs the room status
+            int id = dao.create(res);
+            if (id <= 0) throw new IllegalStateException("Reservation insert failed");
+            res.setReservationId(id);
+
+            // confirmation email is queued in the same transaction, so it exists exactly when the booking does
+            sendReservationEmail(email, guestName, pw, res, id);
+            return res;
+        });
+
+        return r.getReservationId();
+    }
+
+    // pick the guest for a booking by id/email, creating one if needed
+    private int resolveBookingGuest(int guestId, String guestName, String email,
+                                    String guestContactNumber, String pwHash) {
+
         if (guestId <= 0) {
       
             int existingId = guestService.getGuestIdByEmail(email);
             if (existingId > 0) {
                
                 guestId = existingId;
-                guestService.updateGuestPassword(guestId, pw);
+                guestService.storePasswordHash(guestId, pwHash);
             } else {
             
-                guestId = guestService.ensureGuestWithPassword(guestName, email, guestContactNumber, pw);
+                guestId = guestService.ensureGuestWithPasswordHash(guestName, email, guestContactNumber, pwHash);
                 if (guestId <= 0) throw new IllegalStateException("Guest create failed");
             }
         } else {
@@ -199,67 +319,18 @@ public class ReservationService {
                 if (existingId > 0) {
                    
                     guestId = existingId;
-                    guestService.updateGuestPassword(guestId, pw);
+                    guestService.storePasswordHash(guestId, pwHash);
                 } else {
                    
-                    guestId = guestService.ensureGuestWithPassword(guestName, email, guestContactNumber, pw);
+                    guestId = guestService.ensureGuestWithPasswordHash(guestName, email, guestContactNumber, pwHash);
                     if (guestId <= 0) throw new IllegalStateException("Guest create failed");
                 }
             } else {
                 // guestId matches the email — just update password
-                guestService.updateGuestPassword(guestId, pw);
+                guestService.storePasswordHash(guestId, pwHash);
             }
         }
-        // END GUEST RESOLUTION
-
-        // overlap check
-        boolean overlap = dao.hasOverlappingReservation(roomId, checkIn, checkOut);
-        if (overlap) throw new IllegalArgumentException("Selected dates overlap with an existing reservation.");
-
-        int nights = calcNights(checkIn, checkOut);
-
-        double rate = roomDao.findPriceById(roomId);
-        if (rate <= 0) throw new IllegalArgumentException("Room price not found");
-
-        // pricing calc
-        double subtotal = round2(nights * rate);
-        double tax      = round2(subtotal * (taxRateVal / 100.0));
-        double total    = round2(subtotal + tax - discountVal);
-        if (total < 0) total = 0;
-
-        String number = generateReservationNumber(checkIn);
-
-        Reservation r = new Reservation();
-        r.setReservationNumber(number);
-        r.setGuestId(guestId);
-        r.setRoomId(roomId);
-        r.setCheckInDate(checkIn);
-        r.setCheckOutDate(checkOut);
-        r.setStatus(status);
-        r.setNotes(notes);
-        r.setCreatedBy(createdBy);
-        r.setNights(nights);
-        r.setRatePerNight(rate);
-        r.setSubtotal(subtotal);
-        r.setTax(tax);
-        r.setDiscount(discountVal);
-        r.setTotalAmount(total);
-
-        int id = dao.create(r);
-        if (id <= 0) throw new IllegalStateException("Reservation insert failed");
-
-        if (isActiveBookingStatus(status)) {
-            roomDao.updateStatus(roomId, "BOOKED");
-        }
-
-        // send confirmation email
-        try {
-            sendReservationEmail(email, guestName, pw, r, id);
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-
-        return id;
+        return guestId;
     }
 
  
@@ -305,8 +376,6 @@ public class ReservationService {
         Reservation existing = dao.findById(reservationId);
         if (existing == null) throw new IllegalArgumentException("Reservation not found");
 
-        int oldRoomId = existing.getRoomId();
-
         boolean changedRoomOrDates =
                 existing.getRoomId() != roomId
                         || !existing.getCheckInDate().equals(checkIn)
@@ -345,24 +414,8 @@ public class ReservationService {
         r.setDiscount(discount);
         r.setTotalAmount(total);
 
-        boolean ok = dao.update(r);
-
-        if (ok) {
-            if (oldRoomId != roomId) {
-                // room changed — update new room and sync old one
-                if (isActiveBookingStatus(status)) roomDao.updateStatus(roomId, "BOOKED");
-                syncRoomStatusAfterChange(oldRoomId);
-            } else {
-                // same room — update or release based on status
-                if (isActiveBookingStatus(status)) {
-                    roomDao.updateStatus(roomId, "BOOKED");
-                } else {
-                    syncRoomStatusAfterChange(roomId);
-                }
-            }
-        }
-
-        return ok;
+        // room statuses follow through RoomStatusReconciler once committed
+        return dao.update(r);
     }
 
   
@@ -376,31 +429,19 @@ public String getDashboardStatsJson(int days) {
     Date start        = Date.valueOf(startLd);
     Date end          = Date.valueOf(today);
 
-    int totalReservations   = dao.countBetween(start, end);
     LocalDate monthStartLd  = today.withDayOfMonth(1);
-    Date monthStart         = Date.valueOf(monthStartLd);
-    double revenueThisMonth = dao.sumRevenueBetween(monthStart, end);
-
-    //  unique guests & occupancy 
-    List<Reservation> allInRange = dao.findBetween(start, end);
 
-    java.util.Set<Integer> uniqueGuestIds = new java.util.HashSet<>();
-    int activeCount = 0;
+    // one read of the pre-aggregated daily rollup covers every figure below
+    LocalDate fromLd = monthStartLd.isBefore(startLd) ? monthStartLd : startLd;
+    List<ReservationDailyRollup> rollup =
+            ReservationRollupService.getInstance().dailyTotals(Date.valueOf(fromLd), end);
 
-    for (Reservation r : allInRange) {
-        if (r.getGuestId() > 0) uniqueGuestIds.add(r.getGuestId());
-
-        String s = r.getStatus() == null ? "" : r.getStatus().trim().toUpperCase();
-        if (s.equals("CONFIRMED") || s.equals("CHECKED_IN") || s.equals("BOOKED")) {
-            activeCount++;
-        }
-    }
+    int totalReservations   = 0;
+    double revenueThisMonth = 0;
 
-    int uniqueGuests = uniqueGuestIds.size();
-    double occupancyRate = allInRange.isEmpty()
-            ? 0.0
-            : round2((activeCount * 100.0) / allInRange.size());
-   
+    // stays overlapping [start, today): in house on the first night plus arrivals after it
+    int inRange      = 0;
+    int activeCount  = 0;
 
     // build empty daily series
     LinkedHashMap<String, Integer> map = new LinkedHashMap<>();
@@ -408,14 +449,33 @@ public String getDashboardStatsJson(int days) {
         map.put(startLd.plusDays(i).toString(), 0);
     }
 
-    // fill from DB
-    List<ReservationDailyCount> rows = dao.countPerDayBetween(start, end);
-    for (ReservationDailyCount row : rows) {
+    for (ReservationDailyRollup row : rollup) {
         if (row == null || row.getDay() == null) continue;
-        String key = row.getDay().toString();
-        if (map.containsKey(key)) map.put(key, row.getCount());
+        LocalDate day = row.getDay().toLocalDate();
+
+        if (!day.isBefore(monthStartLd)) revenueThisMonth += row.getRevenue();
+        if (day.isBefore(startLd)) continue;
+
+        totalReservations += row.getBookings();
+        map.put(day.toString(), row.getBookings());
+
+        if (day.equals(startLd)) {
+            inRange      += row.getRoomNights();
+            activeCount  += row.getActiveRoomNights();
+        } else if (day.isBefore(today)) {
+            inRange      += row.getArrivals();
+            activeCount  += row.getActiveArrivals();
+        }
     }
 
+    // the one figure not served from the rollup: distinct over the whole range,
+    // per-day or per-room-type counts would repeat returning guests
+    int uniqueGuests = dao.countGuestsBetween(start, end);
+
+    double occupancyRate = inRange == 0
+            ? 0.0
+            : round2((activeCount * 100.0) / inRange);
+
     // build JSON
     StringBuilder sb = new StringBuilder();
     sb.append("{\"success\":true,");
@@ -439,29 +499,6 @@ public String getDashboardStatsJson(int days) {
  
     // PRIVATE HELPERS
 
-    private boolean isActiveBookingStatus(String status) {
-        if (status == null) return false;
-        String s = status.trim().toUpperCase();
-        return s.equals("CONFIRMED") || s.equals("BOOKED") || s.equals("CHECKED_IN");
-    }
-
-    private void syncRoomStatusAfterChange(int roomId) {
-        if (roomId <= 0) return;
-
-        Room room = roomDao.findById(roomId);
-        if (room == null) return;
-
-        String baseStatus = (room.getStatus() == null) ? "" : room.getStatus().trim().toUpperCase();
-        if ("MAINTENANCE".equals(baseStatus)) return;
-
-        Date today = Date.valueOf(LocalDate.now());
-        boolean hasActiveToday = dao.hasBookingInRange(
-                roomId, today, Date.valueOf(today.toLocalDate().plusDays(1))
-        );
-
-        roomDao.updateStatus(roomId, hasActiveToday ? "BOOKED" : "AVAILABLE");
-    }
-
     private String normalizeStatus(String status) {
         if (status == null || status.trim().isEmpty()) status = "PENDING";
         status = status.trim().toUpperCase();
@@ -484,25 +521,6 @@ public String getDashboardStatsJson(int days) {
         return nights;
     }
 
-    private String generateReservationNumber(Date checkIn) {
-        String yyyymmdd = new SimpleDateFormat("yyyyMMdd").format(checkIn);
-        String prefix   = "RES-" + yyyymmdd + "-";
-
-        String last = dao.findLastReservationNumberForDate(prefix);
-        int next = 1;
-
-        if (last != null && last.startsWith(prefix)) {
-            String tail = last.substring(prefix.length());
-            try {
-                next = Integer.parseInt(tail) + 1;
-            } catch (Exception ignored) {
-                next = 1;
-            }
-        }
-
-        return prefix + String.format("%03d", next);
-    }
-
     private double round2(double v) {
         return Math.round(v * 100.0) / 100.0;
     }
@@ -565,15 +583,18 @@ public String getDashboardStatsJson(int days) {
             body.append("Notes: ").append(r.getNotes().trim()).append("\n");
         }
 
-        if (guestPassword != null && !guestPassword.trim().isEmpty()) {
+        boolean withPassword = guestPassword != null && !guestPassword.trim().isEmpty();
+        if (withPassword) {
             body.append("\nGuest Login Details:\n");
             body.append("Login URL: ").append(loginUrl).append("\n");
             body.append("Email: ").append(email).append("\n");
-            body.append("Temporary Password: ").append(guestPassword.trim()).append("\n");
+            body.append("Temporary Password: ").append(EmailOutboxService.SECRET).append("\n");
         }
 
         body.append("\nThank you,\nOceanView Resort");
 
-        EmailUtil.send(email, subject, body.toString());
+        // the password is stored sealed and only merged into the body when sent
+        EmailOutboxService.getInstance().enqueue(email, subject, body.toString(),
+                withPassword ? guestPassword.trim() : null);
     }
 }
@@ -0,0 +1,154 @@
+package com.oceanview.service;
+
+import com.oceanview.dao.RoomDAO;
+import com.oceanview.dao.impl.RoomDAOImpl;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class RoomStatusReconciler {
+
+    // keeps rooms.status (BOOKED / AVAILABLE) in step with today's stays, off the request path
+    // reservation changes mark their rooms dirty, a background thread refreshes them in one
+    // UPDATE shortly after, and every room is refreshed at midnight when stays start and end
+
+    private static final Logger LOG = Logger.getLogger(RoomStatusReconciler.class.getName());
+
+    private static final RoomStatusReconciler INSTANCE = new RoomStatusReconciler(new RoomDAOImpl());
+
+    private static final long FLUSH_DELAY_MS = 500;
+    private static final long RETRY_DELAY_MS = 30_000;
+
+    // past midnight, so "today" has already turned over
+    private static final long ROLLOVER_GRACE_MS = 5_000;
+
+    public static RoomStatusReconciler getInstance() {
+        return INSTANCE;
+    }
+
+    private final RoomDAO dao;
+    private final Set<Integer> dirty = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private ScheduledExecutorService worker;
+
+    RoomStatusReconciler(RoomDAO dao) {
+        this.dao = dao;
+    }
+
+    // WRITE
+
+    public void markDirty(int roomId) {
+        if (roomId <= 0) return;
+        dirty.add(roomId);
+        scheduleFlush(FLUSH_DELAY_MS);
+    }
+
+    private void scheduleFlush(long delayMs) {
+        ScheduledExecutorService w = worker;
+        if (w == null) return;
+        if (flushScheduled.compareAndSet(false, true)) {
+            w.schedule(this::flushSafely, delayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flushSafely() {
+        flushScheduled.set(false);
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            LOG.log(Level.WARNING, "Room status refresh failed, retrying later", e);
+            scheduleFlush(RETRY_DELAY_MS);
+        }
+    }
+
+    // refresh every dirty room in one statement, returns number of rooms sent
+    int flush() {
+        List<Integer> batch = new ArrayList<>();
+        for (Integer id : dirty) {
+            if (dirty.remove(id)) batch.add(id);
+        }
+        if (batch.isEmpty()) return 0;
+
+        try {
+            dao.refreshStatuses(today(), batch);
+        } catch (RuntimeException e) {
+            // keep them for the next pass
+            dirty.addAll(batch);
+            throw e;
+        }
+        return batch.size();
+    }
+
+    // every room, at start and day rollover
+    public int refreshAll() {
+        dirty.clear();
+        return dao.refreshStatuses(today(), null);
+    }
+
+    // LIFECYCLE
+
+    public synchronized void start() {
+        if (worker != null) return;
+
+        worker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "oceanview-room-status");
+            t.setDaemon(true);
+            return t;
+        });
+
+        worker.execute(this::refreshAllSafely);
+        scheduleRollover();
+    }
+
+    public synchronized void stop() {
+        if (worker != null) {
+            worker.shutdownNow();
+            worker = null;
+        }
+    }
+
+    // rescheduled each night instead of a fixed 24h rate, days are not 24h across dst
+    private synchronized void scheduleRollover() {
+        if (worker == null) return;
+        worker.schedule(() -> {
+            refreshAllSafely();
+            scheduleRollover();
+        }, millisUntilRollover(), TimeUnit.MILLISECONDS);
+    }
+
+    private void refreshAllSafely() {
+        try {
+            refreshAll();
+        } catch (RuntimeException e) {
+            LOG.log(Level.WARNING, "Room status refresh for all rooms failed", e);
+        }
+    }
+
+    private static long millisUntilRollover() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime next = now.toLocalDate().plusDays(1).atStartOfDay();
+        return Duration.between(now, next).toMillis() + ROLLOVER_GRACE_MS;
+    }
+
+    private static Date today() {
+        return Date.valueOf(LocalDate.now());
+    }
+
+    // rooms still waiting, for tests and metrics
+    List<Integer> pendingRooms() {
+        return new ArrayList<>(dirty);
+    }
+}
@@ -1,10 +1,10 @@
 package com.oceanview.service;
 
+import com.oceanview.cache.SettingsCache;
 import com.oceanview.dao.SettingDAO;
 import com.oceanview.dao.impl.SettingDAOImpl;
 import com.oceanview.model.Setting;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -13,6 +13,9 @@ public class SettingService {
     // DAO object
     private final SettingDAO dao = new SettingDAOImpl();
 
+    // shared snapshot for key/value reads
+    private final SettingsCache cache = SettingsCache.getInstance();
+
     // Get all settings
     public List<Setting> getAllSettings() {
         return dao.findAll();
@@ -26,26 +29,18 @@ public class SettingService {
         return dao.findByCategory(category.toUpperCase());
     }
 
-    // Convert settings list to key-value map
+    // Key-value map of one category (read-only)
     public Map<String, String> getSettingsAsMap(String category) {
-        List<Setting> settings = getSettingsByCategory(category);
-        Map<String, String> map = new HashMap<>();
-
-        for (Setting s : settings) {
-            map.put(s.getSettingKey(), s.getSettingValue());
+        if (category == null || category.trim().isEmpty()) {
+            throw new IllegalArgumentException("Category is required");
         }
-        return map;
+        return cache.getCategory(category.toUpperCase());
     }
 
     // Get setting value by key
     public String getValue(String key) {
-        if (key == null || key.trim().isEmpty()) return null;
-
-        Setting s = dao.findByKey(key.trim());
-        if (s == null) return null;
-
-        String v = s.getSettingValue();
-        return v == null ? null : v.trim();
+        if (key == null || key.isEmpty()) return null;
+        return cache.getTrimmed(key.trim());
     }
 
     // Get value or default
@@ -56,12 +51,13 @@ public class SettingService {
 
     // Get setting value
     public String getSetting(String key) {
-        return dao.getValue(key);
+        return getSetting(key, null);
     }
 
     // Get setting value with default
     public String getSetting(String key, String defaultValue) {
-        return dao.getValue(key, defaultValue);
+        String v = cache.getRaw(key);
+        return v != null ? v : defaultValue;
     }
 
     // Update one setting
@@ -72,7 +68,9 @@ public class SettingService {
         if (updatedBy <= 0) {
             throw new IllegalArgumentException("Invalid user");
         }
-        return dao.update(key, value, updatedBy);
+        boolean ok = dao.update(key, value, updatedBy);
+        if (ok) cache.invalidate();
+        return ok;
     }
 
     // Update multiple settings
@@ -93,7 +91,9 @@ public class SettingService {
             settingList.add(s);
         }
 
-        return dao.updateMultiple(settingList, updatedBy);
+        boolean ok = dao.updateMultiple(settingList, updatedBy);
+        cache.invalidate();
+        return ok;
     }
 
     // Get SMTP settings
@@ -0,0 +1,342 @@
+package com.oceanview.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class ConnectionPool {
+
+    private static final Logger LOG = Logger.getLogger(ConnectionPool.class.getName());
+
+    // physical connection source
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    // pool settings
+    public static class Config {
+
+        private int minSize = 2;
+        private int maxSize = 20;
+        private long borrowTimeoutMs = 5_000;
+        private long idleTimeoutMs = 10 * 60_000;
+        private long validationIntervalMs = 1_000;
+        private int validationTimeoutSec = 2;
+        private long leakThresholdMs = 30_000;
+        private long housekeepingIntervalMs = 15_000;
+
+        public int getMinSize() { return minSize; }
+        public void setMinSize(int minSize) { this.minSize = minSize; }
+
+        public int getMaxSize() { return maxSize; }
+        public void setMaxSize(int maxSize) { this.maxSize = maxSize; }
+
+        public long getBorrowTimeoutMs() { return borrowTimeoutMs; }
+        public void setBorrowTimeoutMs(long borrowTimeoutMs) { this.borrowTimeoutMs = borrowTimeoutMs; }
+
+        public long getIdleTimeoutMs() { return idleTimeoutMs; }
+        public void setIdleTimeoutMs(long idleTimeoutMs) { this.idleTimeoutMs = idleTimeoutMs; }
+
+        public long getValidationIntervalMs() { return validationIntervalMs; }
+        public void setValidationIntervalMs(long validationIntervalMs) { this.validationIntervalMs = validationIntervalMs; }
+
+        public int getValidationTimeoutSec() { return validationTimeoutSec; }
+        public void setValidationTimeoutSec(int validationTimeoutSec) { this.validationTimeoutSec = validationTimeoutSec; }
+
+        public long getLeakThresholdMs() { return leakThresholdMs; }
+        public void setLeakThresholdMs(long leakThresholdMs) { this.leakThresholdMs = leakThresholdMs; }
+
+        public long getHousekeepingIntervalMs() { return housekeepingIntervalMs; }
+        public void setHousekeepingIntervalMs(long housekeepingIntervalMs) { this.housekeepingIntervalMs = housekeepingIntervalMs; }
+    }
+
+    // one physical connection
+    private static final class PooledEntry {
+        final Connection raw;
+        volatile long lastReturnedAt = System.currentTimeMillis();
+        volatile long borrowedAt;
+        volatile Throwable borrowSite;
+        volatile boolean leakReported;
+
+        PooledEntry(Connection raw) {
+            this.raw = raw;
+        }
+    }
+
+    private final ConnectionFactory factory;
+    private final Config config;
+
+    // idle connections, most recently used first
+    private final LinkedBlockingDeque<PooledEntry> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledEntry> leased = ConcurrentHashMap.newKeySet();
+
+    // one permit per physical connection
+    private final Semaphore permits;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final ScheduledExecutorService housekeeper;
+
+    // metrics
+    private final LatencyHistogram waitTime = new LatencyHistogram();
+    private final LatencyHistogram holdTime = new LatencyHistogram();
+    private final AtomicInteger physical = new AtomicInteger();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder destroyed = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder validationFailures = new LongAdder();
+    private final LongAdder leaks = new LongAdder();
+
+    public ConnectionPool(ConnectionFactory factory, Config config) {
+        if (config.getMaxSize() <= 0) throw new IllegalArgumentException("Pool max size must be positive");
+        if (config.getMinSize() > config.getMaxSize()) config.setMinSize(config.getMaxSize());
+
+        this.factory = factory;
+        this.config = config;
+        this.permits = new Semaphore(config.getMaxSize(), true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "oceanview-db-pool");
+            t.setDaemon(true);
+            return t;
+        });
+
+        long every = Math.max(100, config.getHousekeepingIntervalMs());
+        housekeeper.scheduleWithFixedDelay(this::runHousekeeping, 0, every, TimeUnit.MILLISECONDS);
+    }
+
+    // borrow a connection, close() hands it back
+    public Connection borrow() throws SQLException {
+        if (closed.get()) throw new SQLException("Connection pool is shut down");
+
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(config.getBorrowTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        waitTime.recordNanos(System.nanoTime() - start);
+
+        if (!acquired) {
+            timeouts.increment();
+            throw new SQLTimeoutException("Timed out after " + config.getBorrowTimeoutMs()
+                    + "ms waiting for a database connection (active=" + leased.size()
+                    + ", max=" + config.getMaxSize() + ")");
+        }
+
+        try {
+            PooledEntry entry = takeIdleOrCreate();
+            entry.borrowedAt = System.currentTimeMillis();
+            entry.leakReported = false;
+            entry.borrowSite = config.getLeakThresholdMs() > 0 ? new Throwable("Connection borrowed here") : null;
+            leased.add(entry);
+            return wrap(entry);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private PooledEntry takeIdleOrCreate() throws SQLException {
+        PooledEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            if (isUsable(entry)) return entry;
+            validationFailures.increment();
+            destroy(entry);
+        }
+        return createEntry();
+    }
+
+    // validation on borrow, skipped for recently returned connections
+    private boolean isUsable(PooledEntry entry) {
+        long idleFor = System.currentTimeMillis() - entry.lastReturnedAt;
+        if (idleFor < config.getValidationIntervalMs()) return true;
+        try {
+            return entry.raw.isValid(config.getValidationTimeoutSec());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private PooledEntry createEntry() throws SQLException {
+        Connection raw = factory.create();
+        physical.incrementAndGet();
+        created.increment();
+        return new PooledEntry(raw);
+    }
+
+    private void destroy(PooledEntry entry) {
+        physical.decrementAndGet();
+        destroyed.increment();
+        try {
+            entry.raw.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    // called from the proxy close()
+    private void giveBack(PooledEntry entry) {
+        if (!leased.remove(entry)) return;
+
+        holdTime.recordMillis(System.currentTimeMillis() - entry.borrowedAt);
+        entry.borrowSite = null;
+
+        boolean reusable = !closed.get();
+        if (reusable) {
+            try {
+                if (entry.raw.isClosed()) {
+                    reusable = false;
+                } else if (!entry.raw.getAutoCommit()) {
+                    // unfinished transaction, never leak it to the next borrower
+                    entry.raw.rollback();
+                    entry.raw.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                reusable = false;
+            }
+        }
+
+        if (reusable) {
+            entry.lastReturnedAt = System.currentTimeMillis();
+            idle.offerFirst(entry);
+        } else {
+            destroy(entry);
+        }
+
+        permits.release();
+    }
+
+    // idle eviction, min size top-up and leak detection
+    void runHousekeeping() {
+        if (closed.get()) return;
+
+        try {
+            long now = System.currentTimeMillis();
+
+            // evict from the cold end of the deque
+            Iterator<PooledEntry> it = idle.descendingIterator();
+            while (it.hasNext() && physical.get() > config.getMinSize()) {
+                PooledEntry e = it.next();
+                if (now - e.lastReturnedAt > config.getIdleTimeoutMs() && idle.remove(e)) {
+                    destroy(e);
+                }
+            }
+
+            // keep min size warm
+            while (physical.get() < config.getMinSize() && permits.tryAcquire()) {
+                try {
+                    idle.offerLast(createEntry());
+                } catch (SQLException e) {
+                    LOG.log(Level.FINE, "Could not pre-fill connection pool", e);
+                    break;
+                } finally {
+                    permits.release();
+                }
+            }
+
+            // leak detection
+            long threshold = config.getLeakThresholdMs();
+            if (threshold > 0) {
+                for (PooledEntry e : leased) {
+                    if (!e.leakReported && now - e.borrowedAt > threshold) {
+                        e.leakReported = true;
+                        leaks.increment();
+                        LOG.log(Level.WARNING, "Possible connection leak: held for "
+                                + (now - e.borrowedAt) + "ms", e.borrowSite);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            LOG.log(Level.WARNING, "Connection pool housekeeping failed", e);
+        }
+    }
+
+    // stop housekeeping and close idle connections
+    public void shutdown() {
+        if (!closed.compareAndSet(false, true)) return;
+
+        housekeeper.shutdownNow();
+
+        PooledEntry e;
+        while ((e = idle.pollFirst()) != null) destroy(e);
+    }
+
+    public boolean isShutdown() {
+        return closed.get();
+    }
+
+    private Connection wrap(PooledEntry entry) {
+        InvocationHandler handler = new InvocationHandler() {
+
+            private volatile boolean returned;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                String name = method.getName();
+
+                switch (name) {
+                    case "close":
+                        if (!returned) {
+                            returned = true;
+                            giveBack(entry);
+                        }
+                        return null;
+                    case "isClosed":
+                        return returned || entry.raw.isClosed();
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "Pooled[" + entry.raw + "]";
+                    default:
+                        if (returned) throw new SQLException("Connection is closed");
+                }
+
+                try {
+                    return method.invoke(entry.raw, args);
+                } catch (InvocationTargetException ex) {
+                    throw ex.getCause();
+                }
+            }
+        };
+
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+
+    // metrics
+
+    public int getActiveCount() { return leased.size(); }
+    public int getIdleCount() { return idle.size(); }
+    public int getTotalCount() { return physical.get(); }
+    public int getMaxSize() { return config.getMaxSize(); }
+    public int getWaitingCount() { return permits.getQueueLength(); }
+
+    public long getCreatedCount() { return created.sum(); }
+    public long getDestroyedCount() { return destroyed.sum(); }
+    public long getTimeoutCount() { return timeouts.sum(); }
+    public long getValidationFailureCount() { return validationFailures.sum(); }
+    public long getLeakCount() { return leaks.sum(); }
+
+    public LatencyHistogram getWaitTime() { return waitTime; }
+    public LatencyHistogram getHoldTime() { return holdTime; }
+}
@@ -9,14 +9,14 @@ public class DatabaseConnection {
     // singleton instance
     private static DatabaseConnection instance;
 
-    // database config
-    private static final String USER = System.getenv("DB_USER") != null
-                                       ? System.getenv("DB_USER") : "root";
-    private static final String PASSWORD = System.getenv("DB_PASSWORD") != null
-                                           ? System.getenv("DB_PASSWORD") : "";
-    private static final String URL = System.getenv("DB_URL") != null
-                                      ? System.getenv("DB_URL")
-                                      : "jdbc:mysql://localhost:3306/ocean_view_resort?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC";
+    // database config, system properties win over environment (benchmarks, tests)
+    private final String url = setting("oceanview.db.url", "DB_URL",
+            "jdbc:mysql://localhost:3306/ocean_view_resort?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC");
+    private final String user = setting("oceanview.db.user", "DB_USER", "root");
+    private final String password = setting("oceanview.db.password", "DB_PASSWORD", "");
+
+    // connection pool
+    private final ConnectionPool pool;
 
     // oop encapsulation
     private DatabaseConnection() {
@@ -25,6 +25,21 @@ public class DatabaseConnection {
         } catch (ClassNotFoundException e) {
             throw new RuntimeException(e);
         }
+
+        ConnectionPool.Config config = new ConnectionPool.Config();
+        config.setMinSize(envInt("DB_POOL_MIN_SIZE", 2));
+        config.setMaxSize(envInt("DB_POOL_MAX_SIZE", 20));
+        config.setBorrowTimeoutMs(envInt("DB_POOL_BORROW_TIMEOUT_MS", 5_000));
+        config.setIdleTimeoutMs(envInt("DB_POOL_IDLE_TIMEOUT_MS", 10 * 60_000));
+        config.setLeakThresholdMs(envInt("DB_POOL_LEAK_THRESHOLD_MS", 30_000));
+
+        // statement tracing wraps each physical connection once, pooled leases and units of work share it
+        // off unless asked for, every traced statement pays a stack walk and a reflective proxy
+        QueryTracer tracer = QueryTracer.getInstance();
+        tracer.setEnabled(Boolean.parseBoolean(setting("oceanview.db.trace", "DB_TRACE", "false")));
+        tracer.setSlowThresholdMs(settingInt("oceanview.db.slowQueryMs", "DB_SLOW_QUERY_MS", 200));
+
+        pool = new ConnectionPool(() -> tracer.wrap(DriverManager.getConnection(url, user, password)), config);
     }
 
     // singleton access
@@ -37,6 +52,45 @@ public class DatabaseConnection {
 
     // service method
     public Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(URL, USER, PASSWORD);
+        Connection shared = UnitOfWork.currentConnection();
+        if (shared != null) return shared;
+        return pool.borrow();
+    }
+
+    // pool stats
+    public ConnectionPool getPool() {
+        return pool;
+    }
+
+    // app shutdown, the next getInstance() reads the config again
+    public static synchronized void shutdown() {
+        if (instance != null) {
+            instance.pool.shutdown();
+            instance = null;
+        }
+    }
+
+    private static String setting(String property, String env, String def) {
+        String v = System.getProperty(property);
+        if (v == null) v = System.getenv(env);
+        return v != null ? v : def;
+    }
+
+    private static int settingInt(String property, String env, int def) {
+        try {
+            return Integer.parseInt(setting(property, env, String.valueOf(def)).trim());
+        } catch (NumberFormatException e) {
+            return def;
+        }
+    }
+
+    private static int envInt(String key, int def) {
+        String v = System.getenv(key);
+        if (v == null || v.trim().isEmpty()) return def;
+        try {
+            return Integer.parseInt(v.trim());
+        } catch (NumberFormatException e) {
+            return def;
+        }
     }
 }
@@ -19,11 +19,47 @@ public class EmailUtil {
         return v.equals("true") || v.equals("1") || v.equals("yes") || v.equals("y");
     }
 
-    // utility method
-    public static void send(String toEmail, String subject, String body) {
+    // one smtp connection, reused for several messages
+    public static final class SmtpSession implements AutoCloseable {
 
-        // input validation
-        if (toEmail == null || toEmail.trim().isEmpty()) return;
+        private final Session session;
+        private final Transport transport;
+        private final InternetAddress from;
+
+        private SmtpSession(Session session, InternetAddress from) throws MessagingException {
+            this.session = session;
+            this.from = from;
+            this.transport = session.getTransport("smtp");
+        }
+
+        public void send(String toEmail, String subject, String body) throws MessagingException {
+
+            // reconnect after server side idle close
+            if (!transport.isConnected()) transport.connect();
+
+            Message message = new MimeMessage(session);
+
+            // message setup
+            message.setFrom(from);
+            message.setRecipients(Message.RecipientType.TO, InternetAddress.parse(toEmail.trim()));
+            message.setSubject(subject == null ? "" : subject);
+            message.setText(body == null ? "" : body);
+            message.saveChanges();
+
+            transport.sendMessage(message, message.getAllRecipients());
+        }
+
+        @Override
+        public void close() {
+            try {
+                transport.close();
+            } catch (MessagingException ignored) {
+            }
+        }
+    }
+
+    // open a session from the smtp settings
+    public static SmtpSession open() throws MessagingException {
 
         // config from database
         String host = settingService.getValue("smtp_host");
@@ -37,9 +73,6 @@ public class EmailUtil {
         String fromEmail = settingService.getValueOrDefault("smtp_from_email", user);
         String fromName = settingService.getValueOrDefault("smtp_from_name", "OceanView Resort");
 
-        // debug logging
-        System.out.println("SMTP host=" + host + ", port=" + port + ", user=" + user);
-
         // error handling
         if (host == null || host.trim().isEmpty())
             throw new RuntimeException("SMTP host missing");
@@ -67,19 +100,29 @@ public class EmailUtil {
             }
         });
 
+        InternetAddress from;
         try {
-            Message message = new MimeMessage(session);
+            from = new InternetAddress(fromEmail.trim(), fromName);
+        } catch (java.io.UnsupportedEncodingException e) {
+            throw new MessagingException("Invalid sender address", e);
+        }
 
-            // message setup
-            message.setFrom(new InternetAddress(fromEmail.trim(), fromName));
-            message.setRecipients(Message.RecipientType.TO, InternetAddress.parse(toEmail.trim()));
-            message.setSubject(subject == null ? "" : subject);
-            message.setText(body == null ? "" : body);
+        SmtpSession smtp = new SmtpSession(session, from);
+        smtp.transport.connect();
+        return smtp;
+    }
+
+    // utility method, sends immediately on the calling thread
+    public static void send(String toEmail, String subject, String body) {
 
-            Transport.send(message);
+        // input validation
+        if (toEmail == null || toEmail.trim().isEmpty()) return;
+
+        try (SmtpSession smtp = open()) {
+            smtp.send(toEmail, subject, body);
             System.out.println("Email sent: SUCCESS");
 
-        } catch (Exception e) {
+        } catch (MessagingException e) {
             System.out.println("Email sent: FAILED");
             e.printStackTrace();
         }
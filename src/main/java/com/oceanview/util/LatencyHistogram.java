@@ -0,0 +1,105 @@
+package com.oceanview.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LatencyHistogram {
+
+    // log-linear buckets in microseconds
+    // 8 sub buckets per power of two (about 12% precision), lock free
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int BUCKETS = SUB_COUNT + (64 - SUB_BITS) * SUB_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sumMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    public void recordNanos(long nanos) {
+        recordMicros(nanos / 1_000L);
+    }
+
+    public void recordMillis(long millis) {
+        recordMicros(millis * 1_000L);
+    }
+
+    public void recordMicros(long micros) {
+        if (micros < 0) micros = 0;
+
+        counts.incrementAndGet(indexFor(micros));
+        total.increment();
+        sumMicros.add(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    public long getCount() {
+        return total.sum();
+    }
+
+    public long getSumMicros() {
+        return sumMicros.sum();
+    }
+
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    public double getMeanMicros() {
+        long n = getCount();
+        return n == 0 ? 0.0 : (double) getSumMicros() / n;
+    }
+
+    // upper bound of the bucket holding the given percentile (0-100)
+    public long percentileMicros(double percentile) {
+        long n = 0;
+        for (int i = 0; i < BUCKETS; i++) n += counts.get(i);
+        if (n == 0) return 0;
+
+        long target = (long) Math.ceil((percentile / 100.0) * n);
+        if (target < 1) target = 1;
+
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= target) return Math.min(upperBound(i), getMaxMicros());
+        }
+        return getMaxMicros();
+    }
+
+    // number of samples at or below the given value (prometheus "le" buckets)
+    public long countAtOrBelowMicros(long micros) {
+        long n = 0;
+        int last = indexFor(Math.max(0, micros));
+        for (int i = 0; i < last; i++) n += counts.get(i);
+
+        // partial bucket counts only if its whole range fits
+        if (upperBound(last) - 1 <= micros) n += counts.get(last);
+        return n;
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+        total.reset();
+        sumMicros.reset();
+        maxMicros.set(0);
+    }
+
+    private static int indexFor(long v) {
+        if (v < SUB_COUNT) return (int) v;
+        int exp = 63 - Long.numberOfLeadingZeros(v);
+        int sub = (int) (v >>> (exp - SUB_BITS)) & (SUB_COUNT - 1);
+        return SUB_COUNT + (exp - SUB_BITS) * SUB_COUNT + sub;
+    }
+
+    // exclusive upper bound of a bucket
+    private static long upperBound(int index) {
+        if (index < SUB_COUNT) return index + 1;
+        int exp = (index - SUB_COUNT) / SUB_COUNT + SUB_BITS;
+        int sub = (index - SUB_COUNT) % SUB_COUNT;
+        if (exp - SUB_BITS >= 59) return Long.MAX_VALUE;
+        return ((long) (SUB_COUNT + sub + 1)) << (exp - SUB_BITS);
+    }
+}
@@ -5,9 +5,14 @@ public final class PasswordUtil {
     // utility class
     private PasswordUtil() {}
 
+    // bcrypt work factor for new hashes, BCRYPT_COST, pick it with BCryptBenchmark
+    private static final int DEFAULT_COST = 12;
+    private static final int MIN_COST = 10;
+    private static final int MAX_COST = 16;
+
     // hashing method
     public static String hashPassword(String plain) {
-        return BCrypt.hashpw(plain, BCrypt.gensalt(12));
+        return BCrypt.hashpw(plain, BCrypt.gensalt(cost()));
     }
 
     // verification method
@@ -16,5 +21,30 @@ public final class PasswordUtil {
         return BCrypt.checkpw(plain, hashed);
     }
 
+    // bcrypt output (the only revision BCrypt reads) rather than a legacy plaintext value
+    public static boolean isHashed(String stored) {
+        return stored != null && stored.length() == 60 && stored.startsWith("$2a$");
+    }
 
+    // configured cost, read each time so a system property change applies to the next login
+    public static int cost() {
+        String v = System.getProperty("oceanview.bcrypt.cost");
+        if (v == null) v = System.getenv("BCRYPT_COST");
+        if (v == null || v.trim().isEmpty()) return DEFAULT_COST;
+        try {
+            return Math.max(MIN_COST, Math.min(MAX_COST, Integer.parseInt(v.trim())));
+        } catch (NumberFormatException e) {
+            return DEFAULT_COST;
+        }
+    }
+
+    // hash made at another cost, "$2a$12$..." carries it in characters 4-5
+    public static boolean needsRehash(String hashed) {
+        if (hashed == null || hashed.length() < 7 || hashed.charAt(0) != '$') return false;
+        try {
+            return Integer.parseInt(hashed.substring(4, 6)) != cost();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
 }
@@ -0,0 +1,157 @@
+package com.oceanview.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class PasswordVerifier {
+
+    // bcrypt checks on a small pool of their own
+    // a check is ~250 ms of cpu at cost 12; during a login burst the request threads used to
+    // run them all at once and starve every other page; here at most one check per core runs,
+    // a bounded number wait, and anything past that is turned away at once as busy
+    // rehashes to the configured cost run on one low-priority thread of their own after a
+    // successful login, and are skipped while logins are queueing
+    // new hashes for password writes (bookings, password changes) run on a small pool of their
+    // own too, so they neither tie up request threads' cpu nor wait behind a login burst
+
+    private static final Logger LOG = Logger.getLogger(PasswordVerifier.class.getName());
+
+    private static final int HASH_THREADS = 2;
+
+    private static final PasswordVerifier INSTANCE = new PasswordVerifier(
+            Math.max(1, Runtime.getRuntime().availableProcessors() - 1), 64, 5_000);
+
+    public static PasswordVerifier getInstance() {
+        return INSTANCE;
+    }
+
+    private final ThreadPoolExecutor pool;
+    private final ThreadPoolExecutor rehasher;
+    private final ThreadPoolExecutor hasher;
+    private final long waitMs;
+
+    private final AtomicLong verified = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong rehashed = new AtomicLong();
+    private final AtomicLong hashed = new AtomicLong();
+
+    PasswordVerifier(int threads, int maxQueued, long waitMs) {
+        this.waitMs = waitMs;
+
+        AtomicInteger n = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(maxQueued), r -> {
+                    Thread t = new Thread(r, "password-verifier-" + n.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.pool.allowCoreThreadTimeOut(true);
+
+        this.rehasher = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(maxQueued), r -> {
+                    Thread t = new Thread(r, "password-rehash");
+                    t.setDaemon(true);
+                    t.setPriority(Thread.MIN_PRIORITY);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.rehasher.allowCoreThreadTimeOut(true);
+
+        AtomicInteger h = new AtomicInteger();
+        this.hasher = new ThreadPoolExecutor(HASH_THREADS, HASH_THREADS, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(maxQueued), r -> {
+                    Thread t = new Thread(r, "password-hash-" + h.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.hasher.allowCoreThreadTimeOut(true);
+    }
+
+    // true if plain matches hashed, IllegalStateException when the pool is full or too slow
+    public boolean verify(String plain, String hashed) {
+        if (plain == null || hashed == null) return false;
+
+        boolean ok = await(pool, () -> PasswordUtil.verifyPassword(plain, hashed));
+        verified.incrementAndGet();
+        return ok;
+    }
+
+    // bcrypt hash of plain at the configured cost, made on the hash pool
+    // IllegalStateException when that pool is full or too slow
+    public String hash(String plain) {
+        String h = await(hasher, () -> PasswordUtil.hashPassword(plain));
+        hashed.incrementAndGet();
+        return h;
+    }
+
+    private <T> T await(ThreadPoolExecutor executor, Callable<T> task) {
+        Future<T> f;
+        try {
+            f = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw new IllegalStateException("Password verifier busy", e);
+        }
+
+        try {
+            return f.get(waitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            f.cancel(true);
+            rejected.incrementAndGet();
+            throw new IllegalStateException("Password verifier busy", e);
+        } catch (InterruptedException e) {
+            f.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while verifying password", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new IllegalStateException("Failed to verify password", cause);
+        }
+    }
+
+    // hash plain at the configured cost in the background and hand it to store
+    // skipped when logins are waiting or the rehash queue is full, the next login tries again
+    public void rehash(String plain, Consumer<String> store) {
+        if (!pool.getQueue().isEmpty()) return;
+        try {
+            rehasher.execute(() -> {
+                try {
+                    store.accept(PasswordUtil.hashPassword(plain));
+                    rehashed.incrementAndGet();
+                } catch (RuntimeException e) {
+                    LOG.log(Level.WARNING, "Password rehash failed", e);
+                }
+            });
+        } catch (RejectedExecutionException ignored) {
+        }
+    }
+
+    public void stop() {
+        pool.shutdownNow();
+        rehasher.shutdownNow();
+        hasher.shutdownNow();
+    }
+
+    // runs task on the login pool, for tests
+    void submit(Runnable task) {
+        pool.execute(task);
+    }
+
+    public long getVerifiedCount() { return verified.get(); }
+    public long getRejectedCount() { return rejected.get(); }
+    public long getRehashedCount() { return rehashed.get(); }
+    public long getHashedCount() { return hashed.get(); }
+    public int getQueueDepth() { return pool.getQueue().size(); }
+    public int getActiveCount() { return pool.getActiveCount(); }
+}
@@ -0,0 +1,97 @@
+package com.oceanview.util;
+
+public class PrometheusWriter {
+
+    // prometheus text exposition format 0.0.4
+    // callers write one family at a time: header first, then its samples
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    // request latency buckets in seconds
+    private static final double[] LATENCY_BUCKETS = {
+            0.001, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10
+    };
+
+    private final StringBuilder out = new StringBuilder(8192);
+
+    public PrometheusWriter header(String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        return this;
+    }
+
+    // labels as name, value pairs
+    public PrometheusWriter sample(String name, double value, String... labels) {
+        out.append(name);
+        appendLabels(labels, null, null);
+        out.append(' ').append(format(value)).append('\n');
+        return this;
+    }
+
+    public PrometheusWriter gauge(String name, String help, double value) {
+        return header(name, "gauge", help).sample(name, value);
+    }
+
+    public PrometheusWriter counter(String name, String help, double value) {
+        return header(name, "counter", help).sample(name, value);
+    }
+
+    // cumulative buckets, sum and count of one labelled series; header written by the caller
+    public PrometheusWriter histogramSeconds(String name, LatencyHistogram h, String... labels) {
+        for (double le : LATENCY_BUCKETS) {
+            out.append(name).append("_bucket");
+            appendLabels(labels, "le", format(le));
+            out.append(' ').append(h.countAtOrBelowMicros((long) (le * 1_000_000))).append('\n');
+        }
+
+        long count = h.getCount();
+        out.append(name).append("_bucket");
+        appendLabels(labels, "le", "+Inf");
+        out.append(' ').append(count).append('\n');
+
+        sample(name + "_sum", h.getSumMicros() / 1_000_000.0, labels);
+        sample(name + "_count", count, labels);
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return out.toString();
+    }
+
+    private void appendLabels(String[] labels, String extraName, String extraValue) {
+        if (labels.length == 0 && extraName == null) return;
+
+        out.append('{');
+        boolean first = true;
+        for (int i = 0; i + 1 < labels.length; i += 2) {
+            if (!first) out.append(',');
+            appendLabel(labels[i], labels[i + 1]);
+            first = false;
+        }
+        if (extraName != null) {
+            if (!first) out.append(',');
+            appendLabel(extraName, extraValue);
+        }
+        out.append('}');
+    }
+
+    private void appendLabel(String name, String value) {
+        out.append(name).append("=\"");
+        String v = value == null ? "" : value;
+        for (int i = 0; i < v.length(); i++) {
+            char c = v.charAt(i);
+            if (c == '\\' || c == '"') out.append('\\').append(c);
+            else if (c == '\n') out.append("\\n");
+            else out.append(c);
+        }
+        out.append('"');
+    }
+
+    private static String format(double v) {
+        if (Double.isNaN(v)) return "NaN";
+        if (Double.isInfinite(v)) return v > 0 ? "+Inf" : "-Inf";
+        if (v == Math.rint(v) && Math.abs(v) < 1e15) return Long.toString((long) v);
+        return Double.toString(v);
+    }
+}
@@ -0,0 +1,345 @@
+package com.oceanview.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+public class QueryTracer {
+
+    // statement-level tracing for every connection the pool creates
+    // each statement is attributed to the dao method that ran it and the first caller outside
+    // the daos, e.g. RoomDAOImpl.findById from ReservationService.listRoomsWithAvailabilityJson,
+    // so repeated per-row lookups show up as one hot line
+    // time counted is execute plus ResultSet.next, the caller's own row mapping is not included
+
+    private static final Logger LOG = Logger.getLogger(QueryTracer.class.getName());
+
+    private static final QueryTracer INSTANCE = new QueryTracer();
+
+    private static final String DAO_PACKAGE = "com.oceanview.dao.impl.";
+    private static final String APP_PACKAGE = "com.oceanview.";
+    private static final String UTIL_PACKAGE = "com.oceanview.util.";
+
+    // dynamic IN lists would otherwise create one entry per list length
+    private static final Pattern PARAM_LIST = Pattern.compile("\\?(\\s*,\\s*\\?)+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private static final int MAX_QUERIES = 512;
+    private static final int MAX_SQL_LENGTH = 500;
+    private static final long SLOW_LOG_INTERVAL_MS = 10_000;
+
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    public static QueryTracer getInstance() {
+        return INSTANCE;
+    }
+
+    // aggregates of one statement shape from one call site
+    public static final class QueryStats {
+        private final String query;
+        private final String origin;
+        private final String sql;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        // slow log sampling
+        private final AtomicLong lastLoggedAt = new AtomicLong();
+        private final LongAdder suppressed = new LongAdder();
+
+        QueryStats(String query, String origin, String sql) {
+            this.query = query;
+            this.origin = origin;
+            this.sql = sql;
+        }
+
+        public String getQuery() { return query; }
+        public String getOrigin() { return origin; }
+        public String getSql() { return sql; }
+        public LatencyHistogram getLatency() { return latency; }
+        public long getCount() { return latency.getCount(); }
+        public long getRows() { return rows.sum(); }
+        public long getErrors() { return errors.sum(); }
+    }
+
+    private final ConcurrentHashMap<String, QueryStats> stats = new ConcurrentHashMap<>();
+
+    private volatile boolean enabled;
+    private volatile long slowThresholdMs = 200;
+
+    QueryTracer() {
+    }
+
+    // CONFIG
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getSlowThresholdMs() {
+        return slowThresholdMs;
+    }
+
+    public void setSlowThresholdMs(long slowThresholdMs) {
+        this.slowThresholdMs = slowThresholdMs;
+    }
+
+    // READ
+
+    // most total time first
+    public List<QueryStats> snapshot() {
+        List<QueryStats> out = new ArrayList<>(stats.values());
+        out.sort(Comparator.comparingLong((QueryStats s) -> s.latency.getSumMicros()).reversed());
+        return out;
+    }
+
+    public void reset() {
+        stats.clear();
+    }
+
+    // WRAPPING
+
+    public Connection wrap(Connection raw) {
+        if (!enabled || raw == null) return raw;
+
+        InvocationHandler handler = (proxy, method, args) -> {
+            Object result = forward(raw, method, args);
+
+            switch (method.getName()) {
+                case "prepareStatement":
+                    return statement((PreparedStatement) result, PreparedStatement.class, (String) args[0]);
+                case "prepareCall":
+                    return statement((CallableStatement) result, CallableStatement.class, (String) args[0]);
+                case "createStatement":
+                    return statement((Statement) result, Statement.class, null);
+                default:
+                    return result;
+            }
+        };
+
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+
+    private <S extends Statement> S statement(S raw, Class<S> type, String preparedSql) {
+        String[] site = callSite();
+        TracedStatement traced = new TracedStatement(raw, preparedSql, site[0], site[1]);
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, traced));
+    }
+
+    // one execute, recorded once its rows are read or the statement moves on
+    private final class Execution {
+        final QueryStats stats;
+        final long started = System.nanoTime();
+        long nanos;
+        long rows;
+        boolean done;
+
+        Execution(QueryStats stats) {
+            this.stats = stats;
+        }
+
+        void finish() {
+            if (done) return;
+            done = true;
+            stats.latency.recordNanos(nanos);
+            stats.rows.add(rows);
+            if (nanos >= slowThresholdMs * 1_000_000L) logSlow(stats, nanos, rows);
+        }
+    }
+
+    private final class TracedStatement implements InvocationHandler {
+        private final Statement raw;
+        private final String preparedSql;
+        private final String query;
+        private final String origin;
+        private Execution current;
+
+        TracedStatement(Statement raw, String preparedSql, String query, String origin) {
+            this.raw = raw;
+            this.preparedSql = preparedSql;
+            this.query = query;
+            this.origin = origin;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+
+            if (name.equals("close")) {
+                finishCurrent();
+                return forward(raw, method, args);
+            }
+            if (name.equals("getResultSet")) {
+                ResultSet rs = (ResultSet) forward(raw, method, args);
+                return current == null || rs == null ? rs : resultSet(rs, current);
+            }
+            if (!name.startsWith("execute")) return forward(raw, method, args);
+
+            finishCurrent();
+
+            String sql = preparedSql != null ? preparedSql
+                    : (args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : "");
+            Execution exec = new Execution(statsFor(query, origin, sql));
+            current = exec;
+
+            Object result;
+            try {
+                result = forward(raw, method, args);
+            } catch (Throwable t) {
+                exec.stats.errors.increment();
+                exec.nanos = System.nanoTime() - exec.started;
+                exec.finish();
+                throw t;
+            }
+            exec.nanos = System.nanoTime() - exec.started;
+
+            if (result instanceof ResultSet) return resultSet((ResultSet) result, exec);
+
+            if (result instanceof Integer) {
+                exec.rows = Math.max(0, (Integer) result);
+            } else if (result instanceof Long) {
+                exec.rows = Math.max(0, (Long) result);
+            } else if (result instanceof int[]) {
+                for (int n : (int[]) result) exec.rows += Math.max(0, n);
+            }
+
+            // execute() with a result set is finished by the result set or by close
+            if (!(result instanceof Boolean && (Boolean) result)) exec.finish();
+            return result;
+        }
+
+        private void finishCurrent() {
+            if (current != null) {
+                current.finish();
+                current = null;
+            }
+        }
+    }
+
+    private ResultSet resultSet(ResultSet raw, Execution exec) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            String name = method.getName();
+
+            if (name.equals("next")) {
+                long t = System.nanoTime();
+                Object more = forward(raw, method, args);
+                exec.nanos += System.nanoTime() - t;
+                if ((Boolean) more) exec.rows++;
+                else exec.finish();
+                return more;
+            }
+            if (name.equals("close")) exec.finish();
+            return forward(raw, method, args);
+        };
+
+        return (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class}, handler);
+    }
+
+    // ATTRIBUTION
+
+    // {dao method, first app caller outside the daos}
+    static String[] callSite() {
+        return WALKER.walk(frames -> {
+            String query = null;
+            String origin = null;
+
+            for (StackWalker.StackFrame f : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String cls = f.getClassName();
+                if (cls.startsWith(DAO_PACKAGE)) {
+                    if (query == null) query = label(f);
+                } else if (query != null && cls.startsWith(APP_PACKAGE) && !cls.startsWith(UTIL_PACKAGE)) {
+                    origin = label(f);
+                    break;
+                }
+            }
+
+            return new String[]{
+                    Optional.ofNullable(query).orElse("unattributed"),
+                    Optional.ofNullable(origin).orElse("-")
+            };
+        });
+    }
+
+    private static String label(StackWalker.StackFrame f) {
+        String cls = f.getClassName();
+        cls = cls.substring(cls.lastIndexOf('.') + 1);
+        int inner = cls.indexOf('$');
+        if (inner > 0) cls = cls.substring(0, inner);
+
+        // lambda$findAll$0 -> findAll
+        String m = f.getMethodName();
+        if (m.startsWith("lambda$")) {
+            int end = m.indexOf('$', 7);
+            m = end > 7 ? m.substring(7, end) : m;
+        }
+        return cls + "." + m;
+    }
+
+    // AGGREGATES
+
+    private QueryStats statsFor(String query, String origin, String sql) {
+        String shape = normalize(sql);
+        String key = query + '\n' + origin + '\n' + shape;
+
+        QueryStats s = stats.get(key);
+        if (s != null) return s;
+
+        if (stats.size() >= MAX_QUERIES) {
+            return stats.computeIfAbsent("other", k -> new QueryStats("other", "-", ""));
+        }
+        return stats.computeIfAbsent(key, k -> new QueryStats(query, origin, shape));
+    }
+
+    static String normalize(String sql) {
+        if (sql == null) return "";
+        String s = SPACES.matcher(sql.trim()).replaceAll(" ");
+        s = PARAM_LIST.matcher(s).replaceAll("?, ...");
+        return s.length() > MAX_SQL_LENGTH ? s.substring(0, MAX_SQL_LENGTH) + "..." : s;
+    }
+
+    // first slow run of a query is logged, then at most one line per interval with a count of the rest
+    private void logSlow(QueryStats s, long nanos, long rows) {
+        long now = System.currentTimeMillis();
+        long last = s.lastLoggedAt.get();
+
+        if (now - last < SLOW_LOG_INTERVAL_MS || !s.lastLoggedAt.compareAndSet(last, now)) {
+            s.suppressed.increment();
+            return;
+        }
+
+        long more = s.suppressed.sumThenReset();
+        LOG.warning("Slow query " + (nanos / 1_000_000) + " ms, " + rows + " rows, "
+                + s.query + " from " + s.origin
+                + (more > 0 ? " (+" + more + " more since last report)" : "")
+                + ": " + s.sql);
+    }
+
+    private static Object forward(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
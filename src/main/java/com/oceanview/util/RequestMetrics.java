@@ -0,0 +1,124 @@
+package com.oceanview.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public class RequestMetrics {
+
+    // per-route request counters, filled by MetricsFilter and read by the metrics endpoint
+    // a route is the method plus the servlet path with ids folded, e.g. GET /api/rooms/{id}
+
+    private static final RequestMetrics INSTANCE = new RequestMetrics();
+
+    // stray paths must not grow the map without bound
+    private static final int MAX_ROUTES = 256;
+    private static final String OVERFLOW_ROUTE = "other";
+    private static final String OVERFLOW_METHOD = "OTHER";
+
+    public static RequestMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    public static final class Route {
+        private final String method;
+        private final String path;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder bytes = new LongAdder();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final ConcurrentHashMap<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        Route(String method, String path) {
+            this.method = method;
+            this.path = path;
+        }
+
+        public void started() {
+            inFlight.incrementAndGet();
+        }
+
+        public void finished(int status, long nanos, long bytesWritten) {
+            inFlight.decrementAndGet();
+            latency.recordNanos(nanos);
+            bytes.add(bytesWritten);
+            statuses.computeIfAbsent(status, k -> new LongAdder()).increment();
+        }
+
+        public String getMethod() { return method; }
+        public String getPath() { return path; }
+        public LatencyHistogram getLatency() { return latency; }
+        public long getBytes() { return bytes.sum(); }
+        public int getInFlight() { return inFlight.get(); }
+
+        public Map<Integer, Long> getStatusCounts() {
+            Map<Integer, Long> out = new TreeMap<>();
+            for (Map.Entry<Integer, LongAdder> e : statuses.entrySet()) out.put(e.getKey(), e.getValue().sum());
+            return out;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Route> routes = new ConcurrentHashMap<>();
+
+    RequestMetrics() {
+    }
+
+    public Route route(String method, String path) {
+        String m = methodFor(method);
+        String key = m + " " + path;
+        Route r = routes.get(key);
+        if (r != null) return r;
+
+        if (routes.size() >= MAX_ROUTES) {
+            return routes.computeIfAbsent(OVERFLOW_METHOD + " " + OVERFLOW_ROUTE, k -> new Route(OVERFLOW_METHOD, OVERFLOW_ROUTE));
+        }
+        return routes.computeIfAbsent(key, k -> new Route(m, path));
+    }
+
+    // the method comes from the client, anything outside the ones the app serves is folded together
+    static String methodFor(String method) {
+        if (method != null) {
+            switch (method) {
+                case "GET":
+                case "POST":
+                case "PUT":
+                case "DELETE":
+                    return method;
+                default:
+                    break;
+            }
+        }
+        return OVERFLOW_METHOD;
+    }
+
+    // sorted for a stable scrape
+    public List<Route> routes() {
+        List<Route> out = new ArrayList<>(routes.values());
+        out.sort(Comparator.comparing(Route::getPath).thenComparing(Route::getMethod));
+        return out;
+    }
+
+    // servlet path plus path info, numeric and long opaque segments become {id}
+    public static String routeFor(String servletPath, String pathInfo) {
+        StringBuilder sb = new StringBuilder(servletPath == null ? "" : servletPath);
+        if (pathInfo != null) {
+            for (String seg : pathInfo.split("/")) {
+                if (seg.isEmpty()) continue;
+                sb.append('/').append(isId(seg) ? "{id}" : seg);
+            }
+        }
+        return sb.length() == 0 ? "/" : sb.toString();
+    }
+
+    private static boolean isId(String seg) {
+        if (seg.length() > 24) return true;
+        for (int i = 0; i < seg.length(); i++) {
+            if (Character.isDigit(seg.charAt(i))) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,81 @@
+package com.oceanview.util;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.logging.Logger;
+
+public class SecretBox {
+
+    // AES-GCM for short secrets that wait in the database until they are used,
+    // e.g. a temporary password queued in the email outbox
+    // without a configured key a random one is made per process, so secrets sealed before a
+    // restart or on another node can't be opened and the caller has to do without them
+
+    private static final Logger LOG = Logger.getLogger(SecretBox.class.getName());
+
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+
+    private final SecretKey key;
+    private final SecureRandom random = new SecureRandom();
+
+    // 16, 24 or 32 bytes
+    public SecretBox(byte[] key) {
+        if (key == null || (key.length != 16 && key.length != 24 && key.length != 32)) {
+            throw new IllegalArgumentException("AES key must be 16, 24 or 32 bytes");
+        }
+        this.key = new SecretKeySpec(key, "AES");
+    }
+
+    // base64 key from a system property or environment variable
+    public static SecretBox fromSetting(String property, String env) {
+        String v = System.getProperty(property);
+        if (v == null) v = System.getenv(env);
+
+        if (v == null || v.trim().isEmpty()) {
+            LOG.warning(env + " not set, secrets sealed by this process can't be read after a restart");
+            byte[] key = new byte[32];
+            new SecureRandom().nextBytes(key);
+            return new SecretBox(key);
+        }
+        return new SecretBox(Base64.getDecoder().decode(v.trim()));
+    }
+
+    // base64 of iv + ciphertext
+    public String seal(String plain) {
+        try {
+            byte[] iv = new byte[IV_BYTES];
+            random.nextBytes(iv);
+
+            Cipher c = Cipher.getInstance("AES/GCM/NoPadding");
+            c.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            byte[] sealed = c.doFinal(plain.getBytes(StandardCharsets.UTF_8));
+
+            return Base64.getEncoder().encodeToString(
+                    ByteBuffer.allocate(iv.length + sealed.length).put(iv).put(sealed).array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to seal secret", e);
+        }
+    }
+
+    // IllegalStateException when sealed under another key or tampered with
+    public String open(String sealed) {
+        try {
+            byte[] all = Base64.getDecoder().decode(sealed);
+            if (all.length <= IV_BYTES) throw new IllegalStateException("Failed to open secret");
+
+            Cipher c = Cipher.getInstance("AES/GCM/NoPadding");
+            c.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, all, 0, IV_BYTES));
+            return new String(c.doFinal(all, IV_BYTES, all.length - IV_BYTES), StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Failed to open secret", e);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.oceanview.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public final class UnitOfWork {
+
+    // one transaction shared by every dao call on the current thread
+    // DatabaseConnection.getConnection() hands out the shared connection while a unit is open,
+    // so daos join without signature changes
+
+    private static final Logger LOG = Logger.getLogger(UnitOfWork.class.getName());
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    // mysql deadlock / lock wait timeout
+    private static final int ER_LOCK_DEADLOCK = 1213;
+    private static final int ER_LOCK_WAIT_TIMEOUT = 1205;
+
+    @FunctionalInterface
+    public interface Work<T> {
+        T run() throws SQLException;
+    }
+
+    private static final class Scope {
+        final Connection raw;
+        final Connection shared;
+        final List<Runnable> afterCommit = new ArrayList<>();
+
+        Scope(Connection raw) {
+            this.raw = raw;
+            this.shared = joined(raw);
+        }
+    }
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private UnitOfWork() {
+    }
+
+    // run work in one transaction, retried on deadlock
+    public static <T> T execute(Work<T> work) {
+
+        // nested call joins the outer unit
+        if (CURRENT.get() != null) return runJoined(work);
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return runOnce(work);
+            } catch (RuntimeException e) {
+                if (attempt >= MAX_ATTEMPTS || !isRetryable(e)) throw e;
+                LOG.log(Level.FINE, "Retrying unit of work after lock conflict, attempt " + attempt, e);
+                backoff(attempt);
+            }
+        }
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    // deferred until commit, dropped on rollback, immediate outside a unit
+    public static void afterCommit(Runnable action) {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            action.run();
+        } else {
+            scope.afterCommit.add(action);
+        }
+    }
+
+    // used by DatabaseConnection
+    static Connection currentConnection() {
+        Scope scope = CURRENT.get();
+        return scope == null ? null : scope.shared;
+    }
+
+    private static <T> T runOnce(Work<T> work) {
+        Scope scope;
+        try {
+            scope = new Scope(DatabaseConnection.getInstance().getPool().borrow());
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to open transaction", e);
+        }
+
+        T result;
+
+        try (Connection conn = scope.raw) {
+            conn.setAutoCommit(false);
+            CURRENT.set(scope);
+
+            try {
+                result = work.run();
+                conn.commit();
+            } catch (SQLException | RuntimeException | Error e) {
+                rollbackQuietly(conn);
+                throw e;
+            } finally {
+                CURRENT.remove();
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Transaction failed", e);
+        }
+
+        // connection is back in the pool before hooks run
+        runHooks(scope.afterCommit);
+        return result;
+    }
+
+    private static <T> T runJoined(Work<T> work) {
+        try {
+            return work.run();
+        } catch (SQLException e) {
+            throw new RuntimeException("Transaction failed", e);
+        }
+    }
+
+    private static void runHooks(List<Runnable> hooks) {
+        for (Runnable r : hooks) {
+            try {
+                r.run();
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, "After-commit action failed", e);
+            }
+        }
+    }
+
+    private static void rollbackQuietly(Connection conn) {
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            LOG.log(Level.FINE, "Rollback failed", e);
+        }
+    }
+
+    static boolean isRetryable(Throwable t) {
+        for (Throwable c = t; c != null; c = c.getCause()) {
+            if (c instanceof SQLException) {
+                SQLException se = (SQLException) c;
+                if ("40001".equals(se.getSQLState())
+                        || se.getErrorCode() == ER_LOCK_DEADLOCK
+                        || se.getErrorCode() == ER_LOCK_WAIT_TIMEOUT) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void backoff(int attempt) {
+        try {
+            Thread.sleep(10L * attempt + (long) (Math.random() * 20));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // dao-facing view, the unit owns close and transaction boundaries
+    private static Connection joined(Connection raw) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    int argc = args == null ? 0 : args.length;
+
+                    if ("close".equals(name)) return null;
+                    if ("setAutoCommit".equals(name) || "commit".equals(name)) return null;
+                    if ("rollback".equals(name) && argc == 0) return null;
+                    if ("equals".equals(name)) return proxy == args[0];
+                    if ("hashCode".equals(name)) return System.identityHashCode(proxy);
+
+                    try {
+                        return method.invoke(raw, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    }
+                });
+    }
+}
@@ -0,0 +1,41 @@
+package com.oceanview.web;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+public final class ETags {
+
+    // utility class
+    private ETags() {}
+
+    // If-None-Match may hold a list of tags, weak tags or *
+    // weak comparison, W/ is ignored on both sides
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) return false;
+        String own = opaque(etag);
+        for (String tag : ifNoneMatch.split(",")) {
+            String t = opaque(tag.trim());
+            if (t.equals("*") || t.equals(own)) return true;
+        }
+        return false;
+    }
+
+    // strong tag from a hash of the body, the same bytes give the same tag on every node and rebuild
+    public static String of(String body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(34).append('"');
+            for (int i = 0; i < 16; i++) {
+                sb.append(Character.forDigit((digest[i] >> 4) & 0xF, 16)).append(Character.forDigit(digest[i] & 0xF, 16));
+            }
+            return sb.append('"').toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String opaque(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
@@ -0,0 +1,144 @@
+package com.oceanview.web.filter;
+
+import com.oceanview.util.RequestMetrics;
+
+import javax.servlet.*;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+public class MetricsFilter implements Filter {
+
+    // latency, status, response size and in-flight count per route
+    // mapped in web.xml ahead of AuthFilter, so rejected requests are counted too
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        if (!(request instanceof HttpServletRequest) || !(response instanceof HttpServletResponse)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        HttpServletRequest req = (HttpServletRequest) request;
+        CountingResponse resp = new CountingResponse((HttpServletResponse) response);
+
+        RequestMetrics.Route route = RequestMetrics.getInstance()
+                .route(req.getMethod(), RequestMetrics.routeFor(req.getServletPath(), req.getPathInfo()));
+
+        route.started();
+        long start = System.nanoTime();
+        int status = 500;
+        try {
+            chain.doFilter(request, resp);
+            resp.flushWriter();
+            status = resp.getStatus();
+        } finally {
+            route.finished(status, System.nanoTime() - start, resp.bytes + sendfileBytes(req));
+        }
+    }
+
+    // bodies handed to tomcat sendfile never pass through the response stream
+    private static long sendfileBytes(HttpServletRequest req) {
+        Object start = req.getAttribute("org.apache.tomcat.sendfile.start");
+        Object end = req.getAttribute("org.apache.tomcat.sendfile.end");
+        if (!(start instanceof Long) || !(end instanceof Long)) return 0;
+        return (Long) end - (Long) start;
+    }
+
+    @Override
+    public void init(FilterConfig filterConfig) {}
+
+    @Override
+    public void destroy() {}
+
+    // counts the bytes that reach the container, writers encode through the counted stream
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+
+        private ServletOutputStream stream;
+        private PrintWriter writer;
+        private boolean streamUsed;
+        private long bytes;
+
+        CountingResponse(HttpServletResponse resp) {
+            super(resp);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (writer != null) throw new IllegalStateException("getWriter() has already been called");
+            streamUsed = true;
+            return stream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer != null) return writer;
+            if (streamUsed) throw new IllegalStateException("getOutputStream() has already been called");
+
+            // same encoding the container writer would have used
+            writer = new PrintWriter(new OutputStreamWriter(stream(), getCharacterEncoding()), false);
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            flushWriter();
+            super.flushBuffer();
+        }
+
+        void flushWriter() {
+            if (writer != null) writer.flush();
+        }
+
+        private ServletOutputStream stream() throws IOException {
+            if (stream == null) stream = new CountingOutputStream(super.getOutputStream());
+            return stream;
+        }
+
+        private final class CountingOutputStream extends ServletOutputStream {
+
+            private final ServletOutputStream out;
+
+            CountingOutputStream(ServletOutputStream out) {
+                this.out = out;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+                bytes++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+                bytes += len;
+            }
+
+            @Override
+            public void flush() throws IOException {
+                out.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                out.close();
+            }
+
+            @Override
+            public boolean isReady() {
+                return out.isReady();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+                out.setWriteListener(listener);
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.oceanview.web.json;
+
+import com.oceanview.model.Guest;
+
+public final class GuestJson {
+
+    private GuestJson() {
+    }
+
+    // never includes the password
+    public static final JsonSerializer<Guest> GUEST = (w, g) -> w.beginObject()
+            .name("guestId").value(g.getGuestId())
+            .name("fullName").text(g.getFullName())
+            .name("email").text(g.getEmail())
+            .name("address").text(g.getAddress())
+            .name("contactNumber").text(g.getContactNumber())
+            .endObject();
+}
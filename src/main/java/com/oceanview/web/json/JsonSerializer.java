@@ -0,0 +1,10 @@
+package com.oceanview.web.json;
+
+import java.io.IOException;
+
+// writes one value of T as a json object
+@FunctionalInterface
+public interface JsonSerializer<T> {
+
+    void write(JsonWriter w, T value) throws IOException;
+}
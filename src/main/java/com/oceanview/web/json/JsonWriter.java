@@ -0,0 +1,344 @@
+package com.oceanview.web.json;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+public class JsonWriter implements Closeable, Flushable {
+
+    // streaming json encoder
+    // writes straight to the target through a per-thread char buffer, no intermediate string for the payload
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    // handed out while a writer is open on this thread, put back on close
+    private static final ThreadLocal<char[]> BUFFERS = new ThreadLocal<>();
+
+    // container states
+    private static final byte EMPTY_OBJECT = 1;
+    private static final byte OBJECT = 2;
+    private static final byte EMPTY_ARRAY = 3;
+    private static final byte ARRAY = 4;
+    private static final byte NAME = 5;      // after a name, waiting for its value
+
+    private final Writer out;
+    private char[] buf;
+    private int pos;
+
+    private byte[] stack = new byte[16];
+    private int depth;
+
+    public JsonWriter(Writer out) {
+        this.out = out;
+
+        char[] b = BUFFERS.get();
+        if (b != null) {
+            BUFFERS.remove();
+        } else {
+            b = new char[BUFFER_SIZE];
+        }
+        this.buf = b;
+    }
+
+    // sets status and content type, then streams into the response writer
+    public static JsonWriter open(HttpServletResponse resp, int status) throws IOException {
+        resp.setStatus(status);
+        resp.setContentType("application/json;charset=UTF-8");
+        return new JsonWriter(resp.getWriter());
+    }
+
+    // STRUCTURE
+
+    public JsonWriter beginObject() throws IOException {
+        beforeValue();
+        push(EMPTY_OBJECT);
+        put('{');
+        return this;
+    }
+
+    public JsonWriter endObject() throws IOException {
+        pop(EMPTY_OBJECT, OBJECT);
+        put('}');
+        return this;
+    }
+
+    public JsonWriter beginArray() throws IOException {
+        beforeValue();
+        push(EMPTY_ARRAY);
+        put('[');
+        return this;
+    }
+
+    public JsonWriter endArray() throws IOException {
+        pop(EMPTY_ARRAY, ARRAY);
+        put(']');
+        return this;
+    }
+
+    public JsonWriter name(String name) throws IOException {
+        byte top = depth == 0 ? 0 : stack[depth - 1];
+        if (top == OBJECT) {
+            put(',');
+        } else if (top != EMPTY_OBJECT) {
+            throw new IllegalStateException("name outside of an object");
+        }
+        stack[depth - 1] = NAME;
+        string(name);
+        put(':');
+        return this;
+    }
+
+    // VALUES
+
+    public JsonWriter value(String s) throws IOException {
+        if (s == null) return nullValue();
+        beforeValue();
+        string(s);
+        return this;
+    }
+
+    // api payloads send missing text as an empty string
+    public JsonWriter text(String s) throws IOException {
+        return value(s == null ? "" : s);
+    }
+
+    // yyyy-mm-dd for sql dates, toString of the value otherwise
+    public JsonWriter value(java.util.Date d) throws IOException {
+        return d == null ? nullValue() : value(d.toString());
+    }
+
+    public JsonWriter value(int v) throws IOException {
+        beforeValue();
+        put(Integer.toString(v));
+        return this;
+    }
+
+    public JsonWriter value(long v) throws IOException {
+        beforeValue();
+        put(Long.toString(v));
+        return this;
+    }
+
+    // same text as StringBuilder.append(double), json has no NaN or Infinity
+    public JsonWriter value(double v) throws IOException {
+        if (Double.isNaN(v) || Double.isInfinite(v)) return nullValue();
+        beforeValue();
+        put(Double.toString(v));
+        return this;
+    }
+
+    public JsonWriter value(boolean v) throws IOException {
+        beforeValue();
+        put(v ? "true" : "false");
+        return this;
+    }
+
+    public JsonWriter nullValue() throws IOException {
+        beforeValue();
+        put("null");
+        return this;
+    }
+
+    // already encoded json, e.g. a cached payload
+    public JsonWriter rawValue(String json) throws IOException {
+        beforeValue();
+        put(json);
+        return this;
+    }
+
+    public <T> JsonWriter array(Iterable<T> items, JsonSerializer<? super T> serializer) throws IOException {
+        beginArray();
+        for (T item : items) serializer.write(this, item);
+        return endArray();
+    }
+
+    // LIFECYCLE
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    // flushes and releases the buffer, the target writer stays open for the container
+    @Override
+    public void close() throws IOException {
+        if (buf == null) return;
+        try {
+            flush();
+        } finally {
+            pos = 0;
+            BUFFERS.set(buf);
+            buf = null;
+        }
+    }
+
+    // one value as a standalone json string, for caches that keep encoded rows
+    public static <T> String toJson(T value, JsonSerializer<? super T> serializer) {
+        StringWriter sw = new StringWriter(256);
+        try (JsonWriter w = new JsonWriter(sw)) {
+            serializer.write(w, value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sw.toString();
+    }
+
+    // ESCAPING
+
+    // escaped string content without the quotes, null as empty
+    public static String escape(String s) {
+        if (s == null) return "";
+
+        int i = 0;
+        while (i < s.length() && !needsEscape(s, i)) i++;
+        if (i == s.length()) return s;
+
+        StringBuilder sb = new StringBuilder(s.length() + 16);
+        sb.append(s, 0, i);
+        for (; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (needsEscape(s, i)) appendEscape(sb, c);
+            else sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    private void string(String s) throws IOException {
+        put('"');
+
+        int len = s.length();
+        int run = 0;    // start of the pending unescaped run
+        for (int i = 0; i < len; i++) {
+            if (!needsEscape(s, i)) continue;
+
+            put(s, run, i);
+            putEscape(s.charAt(i));
+            run = i + 1;
+        }
+        put(s, run, len);
+
+        put('"');
+    }
+
+    private static boolean needsEscape(String s, int i) {
+        char c = s.charAt(i);
+        if (c < 0x20 || c == '"' || c == '\\') return true;
+
+        // line and paragraph separators break javascript string literals
+        if (c == '\u2028' || c == '\u2029') return true;
+
+        // unpaired surrogates are not valid utf-8, keep them as escapes
+        if (Character.isHighSurrogate(c)) {
+            return i + 1 >= s.length() || !Character.isLowSurrogate(s.charAt(i + 1));
+        }
+        if (Character.isLowSurrogate(c)) {
+            return i == 0 || !Character.isHighSurrogate(s.charAt(i - 1));
+        }
+        return false;
+    }
+
+    private void putEscape(char c) throws IOException {
+        String shortForm = shortEscape(c);
+        if (shortForm != null) {
+            put(shortForm);
+            return;
+        }
+        if (buf.length - pos < 6) drain();
+        buf[pos++] = '\\';
+        buf[pos++] = 'u';
+        buf[pos++] = HEX[(c >> 12) & 0xF];
+        buf[pos++] = HEX[(c >> 8) & 0xF];
+        buf[pos++] = HEX[(c >> 4) & 0xF];
+        buf[pos++] = HEX[c & 0xF];
+    }
+
+    private static void appendEscape(StringBuilder sb, char c) {
+        String shortForm = shortEscape(c);
+        if (shortForm != null) {
+            sb.append(shortForm);
+            return;
+        }
+        sb.append("\\u")
+                .append(HEX[(c >> 12) & 0xF])
+                .append(HEX[(c >> 8) & 0xF])
+                .append(HEX[(c >> 4) & 0xF])
+                .append(HEX[c & 0xF]);
+    }
+
+    private static String shortEscape(char c) {
+        switch (c) {
+            case '"':  return "\\\"";
+            case '\\': return "\\\\";
+            case '\n': return "\\n";
+            case '\r': return "\\r";
+            case '\t': return "\\t";
+            case '\b': return "\\b";
+            case '\f': return "\\f";
+            default:   return null;
+        }
+    }
+
+    // STATE
+
+    private void beforeValue() throws IOException {
+        if (buf == null) throw new IllegalStateException("writer closed");
+        if (depth == 0) return;
+
+        byte top = stack[depth - 1];
+        if (top == NAME) {
+            stack[depth - 1] = OBJECT;
+        } else if (top == EMPTY_ARRAY) {
+            stack[depth - 1] = ARRAY;
+        } else if (top == ARRAY) {
+            put(',');
+        } else {
+            throw new IllegalStateException("value needs a name inside an object");
+        }
+    }
+
+    private void push(byte state) {
+        if (depth == stack.length) stack = Arrays.copyOf(stack, depth * 2);
+        stack[depth++] = state;
+    }
+
+    private void pop(byte empty, byte nonEmpty) {
+        byte top = depth == 0 ? 0 : stack[depth - 1];
+        if (top != empty && top != nonEmpty) throw new IllegalStateException("unbalanced json nesting");
+        depth--;
+    }
+
+    // BUFFER
+
+    private void put(char c) throws IOException {
+        if (pos == buf.length) drain();
+        buf[pos++] = c;
+    }
+
+    private void put(String s) throws IOException {
+        put(s, 0, s.length());
+    }
+
+    private void put(String s, int from, int to) throws IOException {
+        while (from < to) {
+            if (pos == buf.length) drain();
+            int n = Math.min(to - from, buf.length - pos);
+            s.getChars(from, from + n, buf, pos);
+            pos += n;
+            from += n;
+        }
+    }
+
+    private void drain() throws IOException {
+        if (pos > 0) {
+            out.write(buf, 0, pos);
+            pos = 0;
+        }
+    }
+}
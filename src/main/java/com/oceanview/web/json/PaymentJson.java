@@ -0,0 +1,18 @@
+package com.oceanview.web.json;
+
+import com.oceanview.model.ReservationPayment;
+
+public final class PaymentJson {
+
+    private PaymentJson() {
+    }
+
+    public static final JsonSerializer<ReservationPayment> PAYMENT = (w, p) -> w.beginObject()
+            .name("paymentId").value(p.getPaymentId())
+            .name("reservationId").value(p.getReservationId())
+            .name("paidAmount").value(p.getPaidAmount())
+            .name("paidDate").value(p.getPaidDate())
+            .name("method").text(p.getMethod())
+            .name("note").text(p.getNote())
+            .endObject();
+}
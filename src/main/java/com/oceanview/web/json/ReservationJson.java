@@ -0,0 +1,115 @@
+package com.oceanview.web.json;
+
+import com.oceanview.model.Reservation;
+
+import java.sql.Date;
+
+public final class ReservationJson {
+
+    // reservation views used by the staff and guest apis
+
+    private ReservationJson() {
+    }
+
+    // staff reservation list
+    public static final JsonSerializer<Reservation> SUMMARY = (w, r) -> w.beginObject()
+            .name("reservationId").value(r.getReservationId())
+            .name("reservationNumber").text(r.getReservationNumber())
+            .name("guestId").value(r.getGuestId())
+            .name("roomId").value(r.getRoomId())
+            .name("checkInDate").value(r.getCheckInDate())
+            .name("checkOutDate").value(r.getCheckOutDate())
+            .name("status").text(r.getStatus())
+            .name("nights").value(r.getNights())
+            .name("totalAmount").value(r.getTotalAmount())
+            .name("guestName").text(r.getGuestName())
+            .name("guestEmail").text(r.getGuestEmail())
+            .name("guestContactNumber").text(r.getGuestContactNumber())
+            .name("roomNumber").text(r.getRoomNumber())
+            .name("roomType").text(r.getRoomType())
+            .name("amountPaid").value(r.getAmountPaid())
+            .name("paymentStatus").text(r.getPaymentStatus())
+            .endObject();
+
+    // single reservation with pricing
+    public static final JsonSerializer<Reservation> DETAIL = (w, r) -> w.beginObject()
+            .name("reservationId").value(r.getReservationId())
+            .name("reservationNumber").text(r.getReservationNumber())
+            .name("guestId").value(r.getGuestId())
+            .name("roomId").value(r.getRoomId())
+            .name("guestName").text(r.getGuestName())
+            .name("guestEmail").text(r.getGuestEmail())
+            .name("guestContactNumber").text(r.getGuestContactNumber())
+            .name("roomNumber").text(r.getRoomNumber())
+            .name("roomType").text(r.getRoomType())
+            .name("checkInDate").value(r.getCheckInDate())
+            .name("checkOutDate").value(r.getCheckOutDate())
+            .name("status").text(r.getStatus())
+            .name("notes").text(r.getNotes())
+            .name("nights").value(r.getNights())
+            .name("ratePerNight").value(r.getRatePerNight())
+            .name("subtotal").value(r.getSubtotal())
+            .name("discount").value(r.getDiscount())
+            .name("tax").value(r.getTax())
+            .name("totalAmount").value(r.getTotalAmount())
+            .name("amountPaid").value(r.getAmountPaid())
+            .name("paymentStatus").text(r.getPaymentStatus())
+            .endObject();
+
+    // calendar event, end is exclusive so the check-out day stays visible
+    public static final JsonSerializer<Reservation> CALENDAR_EVENT = (w, r) -> w.beginObject()
+            .name("id").value(r.getReservationId())
+            .name("title").text(r.getReservationNumber())
+            .name("start").value(r.getCheckInDate())
+            .name("end").text(plusOneDay(r.getCheckOutDate()))
+            .name("allDay").value(true)
+            .name("extendedProps").beginObject()
+                .name("reservationNumber").text(r.getReservationNumber())
+                .name("guestName").text(r.getGuestName())
+                .name("guestContactNumber").text(r.getGuestContactNumber())
+                .name("roomNumber").text(r.getRoomNumber())
+                .name("checkInDate").value(r.getCheckInDate())
+                .name("checkOutDate").value(r.getCheckOutDate())
+                .name("status").text(r.getStatus())
+                .name("amountPaid").value(r.getAmountPaid())
+                .name("paymentStatus").text(r.getPaymentStatus())
+            .endObject()
+            .endObject();
+
+    // booked date range of a room
+    public static final JsonSerializer<Reservation> BOOKING = (w, r) -> w.beginObject()
+            .name("reservationId").value(r.getReservationId())
+            .name("checkInDate").value(r.getCheckInDate())
+            .name("checkOutDate").value(r.getCheckOutDate())
+            .endObject();
+
+    // dashboard recent check-ins
+    public static final JsonSerializer<Reservation> CHECKIN = (w, r) -> w.beginObject()
+            .name("id").value(r.getReservationId())
+            .name("reservationNumber").text(r.getReservationNumber())
+            .name("guestName").text(r.getGuestName())
+            .name("roomNumber").text(r.getRoomNumber())
+            .name("checkInDate").value(r.getCheckInDate())
+            .name("checkOutDate").value(r.getCheckOutDate())
+            .name("status").text(r.getStatus())
+            .endObject();
+
+    // guest portal, no other guest's data and no staff fields
+    public static final JsonSerializer<Reservation> GUEST_VIEW = (w, r) -> w.beginObject()
+            .name("reservationId").value(r.getReservationId())
+            .name("reservationNumber").text(r.getReservationNumber())
+            .name("checkInDate").value(r.getCheckInDate())
+            .name("checkOutDate").value(r.getCheckOutDate())
+            .name("status").text(r.getStatus())
+            .name("roomNumber").text(r.getRoomNumber())
+            .name("roomType").text(r.getRoomType())
+            .name("taxAmount").value(r.getTax())
+            .name("discountAmount").value(r.getDiscount())
+            .name("totalAmount").value(r.getTotalAmount())
+            .endObject();
+
+    private static String plusOneDay(Date d) {
+        if (d == null) return "";
+        return Date.valueOf(d.toLocalDate().plusDays(1)).toString();
+    }
+}
@@ -0,0 +1,20 @@
+package com.oceanview.web.json;
+
+import com.oceanview.model.Room;
+
+public final class RoomJson {
+
+    private RoomJson() {
+    }
+
+    public static final JsonSerializer<Room> ROOM = (w, r) -> w.beginObject()
+            .name("roomId").value(r.getRoomId())
+            .name("roomNumber").text(r.getRoomNumber())
+            .name("roomType").text(r.getRoomType())
+            .name("price").value(r.getRatePerNight())
+            .name("maxGuests").value(r.getMaxGuests())
+            .name("status").text(r.getStatus())
+            .name("description").text(r.getDescription())
+            .name("imageUrl").text(r.getImageUrl())
+            .endObject();
+}
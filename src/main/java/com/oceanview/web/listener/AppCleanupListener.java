@@ -1,6 +1,15 @@
 package com.oceanview.web.listener;
 
 import com.mysql.cj.jdbc.AbandonedConnectionCleanupThread;
+import com.oceanview.cache.GuestSearchIndex;
+import com.oceanview.cache.RoomAvailabilityIndex;
+import com.oceanview.cache.SettingsCache;
+import com.oceanview.service.EmailOutboxService;
+import com.oceanview.service.InvoiceBatchService;
+import com.oceanview.service.ReservationRollupService;
+import com.oceanview.service.RoomStatusReconciler;
+import com.oceanview.util.DatabaseConnection;
+import com.oceanview.util.PasswordVerifier;
 
 import javax.servlet.ServletContextEvent;
 import javax.servlet.ServletContextListener;
@@ -15,13 +24,108 @@ public class AppCleanupListener implements ServletContextListener {
     // app start
     @Override
     public void contextInitialized(ServletContextEvent sce) {
-       
+
+        // warm availability index and schedule drift checks
+        try {
+            RoomAvailabilityIndex.getInstance().start();
+        } catch (Throwable ignored) {
+        }
+
+        // build guest typeahead index, sql search serves until it is ready
+        try {
+            GuestSearchIndex.getInstance().start();
+        } catch (Throwable ignored) {
+        }
+
+        // pick up settings changed on other nodes
+        try {
+            SettingsCache.getInstance().start();
+        } catch (Throwable ignored) {
+        }
+
+        // email outbox worker
+        try {
+            EmailOutboxService.getInstance().start();
+        } catch (Throwable ignored) {
+        }
+
+        // dashboard rollup updates and nightly rebuild
+        try {
+            ReservationRollupService.getInstance().start();
+        } catch (Throwable ignored) {
+        }
+
+        // room statuses after reservation changes and at midnight
+        try {
+            RoomStatusReconciler.getInstance().start();
+        } catch (Throwable ignored) {
+        }
+
+        // bulk invoice packs
+        try {
+            InvoiceBatchService.getInstance().start();
+        } catch (Throwable ignored) {
+        }
     }
 
     // app stop
     @Override
     public void contextDestroyed(ServletContextEvent sce) {
 
+        // stop availability checks
+        try {
+            RoomAvailabilityIndex.getInstance().stop();
+        } catch (Throwable ignored) {
+        }
+
+        // stop guest index refresh
+        try {
+            GuestSearchIndex.getInstance().stop();
+        } catch (Throwable ignored) {
+        }
+
+        // stop settings refresh
+        try {
+            SettingsCache.getInstance().stop();
+        } catch (Throwable ignored) {
+        }
+
+        // finish in-flight emails before the pool closes
+        try {
+            EmailOutboxService.getInstance().stop();
+        } catch (Throwable ignored) {
+        }
+
+        // stop rollup worker
+        try {
+            ReservationRollupService.getInstance().stop();
+        } catch (Throwable ignored) {
+        }
+
+        // stop room status worker
+        try {
+            RoomStatusReconciler.getInstance().stop();
+        } catch (Throwable ignored) {
+        }
+
+        // cancel invoice batches and delete their files
+        try {
+            InvoiceBatchService.getInstance().stop();
+        } catch (Throwable ignored) {
+        }
+
+        // stop login verifier threads
+        try {
+            PasswordVerifier.getInstance().stop();
+        } catch (Throwable ignored) {
+        }
+
+        // close pooled connections
+        try {
+            DatabaseConnection.shutdown();
+        } catch (Throwable ignored) {
+        }
+
         // stop mysql cleanup thread
         try {
             AbandonedConnectionCleanupThread.checkedShutdown();
@@ -7,12 +7,16 @@ import com.oceanview.util.Flash;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.*;
 import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 @WebServlet("/api/login")
 public class AuthServlet extends HttpServlet {
 
     private static final long serialVersionUID = 1L;
 
+    private static final Logger LOG = Logger.getLogger(AuthServlet.class.getName());
+
     private final AuthService authService = new AuthService();
 
     @Override
@@ -28,7 +32,16 @@ public class AuthServlet extends HttpServlet {
         System.out.println("Username: " + username);
         System.out.println("Password: " + (password != null ? "***" : "null"));
 
-        User user = authService.login(username, password);
+        User user;
+        try {
+            user = authService.login(username, password);
+        } catch (IllegalStateException e) {
+            // verifier pool full, fail fast instead of holding the request thread
+            LOG.log(Level.INFO, "Login deferred: {0}", e.getMessage());
+            Flash.error(req, "Too many sign-ins right now. Please try again in a few seconds.");
+            resp.sendRedirect(req.getContextPath() + "/login.html");
+            return;
+        }
 
         if (user == null) {
             System.out.println("LOGIN FAILED");
@@ -56,6 +56,12 @@ public class GuestAuthServlet extends HttpServlet {
         Guest g;
         try {
             g = guestService.loginGuest(email.trim(), password.trim());
+        } catch (IllegalStateException ex) {
+            // verifier pool full
+            resp.setHeader("Retry-After", "5");
+            sendJson(resp, 503,
+                    "{\"success\":false,\"message\":\"Too many sign-ins right now. Please try again in a few seconds.\"}");
+            return;
         } catch (Exception ex) {
             sendJson(resp, 400,
                     "{\"success\":false,\"message\":\"" + esc(ex.getMessage()) + "\"}");
@@ -1,11 +1,11 @@
 package com.oceanview.web.servlet;
+import com.oceanview.cache.GuestReservationsCache;
 import com.oceanview.model.Guest;
-import com.oceanview.model.Reservation;
 import com.oceanview.service.ReservationService;
+import com.oceanview.web.ETags;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.*;
 import java.io.IOException;
-import java.util.List;
 
 @WebServlet("/api/guest/reservations")
 public class GuestReservationsServlet extends HttpServlet {
@@ -19,14 +19,6 @@ public class GuestReservationsServlet extends HttpServlet {
         resp.getWriter().write(json);
     }
 
-    private String esc(String s) {
-        if (s == null) return "";
-        return s.replace("\\", "\\\\")
-                .replace("\"", "\\\"")
-                .replace("\n", "\\n")
-                .replace("\r", "\\r");
-    }
-
     @Override
     protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
         HttpSession session = req.getSession(false);
@@ -37,27 +29,18 @@ public class GuestReservationsServlet extends HttpServlet {
             return;
         }
 
-        List<Reservation> list =
-                reservationService.listReservationsByGuest(guest.getGuestId());
-
-        StringBuilder sb = new StringBuilder("{\"success\":true,\"reservations\":[");
-        for (int i = 0; i < list.size(); i++) {
-            Reservation r = list.get(i);
-            sb.append("{")
-                    .append("\"reservationId\":").append(r.getReservationId()).append(",")
-                    .append("\"reservationNumber\":\"").append(esc(r.getReservationNumber())).append("\",")
-                    .append("\"checkInDate\":\"").append(r.getCheckInDate()).append("\",")
-                    .append("\"checkOutDate\":\"").append(r.getCheckOutDate()).append("\",")
-                    .append("\"status\":\"").append(esc(r.getStatus())).append("\",")
-                    .append("\"roomNumber\":\"").append(esc(r.getRoomNumber())).append("\",")
-                    .append("\"roomType\":\"").append(esc(r.getRoomType())).append("\",")
-                    .append("\"taxAmount\":").append(r.getTax()).append(",")
-                    .append("\"discountAmount\":").append(r.getDiscount()).append(",")
-                    .append("\"totalAmount\":").append(r.getTotalAmount())
-                    .append("}");
-            if (i < list.size() - 1) sb.append(",");
+        // cached body per guest, a refresh with the current etag needs no database work
+        GuestReservationsCache.Entry list = GuestReservationsCache.getInstance()
+                .get(guest.getGuestId(), reservationService::listReservationsByGuest);
+
+        resp.setHeader("ETag", list.getEtag());
+        resp.setHeader("Cache-Control", "private, no-cache");
+
+        if (ETags.matches(req.getHeader("If-None-Match"), list.getEtag())) {
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
         }
-        sb.append("]}");
-        sendJson(resp, 200, sb.toString());
+
+        sendJson(resp, 200, list.getJson());
     }
-}
\ No newline at end of file
+}
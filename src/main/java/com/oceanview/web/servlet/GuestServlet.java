@@ -3,6 +3,8 @@ package com.oceanview.web.servlet;
 import com.oceanview.model.Guest;
 import com.oceanview.model.User;
 import com.oceanview.service.GuestService;
+import com.oceanview.web.json.GuestJson;
+import com.oceanview.web.json.JsonWriter;
 
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.*;
@@ -41,11 +43,7 @@ public class GuestServlet extends HttpServlet {
 
     // escape text
     private String esc(String s) {
-        if (s == null) return "";
-        return s.replace("\\", "\\\\")
-                .replace("\"", "\\\"")
-                .replace("\n", "\\n")
-                .replace("\r", "\\r");
+        return JsonWriter.escape(s);
     }
 
     @Override
@@ -88,21 +86,7 @@ public class GuestServlet extends HttpServlet {
             String q = req.getParameter("q");
             List<Guest> guests = service.searchGuests(q);
 
-            StringBuilder sb = new StringBuilder("{\"success\":true,\"guests\":[");
-            for (int i = 0; i < guests.size(); i++) {
-                Guest g = guests.get(i);
-                sb.append("{")
-                        .append("\"guestId\":").append(g.getGuestId()).append(",")
-                        .append("\"fullName\":\"").append(esc(g.getFullName())).append("\",")
-                        .append("\"email\":\"").append(esc(g.getEmail())).append("\",")
-                        .append("\"address\":\"").append(esc(g.getAddress())).append("\",")
-                        .append("\"contactNumber\":\"").append(esc(g.getContactNumber())).append("\"")
-                        .append("}");
-                if (i < guests.size() - 1) sb.append(",");
-            }
-            sb.append("]}");
-
-            sendJson(resp, 200, sb.toString());
+            sendGuestList(resp, guests);
             return;
         }
 
@@ -132,33 +116,25 @@ public class GuestServlet extends HttpServlet {
 
         // list guests
         List<Guest> list = service.listGuests();
-        StringBuilder sb = new StringBuilder("{\"success\":true,\"guests\":[");
-        for (int i = 0; i < list.size(); i++) {
-            Guest g = list.get(i);
-            sb.append("{")
-                    .append("\"guestId\":").append(g.getGuestId()).append(",")
-                    .append("\"fullName\":\"").append(esc(g.getFullName())).append("\",")
-                    .append("\"email\":\"").append(esc(g.getEmail())).append("\",")
-                    .append("\"address\":\"").append(esc(g.getAddress())).append("\",")
-                    .append("\"contactNumber\":\"").append(esc(g.getContactNumber())).append("\"")
-                    .append("}");
-            if (i < list.size() - 1) sb.append(",");
-        }
-        sb.append("]}");
-        sendJson(resp, 200, sb.toString());
+        sendGuestList(resp, list);
     }
 
     // send one guest object
     private void sendGuestObject(HttpServletResponse resp, Guest g) throws IOException {
-        sendJson(resp, 200,
-                "{\"success\":true,\"guest\":{" +
-                        "\"guestId\":" + g.getGuestId() + "," +
-                        "\"fullName\":\"" + esc(g.getFullName()) + "\"," +
-                        "\"address\":\"" + esc(g.getAddress()) + "\"," +
-                        "\"contactNumber\":\"" + esc(g.getContactNumber()) + "\"," +
-                        "\"email\":\"" + esc(g.getEmail()) + "\"" +
-                        "}}"
-        );
+        try (JsonWriter w = JsonWriter.open(resp, 200)) {
+            w.beginObject().name("success").value(true).name("guest");
+            GuestJson.GUEST.write(w, g);
+            w.endObject();
+        }
+    }
+
+    // send guest list
+    private void sendGuestList(HttpServletResponse resp, List<Guest> guests) throws IOException {
+        try (JsonWriter w = JsonWriter.open(resp, 200)) {
+            w.beginObject().name("success").value(true).name("guests");
+            w.array(guests, GuestJson.GUEST);
+            w.endObject();
+        }
     }
 
     @Override
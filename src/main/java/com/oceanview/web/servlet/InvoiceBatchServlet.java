@@ -0,0 +1,170 @@
+package com.oceanview.web.servlet;
+
+import com.oceanview.model.ReservationFilter;
+import com.oceanview.model.User;
+import com.oceanview.service.InvoiceBatchService;
+import com.oceanview.web.json.JsonWriter;
+
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.*;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+
+@WebServlet("/api/invoices/batch/*")
+public class InvoiceBatchServlet extends HttpServlet {
+
+    // POST   /api/invoices/batch?from=&to=&status=&paymentStatus=&roomId=   start a job
+    // GET    /api/invoices/batch/{id}                                        progress
+    // GET    /api/invoices/batch/{id}/download                               the ZIP once done
+    // DELETE /api/invoices/batch/{id}                                        cancel or discard
+
+    private static final long serialVersionUID = 1L;
+
+    private InvoiceBatchService service;
+
+    @Override
+    public void init() {
+        service = InvoiceBatchService.getInstance();
+    }
+
+    private User staffUser(HttpServletRequest req) {
+        HttpSession session = req.getSession(false);
+        if (session == null) return null;
+        Object u = session.getAttribute("user");
+        if (!(u instanceof User)) return null;
+        String role = ((User) u).getRole();
+        return "ADMIN".equalsIgnoreCase(role) || "STAFF".equalsIgnoreCase(role) ? (User) u : null;
+    }
+
+    private void sendJson(HttpServletResponse resp, int status, String json) throws IOException {
+        resp.setStatus(status);
+        resp.setContentType("application/json;charset=UTF-8");
+        resp.getWriter().write(json);
+    }
+
+    private String esc(String s) {
+        return JsonWriter.escape(s);
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        User user = staffUser(req);
+        if (user == null) {
+            sendJson(resp, 403, "{\"success\":false,\"message\":\"Staff/Admin access required\"}");
+            return;
+        }
+
+        InvoiceBatchService.Job job;
+        try {
+            job = service.submit(ReservationFilter.fromParams(req.getParameterMap()), user.getUserId());
+        } catch (IllegalArgumentException e) {
+            sendJson(resp, 400, "{\"success\":false,\"message\":\"" + esc(e.getMessage()) + "\"}");
+            return;
+        } catch (IllegalStateException e) {
+            sendJson(resp, 503, "{\"success\":false,\"message\":\"" + esc(e.getMessage()) + "\"}");
+            return;
+        }
+
+        resp.setHeader("Location", req.getContextPath() + "/api/invoices/batch/" + job.getId());
+        sendProgress(resp, 202, job, req);
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        User user = staffUser(req);
+        if (user == null) {
+            sendJson(resp, 403, "{\"success\":false,\"message\":\"Staff/Admin access required\"}");
+            return;
+        }
+
+        String[] parts = parts(req);
+        InvoiceBatchService.Job job = parts.length == 0 ? null : visibleJob(parts[0], user);
+        if (job == null || parts.length > 2 || (parts.length == 2 && !"download".equals(parts[1]))) {
+            sendJson(resp, 404, "{\"success\":false,\"message\":\"Invoice batch not found\"}");
+            return;
+        }
+
+        if (parts.length == 1) {
+            resp.setHeader("Cache-Control", "no-store");
+            sendProgress(resp, 200, job, req);
+            return;
+        }
+
+        Path file = job.getFile();
+        if (!InvoiceBatchService.DONE.equals(job.getStatus()) || file == null || !Files.exists(file)) {
+            sendJson(resp, 409, "{\"success\":false,\"message\":\"Invoice batch is not ready\"}");
+            return;
+        }
+
+        long size = Files.size(file);
+        resp.setContentType("application/zip");
+        resp.setHeader("Content-Disposition", "attachment; filename=\"invoices-" + LocalDate.now() + ".zip\"");
+        resp.setContentLengthLong(size);
+
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(resp.getOutputStream());
+            long pos = 0;
+            while (pos < size) pos += ch.transferTo(pos, size - pos, out);
+        }
+    }
+
+    @Override
+    protected void doDelete(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        User user = staffUser(req);
+        if (user == null) {
+            sendJson(resp, 403, "{\"success\":false,\"message\":\"Staff/Admin access required\"}");
+            return;
+        }
+
+        String[] parts = parts(req);
+        InvoiceBatchService.Job job = parts.length == 1 ? visibleJob(parts[0], user) : null;
+        if (job == null || !service.cancel(job.getId())) {
+            sendJson(resp, 404, "{\"success\":false,\"message\":\"Invoice batch not found\"}");
+            return;
+        }
+
+        sendJson(resp, 200, "{\"success\":true}");
+    }
+
+    // staff see their own batches, admins see all
+    private InvoiceBatchService.Job visibleJob(String id, User user) {
+        InvoiceBatchService.Job job = service.getJob(id);
+        if (job == null) return null;
+        if ("ADMIN".equalsIgnoreCase(user.getRole()) || job.getCreatedBy() == user.getUserId()) return job;
+        return null;
+    }
+
+    private void sendProgress(HttpServletResponse resp, int status, InvoiceBatchService.Job job,
+                              HttpServletRequest req) throws IOException {
+        int total = job.getTotal();
+        int processed = job.getRendered() + job.getFailed();
+
+        try (JsonWriter w = JsonWriter.open(resp, status)) {
+            w.beginObject();
+            w.name("success").value(true);
+            w.name("jobId").value(job.getId());
+            w.name("status").value(job.getStatus());
+            w.name("total").value(total);
+            w.name("rendered").value(job.getRendered());
+            w.name("failed").value(job.getFailed());
+            w.name("percent").value(total <= 0 ? (job.isFinished() ? 100 : 0) : Math.min(100, processed * 100 / total));
+            w.name("message").value(job.getMessage());
+            if (InvoiceBatchService.DONE.equals(job.getStatus())) {
+                w.name("downloadUrl").value(req.getContextPath() + "/api/invoices/batch/" + job.getId() + "/download");
+            }
+            w.endObject();
+        }
+    }
+
+    private String[] parts(HttpServletRequest req) {
+        String path = req.getPathInfo();
+        if (path == null || path.equals("/")) return new String[0];
+        return path.substring(1).split("/");
+    }
+}
@@ -0,0 +1,220 @@
+package com.oceanview.web.servlet;
+
+import com.oceanview.cache.GuestCache;
+import com.oceanview.cache.GuestReservationsCache;
+import com.oceanview.cache.RoomCache;
+import com.oceanview.cache.TinyLfuCache;
+import com.oceanview.model.User;
+import com.oceanview.service.EmailOutboxService;
+import com.oceanview.util.ConnectionPool;
+import com.oceanview.util.DatabaseConnection;
+import com.oceanview.util.PasswordVerifier;
+import com.oceanview.util.PrometheusWriter;
+import com.oceanview.util.QueryTracer;
+import com.oceanview.util.RequestMetrics;
+import com.oceanview.web.json.JsonWriter;
+
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.*;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+@WebServlet({"/api/metrics", "/api/metrics/queries"})
+public class MetricsServlet extends HttpServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    private boolean isAdmin(HttpServletRequest req) {
+        HttpSession session = req.getSession(false);
+        if (session == null) return false;
+        Object u = session.getAttribute("user");
+        return u instanceof User && "ADMIN".equalsIgnoreCase(((User) u).getRole());
+    }
+
+    private void sendJson(HttpServletResponse resp, int status, String json) throws IOException {
+        resp.setStatus(status);
+        resp.setContentType("application/json;charset=UTF-8");
+        resp.getWriter().write(json);
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+
+        if (!isAdmin(req)) {
+            sendJson(resp, 403, "{\"success\":false,\"message\":\"Admin access required\"}");
+            return;
+        }
+
+        // human readable query report, slowest total first
+        if ("/api/metrics/queries".equals(req.getServletPath())) {
+            writeQueryReport(resp);
+            return;
+        }
+
+        PrometheusWriter w = new PrometheusWriter();
+        writeRequests(w);
+        writePool(w);
+        writeQueries(w);
+        writeCaches(w);
+        writeLogins(w);
+        writeOutbox(w);
+
+        resp.setStatus(200);
+        resp.setContentType(PrometheusWriter.CONTENT_TYPE);
+        resp.setHeader("Cache-Control", "no-store");
+        resp.getWriter().write(w.toString());
+    }
+
+    // HTTP
+
+    private void writeRequests(PrometheusWriter w) {
+        List<RequestMetrics.Route> routes = RequestMetrics.getInstance().routes();
+
+        w.header("oceanview_http_requests_total", "counter", "Completed requests by route and status.");
+        for (RequestMetrics.Route r : routes) {
+            for (Map.Entry<Integer, Long> e : r.getStatusCounts().entrySet()) {
+                w.sample("oceanview_http_requests_total", e.getValue(),
+                        "method", r.getMethod(), "route", r.getPath(), "status", String.valueOf(e.getKey()));
+            }
+        }
+
+        w.header("oceanview_http_request_duration_seconds", "histogram", "Request latency by route.");
+        for (RequestMetrics.Route r : routes) {
+            w.histogramSeconds("oceanview_http_request_duration_seconds", r.getLatency(),
+                    "method", r.getMethod(), "route", r.getPath());
+        }
+
+        w.header("oceanview_http_response_bytes_total", "counter", "Response body bytes written by route.");
+        for (RequestMetrics.Route r : routes) {
+            w.sample("oceanview_http_response_bytes_total", r.getBytes(),
+                    "method", r.getMethod(), "route", r.getPath());
+        }
+
+        w.header("oceanview_http_requests_in_flight", "gauge", "Requests currently being served by route.");
+        for (RequestMetrics.Route r : routes) {
+            w.sample("oceanview_http_requests_in_flight", r.getInFlight(),
+                    "method", r.getMethod(), "route", r.getPath());
+        }
+    }
+
+    // CONNECTION POOL
+
+    private void writePool(PrometheusWriter w) {
+        ConnectionPool pool = DatabaseConnection.getInstance().getPool();
+
+        w.gauge("oceanview_db_pool_active", "Connections lent out.", pool.getActiveCount());
+        w.gauge("oceanview_db_pool_idle", "Connections waiting in the pool.", pool.getIdleCount());
+        w.gauge("oceanview_db_pool_max", "Configured pool size.", pool.getMaxSize());
+        w.gauge("oceanview_db_pool_waiting", "Threads waiting for a connection.", pool.getWaitingCount());
+        w.counter("oceanview_db_pool_timeouts_total", "Borrows that timed out.", pool.getTimeoutCount());
+        w.counter("oceanview_db_pool_leaks_total", "Connections held past the leak threshold.", pool.getLeakCount());
+
+        w.header("oceanview_db_pool_wait_seconds", "histogram", "Time spent waiting for a connection.");
+        w.histogramSeconds("oceanview_db_pool_wait_seconds", pool.getWaitTime());
+    }
+
+    // SQL STATEMENTS
+
+    private void writeQueries(PrometheusWriter w) {
+        List<QueryTracer.QueryStats> queries = QueryTracer.getInstance().snapshot();
+
+        w.header("oceanview_db_query_duration_seconds", "histogram", "Statement time by dao method and caller.");
+        for (QueryTracer.QueryStats q : queries) {
+            w.histogramSeconds("oceanview_db_query_duration_seconds", q.getLatency(),
+                    "query", q.getQuery(), "origin", q.getOrigin());
+        }
+
+        w.header("oceanview_db_query_rows_total", "counter", "Rows fetched or affected by dao method and caller.");
+        for (QueryTracer.QueryStats q : queries) {
+            w.sample("oceanview_db_query_rows_total", q.getRows(), "query", q.getQuery(), "origin", q.getOrigin());
+        }
+
+        w.header("oceanview_db_query_errors_total", "counter", "Statements that threw by dao method and caller.");
+        for (QueryTracer.QueryStats q : queries) {
+            w.sample("oceanview_db_query_errors_total", q.getErrors(), "query", q.getQuery(), "origin", q.getOrigin());
+        }
+    }
+
+    private void writeQueryReport(HttpServletResponse resp) throws IOException {
+        QueryTracer tracer = QueryTracer.getInstance();
+        resp.setHeader("Cache-Control", "no-store");
+
+        try (JsonWriter w = JsonWriter.open(resp, 200)) {
+            w.beginObject();
+            w.name("success").value(true);
+            w.name("slowThresholdMs").value(tracer.getSlowThresholdMs());
+            w.name("queries").beginArray();
+            for (QueryTracer.QueryStats q : tracer.snapshot()) {
+                long count = q.getCount();
+                w.beginObject();
+                w.name("query").value(q.getQuery());
+                w.name("origin").value(q.getOrigin());
+                w.name("count").value(count);
+                w.name("totalMs").value(q.getLatency().getSumMicros() / 1000.0);
+                w.name("p50Ms").value(q.getLatency().percentileMicros(50) / 1000.0);
+                w.name("p99Ms").value(q.getLatency().percentileMicros(99) / 1000.0);
+                w.name("rows").value(q.getRows());
+                w.name("rowsPerCall").value(count == 0 ? 0.0 : (double) q.getRows() / count);
+                w.name("errors").value(q.getErrors());
+                w.name("sql").value(q.getSql());
+                w.endObject();
+            }
+            w.endArray();
+            w.endObject();
+        }
+    }
+
+    // ENTITY CACHES
+
+    private void writeCaches(PrometheusWriter w) {
+        List<TinyLfuCache<?, ?>> caches = Arrays.asList(RoomCache.getInstance().stats(), GuestCache.getInstance().stats(),
+                GuestReservationsCache.getInstance().stats());
+
+        w.header("oceanview_cache_requests_total", "counter", "Cache lookups by cache and result.");
+        for (TinyLfuCache<?, ?> c : caches) {
+            w.sample("oceanview_cache_requests_total", c.getHitCount(), "cache", c.getName(), "result", "hit");
+            w.sample("oceanview_cache_requests_total", c.getMissCount(), "cache", c.getName(), "result", "miss");
+        }
+
+        w.header("oceanview_cache_evictions_total", "counter", "Entries evicted for space by cache.");
+        for (TinyLfuCache<?, ?> c : caches) {
+            w.sample("oceanview_cache_evictions_total", c.getEvictionCount(), "cache", c.getName());
+        }
+
+        w.header("oceanview_cache_entries", "gauge", "Entries held by cache.");
+        for (TinyLfuCache<?, ?> c : caches) {
+            w.sample("oceanview_cache_entries", c.size(), "cache", c.getName());
+        }
+
+        w.header("oceanview_cache_weight", "gauge", "Weight held by cache, rooms count one each, the others their approximate bytes.");
+        for (TinyLfuCache<?, ?> c : caches) {
+            w.sample("oceanview_cache_weight", c.weight(), "cache", c.getName());
+        }
+    }
+
+    // LOGIN VERIFIER
+
+    private void writeLogins(PrometheusWriter w) {
+        PasswordVerifier verifier = PasswordVerifier.getInstance();
+
+        w.gauge("oceanview_login_verify_queue_depth", "Password checks waiting for a verifier thread.", verifier.getQueueDepth());
+        w.gauge("oceanview_login_verify_active", "Password checks running.", verifier.getActiveCount());
+        w.counter("oceanview_login_verified_total", "Password checks completed.", verifier.getVerifiedCount());
+        w.counter("oceanview_login_rejected_total", "Logins turned away because the verifier was busy.", verifier.getRejectedCount());
+        w.counter("oceanview_login_rehashed_total", "Password hashes moved to the configured cost.", verifier.getRehashedCount());
+        w.counter("oceanview_password_hashed_total", "Password hashes made for password writes.", verifier.getHashedCount());
+    }
+
+    // EMAIL OUTBOX
+
+    private void writeOutbox(PrometheusWriter w) {
+        EmailOutboxService outbox = EmailOutboxService.getInstance();
+
+        w.gauge("oceanview_email_outbox_depth", "Emails waiting to be sent.", outbox.getQueueDepth());
+        w.counter("oceanview_email_sent_total", "Emails delivered.", outbox.getSentCount());
+        w.counter("oceanview_email_retried_total", "Send attempts that will be retried.", outbox.getRetryCount());
+        w.counter("oceanview_email_failed_total", "Emails given up on.", outbox.getFailedCount());
+    }
+}
@@ -6,15 +6,24 @@ import com.oceanview.service.ReservationService;
 
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.*;
+import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.sql.Date;
-import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @WebServlet("/api/reports/export")
 public class ReportsExportServlet extends HttpServlet {
 
     private static final long serialVersionUID = 1L;
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
 	private ReservationService service;
 
     @Override
@@ -42,13 +51,13 @@ public class ReportsExportServlet extends HttpServlet {
         String from = req.getParameter("from");
         String to   = req.getParameter("to");
 
-        List<Reservation> list;
+        Date start = null;
+        Date end = null;
 
         try {
             if (from != null && !from.isEmpty() && to != null && !to.isEmpty()) {
-                list = service.getBetween(Date.valueOf(from), Date.valueOf(to));
-            } else {
-                list = service.listReservations();
+                start = Date.valueOf(from);
+                end = Date.valueOf(to);
             }
         } catch (Exception e) {
             resp.sendError(400, "Invalid date range");
@@ -60,31 +69,64 @@ public class ReportsExportServlet extends HttpServlet {
         resp.setHeader("Content-Disposition",
                 "attachment; filename=\"oceanview-report-" + (from != null ? from : "all") + ".csv\"");
 
-        PrintWriter pw = resp.getWriter();
+        boolean gzip = acceptsGzip(req);
+        resp.setHeader("Vary", "Accept-Encoding");
+        if (gzip) resp.setHeader("Content-Encoding", "gzip");
+
+        OutputStream out = resp.getOutputStream();
+        GZIPOutputStream gz = gzip ? new GZIPOutputStream(out, BUFFER_SIZE, true) : null;
+        Writer w = new BufferedWriter(
+                new OutputStreamWriter(gz != null ? gz : out, StandardCharsets.UTF_8), BUFFER_SIZE);
 
         // CSV Header
-        pw.println("Reservation No,Guest Name,Guest Email,Guest Phone,Room Number,Room Type,Check-In,Check-Out,Nights,Status,Total Amount,Amount Paid,Payment Status");
-
-        // CSV Rows
-        for (Reservation r : list) {
-            pw.println(
-                csv(r.getReservationNumber()) + "," +
-                csv(r.getGuestName())         + "," +
-                csv(r.getGuestEmail())        + "," +
-                csv(r.getGuestContactNumber())+ "," +
-                csv(r.getRoomNumber())        + "," +
-                csv(r.getRoomType())          + "," +
-                csv(String.valueOf(r.getCheckInDate()))  + "," +
-                csv(String.valueOf(r.getCheckOutDate())) + "," +
-                r.getNights()                 + "," +
-                csv(r.getStatus())            + "," +
-                r.getTotalAmount()            + "," +
-                r.getAmountPaid()             + "," +
-                csv(r.getPaymentStatus())
-            );
+        w.write("Reservation No,Guest Name,Guest Email,Guest Phone,Room Number,Room Type,Check-In,Check-Out,Nights,Status,Total Amount,Amount Paid,Payment Status\n");
+
+        // CSV Rows, written as the database returns them
+        int[] rows = {0};
+        try {
+            service.streamReservations(start, end, r -> {
+                try {
+                    writeRow(w, r);
+                    if (++rows[0] % FLUSH_EVERY_ROWS == 0) w.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // client went away
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            // headers are already out, cut the body short
+            log("Reservation export failed after " + rows[0] + " rows", e);
+            w.flush();
+            throw new IOException("Export failed", e);
         }
 
-        pw.flush();
+        w.flush();
+        if (gz != null) gz.finish();
+        out.flush();
+    }
+
+    private void writeRow(Writer w, Reservation r) throws IOException {
+        w.write(csv(r.getReservationNumber()));          w.write(',');
+        w.write(csv(r.getGuestName()));                  w.write(',');
+        w.write(csv(r.getGuestEmail()));                 w.write(',');
+        w.write(csv(r.getGuestContactNumber()));         w.write(',');
+        w.write(csv(r.getRoomNumber()));                 w.write(',');
+        w.write(csv(r.getRoomType()));                   w.write(',');
+        w.write(csv(String.valueOf(r.getCheckInDate())));  w.write(',');
+        w.write(csv(String.valueOf(r.getCheckOutDate()))); w.write(',');
+        w.write(Integer.toString(r.getNights()));        w.write(',');
+        w.write(csv(r.getStatus()));                     w.write(',');
+        w.write(Double.toString(r.getTotalAmount()));    w.write(',');
+        w.write(Double.toString(r.getAmountPaid()));     w.write(',');
+        w.write(csv(r.getPaymentStatus()));
+        w.write('\n');
+    }
+
+    private boolean acceptsGzip(HttpServletRequest req) {
+        String ae = req.getHeader("Accept-Encoding");
+        return ae != null && ae.toLowerCase().contains("gzip");
     }
 
     // Escape CSV values
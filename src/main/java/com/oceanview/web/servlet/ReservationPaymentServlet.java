@@ -3,6 +3,8 @@ package com.oceanview.web.servlet;
 import com.oceanview.model.ReservationPayment;
 import com.oceanview.model.User;
 import com.oceanview.service.ReservationPaymentService;
+import com.oceanview.web.json.JsonWriter;
+import com.oceanview.web.json.PaymentJson;
 
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.*;
@@ -49,11 +51,7 @@ public class ReservationPaymentServlet extends HttpServlet {
 
     // escape text
     private String esc(String s) {
-        if (s == null) return "";
-        return s.replace("\\", "\\\\")
-                .replace("\"", "\\\"")
-                .replace("\n", "\\n")
-                .replace("\r", "\\r");
+        return JsonWriter.escape(s);
     }
 
     @Override
@@ -79,21 +77,11 @@ public class ReservationPaymentServlet extends HttpServlet {
             int reservationId = Integer.parseInt(ridStr);
             List<ReservationPayment> payments = service.getPaymentHistory(reservationId);
 
-            StringBuilder sb = new StringBuilder("{\"success\":true,\"payments\":[");
-            for (int i = 0; i < payments.size(); i++) {
-                ReservationPayment p = payments.get(i);
-                sb.append("{")
-                        .append("\"paymentId\":").append(p.getPaymentId()).append(",")
-                        .append("\"reservationId\":").append(p.getReservationId()).append(",")
-                        .append("\"paidAmount\":").append(p.getPaidAmount()).append(",")
-                        .append("\"paidDate\":\"").append(p.getPaidDate()).append("\",")
-                        .append("\"method\":\"").append(esc(p.getMethod())).append("\",")
-                        .append("\"note\":\"").append(esc(p.getNote())).append("\"")
-                        .append("}");
-                if (i < payments.size() - 1) sb.append(",");
+            try (JsonWriter w = JsonWriter.open(resp, 200)) {
+                w.beginObject().name("success").value(true).name("payments");
+                w.array(payments, PaymentJson.PAYMENT);
+                w.endObject();
             }
-            sb.append("]}");
-            sendJson(resp, 200, sb.toString());
             return;
         }
 
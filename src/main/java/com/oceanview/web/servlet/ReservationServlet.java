@@ -1,15 +1,25 @@
 // ReservationServlet.java
 package com.oceanview.web.servlet;
 
+import com.oceanview.cache.CalendarCache;
+import com.oceanview.cache.DashboardStatsCache;
 import com.oceanview.model.Reservation;
+import com.oceanview.model.ReservationFilter;
+import com.oceanview.model.ReservationPage;
 import com.oceanview.model.User;
 import com.oceanview.service.ReservationService;
 import com.oceanview.util.Flash;
+import com.oceanview.web.ETags;
+import com.oceanview.web.json.JsonSerializer;
+import com.oceanview.web.json.JsonWriter;
+import com.oceanview.web.json.ReservationJson;
 
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.*;
 import java.io.IOException;
 import java.sql.Date;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 @WebServlet("/api/reservations/*")
@@ -46,17 +56,18 @@ public class ReservationServlet extends HttpServlet {
         resp.getWriter().write(json);
     }
 
-    private String esc(String s) {
-        if (s == null) return "";
-        return s.replace("\\", "\\\\")
-                .replace("\"", "\\\"")
-                .replace("\n", "\\n")
-                .replace("\r", "\\r");
+    // {"success":true,"<key>":[...]} streamed straight to the response
+    private <T> void sendList(HttpServletResponse resp, String key, List<T> items,
+                              JsonSerializer<? super T> serializer) throws IOException {
+        try (JsonWriter w = JsonWriter.open(resp, 200)) {
+            w.beginObject().name("success").value(true).name(key);
+            w.array(items, serializer);
+            w.endObject();
+        }
     }
 
-    private String plusOneDay(Date d) {
-        if (d == null) return "";
-        return Date.valueOf(d.toLocalDate().plusDays(1)).toString();
+    private String esc(String s) {
+        return JsonWriter.escape(s);
     }
 
     @Override
@@ -81,8 +92,17 @@ public class ReservationServlet extends HttpServlet {
 
             if (days <= 0) days = 30;
 
-            String json = service.getDashboardStatsJson(days);
-            sendJson(resp, 200, json);
+            // shared by every dashboard polling within the cache ttl
+            DashboardStatsCache.Stats stats = DashboardStatsCache.getInstance().get(days, service::getDashboardStatsJson);
+            resp.setHeader("ETag", stats.getEtag());
+            resp.setHeader("Cache-Control", "private, no-cache");
+
+            if (ETags.matches(req.getHeader("If-None-Match"), stats.getEtag())) {
+                resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+
+            sendJson(resp, 200, stats.getJson());
             return;
         }
 
@@ -96,18 +116,7 @@ public class ReservationServlet extends HttpServlet {
             int roomId = Integer.parseInt(roomIdStr);
             List<Reservation> list = service.getBookedByRoom(roomId);
 
-            StringBuilder sb = new StringBuilder("{\"success\":true,\"bookings\":[");
-            for (int i = 0; i < list.size(); i++) {
-                Reservation r = list.get(i);
-                sb.append("{")
-                        .append("\"reservationId\":").append(r.getReservationId()).append(",")
-                        .append("\"checkInDate\":\"").append(r.getCheckInDate()).append("\",")
-                        .append("\"checkOutDate\":\"").append(r.getCheckOutDate()).append("\"")
-                        .append("}");
-                if (i < list.size() - 1) sb.append(",");
-            }
-            sb.append("]}");
-            sendJson(resp, 200, sb.toString());
+            sendList(resp, "bookings", list, ReservationJson.BOOKING);
             return;
         }
 
@@ -119,38 +128,24 @@ public class ReservationServlet extends HttpServlet {
                 return;
             }
 
-            Date start = Date.valueOf(startStr);
-            Date end = Date.valueOf(endStr);
-
-            List<Reservation> list = service.getBetween(start, end);
-
-            StringBuilder sb = new StringBuilder("{\"success\":true,\"events\":[");
-            for (int i = 0; i < list.size(); i++) {
-                Reservation r = list.get(i);
-
-                sb.append("{")
-                        .append("\"id\":").append(r.getReservationId()).append(",")
-                        .append("\"title\":\"").append(esc(r.getReservationNumber())).append("\",")
-                        .append("\"start\":\"").append(r.getCheckInDate()).append("\",")
-                        .append("\"end\":\"").append(plusOneDay(r.getCheckOutDate())).append("\",")
-                        .append("\"allDay\":true,")
-                        .append("\"extendedProps\":{")
-                        .append("\"reservationNumber\":\"").append(esc(r.getReservationNumber())).append("\",")
-                        .append("\"guestName\":\"").append(esc(r.getGuestName())).append("\",")
-                        .append("\"guestContactNumber\":\"").append(esc(r.getGuestContactNumber())).append("\",")
-                        .append("\"roomNumber\":\"").append(esc(r.getRoomNumber())).append("\",")
-                        .append("\"checkInDate\":\"").append(r.getCheckInDate()).append("\",")
-                        .append("\"checkOutDate\":\"").append(r.getCheckOutDate()).append("\",")
-                        .append("\"status\":\"").append(esc(r.getStatus())).append("\",")
-                        .append("\"amountPaid\":").append(r.getAmountPaid()).append(",")
-                        .append("\"paymentStatus\":\"").append(esc(r.getPaymentStatus())).append("\"")
-                        .append("}")
-                        .append("}");
-
-                if (i < list.size() - 1) sb.append(",");
+            LocalDate start;
+            LocalDate end;
+            try {
+                start = LocalDate.parse(startStr.trim());
+                end = LocalDate.parse(endStr.trim());
+            } catch (DateTimeParseException e) {
+                sendJson(resp, 400, "{\"success\":false,\"message\":\"start and end must be yyyy-MM-dd\"}");
+                return;
+            }
+
+            // events come pre-encoded from the month buckets
+            List<String> events = CalendarCache.getInstance().events(start, end);
+
+            try (JsonWriter w = JsonWriter.open(resp, 200)) {
+                w.beginObject().name("success").value(true).name("events").beginArray();
+                for (String e : events) w.rawValue(e);
+                w.endArray().endObject();
             }
-            sb.append("]}");
-            sendJson(resp, 200, sb.toString());
             return;
         }
 
@@ -168,87 +163,71 @@ public class ReservationServlet extends HttpServlet {
                 return;
             }
 
-            String json =
-                    "{\"success\":true,\"reservation\":{" +
-                            "\"reservationId\":" + r.getReservationId() + "," +
-                            "\"reservationNumber\":\"" + esc(r.getReservationNumber()) + "\"," +
-                            "\"guestId\":" + r.getGuestId() + "," +
-                            "\"roomId\":" + r.getRoomId() + "," +
-                            "\"guestName\":\"" + esc(r.getGuestName()) + "\"," +
-                            "\"guestEmail\":\"" + esc(r.getGuestEmail()) + "\"," +
-                            "\"guestContactNumber\":\"" + esc(r.getGuestContactNumber()) + "\"," +
-                            "\"roomNumber\":\"" + esc(r.getRoomNumber()) + "\"," +
-                            "\"roomType\":\"" + esc(r.getRoomType()) + "\"," +
-                            "\"checkInDate\":\"" + r.getCheckInDate() + "\"," +
-                            "\"checkOutDate\":\"" + r.getCheckOutDate() + "\"," +
-                            "\"status\":\"" + esc(r.getStatus()) + "\"," +
-                            "\"notes\":\"" + esc(r.getNotes()) + "\"," +
-                            "\"nights\":" + r.getNights() + "," +
-                            "\"ratePerNight\":" + r.getRatePerNight() + "," +
-                            "\"subtotal\":" + r.getSubtotal() + "," +
-                            "\"discount\":" + r.getDiscount() + "," +
-                            "\"tax\":" + r.getTax() + "," +
-                            "\"totalAmount\":" + r.getTotalAmount() + "," +
-                            "\"amountPaid\":" + r.getAmountPaid() + "," +
-                            "\"paymentStatus\":\"" + esc(r.getPaymentStatus()) + "\"" +
-                            "}}";
-
-            sendJson(resp, 200, json);
+            try (JsonWriter w = JsonWriter.open(resp, 200)) {
+                w.beginObject().name("success").value(true).name("reservation");
+                ReservationJson.DETAIL.write(w, r);
+                w.endObject();
+            }
             return;
         }
 
         if ("/recent-checkins".equals(path)) {
             List<Reservation> recentCheckins = service.getRecentCheckins();
 
-            StringBuilder sb = new StringBuilder("{\"success\":true,\"checkins\":[");
-            for (int i = 0; i < recentCheckins.size(); i++) {
-                Reservation r = recentCheckins.get(i);
-                sb.append("{")
-                        .append("\"id\":").append(r.getReservationId()).append(",")
-                        .append("\"reservationNumber\":\"").append(esc(r.getReservationNumber())).append("\",")
-                        .append("\"guestName\":\"").append(esc(r.getGuestName())).append("\",")
-                        .append("\"roomNumber\":\"").append(esc(r.getRoomNumber())).append("\",")
-                        .append("\"checkInDate\":\"").append(r.getCheckInDate()).append("\",")
-                        .append("\"status\":\"").append(esc(r.getStatus())).append("\"")
-                        .append("}");
-                if (i < recentCheckins.size() - 1) sb.append(",");
-            }
-            sb.append("]}");
-            sendJson(resp, 200, sb.toString());
+            sendList(resp, "checkins", recentCheckins, ReservationJson.CHECKIN);
+            return;
+        }
+
+        if ("/latest-stays".equals(path)) {
+            List<Reservation> stays = service.getLatestStays(6);
+
+            sendList(resp, "reservations", stays, ReservationJson.SUMMARY);
+            return;
+        }
+
+        if (isPaged(req)) {
+            sendPage(req, resp);
             return;
         }
 
         List<Reservation> list = service.listReservations();
 
-        StringBuilder sb = new StringBuilder("{\"success\":true,\"reservations\":[");
-        for (int i = 0; i < list.size(); i++) {
-            Reservation r = list.get(i);
-
-            sb.append("{")
-            .append("\"reservationId\":").append(r.getReservationId()).append(",")
-            .append("\"reservationNumber\":\"").append(esc(r.getReservationNumber())).append("\",")
-            .append("\"guestId\":").append(r.getGuestId()).append(",")
-            .append("\"roomId\":").append(r.getRoomId()).append(",")
-            .append("\"checkInDate\":\"").append(r.getCheckInDate()).append("\",")
-            .append("\"checkOutDate\":\"").append(r.getCheckOutDate()).append("\",")
-            .append("\"status\":\"").append(esc(r.getStatus())).append("\",")
-            .append("\"nights\":").append(r.getNights()).append(",")
-            .append("\"totalAmount\":").append(r.getTotalAmount()).append(",")
-            .append("\"guestName\":\"").append(esc(r.getGuestName())).append("\",")
-            .append("\"guestEmail\":\"").append(esc(r.getGuestEmail())).append("\",")
-            .append("\"guestContactNumber\":\"").append(esc(r.getGuestContactNumber())).append("\",")
-            .append("\"roomNumber\":\"").append(esc(r.getRoomNumber())).append("\",")
-            .append("\"roomType\":\"").append(esc(r.getRoomType())).append("\",")  // ADD THIS
-            .append("\"amountPaid\":").append(r.getAmountPaid()).append(",")
-            .append("\"paymentStatus\":\"").append(esc(r.getPaymentStatus())).append("\"")
-            .append("}");
-
-
-            if (i < list.size() - 1) sb.append(",");
+        sendList(resp, "reservations", list, ReservationJson.SUMMARY);
+    }
+
+    private static final String[] PAGE_PARAMS = {"limit", "cursor", "status", "paymentStatus", "from", "to", "roomId"};
+
+    // the unpaged listing stays for older clients that send none of these
+    private boolean isPaged(HttpServletRequest req) {
+        for (String p : PAGE_PARAMS) {
+            if (req.getParameter(p) != null) return true;
+        }
+        return false;
+    }
+
+    // {"success":true,"reservations":[...],"nextCursor":"..."} with nextCursor null on the last page
+    private void sendPage(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        ReservationPage page;
+        try {
+            ReservationFilter filter = ReservationFilter.fromParams(req.getParameterMap());
+
+            int limit = 0;
+            String l = req.getParameter("limit");
+            if (l != null && !l.trim().isEmpty()) limit = Integer.parseInt(l.trim());
+
+            page = service.listReservationsPage(req.getParameter("cursor"), limit, filter);
+
+        } catch (IllegalArgumentException e) {
+            sendJson(resp, 400, "{\"success\":false,\"message\":\"" + esc(e.getMessage()) + "\"}");
+            return;
         }
-        sb.append("]}");
 
-        sendJson(resp, 200, sb.toString());
+        try (JsonWriter w = JsonWriter.open(resp, 200)) {
+            w.beginObject().name("success").value(true).name("reservations");
+            w.array(page.getReservations(), ReservationJson.SUMMARY);
+            w.name("nextCursor").value(page.getNextCursor());
+            w.endObject();
+        }
     }
 
     @Override
@@ -4,6 +4,8 @@ import com.oceanview.model.Room;
 import com.oceanview.model.User;
 import com.oceanview.service.ReservationService;
 import com.oceanview.service.RoomService;
+import com.oceanview.web.json.JsonWriter;
+import com.oceanview.web.json.RoomJson;
 
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.*;
@@ -64,11 +66,7 @@ public class RoomServlet extends HttpServlet {
 
     // escape text
     private String esc(String s) {
-        if (s == null) return "";
-        return s.replace("\\", "\\\\")
-                .replace("\"", "\\\"")
-                .replace("\n", "\\n")
-                .replace("\r", "\\r");
+        return JsonWriter.escape(s);
     }
 
     @Override
@@ -131,18 +129,11 @@ public class RoomServlet extends HttpServlet {
                     return;
                 }
 
-                sendJson(resp, 200,
-                        "{\"success\":true,\"room\":{" +
-                                "\"roomId\":" + r.getRoomId() + "," +
-                                "\"roomNumber\":\"" + esc(r.getRoomNumber()) + "\"," +
-                                "\"roomType\":\"" + esc(r.getRoomType()) + "\"," +
-                                "\"price\":" + r.getRatePerNight() + "," +
-                                "\"maxGuests\":" + r.getMaxGuests() + "," +
-                                "\"status\":\"" + esc(r.getStatus()) + "\"," +
-                                "\"description\":\"" + esc(r.getDescription()) + "\"," +
-                                "\"imageUrl\":\"" + esc(r.getImageUrl()) + "\"" +
-                                "}}"
-                );
+                try (JsonWriter w = JsonWriter.open(resp, 200)) {
+                    w.beginObject().name("success").value(true).name("room");
+                    RoomJson.ROOM.write(w, r);
+                    w.endObject();
+                }
                 return;
 
             } catch (NumberFormatException e) {
@@ -154,27 +145,12 @@ public class RoomServlet extends HttpServlet {
         // list rooms
         try {
             List<Room> rooms = roomService.listRooms();
-            StringBuilder sb = new StringBuilder("{\"success\":true,\"rooms\":[");
-
-            for (int i = 0; i < rooms.size(); i++) {
-                Room r = rooms.get(i);
-
-                sb.append("{")
-                        .append("\"roomId\":").append(r.getRoomId()).append(",")
-                        .append("\"roomNumber\":\"").append(esc(r.getRoomNumber())).append("\",")
-                        .append("\"roomType\":\"").append(esc(r.getRoomType())).append("\",")
-                        .append("\"price\":").append(r.getRatePerNight()).append(",")
-                        .append("\"maxGuests\":").append(r.getMaxGuests()).append(",")
-                        .append("\"status\":\"").append(esc(r.getStatus())).append("\",")
-                        .append("\"description\":\"").append(esc(r.getDescription())).append("\",")
-                        .append("\"imageUrl\":\"").append(esc(r.getImageUrl())).append("\"")
-                        .append("}");
-
-                if (i < rooms.size() - 1) sb.append(",");
-            }
 
-            sb.append("]}");
-            sendJson(resp, 200, sb.toString());
+            try (JsonWriter w = JsonWriter.open(resp, 200)) {
+                w.beginObject().name("success").value(true).name("rooms");
+                w.array(rooms, RoomJson.ROOM);
+                w.endObject();
+            }
         } catch (Exception e) {
             sendJson(resp, 500, "{\"success\":false,\"message\":\"" + esc(e.getMessage()) + "\"}");
         }
@@ -0,0 +1,5 @@
+-- availability lookups filter reservations by room, status and date window
+-- covers ReservationDAO.findRoomsWithAvailability and the overlap checks
+
+ALTER TABLE `reservations`
+  ADD KEY `idx_res_room_status_dates` (`room_id`, `status`, `check_in_date`, `check_out_date`);
@@ -0,0 +1,17 @@
+-- per check-in date counter for RES-yyyyMMdd-NNN numbers
+-- next_value is the next unreserved number, allocators take blocks from it
+
+CREATE TABLE IF NOT EXISTS `reservation_sequences` (
+  `seq_date` date NOT NULL,
+  `next_value` int(11) NOT NULL,
+  PRIMARY KEY (`seq_date`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
+
+-- continue after numbers already issued
+INSERT INTO `reservation_sequences` (`seq_date`, `next_value`)
+SELECT STR_TO_DATE(SUBSTRING(reservation_number, 5, 8), '%Y%m%d'),
+       MAX(CAST(SUBSTRING(reservation_number, 14) AS UNSIGNED)) + 1
+FROM `reservations`
+WHERE reservation_number LIKE 'RES-________-%'
+GROUP BY SUBSTRING(reservation_number, 5, 8)
+ON DUPLICATE KEY UPDATE `next_value` = GREATEST(`next_value`, VALUES(`next_value`));
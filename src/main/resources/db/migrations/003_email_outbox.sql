@@ -0,0 +1,20 @@
+-- outgoing emails, drained by EmailOutboxService
+-- next_attempt_at doubles as the claim lease while status is SENDING
+-- secret holds a temporary password sealed with SecretBox, merged into the body only at send
+-- time and cleared once the row is SENT or FAILED
+
+CREATE TABLE IF NOT EXISTS `email_outbox` (
+  `outbox_id` bigint(20) NOT NULL AUTO_INCREMENT,
+  `to_email` varchar(255) NOT NULL,
+  `subject` varchar(255) NOT NULL,
+  `body` text NOT NULL,
+  `secret` varchar(255) DEFAULT NULL,
+  `status` enum('PENDING','SENDING','SENT','FAILED') NOT NULL DEFAULT 'PENDING',
+  `attempts` int(11) NOT NULL DEFAULT 0,
+  `next_attempt_at` datetime NOT NULL DEFAULT current_timestamp(),
+  `last_error` varchar(500) DEFAULT NULL,
+  `created_at` datetime NOT NULL DEFAULT current_timestamp(),
+  `sent_at` datetime DEFAULT NULL,
+  PRIMARY KEY (`outbox_id`),
+  KEY `idx_outbox_status_due` (`status`, `next_attempt_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
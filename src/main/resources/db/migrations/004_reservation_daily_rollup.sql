@@ -0,0 +1,17 @@
+-- per day and room type totals for the dashboard, maintained by ReservationRollupService
+-- bookings/revenue/arrivals count reservations checking in that day,
+-- room_nights count stays in house over that night
+-- unique guests is the one dashboard figure not kept here: distinct guests don't add up across
+-- days or room types, so it is counted from reservations over the range shown
+
+CREATE TABLE IF NOT EXISTS `reservation_daily_rollup` (
+  `day` date NOT NULL,
+  `room_type` varchar(50) NOT NULL DEFAULT '',
+  `bookings` int(11) NOT NULL DEFAULT 0,
+  `revenue` decimal(12,2) NOT NULL DEFAULT 0.00,
+  `arrivals` int(11) NOT NULL DEFAULT 0,
+  `active_arrivals` int(11) NOT NULL DEFAULT 0,
+  `room_nights` int(11) NOT NULL DEFAULT 0,
+  `active_room_nights` int(11) NOT NULL DEFAULT 0,
+  PRIMARY KEY (`day`, `room_type`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
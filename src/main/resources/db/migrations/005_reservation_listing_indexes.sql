@@ -0,0 +1,6 @@
+-- keyset listing walks reservations by id, newest first, optionally narrowed by status or payment status
+-- covers ReservationDAO.findPage, the filter column leads so the id range is read in index order
+
+ALTER TABLE `reservations`
+  ADD KEY `idx_res_status_id` (`status`, `reservation_id`),
+  ADD KEY `idx_res_payment_status_id` (`payment_status`, `reservation_id`);
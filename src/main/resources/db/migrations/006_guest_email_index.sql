@@ -0,0 +1,5 @@
+-- guest login reads one row by email and checks the bcrypt hash in the application
+-- covers GuestDAO.findByEmail; passwords are hashed on write and legacy plaintext rows on first login
+
+ALTER TABLE `guests`
+  ADD KEY `idx_guests_email` (`email`);
@@ -7,6 +7,11 @@ let guestSearchTimer = null;
 let lastGuestResults = [];
 let bookedRanges = [];
 let reservationsCache = [];
+let reservationsCursor = null;
+let reservationsLoading = false;
+let reservationsLoadId = 0;   // bumped by every reload, older page responses are dropped
+
+const RESERVATION_PAGE_SIZE = 50;
 let calendar = null;
 
 document.addEventListener("DOMContentLoaded", () => {
@@ -511,9 +516,25 @@ async function viewReservation(id) {
 }
 
 
+// the grid row when that page is loaded, otherwise the server's copy
+async function findReservationForEdit(id) {
+  const cached = reservationsCache.find(x => Number(x.reservationId) === Number(id));
+  if (cached) return cached;
+
+  try {
+    const res = await fetch(`${BASE}/api/reservations/detail?id=${encodeURIComponent(id)}`, {
+      credentials: "same-origin"
+    });
+    const data = await res.json();
+    return res.ok ? (data.reservation || null) : null;
+  } catch (e) {
+    return null;
+  }
+}
+
 async function openEditReservationModal(id) {
-  const r = reservationsCache.find(x => Number(x.reservationId) === Number(id));
-  if (!r) { showAlert("page", "Reservation not found in table.", "warning"); return; }
+  const r = await findReservationForEdit(id);
+  if (!r) { showAlert("page", "Reservation not found.", "warning"); return; }
 
   resetReservationForm();
   document.getElementById("reservationModalTitle").innerHTML =
@@ -676,14 +697,18 @@ async function saveReservation() {
   }
 }
 
-function renderRecentCheckins() {
+async function renderRecentCheckins() {
   const wrap = document.getElementById("recentCheckins");
   if (!wrap) return;
 
-  const list = (reservationsCache || [])
-    .filter(r => ["CHECKED_IN", "CONFIRMED"].includes(String(r.status || "").toUpperCase()))
-    .sort((a, b) => new Date(b.checkInDate) - new Date(a.checkInDate))
-    .slice(0, 6);
+  // the grid only holds the pages loaded so far, ask the server for the 6 latest
+  // checked-in/confirmed stays, upcoming ones included
+  let list = [];
+  try {
+    const res = await fetch(`${BASE}/api/reservations/latest-stays`, { credentials: "same-origin" });
+    const data = await res.json();
+    if (res.ok) list = data.reservations || [];
+  } catch (e) {}
 
   const count = document.getElementById("checkInCount");
   if (count) count.textContent = String(list.length);
@@ -786,64 +811,106 @@ function initCalendarIfNeeded() {
   calendar.render();
 }
 
+function reservationRow(r) {
+  return `
+    <tr>
+      <td class="fw-semibold">${r.reservationId}</td>
+      <td>${escapeHtml(r.guestName || String(r.guestId || ""))}</td>
+      <td>${escapeHtml(r.guestEmail || "-")}</td>
+      <td>${escapeHtml(r.roomNumber || String(r.roomId || ""))}</td>
+      <td>${r.checkInDate}</td>
+      <td>${r.checkOutDate}</td>
+      <td>
+        <span class="badge bg-${
+          r.status === 'CONFIRMED' ? 'success' :
+          r.status === 'PENDING' ? 'warning' :
+          r.status === 'CHECKED_IN' ? 'info' : 'secondary'
+        }">${escapeHtml(r.status || "-")}</span>
+      </td>
+      <td class="text-end">${(r.totalAmount != null) ? money(r.totalAmount) : "-"}</td>
+      <td class="text-end text-nowrap">
+        <button class="btn btn-outline-secondary btn-sm" onclick="viewReservation(${r.reservationId})">View</button>
+        <button class="btn btn-outline-secondary btn-sm" onclick="openEditReservationModal(${r.reservationId})">Edit</button>
+        <button class="btn btn-outline-primary btn-sm" onclick="openInvoice(${r.reservationId})">Invoice</button>
+        <button class="btn btn-outline-danger btn-sm" onclick="deleteReservation(${r.reservationId})">Delete</button>
+      </td>
+    </tr>
+  `;
+}
+
+function setLoadMoreVisible(visible) {
+  const btn = document.getElementById("loadMoreReservations");
+  if (btn) btn.style.display = visible ? "" : "none";
+}
+
+// first page, replaces the grid
 async function loadReservations() {
   hideAlert("page");
+  reservationsLoadId++;
+  reservationsCache = [];
+  reservationsCursor = null;
+  setLoadMoreVisible(false);
   if (tbody) tbody.innerHTML = `<tr><td colspan="9" class="text-muted">Loading...</td></tr>`;
 
+  const ok = await fetchReservationPage(null);
+  if (!ok) return;
+
+  if (!reservationsCache.length && tbody) {
+    tbody.innerHTML = `<tr><td colspan="9" class="text-muted">No reservations found.</td></tr>`;
+  }
+
+  renderRecentCheckins();
+  if (calendar) calendar.refetchEvents();
+}
+
+// next page, appended below the rows already shown
+async function loadMoreReservations() {
+  if (!reservationsCursor || reservationsLoading) return;
+  await fetchReservationPage(reservationsCursor);
+}
+
+async function fetchReservationPage(cursor) {
+  const loadId = reservationsLoadId;
+  reservationsLoading = true;
   try {
-    const res = await fetch(`${BASE}/api/reservations`, { credentials: "same-origin" });
+    let url = `${BASE}/api/reservations?limit=${RESERVATION_PAGE_SIZE}`;
+    if (cursor) url += `&cursor=${encodeURIComponent(cursor)}`;
+
+    const res = await fetch(url, { credentials: "same-origin" });
     const txt = await res.text();
+
+    // the grid was reloaded meanwhile, this page belongs to the old one
+    if (loadId !== reservationsLoadId) return false;
+
     let data = {};
     try { data = JSON.parse(txt); } catch (e) {}
 
     if (!res.ok) {
       showAlert("page", data.message || "Failed to load reservations.", "danger");
-      if (tbody) tbody.innerHTML = `<tr><td colspan="9" class="text-danger">Failed to load.</td></tr>`;
-      return;
+      if (!cursor && tbody) tbody.innerHTML = `<tr><td colspan="9" class="text-danger">Failed to load.</td></tr>`;
+      return false;
     }
 
     const list = data.reservations || [];
-    reservationsCache = list;
-
-    if (!list.length) {
-      if (tbody) tbody.innerHTML = `<tr><td colspan="9" class="text-muted">No reservations found.</td></tr>`;
-      renderRecentCheckins();
-      return;
-    }
+    const html = list.map(reservationRow).join("");
 
     if (tbody) {
-      tbody.innerHTML = list.map(r => `
-        <tr>
-          <td class="fw-semibold">${r.reservationId}</td>
-          <td>${escapeHtml(r.guestName || String(r.guestId || ""))}</td>
-          <td>${escapeHtml(r.guestEmail || "-")}</td>
-          <td>${escapeHtml(r.roomNumber || String(r.roomId || ""))}</td>
-          <td>${r.checkInDate}</td>
-          <td>${r.checkOutDate}</td>
-          <td>
-            <span class="badge bg-${
-              r.status === 'CONFIRMED' ? 'success' :
-              r.status === 'PENDING' ? 'warning' :
-              r.status === 'CHECKED_IN' ? 'info' : 'secondary'
-            }">${escapeHtml(r.status || "-")}</span>
-          </td>
-          <td class="text-end">${(r.totalAmount != null) ? money(r.totalAmount) : "-"}</td>
-          <td class="text-end text-nowrap">
-            <button class="btn btn-outline-secondary btn-sm" onclick="viewReservation(${r.reservationId})">View</button>
-            <button class="btn btn-outline-secondary btn-sm" onclick="openEditReservationModal(${r.reservationId})">Edit</button>
-            <button class="btn btn-outline-primary btn-sm" onclick="openInvoice(${r.reservationId})">Invoice</button>
-            <button class="btn btn-outline-danger btn-sm" onclick="deleteReservation(${r.reservationId})">Delete</button>
-          </td>
-        </tr>
-      `).join("");
+      if (!cursor) tbody.innerHTML = html;
+      else tbody.insertAdjacentHTML("beforeend", html);
     }
 
-    renderRecentCheckins();
-    if (calendar) calendar.refetchEvents();
+    reservationsCache = reservationsCache.concat(list);
+    reservationsCursor = data.nextCursor || null;
+    setLoadMoreVisible(!!reservationsCursor);
+    return true;
 
   } catch (err) {
+    if (loadId !== reservationsLoadId) return false;
     showAlert("page", "Network error: " + err.message, "danger");
-    if (tbody) tbody.innerHTML = `<tr><td colspan="9" class="text-danger">Failed to load.</td></tr>`;
+    if (!cursor && tbody) tbody.innerHTML = `<tr><td colspan="9" class="text-danger">Failed to load.</td></tr>`;
+    return false;
+  } finally {
+    if (loadId === reservationsLoadId) reservationsLoading = false;
   }
 }
 
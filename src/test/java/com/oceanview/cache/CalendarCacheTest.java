@@ -0,0 +1,107 @@
+package com.oceanview.cache;
+
+import com.oceanview.dao.ReservationDAO;
+import com.oceanview.model.Reservation;
+import org.junit.jupiter.api.*;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class CalendarCacheTest {
+
+    private final List<Reservation> rows = new ArrayList<>();
+    private ReservationDAO dao;
+    private CalendarCache cache;
+
+    @BeforeEach
+    void setup() {
+        rows.clear();
+        rows.add(stay(1, "2026-03-05", "2026-03-08"));
+        rows.add(stay(2, "2026-03-29", "2026-04-03"));   // crosses into april
+        rows.add(stay(3, "2026-04-10", "2026-04-12"));
+        rows.add(stay(4, "2026-06-01", "2026-06-04"));
+
+        dao = mock(ReservationDAO.class);
+        when(dao.findBetween(any(), any())).thenAnswer(inv -> {
+            Date start = inv.getArgument(0);
+            Date end = inv.getArgument(1);
+            return rows.stream()
+                    .filter(r -> r.getCheckInDate().before(end) && r.getCheckOutDate().after(start))
+                    .sorted(Comparator.comparing(Reservation::getCheckInDate))
+                    .collect(Collectors.toList());
+        });
+
+        cache = new CalendarCache(dao, r -> "{\"id\":" + r.getReservationId() + "}");
+    }
+
+    private Reservation stay(int id, String in, String out) {
+        Reservation r = new Reservation();
+        r.setReservationId(id);
+        r.setCheckInDate(Date.valueOf(in));
+        r.setCheckOutDate(Date.valueOf(out));
+        return r;
+    }
+
+    private List<String> view(String start, String end) {
+        return cache.events(LocalDate.parse(start), LocalDate.parse(end));
+    }
+
+    @Test
+    void TEST_CASE_01_events_shouldAssembleMonths_onceEachAndInOrder() {
+        List<String> events = view("2026-03-01", "2026-05-01");
+
+        assertEquals(Arrays.asList("{\"id\":1}", "{\"id\":2}", "{\"id\":3}"), events);
+        assertEquals(2, cache.bucketCount());
+
+        // paging back and forth is served from the buckets
+        assertEquals(events, view("2026-03-01", "2026-05-01"));
+        assertEquals(Arrays.asList("{\"id\":2}", "{\"id\":3}"), view("2026-04-01", "2026-05-01"));
+        verify(dao, times(2)).findBetween(any(), any());
+    }
+
+    @Test
+    void TEST_CASE_02_invalidate_shouldReloadOnlyTouchedMonths() {
+        view("2026-03-01", "2026-07-01");
+        clearInvocations(dao);
+
+        rows.add(stay(5, "2026-06-20", "2026-06-22"));
+        cache.invalidate(Date.valueOf("2026-06-20"), Date.valueOf("2026-06-22"));
+
+        assertTrue(view("2026-06-01", "2026-07-01").contains("{\"id\":5}"));
+        assertEquals(3, view("2026-03-01", "2026-05-01").size());
+        verify(dao, times(1)).findBetween(any(), any());
+    }
+
+    @Test
+    void TEST_CASE_03_invalidateReservation_shouldDropEveryMonthHoldingIt() {
+        view("2026-03-01", "2026-07-01");
+        assertEquals(4, cache.bucketCount());
+
+        rows.removeIf(r -> r.getReservationId() == 2);
+        cache.invalidateReservation(2);
+
+        assertEquals(2, cache.bucketCount());
+        assertEquals(Arrays.asList("{\"id\":1}", "{\"id\":3}"), view("2026-03-01", "2026-05-01"));
+    }
+
+    @Test
+    void TEST_CASE_04_events_shouldReloadExpiredMonths_forChangesMadeElsewhere() {
+        cache = new CalendarCache(dao, r -> "{\"id\":" + r.getReservationId() + "}", 0);
+        view("2026-06-01", "2026-07-01");
+
+        // written by another node, no invalidation reaches this one
+        rows.add(stay(5, "2026-06-20", "2026-06-22"));
+
+        assertTrue(view("2026-06-01", "2026-07-01").contains("{\"id\":5}"));
+        verify(dao, times(2)).findBetween(any(), any());
+    }
+}
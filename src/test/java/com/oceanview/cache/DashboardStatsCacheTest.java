@@ -0,0 +1,86 @@
+package com.oceanview.cache;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DashboardStatsCacheTest {
+
+    private DashboardStatsCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setup() {
+        cache = new DashboardStatsCache(60_000);
+        loads = new AtomicInteger();
+    }
+
+    private String load(int days) {
+        loads.incrementAndGet();
+        return "{\"success\":true,\"days\":" + days + ",\"load\":" + loads.get() + "}";
+    }
+
+    @Test
+    void TEST_CASE_01_concurrentGets_shouldShareOneComputation() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(50);
+        try {
+            List<Future<DashboardStatsCache.Stats>> results = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                results.add(pool.submit(() -> cache.get(30, days -> {
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return load(days);
+                })));
+            }
+
+            Thread.sleep(100);
+            release.countDown();
+
+            String etag = results.get(0).get(5, TimeUnit.SECONDS).getEtag();
+            for (Future<DashboardStatsCache.Stats> f : results) {
+                assertEquals(etag, f.get(5, TimeUnit.SECONDS).getEtag());
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void TEST_CASE_02_invalidate_shouldRecompute_andKeyByDays() {
+        DashboardStatsCache.Stats first = cache.get(30, this::load);
+        assertSame(first, cache.get(30, this::load));
+
+        cache.get(7, this::load);
+        assertEquals(2, loads.get());
+
+        cache.invalidate();
+        DashboardStatsCache.Stats fresh = cache.get(30, this::load);
+
+        assertEquals(3, loads.get());
+        assertNotEquals(first.getEtag(), fresh.getEtag());
+    }
+
+    @Test
+    void TEST_CASE_03_failedLoad_shouldNotBeCached() {
+        assertThrows(IllegalStateException.class, () -> cache.get(30, days -> {
+            throw new IllegalStateException("db down");
+        }));
+
+        assertNotNull(cache.get(30, this::load));
+        assertEquals(1, loads.get());
+    }
+}
@@ -0,0 +1,117 @@
+package com.oceanview.cache;
+
+import com.oceanview.model.Reservation;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GuestReservationsCacheTest {
+
+    private final Map<Integer, List<Reservation>> rows = new HashMap<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private GuestReservationsCache cache;
+
+    @BeforeEach
+    void setup() {
+        rows.clear();
+        rows.put(1, new ArrayList<>(List.of(stay(10), stay(11))));
+        rows.put(2, new ArrayList<>(List.of(stay(20))));
+        loads.set(0);
+
+        cache = new GuestReservationsCache(64 * 1024, 0, list -> list.stream()
+                .map(r -> String.valueOf(r.getReservationId()))
+                .collect(Collectors.joining(",", "[", "]")));
+    }
+
+    private Reservation stay(int id) {
+        Reservation r = new Reservation();
+        r.setReservationId(id);
+        return r;
+    }
+
+    private List<Reservation> load(int guestId) {
+        loads.incrementAndGet();
+        return new ArrayList<>(rows.getOrDefault(guestId, List.of()));
+    }
+
+    @Test
+    void TEST_CASE_01_get_shouldServeRepeatsWithoutLoading() {
+        GuestReservationsCache.Entry first = cache.get(1, this::load);
+
+        assertEquals("[10,11]", first.getJson());
+        assertTrue(first.getEtag().startsWith("\""));
+        assertSame(first, cache.get(1, this::load));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void TEST_CASE_02_invalidateGuest_shouldIssueNewVersion_andLeaveOthers() {
+        GuestReservationsCache.Entry one = cache.get(1, this::load);
+        GuestReservationsCache.Entry two = cache.get(2, this::load);
+
+        rows.get(1).add(stay(12));
+        cache.invalidateGuest(1);
+
+        GuestReservationsCache.Entry fresh = cache.get(1, this::load);
+        assertEquals("[10,11,12]", fresh.getJson());
+        assertNotEquals(one.getEtag(), fresh.getEtag());
+        assertSame(two, cache.get(2, this::load));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void TEST_CASE_03_invalidateReservation_shouldFindItsGuest() {
+        GuestReservationsCache.Entry before = cache.get(2, this::load);
+
+        cache.invalidateReservation(20);
+        assertNotSame(before, cache.get(2, this::load));
+        assertEquals(2, loads.get());
+
+        // a load overlapping an invalidation is served but not kept
+        cache.invalidateAll();
+        cache.get(1, guestId -> {
+            List<Reservation> list = load(guestId);
+            cache.invalidateGuest(1);
+            return list;
+        });
+        int loaded = loads.get();
+        cache.get(1, this::load);
+        assertEquals(loaded + 1, loads.get());
+    }
+
+    @Test
+    void TEST_CASE_04_get_shouldReload_onceTheTtlHasPassed() throws Exception {
+        cache = new GuestReservationsCache(64 * 1024, 20, list -> String.valueOf(list.size()));
+        GuestReservationsCache.Entry first = cache.get(1, this::load);
+
+        // added by another node, nothing here invalidates it
+        rows.get(1).add(stay(12));
+        assertSame(first, cache.get(1, this::load));
+
+        Thread.sleep(40);
+        assertEquals("3", cache.get(1, this::load).getJson());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void TEST_CASE_05_rebuild_shouldKeepTheEtag_whileTheListIsUnchanged() {
+        GuestReservationsCache.Entry first = cache.get(1, this::load);
+
+        // dropped without a change, as after expiry, eviction or on another node
+        cache.invalidateAll();
+        GuestReservationsCache other = new GuestReservationsCache(64 * 1024, 0, list -> list.stream()
+                .map(r -> String.valueOf(r.getReservationId()))
+                .collect(Collectors.joining(",", "[", "]")));
+
+        assertEquals(first.getEtag(), cache.get(1, this::load).getEtag());
+        assertEquals(first.getEtag(), other.get(1, this::load).getEtag());
+        assertEquals(3, loads.get());
+    }
+}
@@ -0,0 +1,89 @@
+package com.oceanview.cache;
+
+import com.oceanview.model.Guest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GuestSearchIndexTest {
+
+    private GuestSearchIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new GuestSearchIndex(null);
+        index.rebuild(Arrays.asList(
+                guest(1, "Nimal Perera", "nimal@example.com", "077 123 4567"),
+                guest(2, "Kamala Silva", "kamala.silva@example.com", "+94 71-555-0101"),
+                guest(3, "Perera Holdings", "bookings@perera.lk", "0112 345 678"),
+                guest(4, "José Fernando", "jose@example.com", "076 000 1111")
+        ), 0);
+    }
+
+    private static Guest guest(int id, String name, String email, String phone) {
+        Guest g = new Guest();
+        g.setGuestId(id);
+        g.setFullName(name);
+        g.setEmail(email);
+        g.setContactNumber(phone);
+        g.setPassword("secret");
+        return g;
+    }
+
+    private static List<Integer> ids(List<Guest> guests) {
+        List<Integer> out = new ArrayList<>();
+        for (Guest g : guests) out.add(g.getGuestId());
+        return out;
+    }
+
+    @Test
+    void TEST_CASE_01_search_shouldRankPrefixAboveInfix() {
+        List<Guest> hits = index.search("perera", 10);
+
+        // name prefix ranks above the same word later in the name
+        assertEquals(Arrays.asList(3, 1), ids(hits));
+        assertNull(hits.get(0).getPassword());
+    }
+
+    @Test
+    void TEST_CASE_02_search_shouldMatchPhoneDigitsAndAccents() {
+        assertEquals(Arrays.asList(2), ids(index.search("715550101", 10)));
+        assertEquals(Arrays.asList(2), ids(index.search("555-0101", 10)));
+        assertEquals(Arrays.asList(1), ids(index.search("771234567", 10)));
+
+        // trailing digits rank above a match in the middle of the number
+        assertEquals(Arrays.asList(1, 3), ids(index.search("1234567", 10)));
+        assertEquals(Arrays.asList(4), ids(index.search("jose f", 10)));
+        assertTrue(index.search("nobody", 10).isEmpty());
+    }
+
+    @Test
+    void TEST_CASE_03_onSavedAndDeleted_shouldUpdateResults() {
+        index.onSaved(guest(1, "Nimal Jayasuriya", "nimal@example.com", "077 123 4567"));
+        assertEquals(Arrays.asList(3), ids(index.search("perera", 10)));
+        assertEquals(Arrays.asList(1), ids(index.search("jayasur", 10)));
+
+        index.onDeleted(3);
+        assertTrue(index.search("perera", 10).isEmpty());
+
+        // short queries scan every entry
+        assertEquals(Arrays.asList(4, 2, 1), ids(index.search("a", 3)));
+    }
+
+    @Test
+    void TEST_CASE_04_rebuild_shouldKeepChangesMadeWhileReading() {
+        long startSeq = 0;
+        index.onSaved(guest(5, "Late Arrival", "late@example.com", "070 999 9999"));
+
+        // rows read before guest 5 existed
+        index.rebuild(Arrays.asList(guest(1, "Nimal Perera", "nimal@example.com", "077 123 4567")), startSeq);
+
+        assertEquals(Arrays.asList(5), ids(index.search("late", 10)));
+        assertTrue(index.search("kamala", 10).isEmpty());
+    }
+}
@@ -0,0 +1,101 @@
+package com.oceanview.cache;
+
+import com.oceanview.model.Reservation;
+import com.oceanview.service.InvoiceRenderer;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InvoiceCacheTest {
+
+    private static final LocalDate ISSUED = LocalDate.of(2026, 3, 1);
+
+    @TempDir
+    Path dir;
+
+    private AtomicInteger renders;
+    private InvoiceCache cache;
+
+    @BeforeEach
+    void setup() {
+        renders = new AtomicInteger();
+        cache = new InvoiceCache(dir, new InvoiceRenderer() {
+            @Override
+            public void render(Reservation r, LocalDate issueDate, OutputStream out) throws IOException {
+                renders.incrementAndGet();
+                super.render(r, issueDate, out);
+            }
+        });
+    }
+
+    private Reservation reservation() {
+        Reservation r = new Reservation();
+        r.setReservationId(7);
+        r.setReservationNumber("RES-20260301-0007");
+        r.setGuestName("Nimal Perera");
+        r.setGuestEmail("nimal@example.com");
+        r.setRoomType("Deluxe");
+        r.setRoomNumber("204");
+        r.setNights(3);
+        r.setRatePerNight(120);
+        r.setSubtotal(360);
+        r.setTax(36);
+        r.setTotalAmount(396);
+        r.setAmountPaid(0);
+        r.setPaymentStatus("UNPAID");
+        return r;
+    }
+
+    @Test
+    void TEST_CASE_01_get_shouldRenderOnce_andServeTheSameFile() throws Exception {
+        Reservation r = reservation();
+        String key = cache.keyFor(r, ISSUED);
+
+        Path first = cache.get(r, ISSUED, key);
+        Path second = cache.get(r, ISSUED, cache.keyFor(reservation(), ISSUED));
+
+        assertEquals(first, second);
+        assertEquals(1, renders.get());
+        assertTrue(new String(Files.readAllBytes(first), 0, 5).startsWith("%PDF"));
+    }
+
+    @Test
+    void TEST_CASE_02_keyFor_shouldChange_whenPaymentOrIssueDateChanges() {
+        Reservation r = reservation();
+        String key = cache.keyFor(r, ISSUED);
+
+        assertNotEquals(key, cache.keyFor(r, ISSUED.plusDays(1)));
+
+        r.setAmountPaid(100);
+        r.setPaymentStatus("PARTIAL");
+        assertNotEquals(key, cache.keyFor(r, ISSUED));
+    }
+
+    @Test
+    void TEST_CASE_03_newVersion_andInvalidate_shouldRemoveOldFiles_onlyAfterSweep() throws Exception {
+        cache = new InvoiceCache(dir, new InvoiceRenderer(), 0);
+        Reservation r = reservation();
+        Path unpaid = cache.get(r, ISSUED, cache.keyFor(r, ISSUED));
+
+        r.setAmountPaid(396);
+        r.setPaymentStatus("PAID");
+        Path paid = cache.get(r, ISSUED, cache.keyFor(r, ISSUED));
+
+        // a response may still be sending the superseded file
+        assertTrue(Files.exists(unpaid));
+        cache.sweep();
+        assertFalse(Files.exists(unpaid));
+        assertTrue(Files.exists(paid));
+
+        cache.invalidate(r.getReservationId());
+        assertFalse(Files.exists(paid));
+    }
+}
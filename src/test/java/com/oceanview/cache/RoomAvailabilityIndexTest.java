@@ -0,0 +1,94 @@
+package com.oceanview.cache;
+
+import com.oceanview.model.Reservation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RoomAvailabilityIndexTest {
+
+    private RoomAvailabilityIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new RoomAvailabilityIndex();
+    }
+
+    private static Date d(String s) {
+        return Date.valueOf(s);
+    }
+
+    private static Reservation stay(int id, int roomId, String in, String out, String status) {
+        Reservation r = new Reservation();
+        r.setReservationId(id);
+        r.setRoomId(roomId);
+        r.setCheckInDate(d(in));
+        r.setCheckOutDate(d(out));
+        r.setStatus(status);
+        return r;
+    }
+
+    @Test
+    void TEST_CASE_01_isBooked_shouldDetectOverlapOnly() {
+        index.onSaved(1, 10, d("2026-03-10"), d("2026-03-15"), "CONFIRMED");
+        index.onSaved(2, 10, d("2026-03-01"), d("2026-03-03"), "PENDING");
+
+        assertTrue(index.isBooked(10, d("2026-03-14"), d("2026-03-20")));
+        assertTrue(index.isBooked(10, d("2026-03-02"), d("2026-03-04")));
+        assertTrue(index.isBooked(10, d("2026-02-20"), d("2026-03-30")));
+
+        // checkout day is free for the next guest
+        assertFalse(index.isBooked(10, d("2026-03-15"), d("2026-03-18")));
+        assertFalse(index.isBooked(10, d("2026-03-03"), d("2026-03-10")));
+        assertFalse(index.isBooked(11, d("2026-03-10"), d("2026-03-15")));
+    }
+
+    @Test
+    void TEST_CASE_02_onSaved_shouldDropInactiveAndMovedStays() {
+        index.onSaved(1, 10, d("2026-03-10"), d("2026-03-15"), "CONFIRMED");
+        index.onSaved(1, 12, d("2026-03-10"), d("2026-03-15"), "CONFIRMED");
+
+        assertFalse(index.isBooked(10, d("2026-03-11"), d("2026-03-12")));
+        assertTrue(index.isBooked(12, d("2026-03-11"), d("2026-03-12")));
+
+        index.onSaved(1, 12, d("2026-03-10"), d("2026-03-15"), "CANCELLED");
+        assertFalse(index.isBooked(12, d("2026-03-11"), d("2026-03-12")));
+
+        index.onSaved(2, 12, d("2026-03-10"), d("2026-03-15"), "CHECKED_IN");
+        index.onDeleted(2);
+        assertFalse(index.isBooked(12, d("2026-03-11"), d("2026-03-12")));
+    }
+
+    @Test
+    void TEST_CASE_03_reconcile_shouldRepairDrift() {
+        index.reconcile(List.of(stay(1, 10, "2026-03-10", "2026-03-15", "CONFIRMED")), index.currentSequence());
+        assertTrue(index.isLoaded());
+        assertTrue(index.isBooked(10, d("2026-03-11"), d("2026-03-12")));
+
+        // database lost stay 1 and gained stay 2
+        int fixed = index.reconcile(
+                List.of(stay(2, 20, "2026-04-01", "2026-04-05", "CONFIRMED")), index.currentSequence());
+
+        assertEquals(2, fixed);
+        assertFalse(index.isBooked(10, d("2026-03-11"), d("2026-03-12")));
+        assertTrue(index.isBooked(20, d("2026-04-02"), d("2026-04-03")));
+    }
+
+    @Test
+    void TEST_CASE_04_reconcile_shouldKeepChangesMadeDuringRead() {
+        List<Reservation> db = List.of(stay(1, 10, "2026-03-10", "2026-03-15", "CONFIRMED"));
+        index.reconcile(db, index.currentSequence());
+
+        // cancelled while a reconcile is reading the old row
+        long readStarted = index.currentSequence();
+        index.onSaved(1, 10, d("2026-03-10"), d("2026-03-15"), "CANCELLED");
+
+        assertEquals(0, index.reconcile(db, readStarted));
+        assertFalse(index.isBooked(10, d("2026-03-11"), d("2026-03-12")));
+    }
+}
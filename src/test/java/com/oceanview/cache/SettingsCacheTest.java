@@ -0,0 +1,77 @@
+package com.oceanview.cache;
+
+import com.oceanview.dao.SettingDAO;
+import com.oceanview.model.Setting;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class SettingsCacheTest {
+
+    private SettingDAO dao;
+    private SettingsCache cache;
+
+    @BeforeEach
+    void setup() {
+        dao = mock(SettingDAO.class);
+        when(dao.findVersion()).thenReturn("2@1000");
+        when(dao.findAll()).thenReturn(List.of(
+                new Setting("smtp_host", " mail.example.com ", "EMAIL"),
+                new Setting("hotel_name", "OceanView", "GENERAL")));
+        cache = new SettingsCache(dao);
+    }
+
+    @Test
+    void TEST_CASE_01_reads_shouldLoadOnceAndServeFromSnapshot() {
+        assertEquals("mail.example.com", cache.getTrimmed("smtp_host"));
+        assertEquals(" mail.example.com ", cache.getRaw("smtp_host"));
+        assertEquals("OceanView", cache.getTrimmed("hotel_name"));
+        assertNull(cache.getTrimmed("missing"));
+
+        verify(dao, times(1)).findAll();
+    }
+
+    @Test
+    void TEST_CASE_02_getCategory_shouldBeReadOnly() {
+        Map<String, String> email = cache.getCategory("EMAIL");
+
+        assertEquals(1, email.size());
+        assertThrows(UnsupportedOperationException.class, () -> email.put("x", "y"));
+        assertTrue(cache.getCategory("NONE").isEmpty());
+    }
+
+    @Test
+    void TEST_CASE_03_refreshIfChanged_shouldReloadOnlyOnVersionChange() {
+        cache.getRaw("smtp_host");
+
+        assertFalse(cache.refreshIfChanged());
+
+        when(dao.findVersion()).thenReturn("2@2000");
+        when(dao.findAll()).thenReturn(List.of(new Setting("smtp_host", "smtp.other.com", "EMAIL")));
+
+        assertTrue(cache.refreshIfChanged());
+        assertEquals("smtp.other.com", cache.getTrimmed("smtp_host"));
+        assertNull(cache.getRaw("hotel_name"));
+    }
+
+    @Test
+    void TEST_CASE_04_keys_shouldMatchIgnoringCase() {
+        assertEquals("mail.example.com", cache.getTrimmed("SMTP_Host"));
+        assertEquals("OceanView", cache.getRaw("HOTEL_NAME"));
+        assertTrue(cache.contains("Hotel_Name"));
+    }
+
+    @Test
+    void TEST_CASE_05_invalidate_shouldKeepOldValues_whenReloadFails() {
+        cache.getRaw("smtp_host");
+        when(dao.findAll()).thenThrow(new RuntimeException("Failed to load settings"));
+
+        assertDoesNotThrow(() -> cache.invalidate());
+        assertEquals("mail.example.com", cache.getTrimmed("smtp_host"));
+    }
+}
@@ -0,0 +1,110 @@
+package com.oceanview.cache;
+
+import com.oceanview.model.Guest;
+import com.oceanview.model.Room;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TinyLfuCacheTest {
+
+    @Test
+    void TEST_CASE_01_scan_shouldNotEvictFrequentlyUsedEntries() {
+        TinyLfuCache<Integer, String> cache = new TinyLfuCache<>("test", 100, 100, v -> 1, null);
+
+        // a hot set looked up often
+        for (int round = 0; round < 5; round++) {
+            for (int k = 0; k < 50; k++) {
+                if (cache.get(k) == null) cache.put(k, "v" + k);
+            }
+        }
+
+        // a long run of keys seen once
+        for (int k = 1000; k < 3000; k++) {
+            if (cache.get(k) == null) cache.put(k, "v" + k);
+        }
+
+        int kept = 0;
+        for (int k = 0; k < 50; k++) if (cache.get(k) != null) kept++;
+
+        assertTrue(kept >= 45, "hot entries kept: " + kept);
+        assertTrue(cache.weight() <= 100);
+        assertTrue(cache.getEvictionCount() > 0);
+    }
+
+    @Test
+    void TEST_CASE_02_weight_shouldBoundByWeigher_andCountHitsAndMisses() {
+        TinyLfuCache<Integer, String> cache = new TinyLfuCache<>("test", 1000, 100, String::length, null);
+
+        cache.put(1, repeat(400));
+        cache.put(2, repeat(400));
+        cache.put(3, repeat(400));
+        cache.put(4, repeat(5000));   // larger than the whole cache, never held
+
+        assertTrue(cache.weight() <= 1000);
+        assertNull(cache.get(4));
+
+        cache.put(5, "x");
+        assertEquals("x", cache.get(5));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void TEST_CASE_03_roomCache_shouldDropStaleLoads_andKeepNumberIndexExact() {
+        RoomCache cache = new RoomCache(16, 0);
+
+        Room r = room(7, "101");
+        long before = cache.generation();
+        cache.put(r, before);
+
+        // callers get copies
+        cache.get(7).setRatePerNight(1);
+        assertEquals(120.0, cache.getByNumber("101").getRatePerNight());
+
+        // a load that raced an invalidation is not kept
+        long generation = cache.generation();
+        cache.invalidate(7);
+        cache.put(room(7, "102"), generation);
+        assertNull(cache.get(7));
+        assertNull(cache.getByNumber("101"));
+
+        // renumbered room answers only to its new number
+        cache.put(room(7, "102"), cache.generation());
+        assertNull(cache.getByNumber("101"));
+        assertEquals(7, cache.getByNumber("102").getRoomId());
+    }
+
+    @Test
+    void TEST_CASE_04_ttl_shouldExpireEntries_andGuestCacheShouldHoldNoPasswords() throws Exception {
+        RoomCache rooms = new RoomCache(16, 20);
+        rooms.put(room(7, "101"), rooms.generation());
+        assertNotNull(rooms.get(7));
+
+        Thread.sleep(40);
+        assertNull(rooms.get(7));
+        assertNull(rooms.getByNumber("101"));
+
+        GuestCache guests = new GuestCache(64 * 1024, 0);
+        Guest g = new Guest();
+        g.setGuestId(3);
+        g.setEmail("ana@example.com");
+        g.setPassword("$2a$12$hash");
+        guests.put(g, guests.generation());
+
+        assertNull(guests.get(3).getPassword());
+        assertNull(guests.getByEmail("ana@example.com").getPassword());
+    }
+
+    private static Room room(int id, String number) {
+        Room r = new Room(number, "DELUXE", 120.0, "AVAILABLE", 2);
+        r.setRoomId(id);
+        return r;
+    }
+
+    private static String repeat(int n) {
+        StringBuilder sb = new StringBuilder(n);
+        for (int i = 0; i < n; i++) sb.append('a');
+        return sb.toString();
+    }
+}
@@ -2,9 +2,16 @@ package com.oceanview.dao;
 
 import com.oceanview.dao.impl.ReservationDAOImpl;
 import com.oceanview.model.Reservation;
+import com.oceanview.model.ReservationFilter;
+import com.oceanview.testsupport.EmbeddedDatabase;
+import com.oceanview.testsupport.SyntheticDataGenerator;
+import com.oceanview.util.DatabaseConnection;
+import com.oceanview.util.LatencyHistogram;
 import org.junit.jupiter.api.*;
 
 import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -13,6 +20,11 @@ public class ReservationDAOTest {
 
     private ReservationDAO dao;
 
+    @BeforeAll
+    static void database() {
+        EmbeddedDatabase.startSeeded();
+    }
+
     @BeforeEach
     void setup() {
         dao = new ReservationDAOImpl();
@@ -72,4 +84,91 @@ public class ReservationDAOTest {
         int count = dao.countAllReservations();
         assertTrue(count >= 0);
     }
+
+    @Test
+    void TEST_CASE_06_findPage_shouldWalkAllReservationsNewestFirst() {
+        List<Reservation> all = dao.findAll();
+
+        List<Integer> walked = new ArrayList<>();
+        int afterId = 0;
+        while (true) {
+            List<Reservation> page = dao.findPage(afterId, 97, null);
+            if (page.isEmpty()) break;
+            for (Reservation r : page) walked.add(r.getReservationId());
+            afterId = page.get(page.size() - 1).getReservationId();
+        }
+
+        assertEquals(all.size(), walked.size());
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals(all.get(i).getReservationId(), walked.get(i));
+        }
+    }
+
+    @Test
+    void TEST_CASE_07_findPage_shouldApplyFilters() {
+        ReservationFilter filter = new ReservationFilter();
+        filter.setStatuses(Arrays.asList("CONFIRMED", "CHECKED_IN"));
+        filter.setPaymentStatuses(Arrays.asList("UNPAID", "PARTIAL"));
+        filter.setFrom(Date.valueOf(SyntheticDataGenerator.DEFAULT_AS_OF.minusDays(30)));
+        filter.setTo(Date.valueOf(SyntheticDataGenerator.DEFAULT_AS_OF.plusDays(60)));
+
+        List<Reservation> page = dao.findPage(0, 500, filter);
+
+        assertFalse(page.isEmpty());
+        for (Reservation r : page) {
+            assertTrue(filter.getStatuses().contains(r.getStatus()));
+            assertTrue(filter.getPaymentStatuses().contains(r.getPaymentStatus()));
+            assertTrue(r.getCheckInDate().before(filter.getTo()));
+            assertTrue(r.getCheckOutDate().after(filter.getFrom()));
+        }
+
+        int roomId = dao.findAll().get(0).getRoomId();
+        ReservationFilter byRoom = new ReservationFilter();
+        byRoom.setRoomId(roomId);
+
+        List<Reservation> roomPage = dao.findPage(0, 500, byRoom);
+        assertFalse(roomPage.isEmpty());
+        for (Reservation r : roomPage) assertEquals(roomId, r.getRoomId());
+    }
+
+    @Test
+    void TEST_CASE_08_findLatestStays_shouldOrderByCheckInAndIncludeUpcoming() {
+        List<Reservation> stays = dao.findLatestStays(6);
+
+        assertFalse(stays.isEmpty());
+        assertTrue(stays.size() <= 6);
+        for (int i = 0; i < stays.size(); i++) {
+            Reservation r = stays.get(i);
+            assertTrue(Arrays.asList("CHECKED_IN", "CONFIRMED").contains(r.getStatus()));
+            if (i > 0) assertFalse(r.getCheckInDate().after(stays.get(i - 1).getCheckInDate()));
+        }
+    }
+
+    @Test
+    void TEST_CASE_09_countGuestsBetween_shouldCountEachGuestOnce() {
+        Date start = Date.valueOf("2000-01-01");
+        Date end = Date.valueOf("2100-01-01");
+
+        long expected = dao.findBetween(start, end).stream()
+                .mapToInt(Reservation::getGuestId)
+                .filter(id -> id > 0)
+                .distinct()
+                .count();
+
+        assertTrue(expected > 0);
+        assertEquals(expected, dao.countGuestsBetween(start, end));
+    }
+
+    @Test
+    void TEST_CASE_10_writes_shouldReadTheOldRowOnTheirOwnConnection() {
+        Reservation r = dao.findById(dao.findAll().get(0).getReservationId());
+        LatencyHistogram borrows = DatabaseConnection.getInstance().getPool().getWaitTime();
+
+        long before = borrows.getCount();
+        assertTrue(dao.updateStatus(r.getReservationId(), r.getStatus()));
+        assertTrue(dao.update(r));
+
+        // one borrow each, a nested findById would take a second connection
+        assertEquals(before + 2, borrows.getCount());
+    }
 }
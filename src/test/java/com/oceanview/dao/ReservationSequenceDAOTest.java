@@ -0,0 +1,55 @@
+package com.oceanview.dao;
+
+import com.oceanview.dao.impl.ReservationSequenceDAOImpl;
+import com.oceanview.testsupport.EmbeddedDatabase;
+import org.junit.jupiter.api.*;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReservationSequenceDAOTest {
+
+    private ReservationSequenceDAO dao;
+
+    @BeforeAll
+    static void database() {
+        EmbeddedDatabase.startSeeded();
+    }
+
+    @BeforeEach
+    void setup() {
+        dao = new ReservationSequenceDAOImpl();
+    }
+
+    @Test
+    void TEST_CASE_01_reserveBlock_shouldCreateTheRow_thenBumpIt() {
+        Date day = Date.valueOf("2031-01-01");
+
+        assertEquals(1, dao.reserveBlock(day, 10));
+        assertEquals(11, dao.reserveBlock(day, 10));
+    }
+
+    @Test
+    void TEST_CASE_02_reserveBlock_shouldNotOverlap_whenTheFirstCallsRace() throws Exception {
+        Date day = Date.valueOf("2031-02-01");
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Future<Integer>> firsts = new ArrayList<>();
+        for (int i = 0; i < 8; i++) firsts.add(pool.submit(() -> dao.reserveBlock(day, 5)));
+        pool.shutdown();
+
+        Set<Integer> seen = new HashSet<>();
+        for (Future<Integer> f : firsts) seen.add(f.get());
+
+        assertEquals(8, seen.size());
+        for (int first : seen) assertEquals(1, first % 5);
+    }
+}
@@ -1,9 +1,13 @@
 package com.oceanview.dao;
 
+import com.oceanview.dao.impl.ReservationDAOImpl;
 import com.oceanview.dao.impl.RoomDAOImpl;
 import com.oceanview.model.Room;
+import com.oceanview.testsupport.EmbeddedDatabase;
 import org.junit.jupiter.api.*;
 
+import java.sql.Date;
+import java.time.LocalDate;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -12,6 +16,11 @@ public class RoomDAOTest {
 
     private RoomDAO dao;
 
+    @BeforeAll
+    static void database() {
+        EmbeddedDatabase.startSeeded();
+    }
+
     @BeforeEach
     void setup() {
         dao = new RoomDAOImpl();
@@ -71,4 +80,28 @@ public class RoomDAOTest {
 
         assertTrue(result == true || result == false);
     }
+
+    @Test
+    void TEST_CASE_06_refreshStatuses_shouldFollowTodaysStays() {
+        Date today = Date.valueOf(LocalDate.now());
+        Date tomorrow = Date.valueOf(LocalDate.now().plusDays(1));
+        ReservationDAO reservations = new ReservationDAOImpl();
+
+        List<Room> rooms = dao.findAll();
+        for (Room r : rooms) {
+            if (!"MAINTENANCE".equals(r.getStatus())) dao.updateStatus(r.getRoomId(), "AVAILABLE");
+        }
+
+        dao.refreshStatuses(today, null);
+
+        for (Room before : rooms) {
+            Room r = dao.findById(before.getRoomId());
+            if ("MAINTENANCE".equals(before.getStatus())) {
+                assertEquals("MAINTENANCE", r.getStatus());
+                continue;
+            }
+            boolean occupied = reservations.hasOverlappingReservation(r.getRoomId(), today, tomorrow);
+            assertEquals(occupied ? "BOOKED" : "AVAILABLE", r.getStatus(), "room " + r.getRoomNumber());
+        }
+    }
 }
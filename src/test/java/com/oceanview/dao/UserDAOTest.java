@@ -2,6 +2,7 @@ package com.oceanview.dao;
 
 import com.oceanview.dao.impl.UserDAOImpl;
 import com.oceanview.model.User;
+import com.oceanview.testsupport.EmbeddedDatabase;
 import org.junit.jupiter.api.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -10,6 +11,11 @@ public class UserDAOTest {
 
     private UserDAO userDAO;
 
+    @BeforeAll
+    static void database() {
+        EmbeddedDatabase.startSeeded();
+    }
+
     @BeforeEach
     void setup() {
         userDAO = new UserDAOImpl();
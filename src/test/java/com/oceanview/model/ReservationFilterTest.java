@@ -0,0 +1,34 @@
+package com.oceanview.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Date;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReservationFilterTest {
+
+    @Test
+    void TEST_CASE_01_fromParams_shouldSplitListsAndSkipBlanks() {
+        Map<String, String[]> params = new HashMap<>();
+        params.put("status", new String[]{"confirmed, pending", "CHECKED_IN"});
+        params.put("paymentStatus", new String[]{" "});
+        params.put("from", new String[]{" 2026-03-01 "});
+        params.put("to", new String[]{""});
+        params.put("roomId", new String[]{"4"});
+
+        ReservationFilter f = ReservationFilter.fromParams(params);
+
+        assertEquals(Arrays.asList("CONFIRMED", "PENDING", "CHECKED_IN"), f.getStatuses());
+        assertTrue(f.getPaymentStatuses().isEmpty());
+        assertEquals(Date.valueOf("2026-03-01"), f.getFrom());
+        assertNull(f.getTo());
+        assertEquals(4, f.getRoomId());
+
+        params.put("roomId", new String[]{"four"});
+        assertThrows(IllegalArgumentException.class, () -> ReservationFilter.fromParams(params));
+    }
+}
@@ -0,0 +1,139 @@
+package com.oceanview.service;
+
+import com.oceanview.dao.EmailOutboxDAO;
+import com.oceanview.model.EmailOutboxMessage;
+import com.oceanview.util.SecretBox;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class EmailOutboxServiceTest {
+
+    private EmailOutboxDAO dao;
+    private final List<String> delivered = new ArrayList<>();
+    private final List<String> bodies = new ArrayList<>();
+    private final SecretBox secrets = new SecretBox(new byte[16]);
+    private int opened;
+    private boolean smtpDown;
+
+    private EmailOutboxService service;
+
+    @BeforeEach
+    void setup() {
+        dao = mock(EmailOutboxDAO.class);
+        when(dao.claim(anyLong(), any())).thenReturn(true);
+
+        service = new EmailOutboxService(dao, () -> {
+            opened++;
+            return new EmailOutboxService.MailTransport() {
+                @Override
+                public void send(String toEmail, String subject, String body) throws Exception {
+                    if (smtpDown) throw new Exception("connection refused");
+                    delivered.add(toEmail);
+                    bodies.add(body);
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }, secrets);
+    }
+
+    private static EmailOutboxMessage msg(long id, String to, int attempts) {
+        EmailOutboxMessage m = new EmailOutboxMessage();
+        m.setOutboxId(id);
+        m.setToEmail(to);
+        m.setSubject("s");
+        m.setBody("b");
+        m.setAttempts(attempts);
+        return m;
+    }
+
+    @Test
+    void TEST_CASE_01_drain_shouldSendBatchOverOneConnection() {
+        when(dao.findDue(any(), anyInt()))
+                .thenReturn(List.of(msg(1, "a@x.com", 0), msg(2, "b@x.com", 0), msg(3, "c@x.com", 0)));
+
+        int handled = service.drain();
+
+        assertEquals(3, handled);
+        assertEquals(List.of("a@x.com", "b@x.com", "c@x.com"), delivered);
+        assertEquals(1, opened);
+        verify(dao).markSent(1);
+        verify(dao).markSent(3);
+        assertEquals(3, service.getSentCount());
+        assertEquals(3, service.getSendLatency().getCount());
+    }
+
+    @Test
+    void TEST_CASE_02_drain_shouldRescheduleWithBackoff_whenSendFails() {
+        smtpDown = true;
+        when(dao.findDue(any(), anyInt())).thenReturn(List.of(msg(5, "a@x.com", 2)));
+
+        service.drain();
+
+        verify(dao).markRetry(eq(5L), eq(3), any(), contains("connection refused"));
+        verify(dao, never()).markSent(anyLong());
+        assertEquals(1, service.getRetryCount());
+    }
+
+    @Test
+    void TEST_CASE_03_drain_shouldGiveUp_afterMaxAttempts() {
+        smtpDown = true;
+        when(dao.findDue(any(), anyInt())).thenReturn(List.of(msg(9, "a@x.com", 7)));
+
+        service.drain();
+
+        verify(dao).markFailed(eq(9L), eq(8), anyString());
+        assertEquals(1, service.getFailedCount());
+    }
+
+    @Test
+    void TEST_CASE_04_drain_shouldSkipRowsClaimedElsewhere() {
+        when(dao.findDue(any(), anyInt())).thenReturn(List.of(msg(1, "a@x.com", 0)));
+        when(dao.claim(eq(1L), any())).thenReturn(false);
+
+        assertEquals(0, service.drain());
+        assertTrue(delivered.isEmpty());
+        assertEquals(0, opened);
+    }
+
+    @Test
+    void TEST_CASE_05_backoff_shouldGrowAndCap() {
+        assertTrue(EmailOutboxService.backoffMillis(1) >= 30_000);
+        assertTrue(EmailOutboxService.backoffMillis(2) >= 60_000);
+        assertTrue(EmailOutboxService.backoffMillis(30) <= 72 * 60_000);
+    }
+
+    @Test
+    void TEST_CASE_06_secret_shouldBeStoredSealed_andMergedOnlyWhenSent() {
+        service.enqueue("a@x.com", "s", "Password: " + EmailOutboxService.SECRET, "Tmp12345");
+
+        ArgumentCaptor<String> sealed = ArgumentCaptor.forClass(String.class);
+        verify(dao).enqueue(eq("a@x.com"), eq("s"), eq("Password: " + EmailOutboxService.SECRET), sealed.capture());
+        assertFalse(sealed.getValue().contains("Tmp12345"));
+
+        EmailOutboxMessage m = msg(9, "a@x.com", 0);
+        m.setBody("Password: " + EmailOutboxService.SECRET);
+        m.setSecret(sealed.getValue());
+        EmailOutboxMessage other = msg(10, "b@x.com", 0);
+        other.setBody("Password: " + EmailOutboxService.SECRET);
+        other.setSecret(new SecretBox(new byte[32]).seal("Tmp12345"));
+        when(dao.findDue(any(), anyInt())).thenReturn(List.of(m, other));
+
+        service.drain();
+
+        assertEquals("Password: Tmp12345", bodies.get(0));
+        // sealed under another key, still sent but without the password
+        assertFalse(bodies.get(1).contains("Tmp12345") || bodies.get(1).contains(EmailOutboxService.SECRET));
+        verify(dao).markSent(10);
+    }
+}
@@ -0,0 +1,95 @@
+package com.oceanview.service;
+
+import com.oceanview.dao.GuestDAO;
+import com.oceanview.model.Guest;
+import com.oceanview.util.PasswordUtil;
+import org.junit.jupiter.api.*;
+
+import java.lang.reflect.Field;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class GuestServiceTest {
+
+    private GuestService service;
+    private GuestDAO dao;
+
+    @BeforeEach
+    void setup() throws Exception {
+        System.setProperty("oceanview.bcrypt.cost", "10");
+        service = new GuestService();
+        dao = mock(GuestDAO.class);
+        inject(service, "dao", dao);
+    }
+
+    @AfterEach
+    void cleanup() {
+        System.clearProperty("oceanview.bcrypt.cost");
+    }
+
+    // as the dao returns it, without the password
+    private Guest guest() {
+        Guest g = new Guest();
+        g.setGuestId(7);
+        g.setEmail("ana@example.com");
+        return g;
+    }
+
+    @Test
+    void TEST_CASE_01_loginGuest_shouldCheckHash_andNotReturnIt() {
+        when(dao.findByEmail("ana@example.com")).thenReturn(guest());
+        when(dao.findPasswordById(7)).thenReturn(PasswordUtil.hashPassword("secret"));
+
+        Guest g = service.loginGuest("ana@example.com", "secret");
+
+        assertNotNull(g);
+        assertNull(g.getPassword());
+        assertNull(service.loginGuest("ana@example.com", "wrong"));
+        verify(dao, never()).updatePasswordById(anyInt(), anyString());
+    }
+
+    @Test
+    void TEST_CASE_02_loginGuest_shouldRehashLegacyPlaintext_onFirstLogin() {
+        when(dao.findByEmail("ana@example.com")).thenReturn(guest());
+        when(dao.findPasswordById(7)).thenReturn("secret");
+
+        assertNull(service.loginGuest("ana@example.com", "secre"));
+        verify(dao, never()).updatePasswordById(anyInt(), anyString());
+
+        assertNotNull(service.loginGuest("ana@example.com", "secret"));
+        verify(dao, timeout(5_000)).updatePasswordById(eq(7),
+                argThat(h -> PasswordUtil.isHashed(h) && PasswordUtil.verifyPassword("secret", h)));
+    }
+
+    @Test
+    void TEST_CASE_03_passwordWrites_shouldStoreHashes() {
+        when(dao.updatePassword(anyInt(), anyString())).thenReturn(true);
+        when(dao.findByEmail("nobody@example.com")).thenReturn(null);
+
+        service.updateGuestPassword(7, "secret");
+
+        verify(dao).updatePassword(eq(7), argThat(h -> PasswordUtil.verifyPassword("secret", h)));
+        assertNull(service.loginGuest("nobody@example.com", "secret"));
+    }
+
+    @Test
+    void TEST_CASE_04_userSuppliedHashLookalike_shouldStillBeHashed() {
+        String lookalike = PasswordUtil.hashPassword("other");
+        when(dao.updatePassword(anyInt(), anyString())).thenReturn(true);
+        when(dao.create(any(Guest.class))).thenReturn(8);
+
+        service.updateGuestPassword(7, lookalike);
+        service.createGuest(null, "Ana", null, "0770000000", "ana@example.com", lookalike);
+
+        verify(dao).updatePassword(eq(7), argThat(h -> !h.equals(lookalike) && PasswordUtil.verifyPassword(lookalike, h)));
+        verify(dao).create(argThat(g -> !g.getPassword().equals(lookalike) && PasswordUtil.verifyPassword(lookalike, g.getPassword())));
+    }
+
+    private static void inject(Object target, String fieldName, Object value) throws Exception {
+        Field f = target.getClass().getDeclaredField(fieldName);
+        f.setAccessible(true);
+        f.set(target, value);
+    }
+}
@@ -0,0 +1,118 @@
+package com.oceanview.service;
+
+import com.oceanview.cache.InvoiceCache;
+import com.oceanview.dao.ReservationDAO;
+import com.oceanview.model.Reservation;
+import com.oceanview.model.ReservationFilter;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class InvoiceBatchServiceTest {
+
+    private static final int RESERVATIONS = 450;
+
+    @TempDir
+    Path dir;
+
+    private ReservationDAO dao;
+    private InvoiceCache cache;
+    private InvoiceBatchService service;
+
+    @BeforeEach
+    void setup() throws IOException {
+        List<Reservation> all = new ArrayList<>();
+        for (int id = RESERVATIONS; id >= 1; id--) {
+            Reservation r = new Reservation();
+            r.setReservationId(id);
+            r.setReservationNumber("RES-" + id);
+            all.add(r);
+        }
+
+        dao = mock(ReservationDAO.class);
+        when(dao.countMatching(any())).thenReturn(RESERVATIONS);
+        when(dao.findPage(anyInt(), anyInt(), any())).thenAnswer(inv -> {
+            int afterId = inv.getArgument(0);
+            int limit = inv.getArgument(1);
+            return all.stream()
+                    .filter(r -> afterId <= 0 || r.getReservationId() < afterId)
+                    .limit(limit)
+                    .collect(Collectors.toList());
+        });
+
+        cache = mock(InvoiceCache.class);
+        when(cache.keyFor(any(), any())).thenAnswer(inv -> "k" + ((Reservation) inv.getArgument(0)).getReservationId());
+        when(cache.get(any(), any(), anyString())).thenAnswer(inv -> {
+            Reservation r = inv.getArgument(0);
+            if (r.getReservationId() == 13) throw new IOException("render failed");
+            Path f = dir.resolve(r.getReservationId() + ".pdf");
+            Files.write(f, ("%PDF " + r.getReservationId()).getBytes(StandardCharsets.US_ASCII));
+            return f;
+        });
+
+        service = new InvoiceBatchService(dao, cache, 3);
+        service.start();
+    }
+
+    @AfterEach
+    void teardown() {
+        service.stop();
+    }
+
+    @Test
+    void TEST_CASE_01_run_shouldZipEveryInvoiceInListingOrder() throws IOException {
+        InvoiceBatchService.Job job = new InvoiceBatchService.Job(new ReservationFilter(), 1);
+
+        service.run(job);
+
+        assertEquals(InvoiceBatchService.DONE, job.getStatus());
+        assertEquals(RESERVATIONS, job.getTotal());
+        assertEquals(RESERVATIONS - 1, job.getRendered());
+        assertEquals(1, job.getFailed());
+
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream in = new ZipInputStream(Files.newInputStream(job.getFile()))) {
+            for (ZipEntry e; (e = in.getNextEntry()) != null; ) names.add(e.getName());
+        }
+
+        assertEquals(RESERVATIONS - 1, names.size());
+        assertEquals("INV-RES-450.pdf", names.get(0));
+        assertEquals("INV-RES-1.pdf", names.get(names.size() - 1));
+        assertFalse(names.contains("INV-RES-13.pdf"));
+
+        Files.delete(job.getFile());
+    }
+
+    @Test
+    void TEST_CASE_02_cancelledJob_shouldFinishWithoutFile() throws IOException {
+        InvoiceBatchService.Job job = service.submit(new ReservationFilter(), 1);
+        service.cancel(job.getId());
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!job.isFinished() && System.currentTimeMillis() < deadline) Thread.onSpinWait();
+
+        assertTrue(job.isFinished());
+        assertNotEquals(InvoiceBatchService.FAILED, job.getStatus());
+        assertNull(job.getFile());
+    }
+
+    @Test
+    void TEST_CASE_03_submit_shouldFail_whenStopped() {
+        service.stop();
+
+        assertThrows(IllegalStateException.class, () -> service.submit(new ReservationFilter(), 1));
+    }
+}
@@ -0,0 +1,72 @@
+package com.oceanview.service;
+
+import com.oceanview.dao.ReservationSequenceDAO;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Date;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+public class ReservationNumberAllocatorTest {
+
+    @Test
+    void TEST_CASE_01_next_shouldKeepNumberFormat() {
+        ReservationSequenceDAO dao = mock(ReservationSequenceDAO.class);
+        when(dao.reserveBlock(any(), anyInt())).thenReturn(7);
+
+        ReservationNumberAllocator allocator = new ReservationNumberAllocator(dao, 5);
+
+        assertEquals("RES-20260315-007", allocator.next(Date.valueOf("2026-03-15")));
+        assertEquals("RES-20260315-008", allocator.next(Date.valueOf("2026-03-15")));
+    }
+
+    @Test
+    void TEST_CASE_02_next_shouldReserveOneBlockPerBlockSize() {
+        ReservationSequenceDAO dao = mock(ReservationSequenceDAO.class);
+        when(dao.reserveBlock(any(), anyInt())).thenReturn(1, 11);
+
+        ReservationNumberAllocator allocator = new ReservationNumberAllocator(dao, 10);
+        Date day = Date.valueOf("2026-03-15");
+
+        for (int i = 1; i <= 12; i++) {
+            assertEquals(i, allocator.nextValue(day));
+        }
+        verify(dao, times(2)).reserveBlock(day, 10);
+    }
+
+    @Test
+    void TEST_CASE_03_next_shouldNeverIssueDuplicates_underConcurrency() throws Exception {
+        AtomicInteger counter = new AtomicInteger(1);
+        ReservationSequenceDAO dao = (day, size) -> counter.getAndAdd(size);
+
+        ReservationNumberAllocator allocator = new ReservationNumberAllocator(dao, 3);
+        Date day = Date.valueOf("2026-03-15");
+
+        Set<Integer> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch go = new CountDownLatch(1);
+
+        for (int t = 0; t < 8; t++) {
+            pool.submit(() -> {
+                go.await();
+                for (int i = 0; i < 250; i++) assertTrue(seen.add(allocator.nextValue(day)));
+                return null;
+            });
+        }
+
+        go.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(2000, seen.size());
+    }
+}
@@ -0,0 +1,67 @@
+package com.oceanview.service;
+
+import com.oceanview.dao.ReservationRollupDAO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ReservationRollupServiceTest {
+
+    private ReservationRollupDAO dao;
+    private ReservationRollupService service;
+
+    @BeforeEach
+    void setup() {
+        dao = mock(ReservationRollupDAO.class);
+        service = new ReservationRollupService(dao);
+    }
+
+    @Test
+    void TEST_CASE_01_flush_shouldRecomputeEachDirtyDayOnce() {
+        service.markDirty(Date.valueOf("2026-03-01"), Date.valueOf("2026-03-03"));
+        service.markDirty(Date.valueOf("2026-03-02"), Date.valueOf("2026-03-04"));
+
+        assertEquals(4, service.flush());
+
+        verify(dao).recomputeDay(Date.valueOf("2026-03-01"));
+        verify(dao).recomputeDay(Date.valueOf("2026-03-04"));
+        verify(dao, times(4)).recomputeDay(any());
+        assertTrue(service.pendingDays().isEmpty());
+    }
+
+    @Test
+    void TEST_CASE_02_flush_shouldKeepDay_whenRecomputeFails() {
+        doThrow(new RuntimeException("db down")).when(dao).recomputeDay(Date.valueOf("2026-03-01"));
+        service.markDirty(Date.valueOf("2026-03-01"), Date.valueOf("2026-03-02"));
+
+        assertThrows(RuntimeException.class, () -> service.flush());
+        assertEquals(2, service.pendingDays().size());
+    }
+
+    @Test
+    void TEST_CASE_03_rebuildAll_shouldCoverHistoryAndTrim() {
+        when(dao.findFirstReservationDay()).thenReturn(Date.valueOf("2026-01-30"));
+        when(dao.findLastReservationDay()).thenReturn(Date.valueOf("2026-02-02"));
+
+        assertEquals(4, service.rebuildAll());
+        verify(dao).deleteOutside(Date.valueOf("2026-01-30"), Date.valueOf("2026-02-02"));
+    }
+
+    @Test
+    void TEST_CASE_04_rebuildRecent_shouldOnlyRecomputeTheTrailingWindow() {
+        LocalDate today = LocalDate.now();
+        when(dao.findFirstReservationDay()).thenReturn(Date.valueOf(today.minusYears(3)));
+        when(dao.findLastReservationDay()).thenReturn(Date.valueOf(today.plusDays(2)));
+
+        assertEquals(13, service.rebuildRecent(10));
+        verify(dao, never()).recomputeDay(Date.valueOf(today.minusDays(11)));
+        verify(dao).recomputeDay(Date.valueOf(today.minusDays(10)));
+        verify(dao).deleteOutside(Date.valueOf(today.minusYears(3)), Date.valueOf(today.plusDays(2)));
+    }
+}
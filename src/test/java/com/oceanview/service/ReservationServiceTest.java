@@ -1,6 +1,7 @@
 package com.oceanview.service;
 
 import com.oceanview.model.Reservation;
+import com.oceanview.testsupport.EmbeddedDatabase;
 import org.junit.jupiter.api.*;
 
 import java.sql.Date;
@@ -13,6 +14,11 @@ public class ReservationServiceTest {
 
     private ReservationService service;
 
+    @BeforeAll
+    static void database() {
+        EmbeddedDatabase.startSeeded();
+    }
+
     @BeforeEach
     void setup() {
         service = new ReservationService();
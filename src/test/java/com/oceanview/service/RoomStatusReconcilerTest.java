@@ -0,0 +1,60 @@
+package com.oceanview.service;
+
+import com.oceanview.dao.RoomDAO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+public class RoomStatusReconcilerTest {
+
+    private RoomDAO dao;
+    private RoomStatusReconciler reconciler;
+
+    @BeforeEach
+    void setup() {
+        dao = mock(RoomDAO.class);
+        reconciler = new RoomStatusReconciler(dao);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void TEST_CASE_01_flush_shouldRefreshDirtyRoomsInOneCall() {
+        reconciler.markDirty(3);
+        reconciler.markDirty(7);
+        reconciler.markDirty(3);
+        reconciler.markDirty(0);
+
+        assertEquals(2, reconciler.flush());
+
+        verify(dao, times(1)).refreshStatuses(any(), argThat(ids ->
+                new HashSet<>(ids).equals(new HashSet<>(Arrays.asList(3, 7)))));
+        assertTrue(reconciler.pendingRooms().isEmpty());
+        assertEquals(0, reconciler.flush());
+    }
+
+    @Test
+    void TEST_CASE_02_flush_shouldKeepRooms_whenRefreshFails() {
+        when(dao.refreshStatuses(any(), any())).thenThrow(new RuntimeException("db down"));
+        reconciler.markDirty(5);
+
+        assertThrows(RuntimeException.class, () -> reconciler.flush());
+        assertEquals(Arrays.asList(5), reconciler.pendingRooms());
+    }
+
+    @Test
+    void TEST_CASE_03_refreshAll_shouldCoverEveryRoom() {
+        reconciler.markDirty(9);
+
+        reconciler.refreshAll();
+
+        verify(dao).refreshStatuses(any(), isNull());
+        assertTrue(reconciler.pendingRooms().isEmpty());
+    }
+}
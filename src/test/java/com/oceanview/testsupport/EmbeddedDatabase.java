@@ -0,0 +1,147 @@
+package com.oceanview.testsupport;
+
+import com.oceanview.cache.CalendarCache;
+import com.oceanview.cache.DashboardStatsCache;
+import com.oceanview.cache.GuestCache;
+import com.oceanview.cache.GuestReservationsCache;
+import com.oceanview.cache.GuestSearchIndex;
+import com.oceanview.cache.InvoiceCache;
+import com.oceanview.cache.RoomAvailabilityIndex;
+import com.oceanview.cache.RoomCache;
+import com.oceanview.cache.SettingsCache;
+import com.oceanview.service.ReservationNumberAllocator;
+import com.oceanview.util.DatabaseConnection;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public final class EmbeddedDatabase {
+
+    // in-process H2 in MySQL mode with the ocean_view_resort schema
+    // start() points DatabaseConnection at it, so DAOs and services run unchanged
+
+    public static final String USER = "sa";
+    public static final String PASSWORD = "";
+
+    private static final String MODE =
+            ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;NON_KEYWORDS=DAY,VALUE";
+
+    private static final String[] TABLES = {
+            "reservation_payments", "reservations", "guests", "rooms", "settings", "users",
+            "reservation_daily_rollup", "reservation_sequences", "email_outbox"
+    };
+
+    private static String url;
+    private static boolean seeded;
+
+    private EmbeddedDatabase() {
+    }
+
+    public static String memoryUrl(String name) {
+        return "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1" + MODE;
+    }
+
+    public static String fileUrl(String path) {
+        return "jdbc:h2:file:" + path + MODE;
+    }
+
+    // shared in-memory database for the test run
+    public static synchronized String start() {
+        return start(memoryUrl("ocean_view_resort"));
+    }
+
+    // creates the schema if needed and makes it the application database
+    public static synchronized String start(String jdbcUrl) {
+        if (jdbcUrl.equals(url)) return url;
+
+        try (Connection conn = DriverManager.getConnection(jdbcUrl, USER, PASSWORD)) {
+            runScript(conn, "/db/h2-schema.sql");
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("Failed to create embedded database", e);
+        }
+
+        DatabaseConnection.shutdown();
+        clearCaches();
+        System.setProperty("oceanview.db.url", jdbcUrl);
+        System.setProperty("oceanview.db.user", USER);
+        System.setProperty("oceanview.db.password", PASSWORD);
+
+        url = jdbcUrl;
+        seeded = false;
+        return url;
+    }
+
+    // shared database with the small default data set, generated once per run
+    public static synchronized String startSeeded() {
+        start();
+        if (!seeded) {
+            try (Connection conn = connect()) {
+                truncateAll(conn);
+                new SyntheticDataGenerator(SyntheticDataGenerator.DEFAULT_SEED).generate(conn);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Failed to seed embedded database", e);
+            }
+            seeded = true;
+        }
+        return url;
+    }
+
+    public static synchronized Connection connect() throws SQLException {
+        if (url == null) throw new IllegalStateException("Embedded database not started");
+        return DriverManager.getConnection(url, USER, PASSWORD);
+    }
+
+    public static void truncateAll(Connection conn) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            st.execute("SET REFERENTIAL_INTEGRITY FALSE");
+            for (String t : TABLES) st.execute("TRUNCATE TABLE " + t + " RESTART IDENTITY");
+            st.execute("SET REFERENTIAL_INTEGRITY TRUE");
+        }
+        clearCaches();
+        synchronized (EmbeddedDatabase.class) {
+            seeded = false;
+        }
+    }
+
+    // rows cached from an earlier database must not outlive it, every singleton cache and index
+    private static void clearCaches() {
+        RoomCache.getInstance().invalidateAll();
+        GuestCache.getInstance().invalidateAll();
+        GuestReservationsCache.getInstance().invalidateAll();
+        CalendarCache.getInstance().invalidateAll();
+        DashboardStatsCache.getInstance().invalidate();
+        SettingsCache.getInstance().clear();
+        InvoiceCache.getInstance().invalidateAll();
+        GuestSearchIndex.getInstance().clear();
+        RoomAvailabilityIndex.getInstance().clear();
+        ReservationNumberAllocator.getInstance().clear();
+    }
+
+    public static synchronized void stop() {
+        DatabaseConnection.shutdown();
+        System.clearProperty("oceanview.db.url");
+        System.clearProperty("oceanview.db.user");
+        System.clearProperty("oceanview.db.password");
+        url = null;
+        seeded = false;
+    }
+
+    private static void runScript(Connection conn, String resource) throws SQLException, IOException {
+        String script;
+        try (InputStream in = EmbeddedDatabase.class.getResourceAsStream(resource)) {
+            if (in == null) throw new IOException("Missing " + resource);
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        try (Statement st = conn.createStatement()) {
+            for (String sql : script.replaceAll("(?m)^--.*$", "").split(";")) {
+                if (!sql.isBlank()) st.execute(sql);
+            }
+        }
+    }
+}
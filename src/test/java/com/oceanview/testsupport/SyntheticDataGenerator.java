@@ -0,0 +1,429 @@
+package com.oceanview.testsupport;
+
+import com.oceanview.util.BCrypt;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+
+public class SyntheticDataGenerator {
+
+    // deterministic users, rooms, guests, reservations and payments
+    // same seed and volumes give the same rows, dates follow a south coast season
+
+    public static final long DEFAULT_SEED = 20260301L;
+
+    // fixed, so the seeded rows and their statuses don't move with the clock
+    public static final LocalDate DEFAULT_AS_OF = LocalDate.of(2026, 3, 1);
+
+    private static final int BATCH_SIZE = 5000;
+
+    // room and day picks tried per reservation before the range counts as full
+    private static final int MAX_ATTEMPTS = 1000;
+
+    // mean of stayLength() over the room mix, and the share of room nights random placement
+    // fills well within MAX_ATTEMPTS; together they bound the reservations a range can hold
+    private static final double MEAN_NIGHTS = 2.7;
+    private static final double MAX_OCCUPANCY = 0.6;
+
+    private static final String[] ROOM_TYPES = {"Standard", "Deluxe", "Ocean View", "Family Suite", "Presidential"};
+    private static final double[] ROOM_RATES = {80, 120, 180, 240, 450};
+    private static final int[] ROOM_SHARE = {35, 30, 20, 12, 3};     // percent of rooms per type
+    private static final int[] MAX_GUESTS = {2, 2, 3, 5, 4};
+
+    // relative demand per month, peak dec-mar and the european summer
+    private static final double[] MONTH_WEIGHT = {1.6, 1.7, 1.5, 1.1, 0.6, 0.5, 0.9, 1.2, 0.8, 0.7, 0.9, 1.5};
+
+    private static final String[] FIRST_NAMES = {"Nimal", "Kumari", "Sunil", "Ayesha", "John", "Emma", "Lukas",
+            "Sofia", "Hiroshi", "Priya", "Ahmed", "Chen", "Olivia", "Ravi", "Dilani", "Marco"};
+    private static final String[] LAST_NAMES = {"Perera", "Fernando", "Silva", "Jayasinghe", "Smith", "Muller",
+            "Rossi", "Tanaka", "Kumar", "Khan", "Wang", "Brown", "Wickramasinghe", "Dias"};
+    private static final String[] CITIES = {"Galle", "Colombo", "Kandy", "Matara", "London", "Berlin", "Milan",
+            "Tokyo", "Chennai", "Dubai", "Shanghai", "Sydney"};
+    private static final String[] METHODS = {"CASH", "CARD", "BANK_TRANSFER"};
+
+    private final long seed;
+
+    private int rooms = 40;
+    private int guests = 300;
+    private int reservations = 2000;
+    private LocalDate from;
+    private LocalDate to;
+    private LocalDate asOf;
+
+    public SyntheticDataGenerator(long seed) {
+        this.seed = seed;
+        this.asOf = DEFAULT_AS_OF;
+        this.from = asOf.minusYears(2).withDayOfMonth(1);
+        this.to = asOf.plusMonths(6);
+    }
+
+    public SyntheticDataGenerator rooms(int rooms) {
+        this.rooms = rooms;
+        return this;
+    }
+
+    public SyntheticDataGenerator guests(int guests) {
+        this.guests = guests;
+        return this;
+    }
+
+    public SyntheticDataGenerator reservations(int reservations) {
+        this.reservations = reservations;
+        return this;
+    }
+
+    // check-in dates are drawn from [from, to)
+    public SyntheticDataGenerator between(LocalDate from, LocalDate to) {
+        if (!from.isBefore(to)) throw new IllegalArgumentException("Empty date range");
+        this.from = from;
+        this.to = to;
+        return this;
+    }
+
+    // statuses are relative to this day, past stays are checked out, future ones confirmed or pending
+    public SyntheticDataGenerator asOf(LocalDate asOf) {
+        this.asOf = asOf;
+        return this;
+    }
+
+    // fewest rooms that hold the configured reservations between from and to
+    public int minRooms() {
+        long days = to.toEpochDay() - from.toEpochDay();
+        return (int) Math.ceil(reservations * MEAN_NIGHTS / (days * MAX_OCCUPANCY));
+    }
+
+    // summary of what was written
+    public static class Result {
+        public int users;
+        public int rooms;
+        public int guests;
+        public int reservations;
+        public int payments;
+
+        @Override
+        public String toString() {
+            return users + " users, " + rooms + " rooms, " + guests + " guests, "
+                    + reservations + " reservations, " + payments + " payments";
+        }
+    }
+
+    // inserts into empty tables, ids start at 1
+    public Result generate(Connection conn) throws SQLException {
+        if (rooms < minRooms()) {
+            throw new IllegalArgumentException(reservations + " reservations need at least " + minRooms()
+                    + " rooms between " + from + " and " + to + ", got " + rooms);
+        }
+
+        Random rnd = new Random(seed);
+        Result result = new Result();
+
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            result.users = insertUsers(conn);
+            insertSettings(conn);
+            int[] roomTypes = insertRooms(conn, rnd);
+            result.rooms = roomTypes.length;
+            result.guests = insertGuests(conn, rnd);
+            conn.commit();
+
+            insertReservations(conn, rnd, roomTypes, result);
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+        return result;
+    }
+
+    // USERS, SETTINGS
+
+    // passwords are the usernames followed by 123, low bcrypt cost keeps setup fast
+    private int insertUsers(Connection conn) throws SQLException {
+        String[][] users = {
+                {"admin", "ADMIN", "ACTIVE"},
+                {"staff", "STAFF", "ACTIVE"},
+                {"former", "STAFF", "INACTIVE"}
+        };
+
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO users (user_id, username, password_hash, role, status) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < users.length; i++) {
+                ps.setInt(1, i + 1);
+                ps.setString(2, users[i][0]);
+                ps.setString(3, BCrypt.hashpw(users[i][0] + "123", BCrypt.gensalt(4)));
+                ps.setString(4, users[i][1]);
+                ps.setString(5, users[i][2]);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        return users.length;
+    }
+
+    private void insertSettings(Connection conn) throws SQLException {
+        String[][] settings = {
+                {"hotel_name", "OceanView Resort", "GENERAL"},
+                {"tax_rate", "10", "BILLING"},
+                {"currency", "USD", "BILLING"},
+                {"smtp_host", "localhost", "EMAIL"},
+                {"smtp_port", "2525", "EMAIL"},
+                {"smtp_from_email", "noreply@oceanview.test", "EMAIL"},
+                {"smtp_from_name", "OceanView Resort", "EMAIL"},
+                {"smtp_use_auth", "false", "EMAIL"},
+                {"smtp_use_tls", "false", "EMAIL"}
+        };
+
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO settings (setting_key, setting_value, setting_category, updated_by) VALUES (?, ?, ?, 1)")) {
+            for (String[] s : settings) {
+                ps.setString(1, s[0]);
+                ps.setString(2, s[1]);
+                ps.setString(3, s[2]);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    // ROOMS
+
+    // returns the room type index per room, room id = position + 1
+    private int[] insertRooms(Connection conn, Random rnd) throws SQLException {
+        int[] types = new int[rooms];
+        int next = 0;
+        for (int t = 0; t < ROOM_TYPES.length; t++) {
+            int n = t == ROOM_TYPES.length - 1 ? rooms - next : Math.round(rooms * ROOM_SHARE[t] / 100f);
+            for (int i = 0; i < n && next < rooms; i++) types[next++] = t;
+        }
+
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO rooms (room_id, room_number, room_type, rate_per_night, status, max_guests, description, image_url) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < rooms; i++) {
+                int t = types[i];
+                int floor = 1 + i / 20;
+                ps.setInt(1, i + 1);
+                ps.setString(2, String.format("%d%02d", floor, 1 + i % 20));
+                ps.setString(3, ROOM_TYPES[t]);
+                ps.setDouble(4, ROOM_RATES[t]);
+                ps.setString(5, rnd.nextInt(100) < 3 ? "MAINTENANCE" : "AVAILABLE");
+                ps.setInt(6, MAX_GUESTS[t]);
+                ps.setString(7, ROOM_TYPES[t] + " room on floor " + floor);
+                ps.setString(8, "images/rooms/" + ROOM_TYPES[t].toLowerCase().replace(' ', '-') + ".jpg");
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        return types;
+    }
+
+    // GUESTS
+
+    private int insertGuests(Connection conn, Random rnd) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO guests (guest_id, full_name, address, contact_number, email) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= guests; i++) {
+                String first = FIRST_NAMES[rnd.nextInt(FIRST_NAMES.length)];
+                String last = LAST_NAMES[rnd.nextInt(LAST_NAMES.length)];
+
+                ps.setInt(1, i);
+                ps.setString(2, first + " " + last);
+                ps.setString(3, (1 + rnd.nextInt(200)) + " Main Street, " + CITIES[rnd.nextInt(CITIES.length)]);
+                ps.setString(4, String.format("07%d%07d", rnd.nextInt(9), i));
+                ps.setString(5, first.toLowerCase() + "." + last.toLowerCase() + i + "@example.com");
+                ps.addBatch();
+
+                if (i % BATCH_SIZE == 0) ps.executeBatch();
+            }
+            ps.executeBatch();
+        }
+        return guests;
+    }
+
+    // RESERVATIONS, PAYMENTS
+
+    private void insertReservations(Connection conn, Random rnd, int[] roomTypes, Result result) throws SQLException {
+        double[] dayWeights = dayWeights();
+
+        // booked nights per room, bit i is the night of from + i; stays run up to 14 nights past to
+        int nightsInRange = (int) (to.toEpochDay() - from.toEpochDay()) + 14;
+        BitSet[] booked = new BitSet[roomTypes.length];
+        for (int i = 0; i < booked.length; i++) booked[i] = new BitSet(nightsInRange);
+
+        try (PreparedStatement res = conn.prepareStatement(
+                "INSERT INTO reservations (reservation_id, reservation_number, guest_id, room_id, check_in_date, " +
+                "check_out_date, status, notes, created_by, created_at, nights, rate_per_night, subtotal, discount, " +
+                "tax, total_amount, amount_paid, payment_status) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement pay = conn.prepareStatement(
+                "INSERT INTO reservation_payments (reservation_id, paid_amount, paid_date, method, note, created_by) " +
+                "VALUES (?, ?, ?, ?, ?, ?)")) {
+
+            for (int id = 1; id <= reservations; id++) {
+                // no two stays share a room night, cancelled ones included
+                int roomId;
+                int type;
+                LocalDate in;
+                int nights;
+                int attempts = 0;
+                do {
+                    if (++attempts > MAX_ATTEMPTS) {
+                        throw new IllegalStateException("No free room for reservation " + id + ", widen the date range");
+                    }
+                    roomId = 1 + rnd.nextInt(roomTypes.length);
+                    type = roomTypes[roomId - 1];
+                    in = pickDay(dayWeights, rnd);
+                    nights = stayLength(rnd, type);
+                } while (overlaps(booked[roomId - 1], night(in), night(in) + nights));
+                booked[roomId - 1].set(night(in), night(in) + nights);
+
+                LocalDate out = in.plusDays(nights);
+                LocalDate bookedOn = in.minusDays(rnd.nextInt(90));
+                String status = statusFor(rnd, in, out);
+
+                double rate = ROOM_RATES[type];
+                double subtotal = rate * nights;
+                double discount = nights >= 7 ? round2(subtotal * 0.05) : 0;
+                double tax = round2((subtotal - discount) * 0.10);
+                double total = round2(subtotal - discount + tax);
+
+                double paid = paidAmount(rnd, status, total);
+                int createdBy = 1 + rnd.nextInt(2);
+
+                res.setInt(1, id);
+                res.setString(2, String.format("RES-%s-%03d", in.toString().replace("-", ""), id));
+                res.setInt(3, guestFor(rnd));
+                res.setInt(4, roomId);
+                res.setDate(5, Date.valueOf(in));
+                res.setDate(6, Date.valueOf(out));
+                res.setString(7, status);
+                res.setString(8, rnd.nextInt(10) == 0 ? "Late arrival" : "");
+                res.setInt(9, createdBy);
+                res.setTimestamp(10, Timestamp.valueOf(bookedOn.atTime(9 + rnd.nextInt(10), rnd.nextInt(60))));
+                res.setInt(11, nights);
+                res.setDouble(12, rate);
+                res.setDouble(13, subtotal);
+                res.setDouble(14, discount);
+                res.setDouble(15, tax);
+                res.setDouble(16, total);
+                res.setDouble(17, paid);
+                res.setString(18, paid <= 0 ? "UNPAID" : paid < total ? "PARTIAL" : "PAID");
+                res.addBatch();
+
+                if (paid > 0) {
+                    // deposit at booking, balance on arrival
+                    double deposit = paid < total ? paid : round2(total * (rnd.nextBoolean() ? 1.0 : 0.3));
+                    addPayment(pay, id, deposit, bookedOn, METHODS[rnd.nextInt(METHODS.length)], createdBy);
+                    result.payments++;
+                    if (deposit < paid) {
+                        addPayment(pay, id, round2(paid - deposit), in, METHODS[rnd.nextInt(METHODS.length)], createdBy);
+                        result.payments++;
+                    }
+                }
+
+                if (id % BATCH_SIZE == 0) {
+                    res.executeBatch();
+                    pay.executeBatch();
+                    conn.commit();
+                }
+            }
+            res.executeBatch();
+            pay.executeBatch();
+        }
+        result.reservations = reservations;
+    }
+
+    // any booked night in [start, end)
+    private static boolean overlaps(BitSet nights, int start, int end) {
+        int first = nights.nextSetBit(start);
+        return first >= 0 && first < end;
+    }
+
+    private int night(LocalDate day) {
+        return (int) (day.toEpochDay() - from.toEpochDay());
+    }
+
+    private static void addPayment(PreparedStatement pay, int reservationId, double amount, LocalDate day,
+                                   String method, int createdBy) throws SQLException {
+        pay.setInt(1, reservationId);
+        pay.setDouble(2, amount);
+        pay.setTimestamp(3, Timestamp.valueOf(day.atTime(12, 0)));
+        pay.setString(4, method);
+        pay.setString(5, "");
+        pay.setInt(6, createdBy);
+        pay.addBatch();
+    }
+
+    // cumulative demand per day of the range, month season plus weekend arrivals
+    private double[] dayWeights() {
+        int days = (int) (to.toEpochDay() - from.toEpochDay());
+        double[] cumulative = new double[days];
+        double sum = 0;
+        for (int i = 0; i < days; i++) {
+            LocalDate d = from.plusDays(i);
+            double w = MONTH_WEIGHT[d.getMonthValue() - 1];
+            if (d.getDayOfWeek() == DayOfWeek.FRIDAY || d.getDayOfWeek() == DayOfWeek.SATURDAY) w *= 1.4;
+            sum += w;
+            cumulative[i] = sum;
+        }
+        return cumulative;
+    }
+
+    private LocalDate pickDay(double[] cumulative, Random rnd) {
+        double x = rnd.nextDouble() * cumulative[cumulative.length - 1];
+        int i = Arrays.binarySearch(cumulative, x);
+        if (i < 0) i = -i - 1;
+        return from.plusDays(Math.min(i, cumulative.length - 1));
+    }
+
+    // mostly short stays, suites a little longer
+    private static int stayLength(Random rnd, int type) {
+        int nights = 1;
+        double stay = type >= 3 ? 0.75 : 0.6;
+        while (nights < 14 && rnd.nextDouble() < stay) nights++;
+        return nights;
+    }
+
+    // a fifth of the guests make most of the repeat bookings
+    private int guestFor(Random rnd) {
+        int regulars = Math.max(1, guests / 5);
+        return rnd.nextInt(100) < 40 ? 1 + rnd.nextInt(regulars) : 1 + rnd.nextInt(guests);
+    }
+
+    private String statusFor(Random rnd, LocalDate in, LocalDate out) {
+        int roll = rnd.nextInt(100);
+        if (roll < 7) return "CANCELLED";
+        if (!out.isAfter(asOf)) return roll < 85 ? "CHECKED_OUT" : "COMPLETED";
+        if (!in.isAfter(asOf)) return "CHECKED_IN";
+        return roll < 75 ? "CONFIRMED" : "PENDING";
+    }
+
+    private static double paidAmount(Random rnd, String status, double total) {
+        switch (status) {
+            case "CHECKED_OUT":
+            case "COMPLETED":
+                return rnd.nextInt(100) < 95 ? total : round2(total * 0.3);
+            case "CHECKED_IN":
+                return rnd.nextBoolean() ? total : round2(total * 0.3);
+            case "CONFIRMED":
+                return rnd.nextInt(100) < 60 ? round2(total * 0.3) : 0;
+            default:
+                return 0;
+        }
+    }
+
+    private static double round2(double v) {
+        return Math.round(v * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,98 @@
+package com.oceanview.testsupport;
+
+import com.oceanview.dao.impl.GuestDAOImpl;
+import com.oceanview.dao.impl.ReservationPaymentDAOImpl;
+import com.oceanview.dao.impl.SettingDAOImpl;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SyntheticDataGeneratorTest {
+
+    private static final LocalDate AS_OF = LocalDate.of(2026, 3, 1);
+
+    private static String fingerprint(String db) throws Exception {
+        EmbeddedDatabase.start(EmbeddedDatabase.memoryUrl(db));
+        try (Connection conn = EmbeddedDatabase.connect()) {
+            new SyntheticDataGenerator(42).rooms(10).guests(50).reservations(500)
+                    .between(AS_OF.minusYears(1), AS_OF.plusMonths(3)).asOf(AS_OF)
+                    .generate(conn);
+
+            try (Statement st = conn.createStatement();
+                 ResultSet rs = st.executeQuery(
+                         "SELECT COUNT(*), SUM(total_amount), SUM(amount_paid), MIN(check_in_date), MAX(check_out_date), " +
+                         "SUM(CASE WHEN status = 'CHECKED_IN' THEN 1 ELSE 0 END) FROM reservations")) {
+                rs.next();
+                return rs.getInt(1) + "|" + rs.getBigDecimal(2) + "|" + rs.getBigDecimal(3) + "|"
+                        + rs.getDate(4) + "|" + rs.getDate(5) + "|" + rs.getInt(6);
+            }
+        } finally {
+            EmbeddedDatabase.stop();
+        }
+    }
+
+    @Test
+    void TEST_CASE_01_generate_shouldBeDeterministicForSeed() throws Exception {
+        String first = fingerprint("gen_a");
+        String second = fingerprint("gen_b");
+
+        assertEquals(first, second);
+        assertTrue(first.startsWith("500|"));
+    }
+
+    @Test
+    void TEST_CASE_02_startSeeded_shouldServeEveryDao() {
+        EmbeddedDatabase.startSeeded();
+
+        assertFalse(new GuestDAOImpl().findAll().isEmpty());
+        assertFalse(new SettingDAOImpl().findAll().isEmpty());
+        assertNotNull(new SettingDAOImpl().findVersion());
+        assertFalse(new ReservationPaymentDAOImpl().findByReservation(firstPaidReservation()).isEmpty());
+    }
+
+    @Test
+    void TEST_CASE_03_startSeeded_shouldNeverDoubleBookARoom() throws Exception {
+        EmbeddedDatabase.startSeeded();
+
+        try (Connection conn = EmbeddedDatabase.connect();
+             Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery(
+                     "SELECT COUNT(*) FROM reservations a JOIN reservations b ON a.room_id = b.room_id " +
+                     "AND a.reservation_id < b.reservation_id " +
+                     "AND a.check_in_date < b.check_out_date AND b.check_in_date < a.check_out_date")) {
+            rs.next();
+            assertEquals(0, rs.getInt(1));
+        }
+    }
+
+    private static int firstPaidReservation() {
+        try (Connection conn = EmbeddedDatabase.connect();
+             Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT MIN(reservation_id) FROM reservation_payments")) {
+            rs.next();
+            return rs.getInt(1);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void TEST_CASE_04_generate_shouldFillMinRooms_andRefuseFewerUpFront() throws Exception {
+        EmbeddedDatabase.start(EmbeddedDatabase.memoryUrl("gen_capacity"));
+        try (Connection conn = EmbeddedDatabase.connect()) {
+            SyntheticDataGenerator generator = new SyntheticDataGenerator(7).guests(500).reservations(5_000)
+                    .between(AS_OF.minusMonths(6), AS_OF.plusMonths(6));
+
+            int rooms = generator.minRooms();
+            assertThrows(IllegalArgumentException.class, () -> generator.rooms(rooms - 1).generate(conn));
+            assertEquals(5_000, generator.rooms(rooms).generate(conn).reservations);
+        } finally {
+            EmbeddedDatabase.stop();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.oceanview.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ConnectionPoolTest {
+
+    private final List<Connection> physical = new ArrayList<>();
+    private ConnectionPool pool;
+
+    private ConnectionPool newPool(int max, long borrowTimeoutMs, long validationIntervalMs, long leakMs) {
+        ConnectionPool.Config config = new ConnectionPool.Config();
+        config.setMinSize(0);
+        config.setMaxSize(max);
+        config.setBorrowTimeoutMs(borrowTimeoutMs);
+        config.setValidationIntervalMs(validationIntervalMs);
+        config.setLeakThresholdMs(leakMs);
+        config.setHousekeepingIntervalMs(60_000);
+
+        pool = new ConnectionPool(() -> {
+            Connection c = mock(Connection.class);
+            when(c.isValid(anyInt())).thenReturn(true);
+            when(c.getAutoCommit()).thenReturn(true);
+            physical.add(c);
+            return c;
+        }, config);
+        return pool;
+    }
+
+    @AfterEach
+    void teardown() {
+        if (pool != null) pool.shutdown();
+    }
+
+    @Test
+    void TEST_CASE_01_close_shouldReturnConnectionForReuse() throws Exception {
+        newPool(2, 200, 1_000, 0);
+
+        Connection first = pool.borrow();
+        first.close();
+        Connection second = pool.borrow();
+        second.close();
+
+        assertEquals(1, physical.size());
+        assertEquals(0, pool.getActiveCount());
+        assertEquals(1, pool.getIdleCount());
+        verify(physical.get(0), never()).close();
+    }
+
+    @Test
+    void TEST_CASE_02_borrow_shouldTimeOut_whenPoolExhausted() throws Exception {
+        newPool(1, 50, 1_000, 0);
+
+        Connection held = pool.borrow();
+
+        assertThrows(SQLTimeoutException.class, () -> pool.borrow());
+        assertEquals(1, pool.getTimeoutCount());
+
+        held.close();
+        assertNotNull(pool.borrow());
+    }
+
+    @Test
+    void TEST_CASE_03_borrow_shouldReplaceInvalidConnection() throws Exception {
+        newPool(2, 200, 0, 0);
+
+        pool.borrow().close();
+        when(physical.get(0).isValid(anyInt())).thenReturn(false);
+
+        Connection c = pool.borrow();
+
+        assertEquals(2, physical.size());
+        assertEquals(1, pool.getValidationFailureCount());
+        verify(physical.get(0)).close();
+        c.close();
+    }
+
+    @Test
+    void TEST_CASE_04_closedProxy_shouldRejectFurtherUse() throws Exception {
+        newPool(1, 200, 1_000, 0);
+
+        Connection c = pool.borrow();
+        c.close();
+
+        assertTrue(c.isClosed());
+        assertThrows(SQLException.class, () -> c.prepareStatement("SELECT 1"));
+    }
+
+    @Test
+    void TEST_CASE_05_returnedConnection_shouldRollBackOpenTransaction() throws Exception {
+        newPool(1, 200, 1_000, 0);
+
+        Connection c = pool.borrow();
+        when(physical.get(0).getAutoCommit()).thenReturn(false);
+        c.close();
+
+        verify(physical.get(0)).rollback();
+        verify(physical.get(0)).setAutoCommit(true);
+    }
+
+    @Test
+    void TEST_CASE_06_housekeeping_shouldReportLeakedConnection() throws Exception {
+        newPool(1, 200, 1_000, 1);
+
+        Connection c = pool.borrow();
+        Thread.sleep(10);
+        pool.runHousekeeping();
+
+        assertEquals(1, pool.getLeakCount());
+        c.close();
+    }
+
+    @Test
+    void TEST_CASE_07_shutdown_shouldCloseIdleConnections() throws Exception {
+        newPool(2, 200, 1_000, 0);
+
+        pool.borrow().close();
+        pool.shutdown();
+
+        verify(physical.get(0)).close();
+        assertThrows(SQLException.class, () -> pool.borrow());
+    }
+}
@@ -0,0 +1,104 @@
+package com.oceanview.util;
+
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordVerifierTest {
+
+    private PasswordVerifier verifier;
+
+    @BeforeEach
+    void setup() {
+        System.setProperty("oceanview.bcrypt.cost", "10");
+        verifier = new PasswordVerifier(1, 1, 5_000);
+    }
+
+    @AfterEach
+    void cleanup() {
+        verifier.stop();
+        System.clearProperty("oceanview.bcrypt.cost");
+    }
+
+    @Test
+    void TEST_CASE_01_verify_shouldMatchOnPool() {
+        String hash = PasswordUtil.hashPassword("secret");
+
+        assertTrue(verifier.verify("secret", hash));
+        assertFalse(verifier.verify("wrong", hash));
+        assertFalse(verifier.verify("secret", null));
+        assertEquals(2, verifier.getVerifiedCount());
+    }
+
+    @Test
+    void TEST_CASE_02_verify_shouldFailFast_whenQueueIsFull_andRehashShouldWait() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+
+        // one job holds the only thread, one fills the queue
+        verifier.submit(() -> {
+            running.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        verifier.submit(() -> { });
+
+        assertThrows(IllegalStateException.class, () -> verifier.verify("secret", "$2a$10$x"));
+        assertEquals(1, verifier.getRejectedCount());
+
+        // rehashes never queue behind logins
+        verifier.rehash("a", h -> fail("rehash ran while logins were waiting"));
+        release.countDown();
+        Thread.sleep(200);
+        assertEquals(0, verifier.getRehashedCount());
+    }
+
+    @Test
+    void TEST_CASE_03_rehash_shouldFollowConfiguredCost() throws Exception {
+        String old = BCrypt.hashpw("secret", BCrypt.gensalt(11));
+        assertTrue(PasswordUtil.needsRehash(old));
+        assertFalse(PasswordUtil.needsRehash(PasswordUtil.hashPassword("secret")));
+
+        AtomicReference<String> stored = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+        verifier.rehash("secret", h -> {
+            stored.set(h);
+            done.countDown();
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(stored.get().startsWith("$2a$10$"));
+        assertTrue(PasswordUtil.verifyPassword("secret", stored.get()));
+    }
+
+    @Test
+    void TEST_CASE_04_hash_shouldRunOnTheHashPool_evenWhileLoginsQueue() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        verifier.submit(() -> {
+            running.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        // the only login thread is busy, the hashes still complete
+        String hash = verifier.hash("secret");
+        verifier.hash("x");
+        release.countDown();
+
+        assertTrue(PasswordUtil.verifyPassword("secret", hash));
+        assertEquals(2, verifier.getHashedCount());
+    }
+}
@@ -0,0 +1,101 @@
+package com.oceanview.util;
+
+import com.oceanview.dao.impl.RoomDAOImpl;
+import com.oceanview.model.Room;
+import com.oceanview.service.RoomService;
+import com.oceanview.testsupport.EmbeddedDatabase;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QueryTracerTest {
+
+    private final QueryTracer tracer = QueryTracer.getInstance();
+
+    @BeforeAll
+    static void database() {
+        EmbeddedDatabase.startSeeded();
+
+        // tracing is off by default, the next pool picks the property up
+        System.setProperty("oceanview.db.trace", "true");
+        DatabaseConnection.shutdown();
+    }
+
+    @AfterAll
+    static void tracingOff() {
+        System.clearProperty("oceanview.db.trace");
+        DatabaseConnection.shutdown();
+    }
+
+    @BeforeEach
+    void setup() {
+        tracer.reset();
+    }
+
+    @AfterEach
+    void restore() {
+        tracer.setSlowThresholdMs(200);
+    }
+
+    private QueryTracer.QueryStats find(String query, String origin) {
+        for (QueryTracer.QueryStats s : tracer.snapshot()) {
+            if (s.getQuery().equals(query) && s.getOrigin().equals(origin)) return s;
+        }
+        return null;
+    }
+
+    @Test
+    void TEST_CASE_01_statements_shouldBeAttributedToDaoMethodAndCaller() {
+        List<Room> rooms = new RoomService().listRooms();
+        new RoomService().getRoom(rooms.get(0).getRoomId());
+        new RoomService().getRoom(rooms.get(1).getRoomId());
+
+        QueryTracer.QueryStats all = find("RoomDAOImpl.findAll", "RoomService.listRooms");
+        assertNotNull(all);
+        assertEquals(1, all.getCount());
+        assertEquals(rooms.size(), all.getRows());
+
+        QueryTracer.QueryStats byId = find("RoomDAOImpl.findById", "RoomService.getRoom");
+        assertNotNull(byId);
+        assertEquals(2, byId.getCount());
+        assertEquals(2, byId.getRows());
+    }
+
+    @Test
+    void TEST_CASE_02_normalize_shouldFoldInLists() {
+        String a = QueryTracer.normalize("SELECT *\n  FROM rooms WHERE room_id IN (?, ?, ?)");
+        String b = QueryTracer.normalize("SELECT * FROM rooms WHERE room_id IN (?,?)");
+
+        assertEquals("SELECT * FROM rooms WHERE room_id IN (?, ...)", a);
+        assertEquals(a, b);
+    }
+
+    @Test
+    void TEST_CASE_03_slowLog_shouldBeSampledPerQuery() {
+        List<LogRecord> records = new ArrayList<>();
+        Handler handler = new Handler() {
+            @Override public void publish(LogRecord r) { records.add(r); }
+            @Override public void flush() {}
+            @Override public void close() {}
+        };
+        Logger log = Logger.getLogger(QueryTracer.class.getName());
+        log.addHandler(handler);
+
+        try {
+            tracer.setSlowThresholdMs(0);
+            RoomDAOImpl dao = new RoomDAOImpl();
+            for (int i = 0; i < 5; i++) dao.findById(Integer.MAX_VALUE);
+        } finally {
+            log.removeHandler(handler);
+        }
+
+        assertEquals(1, records.size());
+        assertTrue(records.get(0).getMessage().contains("RoomDAOImpl.findById"));
+    }
+}
@@ -0,0 +1,32 @@
+package com.oceanview.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SecretBoxTest {
+
+    @Test
+    void TEST_CASE_01_seal_shouldRoundTrip_withAFreshIvEachTime() {
+        SecretBox box = new SecretBox(new byte[32]);
+
+        String first = box.seal("Tmp12345");
+        String second = box.seal("Tmp12345");
+
+        assertNotEquals(first, second);
+        assertEquals("Tmp12345", box.open(first));
+        assertEquals("Tmp12345", box.open(second));
+    }
+
+    @Test
+    void TEST_CASE_02_open_shouldRefuseOtherKeysAndTampering() {
+        String sealed = new SecretBox(new byte[16]).seal("Tmp12345");
+        byte[] otherKey = new byte[16];
+        otherKey[0] = 1;
+
+        assertThrows(IllegalStateException.class, () -> new SecretBox(otherKey).open(sealed));
+        assertThrows(IllegalStateException.class, () -> new SecretBox(new byte[16]).open((sealed.charAt(0) == 'A' ? "B" : "A") + sealed.substring(1)));
+        assertThrows(IllegalStateException.class, () -> new SecretBox(new byte[16]).open("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> new SecretBox(new byte[10]));
+    }
+}
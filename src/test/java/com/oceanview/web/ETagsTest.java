@@ -0,0 +1,29 @@
+package com.oceanview.web;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ETagsTest {
+
+    @Test
+    void TEST_CASE_01_matches_shouldCompareWeakly_acrossListsAndStar() {
+        assertTrue(ETags.matches("\"a1\"", "\"a1\""));
+        assertTrue(ETags.matches("W/\"a1\"", "\"a1\""));
+        assertTrue(ETags.matches("\"a1\"", "W/\"a1\""));
+        assertTrue(ETags.matches("\"x\", W/\"a1\"", "W/\"a1\""));
+        assertTrue(ETags.matches("*", "\"a1\""));
+
+        assertFalse(ETags.matches(null, "\"a1\""));
+        assertFalse(ETags.matches("\"a2\"", "\"a1\""));
+    }
+
+    @Test
+    void TEST_CASE_02_of_shouldFollowTheBodyOnly() {
+        String tag = ETags.of("{\"a\":1}");
+
+        assertEquals(tag, ETags.of("{\"a\":1}"));
+        assertNotEquals(tag, ETags.of("{\"a\":2}"));
+        assertTrue(tag.startsWith("\"") && tag.endsWith("\"") && tag.length() == 34);
+    }
+}
@@ -0,0 +1,113 @@
+package com.oceanview.web.filter;
+
+import com.oceanview.util.LatencyHistogram;
+import com.oceanview.util.PrometheusWriter;
+import com.oceanview.util.RequestMetrics;
+import org.junit.jupiter.api.Test;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class MetricsFilterTest {
+
+    private static ServletOutputStream into(ByteArrayOutputStream sink) {
+        return new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+                sink.write(b);
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+            }
+        };
+    }
+
+    @Test
+    void TEST_CASE_01_doFilter_shouldRecordStatusBytesAndLatency() throws Exception {
+        HttpServletRequest req = mock(HttpServletRequest.class);
+        HttpServletResponse resp = mock(HttpServletResponse.class);
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+
+        when(req.getMethod()).thenReturn("GET");
+        when(req.getServletPath()).thenReturn("/api/rooms");
+        when(req.getPathInfo()).thenReturn("/4711");
+        when(resp.getOutputStream()).thenReturn(into(sink));
+        when(resp.getCharacterEncoding()).thenReturn("UTF-8");
+        when(resp.getStatus()).thenReturn(201);
+
+        FilterChain chain = (rq, rs) -> ((HttpServletResponse) rs).getWriter().write("{\"name\":\"Suite é\"}");
+
+        RequestMetrics.Route route = RequestMetrics.getInstance().route("GET", "/api/rooms/{id}");
+        long before = route.getBytes();
+
+        new MetricsFilter().doFilter(req, resp, chain);
+
+        assertEquals("{\"name\":\"Suite é\"}", sink.toString(StandardCharsets.UTF_8));
+        assertEquals(before + 19, route.getBytes());
+        assertTrue(route.getStatusCounts().get(201) >= 1);
+        assertEquals(0, route.getInFlight());
+        assertTrue(route.getLatency().getCount() >= 1);
+    }
+
+    @Test
+    void TEST_CASE_02_doFilter_shouldCount500_whenChainThrows() throws Exception {
+        HttpServletRequest req = mock(HttpServletRequest.class);
+        HttpServletResponse resp = mock(HttpServletResponse.class);
+        when(req.getMethod()).thenReturn("POST");
+        when(req.getServletPath()).thenReturn("/api/invoice");
+
+        FilterChain chain = mock(FilterChain.class);
+        doThrow(new IllegalStateException("boom")).when(chain).doFilter(any(), any());
+
+        assertThrows(IllegalStateException.class, () -> new MetricsFilter().doFilter(req, resp, chain));
+
+        RequestMetrics.Route route = RequestMetrics.getInstance().route("POST", "/api/invoice");
+        assertTrue(route.getStatusCounts().get(500) >= 1);
+        assertEquals(0, route.getInFlight());
+    }
+
+    @Test
+    void TEST_CASE_03_routeFor_shouldFoldIds() {
+        assertEquals("/api/reservations/stats", RequestMetrics.routeFor("/api/reservations", "/stats"));
+        assertEquals("/api/rooms/{id}", RequestMetrics.routeFor("/api/rooms", "/12"));
+        assertEquals("/api/payments", RequestMetrics.routeFor("/api/payments", null));
+        assertEquals("/api/guests/{id}/reservations", RequestMetrics.routeFor("/api/guests", "/g-77/reservations"));
+
+        // client-chosen methods share one series
+        RequestMetrics.Route odd = RequestMetrics.getInstance().route("PROPFIND", "/api/rooms");
+        assertEquals("OTHER", odd.getMethod());
+        assertSame(odd, RequestMetrics.getInstance().route("X-" + System.nanoTime(), "/api/rooms"));
+    }
+
+    @Test
+    void TEST_CASE_04_histogramSeconds_shouldWriteCumulativeBuckets() {
+        LatencyHistogram h = new LatencyHistogram();
+        h.recordMillis(3);
+        h.recordMillis(40);
+        h.recordMillis(2000);
+
+        PrometheusWriter w = new PrometheusWriter();
+        w.header("t_seconds", "histogram", "test").histogramSeconds("t_seconds", h, "route", "/a\"b");
+        String text = w.toString();
+
+        assertTrue(text.contains("t_seconds_bucket{route=\"/a\\\"b\",le=\"0.005\"} 1\n"));
+        assertTrue(text.contains("t_seconds_bucket{route=\"/a\\\"b\",le=\"0.05\"} 2\n"));
+        assertTrue(text.contains("t_seconds_bucket{route=\"/a\\\"b\",le=\"+Inf\"} 3\n"));
+        assertTrue(text.contains("t_seconds_count{route=\"/a\\\"b\"} 3\n"));
+    }
+}
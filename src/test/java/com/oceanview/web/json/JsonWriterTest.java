@@ -0,0 +1,72 @@
+package com.oceanview.web.json;
+
+import com.oceanview.model.Room;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.sql.Date;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonWriterTest {
+
+    @Test
+    void TEST_CASE_01_write_shouldProduceNestedObjectsAndArrays() throws Exception {
+        StringWriter out = new StringWriter();
+
+        try (JsonWriter w = new JsonWriter(out)) {
+            w.beginObject()
+                    .name("success").value(true)
+                    .name("n").value(3)
+                    .name("amount").value(12.5)
+                    .name("day").value(Date.valueOf("2026-03-01"))
+                    .name("missing").text(null)
+                    .name("list").beginArray().value(1).value("a").beginObject().endObject().endArray()
+                    .endObject();
+        }
+
+        assertEquals("{\"success\":true,\"n\":3,\"amount\":12.5,\"day\":\"2026-03-01\","
+                + "\"missing\":\"\",\"list\":[1,\"a\",{}]}", out.toString());
+    }
+
+    @Test
+    void TEST_CASE_02_escape_shouldHandleControlAndUnicodeChars() {
+        assertEquals("a\\\"b\\\\c\\n\\t\\u0001", JsonWriter.escape("a\"b\\c\n\t\u0001"));
+        assertEquals("café 😀", JsonWriter.escape("café 😀"));
+        assertEquals("\\u2028\\ud83d", JsonWriter.escape("\u2028\ud83d"));
+        assertEquals("", JsonWriter.escape(null));
+    }
+
+    @Test
+    void TEST_CASE_03_array_shouldStreamPastBufferSize() throws Exception {
+        Room r = new Room();
+        r.setRoomId(7);
+        r.setRoomNumber("101");
+        r.setRoomType("Deluxe \"Sea\" View");
+        r.setRatePerNight(150.0);
+
+        Room[] rooms = new Room[2000];
+        Arrays.fill(rooms, r);
+        List<Room> list = Arrays.asList(rooms);
+
+        StringWriter out = new StringWriter();
+        try (JsonWriter w = new JsonWriter(out)) {
+            w.array(list, RoomJson.ROOM);
+        }
+
+        String json = out.toString();
+        assertTrue(json.startsWith("[{\"roomId\":7,\"roomNumber\":\"101\",\"roomType\":\"Deluxe \\\"Sea\\\" View\",\"price\":150.0"));
+        assertTrue(json.endsWith("}]"));
+        assertEquals(2000, json.split("\"roomId\"").length - 1);
+    }
+
+    @Test
+    void TEST_CASE_04_write_shouldRejectUnbalancedNesting() throws Exception {
+        JsonWriter w = new JsonWriter(new StringWriter());
+        w.beginObject();
+        assertThrows(IllegalStateException.class, w::endArray);
+        assertThrows(IllegalStateException.class, () -> w.value(1));
+    }
+}
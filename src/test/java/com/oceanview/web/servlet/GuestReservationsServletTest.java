@@ -0,0 +1,113 @@
+package com.oceanview.web.servlet;
+
+import com.oceanview.cache.GuestReservationsCache;
+import com.oceanview.dao.impl.ReservationDAOImpl;
+import com.oceanview.model.Guest;
+import com.oceanview.model.Reservation;
+import com.oceanview.service.ReservationPaymentService;
+import com.oceanview.service.ReservationService;
+import com.oceanview.testsupport.EmbeddedDatabase;
+import com.oceanview.util.UnitOfWork;
+import org.junit.jupiter.api.*;
+import org.mockito.ArgumentCaptor;
+
+import javax.servlet.http.*;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.Field;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class GuestReservationsServletTest {
+
+    private GuestReservationsServlet servlet;
+    private ReservationService service;
+    private Reservation stay;
+
+    @BeforeAll
+    static void database() {
+        EmbeddedDatabase.startSeeded();
+    }
+
+    @BeforeEach
+    void setup() throws Exception {
+        GuestReservationsCache.getInstance().invalidateAll();
+
+        // a seeded stay with a balance left, so a payment can be taken against it
+        stay = new ReservationDAOImpl().findAll().stream()
+                .filter(r -> r.getGuestId() > 0 && r.getTotalAmount() - r.getAmountPaid() >= 1)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No unpaid reservation in the seed data"));
+
+        // reads through to the database, counted by mockito
+        service = mock(ReservationService.class);
+        when(service.listReservationsByGuest(anyInt()))
+                .thenAnswer(inv -> new ReservationDAOImpl().findByGuestId(inv.getArgument(0)));
+
+        servlet = new GuestReservationsServlet();
+        inject(servlet, "reservationService", service);
+    }
+
+    // one GET as the stay's guest, returns the ETag it was given
+    private String get(String ifNoneMatch, int expectedStatus) throws Exception {
+        HttpServletRequest req = mock(HttpServletRequest.class);
+        HttpServletResponse resp = mock(HttpServletResponse.class);
+        HttpSession session = mock(HttpSession.class);
+
+        Guest guest = new Guest();
+        guest.setGuestId(stay.getGuestId());
+
+        when(req.getSession(false)).thenReturn(session);
+        when(session.getAttribute("guest")).thenReturn(guest);
+        when(req.getHeader("If-None-Match")).thenReturn(ifNoneMatch);
+        when(resp.getWriter()).thenReturn(new PrintWriter(new StringWriter()));
+
+        servlet.doGet(req, resp);
+
+        verify(resp).setStatus(expectedStatus);
+        ArgumentCaptor<String> etag = ArgumentCaptor.forClass(String.class);
+        verify(resp).setHeader(eq("ETag"), etag.capture());
+        return etag.getValue();
+    }
+
+    @Test
+    void TEST_CASE_01_doGet_shouldAnswer304_withoutLoading_whenEtagMatches() throws Exception {
+        String etag = get(null, 200);
+
+        assertEquals(etag, get(etag, 304));
+        verify(service, times(1)).listReservationsByGuest(stay.getGuestId());
+    }
+
+    @Test
+    void TEST_CASE_02_commits_shouldInvalidateTheGuestsList() throws Exception {
+        String etag = get(null, 200);
+
+        // reservation dao write that leaves the list as it was, reloaded but still the same tag
+        new ReservationDAOImpl().updateStatus(stay.getReservationId(), stay.getStatus());
+        assertEquals(etag, get(etag, 304));
+        verify(service, times(2)).listReservationsByGuest(stay.getGuestId());
+
+        // payment, committed in a unit of work; the guest view shows no amounts paid
+        UnitOfWork.execute(() -> new ReservationPaymentService()
+                .addPayment(stay.getReservationId(), 1, "CASH", "test", 1));
+        assertEquals(etag, get(etag, 304));
+        verify(service, times(3)).listReservationsByGuest(stay.getGuestId());
+
+        // a status the guest sees, a new body gets a new tag
+        String other = "CONFIRMED".equals(stay.getStatus()) ? "PENDING" : "CONFIRMED";
+        try {
+            new ReservationDAOImpl().updateStatus(stay.getReservationId(), other);
+            assertNotEquals(etag, get(etag, 200));
+        } finally {
+            new ReservationDAOImpl().updateStatus(stay.getReservationId(), stay.getStatus());
+        }
+        verify(service, times(4)).listReservationsByGuest(stay.getGuestId());
+    }
+
+    private static void inject(Object target, String fieldName, Object value) throws Exception {
+        Field f = target.getClass().getDeclaredField(fieldName);
+        f.setAccessible(true);
+        f.set(target, value);
+    }
+}
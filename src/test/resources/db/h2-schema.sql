@@ -0,0 +1,130 @@
+-- ocean_view_resort schema for H2 in MySQL mode, used by EmbeddedDatabase
+-- mirrors schema.sql plus the migrations, keep both in step
+
+CREATE TABLE IF NOT EXISTS users (
+  user_id int NOT NULL AUTO_INCREMENT,
+  username varchar(50) NOT NULL,
+  password_hash varchar(255) NOT NULL,
+  role enum('ADMIN','STAFF','GUEST') NOT NULL,
+  status enum('ACTIVE','INACTIVE') NOT NULL DEFAULT 'ACTIVE',
+  created_at datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (user_id),
+  UNIQUE KEY username (username)
+);
+
+CREATE TABLE IF NOT EXISTS guests (
+  guest_id int NOT NULL AUTO_INCREMENT,
+  user_id int DEFAULT NULL,
+  full_name varchar(100) NOT NULL,
+  address varchar(255) DEFAULT NULL,
+  contact_number varchar(20) NOT NULL,
+  email varchar(255) NOT NULL,
+  password varchar(100) DEFAULT NULL,
+  PRIMARY KEY (guest_id),
+  CONSTRAINT fk_guests_user FOREIGN KEY (user_id) REFERENCES users (user_id) ON DELETE SET NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_guests_email ON guests (email);
+
+CREATE TABLE IF NOT EXISTS rooms (
+  room_id int NOT NULL AUTO_INCREMENT,
+  room_number varchar(20) NOT NULL,
+  room_type varchar(50) NOT NULL,
+  rate_per_night decimal(10,2) NOT NULL,
+  status enum('AVAILABLE','BOOKED','MAINTENANCE') NOT NULL DEFAULT 'AVAILABLE',
+  max_guests int NOT NULL DEFAULT 2,
+  description text DEFAULT NULL,
+  image_url varchar(500) DEFAULT NULL,
+  PRIMARY KEY (room_id),
+  UNIQUE KEY room_number (room_number)
+);
+
+CREATE TABLE IF NOT EXISTS reservations (
+  reservation_id int NOT NULL AUTO_INCREMENT,
+  reservation_number varchar(30) NOT NULL,
+  guest_id int NOT NULL,
+  room_id int NOT NULL,
+  check_in_date date NOT NULL,
+  check_out_date date NOT NULL,
+  status enum('PENDING','CONFIRMED','CANCELLED','CHECKED_IN','CHECKED_OUT','COMPLETED') NOT NULL,
+  notes varchar(255) NOT NULL,
+  created_by int NOT NULL,
+  created_at datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  nights int NOT NULL DEFAULT 1,
+  rate_per_night decimal(10,2) NOT NULL DEFAULT 0.00,
+  subtotal decimal(10,2) NOT NULL DEFAULT 0.00,
+  discount decimal(10,2) NOT NULL DEFAULT 0.00,
+  tax decimal(10,2) NOT NULL DEFAULT 0.00,
+  total_amount decimal(10,2) NOT NULL DEFAULT 0.00,
+  amount_paid decimal(10,2) NOT NULL DEFAULT 0.00,
+  payment_status varchar(20) NOT NULL DEFAULT 'UNPAID',
+  PRIMARY KEY (reservation_id),
+  UNIQUE KEY reservation_number (reservation_number),
+  CONSTRAINT fk_res_created_by FOREIGN KEY (created_by) REFERENCES users (user_id),
+  CONSTRAINT fk_res_guest FOREIGN KEY (guest_id) REFERENCES guests (guest_id),
+  CONSTRAINT fk_res_room FOREIGN KEY (room_id) REFERENCES rooms (room_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_res_room_status_dates ON reservations (room_id, status, check_in_date, check_out_date);
+CREATE INDEX IF NOT EXISTS idx_res_guest ON reservations (guest_id);
+CREATE INDEX IF NOT EXISTS idx_res_status_id ON reservations (status, reservation_id);
+CREATE INDEX IF NOT EXISTS idx_res_payment_status_id ON reservations (payment_status, reservation_id);
+
+CREATE TABLE IF NOT EXISTS reservation_payments (
+  payment_id int NOT NULL AUTO_INCREMENT,
+  reservation_id int NOT NULL,
+  paid_amount decimal(10,2) NOT NULL,
+  paid_date datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  method varchar(30) DEFAULT '',
+  note varchar(255) DEFAULT '',
+  created_by int NOT NULL,
+  PRIMARY KEY (payment_id),
+  CONSTRAINT reservation_payments_ibfk_1 FOREIGN KEY (reservation_id) REFERENCES reservations (reservation_id)
+);
+
+CREATE TABLE IF NOT EXISTS settings (
+  setting_id int NOT NULL AUTO_INCREMENT,
+  setting_key varchar(100) NOT NULL,
+  setting_value text DEFAULT NULL,
+  setting_category varchar(50) DEFAULT 'GENERAL',
+  description varchar(255) DEFAULT NULL,
+  updated_at timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  updated_by int DEFAULT NULL,
+  PRIMARY KEY (setting_id),
+  UNIQUE KEY setting_key (setting_key)
+);
+
+CREATE TABLE IF NOT EXISTS reservation_sequences (
+  seq_date date NOT NULL,
+  next_value int NOT NULL,
+  PRIMARY KEY (seq_date)
+);
+
+CREATE TABLE IF NOT EXISTS email_outbox (
+  outbox_id bigint NOT NULL AUTO_INCREMENT,
+  to_email varchar(255) NOT NULL,
+  subject varchar(255) NOT NULL,
+  body text NOT NULL,
+  secret varchar(255) DEFAULT NULL,
+  status enum('PENDING','SENDING','SENT','FAILED') NOT NULL DEFAULT 'PENDING',
+  attempts int NOT NULL DEFAULT 0,
+  next_attempt_at datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  last_error varchar(500) DEFAULT NULL,
+  created_at datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  sent_at datetime DEFAULT NULL,
+  PRIMARY KEY (outbox_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_status_due ON email_outbox (status, next_attempt_at);
+
+CREATE TABLE IF NOT EXISTS reservation_daily_rollup (
+  day date NOT NULL,
+  room_type varchar(50) NOT NULL DEFAULT '',
+  bookings int NOT NULL DEFAULT 0,
+  revenue decimal(12,2) NOT NULL DEFAULT 0.00,
+  arrivals int NOT NULL DEFAULT 0,
+  active_arrivals int NOT NULL DEFAULT 0,
+  room_nights int NOT NULL DEFAULT 0,
+  active_room_nights int NOT NULL DEFAULT 0,
+  PRIMARY KEY (day, room_type)
+);
@@ -15,6 +15,27 @@
 /*!40101 SET @OLD_SQL_MODE=@@SQL_MODE, SQL_MODE='NO_AUTO_VALUE_ON_ZERO' */;
 /*!40111 SET @OLD_SQL_NOTES=@@SQL_NOTES, SQL_NOTES=0 */;
 
+--
+-- Table structure for table `email_outbox`
+--
+
+DROP TABLE IF EXISTS `email_outbox`;
+CREATE TABLE `email_outbox` (
+  `outbox_id` bigint(20) NOT NULL AUTO_INCREMENT,
+  `to_email` varchar(255) NOT NULL,
+  `subject` varchar(255) NOT NULL,
+  `body` text NOT NULL,
+  `secret` varchar(255) DEFAULT NULL,
+  `status` enum('PENDING','SENDING','SENT','FAILED') NOT NULL DEFAULT 'PENDING',
+  `attempts` int(11) NOT NULL DEFAULT 0,
+  `next_attempt_at` datetime NOT NULL DEFAULT current_timestamp(),
+  `last_error` varchar(500) DEFAULT NULL,
+  `created_at` datetime NOT NULL DEFAULT current_timestamp(),
+  `sent_at` datetime DEFAULT NULL,
+  PRIMARY KEY (`outbox_id`),
+  KEY `idx_outbox_status_due` (`status`,`next_attempt_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
+
 --
 -- Table structure for table `guests`
 --
@@ -32,6 +53,7 @@ CREATE TABLE `guests` (
   `password` varchar(100) DEFAULT NULL,
   PRIMARY KEY (`guest_id`),
   KEY `fk_guests_user` (`user_id`),
+  KEY `idx_guests_email` (`email`),
   CONSTRAINT `fk_guests_user` FOREIGN KEY (`user_id`) REFERENCES `users` (`user_id`) ON DELETE SET NULL ON UPDATE CASCADE
 ) ENGINE=InnoDB AUTO_INCREMENT=5 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
 /*!40101 SET character_set_client = @saved_cs_client */;
@@ -88,12 +110,43 @@ CREATE TABLE `reservations` (
   KEY `fk_res_guest` (`guest_id`),
   KEY `fk_res_room` (`room_id`),
   KEY `fk_res_created_by` (`created_by`),
+  KEY `idx_res_room_status_dates` (`room_id`,`status`,`check_in_date`,`check_out_date`),
+  KEY `idx_res_status_id` (`status`,`reservation_id`),
+  KEY `idx_res_payment_status_id` (`payment_status`,`reservation_id`),
   CONSTRAINT `fk_res_created_by` FOREIGN KEY (`created_by`) REFERENCES `users` (`user_id`) ON UPDATE CASCADE,
   CONSTRAINT `fk_res_guest` FOREIGN KEY (`guest_id`) REFERENCES `guests` (`guest_id`) ON UPDATE CASCADE,
   CONSTRAINT `fk_res_room` FOREIGN KEY (`room_id`) REFERENCES `rooms` (`room_id`) ON UPDATE CASCADE
 ) ENGINE=InnoDB AUTO_INCREMENT=74 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
 /*!40101 SET character_set_client = @saved_cs_client */;
 
+--
+-- Table structure for table `reservation_daily_rollup`
+--
+
+DROP TABLE IF EXISTS `reservation_daily_rollup`;
+CREATE TABLE `reservation_daily_rollup` (
+  `day` date NOT NULL,
+  `room_type` varchar(50) NOT NULL DEFAULT '',
+  `bookings` int(11) NOT NULL DEFAULT 0,
+  `revenue` decimal(12,2) NOT NULL DEFAULT 0.00,
+  `arrivals` int(11) NOT NULL DEFAULT 0,
+  `active_arrivals` int(11) NOT NULL DEFAULT 0,
+  `room_nights` int(11) NOT NULL DEFAULT 0,
+  `active_room_nights` int(11) NOT NULL DEFAULT 0,
+  PRIMARY KEY (`day`,`room_type`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
+
+--
+-- Table structure for table `reservation_sequences`
+--
+
+DROP TABLE IF EXISTS `reservation_sequences`;
+CREATE TABLE `reservation_sequences` (
+  `seq_date` date NOT NULL,
+  `next_value` int(11) NOT NULL,
+  PRIMARY KEY (`seq_date`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
+
 --
 -- Table structure for table `rooms`
 --